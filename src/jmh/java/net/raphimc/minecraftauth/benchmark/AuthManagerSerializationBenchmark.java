@@ -0,0 +1,74 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import com.google.gson.JsonObject;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthManagerSerializationBenchmark {
+
+    private final HttpClient httpClient = MinecraftAuth.createHttpClient();
+    private JavaAuthManager javaAuthManager;
+    private BedrockAuthManager bedrockAuthManager;
+    private JsonObject javaJson;
+    private JsonObject bedrockJson;
+
+    @Setup
+    public void setup() throws Exception {
+        try (StubAuthServer ignored = StubSessions.startServer()) {
+            this.javaAuthManager = StubSessions.loginJava();
+            this.bedrockAuthManager = StubSessions.loginBedrock();
+        }
+        this.javaJson = JavaAuthManager.toJson(this.javaAuthManager);
+        this.bedrockJson = BedrockAuthManager.toJson(this.bedrockAuthManager);
+    }
+
+    @Benchmark
+    public JsonObject javaToJson() {
+        return JavaAuthManager.toJson(this.javaAuthManager);
+    }
+
+    @Benchmark
+    public JavaAuthManager javaFromJson() {
+        return JavaAuthManager.fromJson(this.httpClient, this.javaJson);
+    }
+
+    @Benchmark
+    public JsonObject bedrockToJson() {
+        return BedrockAuthManager.toJson(this.bedrockAuthManager);
+    }
+
+    @Benchmark
+    public BedrockAuthManager bedrockFromJson() {
+        return BedrockAuthManager.fromJson(this.httpClient, StubSessions.BEDROCK_GAME_VERSION, this.bedrockJson);
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChangeListenersBenchmark {
+
+    @Param({"0", "1", "4"})
+    private int listenerCount;
+
+    private final Object oldValue = new Object();
+    private final Object newValue = new Object();
+    private ChangeListeners changeListeners;
+
+    @Setup
+    public void setup(final Blackhole blackhole) {
+        this.changeListeners = new ChangeListeners();
+        for (int i = 0; i < this.listenerCount; i++) {
+            this.changeListeners.add(() -> blackhole.consume(this));
+        }
+    }
+
+    @Benchmark
+    public void invokeChanged() {
+        this.changeListeners.invoke(this.oldValue, this.newValue);
+    }
+
+    @Benchmark
+    public void invokeUnchanged() {
+        this.changeListeners.invoke(this.oldValue, this.oldValue);
+    }
+
+}
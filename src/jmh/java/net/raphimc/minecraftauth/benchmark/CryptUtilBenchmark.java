@@ -0,0 +1,78 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import net.raphimc.minecraftauth.util.CryptUtil;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CryptUtilBenchmark {
+
+    private ECPrivateKey ecdsa256PrivateKey;
+    private ECPrivateKey ecdsa384PrivateKey;
+    private String ecdsa384PublicKeyBase64;
+    private String rsaPublicKeyBase64;
+    private byte[] data;
+
+    @Setup
+    public void setup() throws Exception {
+        this.ecdsa256PrivateKey = (ECPrivateKey) CryptUtil.generateEcdsa256KeyPair().getPrivate();
+        final KeyPair ecdsa384KeyPair = CryptUtil.generateEcdsa384KeyPair();
+        this.ecdsa384PrivateKey = (ECPrivateKey) ecdsa384KeyPair.getPrivate();
+        this.ecdsa384PublicKeyBase64 = Base64.getEncoder().encodeToString(ecdsa384KeyPair.getPublic().getEncoded());
+        final KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+        rsaGenerator.initialize(2048);
+        this.rsaPublicKeyBase64 = Base64.getEncoder().encodeToString(rsaGenerator.generateKeyPair().getPublic().getEncoded());
+        this.data = "{\"RelyingParty\":\"http://auth.xboxlive.com\",\"TokenType\":\"JWT\",\"Properties\":{\"AuthMethod\":\"ProofOfPossession\"}}".getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] signSha256InP1363Format() throws Exception {
+        return CryptUtil.signSha256InP1363Format(this.ecdsa256PrivateKey, this.data);
+    }
+
+    @Benchmark
+    public byte[] signSha384InP1363Format() throws Exception {
+        return CryptUtil.signSha384InP1363Format(this.ecdsa384PrivateKey, this.data);
+    }
+
+    @Benchmark
+    public ECPublicKey ecPublicKeyFromBase64() {
+        return CryptUtil.ecPublicKeyFromBase64(this.ecdsa384PublicKeyBase64);
+    }
+
+    @Benchmark
+    public RSAPublicKey rsaPublicKeyFromBase64() {
+        return CryptUtil.rsaPublicKeyFromBase64(this.rsaPublicKeyBase64);
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import net.raphimc.minecraftauth.util.Expirable;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HolderBenchmark {
+
+    private static final Expirable VALUE = () -> Long.MAX_VALUE;
+
+    private Holder<Expirable> holder;
+
+    @Setup
+    public void setup() throws Exception {
+        this.holder = new Holder<>(() -> VALUE);
+        this.holder.refresh();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Expirable getUpToDateUncontended() throws Exception {
+        return this.holder.getUpToDate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Expirable getUpToDateContended() throws Exception {
+        return this.holder.getUpToDate();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Expirable getCachedContended() {
+        return this.holder.getCached();
+    }
+
+}
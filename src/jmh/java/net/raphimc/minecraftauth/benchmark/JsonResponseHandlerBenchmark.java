@@ -0,0 +1,143 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.constants.ContentTypes;
+import net.lenni0451.commons.httpclient.constants.HttpHeaders;
+import net.lenni0451.commons.httpclient.constants.StatusCodes;
+import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
+import net.raphimc.minecraftauth.extra.realms.request.RealmsWorldsRequest;
+import net.raphimc.minecraftauth.util.http.responsehandler.StreamingJsonHttpResponseHandler;
+import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
+import net.raphimc.minecraftauth.xbl.responsehandler.XblResponseHandler;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonResponseHandlerBenchmark {
+
+    private final TreeXstsTokenHandler treeXstsTokenHandler = new TreeXstsTokenHandler();
+    private final StreamingXstsTokenHandler streamingXstsTokenHandler = new StreamingXstsTokenHandler();
+    private HttpResponse xstsTokenResponse;
+    private HttpResponse realmsWorldsResponse;
+    private RealmsWorldsRequest realmsWorldsRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        final byte[] tokenBytes = new byte[1024];
+        ThreadLocalRandom.current().nextBytes(tokenBytes);
+        final JsonObject xui = new JsonObject();
+        xui.addProperty("gtg", "BenchmarkPlayer");
+        xui.addProperty("xid", "2535412345678901");
+        xui.addProperty("uhs", "1234567890123456789");
+        xui.addProperty("agg", "Adult");
+        xui.addProperty("usr", "234");
+        xui.addProperty("utr", "190");
+        xui.addProperty("prv", "184 185 186 187 188 190 191 193 196 198 199 200 201 203 204 205 206 207 208 211 217 220 224 227 228 235 238 245 247 249 252 254 255");
+        final JsonArray xuis = new JsonArray();
+        xuis.add(xui);
+        final JsonObject displayClaims = new JsonObject();
+        displayClaims.add("xui", xuis);
+        final JsonObject xstsToken = new JsonObject();
+        xstsToken.addProperty("IssueInstant", Instant.now().toString());
+        xstsToken.addProperty("NotAfter", Instant.now().plusSeconds(57600).toString());
+        xstsToken.addProperty("Token", Base64.getEncoder().encodeToString(tokenBytes));
+        xstsToken.add("DisplayClaims", displayClaims);
+        this.xstsTokenResponse = createJsonResponse(xstsToken);
+
+        final JsonArray servers = new JsonArray();
+        for (int i = 0; i < 20; i++) {
+            final JsonObject server = new JsonObject();
+            server.addProperty("id", i);
+            server.addProperty("remoteSubscriptionId", "sub-" + i);
+            server.addProperty("owner", "Owner" + i);
+            server.addProperty("ownerUUID", "2535412345678901");
+            server.addProperty("name", "Realm " + i);
+            server.addProperty("motd", "A benchmark realm");
+            server.addProperty("state", "OPEN");
+            server.addProperty("daysLeft", 30);
+            server.addProperty("expired", false);
+            server.addProperty("worldType", "NORMAL");
+            server.addProperty("maxPlayers", 10);
+            server.addProperty("activeVersion", "1.21.100");
+            server.addProperty("compatibility", "COMPATIBLE");
+            server.add("players", new JsonArray());
+            servers.add(server);
+        }
+        final JsonObject worlds = new JsonObject();
+        worlds.add("servers", servers);
+        this.realmsWorldsResponse = createJsonResponse(worlds);
+        this.realmsWorldsRequest = new RealmsWorldsRequest("pocket.realms.minecraft.net");
+    }
+
+    @Benchmark
+    public XblXstsToken xstsTokenTree() throws IOException {
+        return this.treeXstsTokenHandler.handle(this.xstsTokenResponse);
+    }
+
+    @Benchmark
+    public XblXstsToken xstsTokenStreaming() throws IOException {
+        return this.streamingXstsTokenHandler.handle(this.xstsTokenResponse);
+    }
+
+    @Benchmark
+    public List<RealmsServer> realmsWorlds() throws IOException {
+        return this.realmsWorldsRequest.handle(this.realmsWorldsResponse);
+    }
+
+    private static HttpResponse createJsonResponse(final JsonObject json) {
+        return new HttpResponse(null, StatusCodes.OK, json.toString().getBytes(StandardCharsets.UTF_8), Collections.singletonMap(HttpHeaders.CONTENT_TYPE, Collections.singletonList(ContentTypes.APPLICATION_JSON.toString())));
+    }
+
+    private static class TreeXstsTokenHandler implements XblResponseHandler<XblXstsToken> {
+
+        @Override
+        public XblXstsToken handle(final HttpResponse response, final GsonObject json) {
+            return XblXstsToken.fromApiJson(json);
+        }
+
+    }
+
+    private static class StreamingXstsTokenHandler implements XblResponseHandler<XblXstsToken>, StreamingJsonHttpResponseHandler<XblXstsToken> {
+
+        @Override
+        public XblXstsToken handle(final HttpResponse response, final JsonReader reader) throws IOException {
+            return XblXstsToken.fromApiJson(reader);
+        }
+
+    }
+
+}
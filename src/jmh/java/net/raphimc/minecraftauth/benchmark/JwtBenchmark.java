@@ -0,0 +1,111 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import com.google.gson.JsonObject;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
+import net.raphimc.minecraftauth.util.jwt.Jwt;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private String mojangJwt;
+    private String identityJwt;
+    private MinecraftCertificateChain warmCertificateChain;
+
+    @Setup
+    public void setup() {
+        final long now = System.currentTimeMillis() / 1000L;
+        final JsonObject mojangPayload = new JsonObject();
+        mojangPayload.addProperty("certificateAuthority", true);
+        mojangPayload.addProperty("exp", now + 172800);
+        mojangPayload.addProperty("identityPublicKey", randomBase64(120));
+        mojangPayload.addProperty("nbf", now - 60);
+        this.mojangJwt = createJwt(mojangPayload);
+
+        final JsonObject extraData = new JsonObject();
+        extraData.addProperty("XUID", "2535412345678901");
+        extraData.addProperty("identity", UUID.randomUUID().toString());
+        extraData.addProperty("displayName", "BenchmarkPlayer");
+        extraData.addProperty("titleId", "1739947436");
+        extraData.addProperty("sandboxId", "RETAIL");
+        final JsonObject identityPayload = new JsonObject();
+        identityPayload.add("extraData", extraData);
+        identityPayload.addProperty("identityPublicKey", randomBase64(120));
+        identityPayload.addProperty("randomNonce", ThreadLocalRandom.current().nextLong());
+        identityPayload.addProperty("iss", "Mojang");
+        identityPayload.addProperty("exp", now + 172800);
+        identityPayload.addProperty("iat", now);
+        identityPayload.addProperty("nbf", now - 60);
+        this.identityJwt = createJwt(identityPayload);
+
+        this.warmCertificateChain = new MinecraftCertificateChain(this.mojangJwt, this.identityJwt);
+        this.warmCertificateChain.getExpireTimeMs();
+    }
+
+    @Benchmark
+    public Jwt parse() {
+        return Jwt.parse(this.identityJwt);
+    }
+
+    /**
+     * Accesses the lazily parsed JWTs of a freshly loaded certificate chain.
+     */
+    @Benchmark
+    public String lazyGettersCold() {
+        final MinecraftCertificateChain certificateChain = new MinecraftCertificateChain(this.mojangJwt, this.identityJwt);
+        certificateChain.getExpireTimeMs();
+        return certificateChain.getIdentityXuid();
+    }
+
+    /**
+     * Accesses the lazily parsed JWTs of a certificate chain whose JWTs have already been parsed.
+     */
+    @Benchmark
+    public String lazyGettersWarm() {
+        this.warmCertificateChain.getExpireTimeMs();
+        return this.warmCertificateChain.getIdentityXuid();
+    }
+
+    private static String createJwt(final JsonObject payload) {
+        final JsonObject header = new JsonObject();
+        header.addProperty("alg", "ES384");
+        header.addProperty("x5u", randomBase64(120));
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(header.toString().getBytes(StandardCharsets.UTF_8)) + '.' + encoder.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8)) + '.' + encoder.encodeToString(new byte[96]);
+    }
+
+    private static String randomBase64(final int length) {
+        final byte[] bytes = new byte[length];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+}
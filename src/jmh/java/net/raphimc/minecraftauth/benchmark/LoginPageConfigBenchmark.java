@@ -0,0 +1,170 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import com.google.gson.stream.JsonReader;
+import net.lenni0451.commons.gson.GsonParser;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.raphimc.minecraftauth.msa.service.util.LoginPageConfigScanner;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoginPageConfigBenchmark {
+
+    private static final String LIVE_MARKER = "var ServerData = ";
+    private static final String MICROSOFT_ONLINE_MARKER = "$Config=";
+
+    private byte[] livePage;
+    private byte[] microsoftOnlinePage;
+
+    @Setup
+    public void setup() {
+        this.livePage = createLivePage().getBytes(StandardCharsets.UTF_8);
+        this.microsoftOnlinePage = createMicrosoftOnlinePage().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String liveLenientGson() {
+        final GsonObject config = parseLenient(new String(this.livePage, StandardCharsets.UTF_8), LIVE_MARKER);
+        final String sFTTag = config.reqString("sFTTag");
+        String sFT = sFTTag.substring(sFTTag.indexOf("value=\"") + 7);
+        sFT = sFT.substring(0, sFT.indexOf("\""));
+        return config.reqString("urlPost") + sFT;
+    }
+
+    @Benchmark
+    public String liveScanner() {
+        final Map<String, String> config = LoginPageConfigScanner.scan(this.livePage, LIVE_MARKER, "urlPost", "sFTTag");
+        return config.get("urlPost") + LoginPageConfigScanner.extractAttribute(config.get("sFTTag"), "value");
+    }
+
+    @Benchmark
+    public String microsoftOnlineLenientGson() {
+        final GsonObject config = parseLenient(new String(this.microsoftOnlinePage, StandardCharsets.UTF_8), MICROSOFT_ONLINE_MARKER);
+        return config.reqString("urlPost") + config.reqString("sCtx") + config.reqString("sFTName") + config.reqString("sFT");
+    }
+
+    @Benchmark
+    public String microsoftOnlineScanner() {
+        final Map<String, String> config = LoginPageConfigScanner.scan(this.microsoftOnlinePage, MICROSOFT_ONLINE_MARKER, "urlPost", "sCtx", "sFTName", "sFT");
+        return config.get("urlPost") + config.get("sCtx") + config.get("sFTName") + config.get("sFT");
+    }
+
+    private static GsonObject parseLenient(final String html, final String marker) {
+        final String configStart = html.substring(html.indexOf(marker) + marker.length());
+        final JsonReader jsonReader = new JsonReader(new StringReader(configStart));
+        jsonReader.setLenient(true);
+        return GsonParser.parse(jsonReader).asObject();
+    }
+
+    /**
+     * Builds a page resembling the live.com login page: a large head, the ServerData object with unquoted keys and escaped html, followed by the page scripts.
+     */
+    private static String createLivePage() {
+        final StringBuilder page = new StringBuilder("<!DOCTYPE html><html dir=\"ltr\" lang=\"en\"><head><title>Sign in to your Microsoft account</title>");
+        appendFiller(page, 40_000);
+        page.append("<script type=\"text/javascript\">var ServerData = {");
+        appendConfigFiller(page, 300);
+        page.append("urlPost:'https://login.live.com/ppsecure/post.srf?contextid=").append(randomHex(16)).append("&opid=").append(randomHex(16)).append("&bk=1700000000&uaid=").append(randomHex(32)).append("&pid=0',");
+        page.append("sFTTag:'\\u003cinput type=\"hidden\" name=\"PPFT\" id=\"i0327\" value=\"").append(randomHex(600)).append("\"/\\u003e',");
+        appendConfigFiller(page, 300);
+        page.append("};</script>");
+        appendFiller(page, 60_000);
+        return page.append("</body></html>").toString();
+    }
+
+    /**
+     * Builds a page resembling the login.microsoftonline.com login page: the $Config object with quoted keys followed by the page scripts.
+     */
+    private static String createMicrosoftOnlinePage() {
+        final StringBuilder page = new StringBuilder("<!DOCTYPE html><html dir=\"ltr\" lang=\"en\"><head><title>Sign in to your account</title>");
+        appendFiller(page, 20_000);
+        page.append("<script type=\"text/javascript\">//<![CDATA[\n$Config={");
+        page.append("\"urlPost\":\"/consumers/login\",");
+        appendQuotedConfigFiller(page, 200);
+        page.append("\"sCtx\":\"").append(randomHex(900)).append("\",");
+        page.append("\"sFTName\":\"flowToken\",");
+        page.append("\"sFT\":\"").append(randomHex(700)).append("\",");
+        appendQuotedConfigFiller(page, 200);
+        page.append("};\n//]]></script>");
+        appendFiller(page, 80_000);
+        return page.append("</body></html>").toString();
+    }
+
+    private static void appendFiller(final StringBuilder page, final int length) {
+        final int end = page.length() + length;
+        while (page.length() < end) {
+            page.append("<div class=\"row\"><span id=\"").append(randomHex(8)).append("\">function(){return a&&b.c(d)}</span></div>");
+        }
+    }
+
+    private static void appendConfigFiller(final StringBuilder page, final int fields) {
+        for (int i = 0; i < fields; i++) {
+            switch (i % 4) {
+                case 0:
+                    page.append("str").append(i).append(":'").append(randomHex(24)).append("',");
+                    break;
+                case 1:
+                    page.append("i").append(i).append(':').append(i).append(',');
+                    break;
+                case 2:
+                    page.append("f").append(i).append(":true,");
+                    break;
+                default:
+                    page.append("o").append(i).append(":{a:'\\u003cb\\u003e',b:[1,2,3]},");
+                    break;
+            }
+        }
+    }
+
+    private static void appendQuotedConfigFiller(final StringBuilder page, final int fields) {
+        for (int i = 0; i < fields; i++) {
+            switch (i % 3) {
+                case 0:
+                    page.append("\"str").append(i).append("\":\"").append(randomHex(24)).append("\",");
+                    break;
+                case 1:
+                    page.append("\"i").append(i).append("\":").append(i).append(',');
+                    break;
+                default:
+                    page.append("\"arr").append(i).append("\":[\"a\",\"b\",{\"c\":null}],");
+                    break;
+            }
+        }
+    }
+
+    private static String randomHex(final int length) {
+        final StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(Character.forDigit(ThreadLocalRandom.current().nextInt(16), 16));
+        }
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import com.google.gson.JsonObject;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Measures the retained heap size of restored auth managers with JOL.<br>
+ * The shared http client is excluded, because it is shared by all auth managers.
+ */
+public class ManagerFootprint {
+
+    public static void main(final String[] args) throws Exception {
+        final JsonObject javaJson;
+        final JsonObject bedrockJson;
+        try (StubAuthServer ignored = StubSessions.startServer()) {
+            javaJson = JavaAuthManager.toJson(StubSessions.loginJava());
+            bedrockJson = BedrockAuthManager.toJson(StubSessions.loginBedrock());
+        }
+
+        final HttpClient httpClient = MinecraftAuth.createHttpClient();
+        final JavaAuthManager javaAuthManager = JavaAuthManager.fromJson(httpClient, javaJson);
+        print("JavaAuthManager (restored)", javaAuthManager, httpClient);
+        javaAuthManager.getMinecraftProfile();
+        print("JavaAuthManager (minecraftProfile accessed)", javaAuthManager, httpClient);
+        javaAuthManager.getHolders();
+        print("JavaAuthManager (all holders accessed)", javaAuthManager, httpClient);
+
+        final BedrockAuthManager bedrockAuthManager = BedrockAuthManager.fromJson(httpClient, StubSessions.BEDROCK_GAME_VERSION, bedrockJson);
+        print("BedrockAuthManager (restored)", bedrockAuthManager, httpClient);
+        bedrockAuthManager.getMinecraftCertificateChain();
+        print("BedrockAuthManager (minecraftCertificateChain accessed)", bedrockAuthManager, httpClient);
+        bedrockAuthManager.getHolders();
+        print("BedrockAuthManager (all holders accessed)", bedrockAuthManager, httpClient);
+    }
+
+    private static void print(final String name, final Object authManager, final HttpClient httpClient) {
+        final GraphLayout layout = GraphLayout.parseInstance(authManager).subtract(GraphLayout.parseInstance(httpClient));
+        System.out.println(name + ": " + layout.totalSize() + " bytes in " + layout.totalCount() + " objects");
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.util.CryptUtil;
+import net.raphimc.minecraftauth.xbl.request.XblDeviceAuthenticateRequest;
+import org.openjdk.jmh.annotations.*;
+
+import java.security.KeyPair;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignedXblRequestBenchmark {
+
+    private final UUID deviceId = UUID.randomUUID();
+    private KeyPair deviceKeyPair;
+
+    @Setup
+    public void setup() throws Exception {
+        this.deviceKeyPair = CryptUtil.generateEcdsa256KeyPair();
+        try (StubAuthServer ignored = StubSessions.startServer()) { // The signature timestamp needs the client time offset
+        }
+    }
+
+    /**
+     * Builds the request body and appends the signature header.
+     */
+    @Benchmark
+    public XblDeviceAuthenticateRequest deviceAuthenticateRequest() throws Exception {
+        return new XblDeviceAuthenticateRequest("Win32", this.deviceId, this.deviceKeyPair);
+    }
+
+}
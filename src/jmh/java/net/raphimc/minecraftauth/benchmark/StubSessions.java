@@ -0,0 +1,67 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.benchmark;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.service.impl.DeviceCodeMsaAuthService;
+import net.raphimc.minecraftauth.util.TimeUtil;
+
+import java.util.function.Consumer;
+
+/**
+ * Creates fully populated auth managers by logging in against a {@link StubAuthServer}.
+ */
+public class StubSessions {
+
+    public static final String BEDROCK_GAME_VERSION = "1.21.100";
+
+    public static StubAuthServer startServer() throws Exception {
+        final StubAuthServer server = new StubAuthServer().start();
+        server.setDeviceCodeIntervalSeconds(1);
+        TimeUtil.getClientTimeOffset(); // Resolve the time offset against the stub server so that benchmarks never hit the network
+        return server;
+    }
+
+    public static JavaAuthManager loginJava() throws Exception {
+        final HttpClient httpClient = MinecraftAuth.createHttpClient();
+        final JavaAuthManager authManager = JavaAuthManager.create(httpClient).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+        authManager.getMinecraftProfile().getUpToDate();
+        authManager.getMinecraftEntitlements().getUpToDate();
+        authManager.getMinecraftPlayerCertificates().getUpToDate();
+        authManager.getXboxUserProfile().getUpToDate();
+        return authManager;
+    }
+
+    public static BedrockAuthManager loginBedrock() throws Exception {
+        final HttpClient httpClient = MinecraftAuth.createHttpClient();
+        final BedrockAuthManager authManager = BedrockAuthManager.create(httpClient, BEDROCK_GAME_VERSION).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+        authManager.getMinecraftCertificateChain().getUpToDate();
+        authManager.getMinecraftMultiplayerToken().getUpToDate();
+        authManager.getRealmsXstsToken().getUpToDate();
+        authManager.getXboxUserProfile().getUpToDate();
+        return authManager;
+    }
+
+}
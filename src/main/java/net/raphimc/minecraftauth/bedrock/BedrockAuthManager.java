@@ -22,10 +22,12 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpClient;
 import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftJoinBundle;
 import net.raphimc.minecraftauth.bedrock.model.MinecraftMultiplayerToken;
 import net.raphimc.minecraftauth.bedrock.model.MinecraftSession;
 import net.raphimc.minecraftauth.bedrock.request.MinecraftAuthenticationRequest;
@@ -46,14 +48,23 @@ import net.raphimc.minecraftauth.playfab.request.PlayFabLoginWithXboxRequest;
 import net.raphimc.minecraftauth.util.CryptUtil;
 import net.raphimc.minecraftauth.util.JsonUtil;
 import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.LazyHolders;
 import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+import net.raphimc.minecraftauth.xbl.DeviceIdentity;
+import net.raphimc.minecraftauth.xbl.XblProfileLookup;
 import net.raphimc.minecraftauth.xbl.data.XblConstants;
 import net.raphimc.minecraftauth.xbl.model.*;
 import net.raphimc.minecraftauth.xbl.request.*;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.io.IOException;
 import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeoutException;
 
 @Getter
@@ -64,16 +75,35 @@ public class BedrockAuthManager {
     }
 
     public static BedrockAuthManager fromJson(final HttpClient httpClient, final String gameVersion, final GsonObject json) {
+        return load(httpClient, gameVersion, json, DeviceIdentity.fromJson(httpClient, json));
+    }
+
+    /**
+     * Loads an auth manager which uses the given (Possibly shared) device identity instead of the one stored in the json.<br>
+     * The stored device token is only reused if it belongs to the given device identity.<br>
+     * The shared device token holder doesn't notify the change listeners of the auth manager, so the device identity has to be saved separately (See {@link DeviceIdentity#toJson(DeviceIdentity)}).
+     */
+    public static BedrockAuthManager fromJson(final HttpClient httpClient, final String gameVersion, final JsonObject json, final DeviceIdentity deviceIdentity) {
+        return fromJson(httpClient, gameVersion, new GsonObject(json), deviceIdentity);
+    }
+
+    public static BedrockAuthManager fromJson(final HttpClient httpClient, final String gameVersion, final GsonObject json, final DeviceIdentity deviceIdentity) {
+        final BedrockAuthManager authManager = load(httpClient, gameVersion, json, deviceIdentity);
+        authManager.holders.markShared(XBL_DEVICE_TOKEN);
+        return authManager;
+    }
+
+    private static BedrockAuthManager load(final HttpClient httpClient, final String gameVersion, final GsonObject json, final DeviceIdentity deviceIdentity) {
+        if (deviceIdentity.getDeviceId().toString().equals(json.reqString("deviceId"))) {
+            json.optObject("xblDeviceToken").map(XblDeviceToken::fromJson).ifPresent(deviceIdentity::adoptXblDeviceToken);
+        }
         return new BedrockAuthManager(
                 httpClient,
                 gameVersion,
                 MsaApplicationConfig.fromJson(json.reqObject("msaApplicationConfig")),
-                json.reqString("deviceType"),
-                JsonUtil.decodeKeyPair(json.reqObject("deviceKeyPair")),
-                UUID.fromString(json.reqString("deviceId")),
+                deviceIdentity,
                 JsonUtil.decodeKeyPair(json.reqObject("sessionKeyPair")),
                 MsaToken.fromJson(json.reqObject("msaToken")),
-                json.optObject("xblDeviceToken").map(XblDeviceToken::fromJson).orElse(null),
                 json.optObject("xblUserToken").map(XblUserToken::fromJson).orElse(null),
                 json.optObject("xblTitleToken").map(XblTitleToken::fromJson).orElse(null),
                 json.optObject("bedrockXstsToken").map(XblXstsToken::fromJson).orElse(null),
@@ -97,45 +127,45 @@ public class BedrockAuthManager {
         json.add("deviceKeyPair", JsonUtil.encodeKeyPair(authManager.deviceKeyPair));
         json.addProperty("deviceId", authManager.deviceId.toString());
         json.add("sessionKeyPair", JsonUtil.encodeKeyPair(authManager.sessionKeyPair));
-        json.add("msaToken", MsaToken.toJson(authManager.msaToken.getCached()));
-        if (authManager.xblDeviceToken.hasValue()) {
-            json.add("xblDeviceToken", XblDeviceToken.toJson(authManager.xblDeviceToken.getCached()));
+        json.add("msaToken", MsaToken.toJson(authManager.holders.getCached(MSA_TOKEN)));
+        if (authManager.deviceIdentity.getXblDeviceToken().hasValue()) {
+            json.add("xblDeviceToken", XblDeviceToken.toJson(authManager.deviceIdentity.getXblDeviceToken().getCached()));
         }
-        if (authManager.xblUserToken.hasValue()) {
-            json.add("xblUserToken", XblUserToken.toJson(authManager.xblUserToken.getCached()));
+        if (authManager.holders.getCached(XBL_USER_TOKEN) != null) {
+            json.add("xblUserToken", XblUserToken.toJson(authManager.holders.getCached(XBL_USER_TOKEN)));
         }
-        if (authManager.xblTitleToken.hasValue()) {
-            json.add("xblTitleToken", XblTitleToken.toJson(authManager.xblTitleToken.getCached()));
+        if (authManager.holders.getCached(XBL_TITLE_TOKEN) != null) {
+            json.add("xblTitleToken", XblTitleToken.toJson(authManager.holders.getCached(XBL_TITLE_TOKEN)));
         }
-        if (authManager.bedrockXstsToken.hasValue()) {
-            json.add("bedrockXstsToken", XblXstsToken.toJson(authManager.bedrockXstsToken.getCached()));
+        if (authManager.holders.getCached(BEDROCK_XSTS_TOKEN) != null) {
+            json.add("bedrockXstsToken", XblXstsToken.toJson(authManager.holders.getCached(BEDROCK_XSTS_TOKEN)));
         }
-        if (authManager.playFabXstsToken.hasValue()) {
-            json.add("playFabXstsToken", XblXstsToken.toJson(authManager.playFabXstsToken.getCached()));
+        if (authManager.holders.getCached(PLAYFAB_XSTS_TOKEN) != null) {
+            json.add("playFabXstsToken", XblXstsToken.toJson(authManager.holders.getCached(PLAYFAB_XSTS_TOKEN)));
         }
-        if (authManager.realmsXstsToken.hasValue()) {
-            json.add("realmsXstsToken", XblXstsToken.toJson(authManager.realmsXstsToken.getCached()));
+        if (authManager.holders.getCached(REALMS_XSTS_TOKEN) != null) {
+            json.add("realmsXstsToken", XblXstsToken.toJson(authManager.holders.getCached(REALMS_XSTS_TOKEN)));
         }
-        if (authManager.xboxLiveXstsToken.hasValue()) {
-            json.add("xboxLiveXstsToken", XblXstsToken.toJson(authManager.xboxLiveXstsToken.getCached()));
+        if (authManager.holders.getCached(XBOX_LIVE_XSTS_TOKEN) != null) {
+            json.add("xboxLiveXstsToken", XblXstsToken.toJson(authManager.holders.getCached(XBOX_LIVE_XSTS_TOKEN)));
         }
-        if (authManager.xboxUserProfile.hasValue()) {
-            json.add("xboxUserProfile", XblUserProfile.toJson(authManager.xboxUserProfile.getCached()));
+        if (authManager.holders.getCached(XBOX_USER_PROFILE) != null) {
+            json.add("xboxUserProfile", XblUserProfile.toJson(authManager.holders.getCached(XBOX_USER_PROFILE)));
         }
-        if (authManager.playFabToken.hasValue()) {
-            json.add("playFabToken", PlayFabToken.toJson(authManager.playFabToken.getCached()));
+        if (authManager.holders.getCached(PLAYFAB_TOKEN) != null) {
+            json.add("playFabToken", PlayFabToken.toJson(authManager.holders.getCached(PLAYFAB_TOKEN)));
         }
-        if (authManager.playFabMasterToken.hasValue()) {
-            json.add("playFabMasterToken", PlayFabEntityToken.toJson(authManager.playFabMasterToken.getCached()));
+        if (authManager.holders.getCached(PLAYFAB_MASTER_TOKEN) != null) {
+            json.add("playFabMasterToken", PlayFabEntityToken.toJson(authManager.holders.getCached(PLAYFAB_MASTER_TOKEN)));
         }
-        if (authManager.minecraftSession.hasValue()) {
-            json.add("minecraftSession", MinecraftSession.toJson(authManager.minecraftSession.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_SESSION) != null) {
+            json.add("minecraftSession", MinecraftSession.toJson(authManager.holders.getCached(MINECRAFT_SESSION)));
         }
-        if (authManager.minecraftMultiplayerToken.hasValue()) {
-            json.add("minecraftMultiplayerToken", MinecraftMultiplayerToken.toJson(authManager.minecraftMultiplayerToken.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_MULTIPLAYER_TOKEN) != null) {
+            json.add("minecraftMultiplayerToken", MinecraftMultiplayerToken.toJson(authManager.holders.getCached(MINECRAFT_MULTIPLAYER_TOKEN)));
         }
-        if (authManager.minecraftCertificateChain.hasValue()) {
-            json.add("minecraftCertificateChain", MinecraftCertificateChain.toJson(authManager.minecraftCertificateChain.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_CERTIFICATE_CHAIN) != null) {
+            json.add("minecraftCertificateChain", MinecraftCertificateChain.toJson(authManager.holders.getCached(MINECRAFT_CERTIFICATE_CHAIN)));
         }
         return json;
     }
@@ -144,87 +174,394 @@ public class BedrockAuthManager {
         return new Builder(httpClient, gameVersion);
     }
 
+    private static final int MSA_TOKEN = 0;
+    private static final int XBL_DEVICE_TOKEN = 1;
+    private static final int XBL_USER_TOKEN = 2;
+    private static final int XBL_TITLE_TOKEN = 3;
+    private static final int BEDROCK_XSTS_TOKEN = 4;
+    private static final int PLAYFAB_XSTS_TOKEN = 5;
+    private static final int REALMS_XSTS_TOKEN = 6;
+    private static final int XBOX_LIVE_XSTS_TOKEN = 7;
+    @ApiStatus.Internal
+    public static final int XBOX_USER_PROFILE = 8;
+    private static final int PLAYFAB_TOKEN = 9;
+    private static final int PLAYFAB_MASTER_TOKEN = 10;
+    private static final int MINECRAFT_SESSION = 11;
+    @ApiStatus.Internal
+    public static final int MINECRAFT_MULTIPLAYER_TOKEN = 12;
+    @ApiStatus.Internal
+    public static final int MINECRAFT_CERTIFICATE_CHAIN = 13;
+    private static final int HOLDER_COUNT = 14;
+
     private final HttpClient httpClient;
     private final String gameVersion;
     private final MsaApplicationConfig msaApplicationConfig;
     private final String deviceType;
     private final KeyPair deviceKeyPair;
     private final UUID deviceId;
-    private final KeyPair sessionKeyPair;
+    private final DeviceIdentity deviceIdentity;
+    /**
+     * Only replaced while holding the refresh locks of the certificate chain and the multiplayer token.
+     */
+    private volatile KeyPair sessionKeyPair;
     private final ChangeListeners changeListeners = new ChangeListeners();
 
     @Getter(AccessLevel.NONE)
     private final Object sisuTokensLock = new Object();
 
-    private final Holder<MsaToken> msaToken = new Holder<>(this::refreshMsaToken);
-    private final Holder<XblDeviceToken> xblDeviceToken = new Holder<>(this::refreshXblDeviceToken);
-    private final Holder<XblUserToken> xblUserToken = new Holder<>(this::refreshXblUserToken, this.sisuTokensLock);
-    private final Holder<XblTitleToken> xblTitleToken = new Holder<>(this::refreshXblTitleToken, this.sisuTokensLock);
-    private final Holder<XblXstsToken> bedrockXstsToken = new Holder<>(this::refreshBedrockXstsToken, this.sisuTokensLock);
-    private final Holder<XblXstsToken> playFabXstsToken = new Holder<>(this::refreshPlayFabXstsToken);
-    private final Holder<XblXstsToken> realmsXstsToken = new Holder<>(this::refreshRealmsXstsToken);
-    private final Holder<XblXstsToken> xboxLiveXstsToken = new Holder<>(this::refreshXboxLiveXstsToken);
-    private final Holder<XblUserProfile> xboxUserProfile = new Holder<>(this::refreshXboxUserProfile);
-    private final Holder<PlayFabToken> playFabToken = new Holder<>(this::refreshPlayFabToken);
-    private final Holder<PlayFabEntityToken> playFabMasterToken = new Holder<>(this::refreshPlayFabMasterToken);
-    private final Holder<MinecraftSession> minecraftSession = new Holder<>(this::refreshMinecraftSession);
-    private final Holder<MinecraftMultiplayerToken> minecraftMultiplayerToken = new Holder<>(this::refreshMinecraftMultiplayerToken);
-    private final Holder<MinecraftCertificateChain> minecraftCertificateChain = new Holder<>(this::refreshMinecraftCertificateChain);
-
-    private BedrockAuthManager(final HttpClient httpClient, final String gameVersion, final MsaApplicationConfig msaApplicationConfig, final String deviceType, final KeyPair deviceKeyPair, final UUID deviceId, final KeyPair sessionKeyPair, final MsaToken msaToken) {
+    @Getter(AccessLevel.NONE)
+    private final Object sessionKeyRotationLock = new Object();
+
+    @Getter(AccessLevel.NONE)
+    private volatile MinecraftJoinBundle joinBundle;
+
+    @Getter(AccessLevel.NONE)
+    private volatile BedrockLoginPayloadBuilder loginPayloadBuilder;
+
+    @Getter(AccessLevel.NONE)
+    private final LazyHolders holders = new LazyHolders(HOLDER_COUNT, this::createHolder, this.changeListeners);
+
+    private BedrockAuthManager(final HttpClient httpClient, final String gameVersion, final MsaApplicationConfig msaApplicationConfig, final DeviceIdentity deviceIdentity, final KeyPair sessionKeyPair, final MsaToken msaToken) {
         this.httpClient = httpClient;
         this.gameVersion = gameVersion;
         this.msaApplicationConfig = msaApplicationConfig;
-        this.deviceType = deviceType;
-        this.deviceKeyPair = deviceKeyPair;
-        this.deviceId = deviceId;
+        this.deviceType = deviceIdentity.getDeviceType();
+        this.deviceKeyPair = deviceIdentity.getDeviceKeyPair();
+        this.deviceId = deviceIdentity.getDeviceId();
+        this.deviceIdentity = deviceIdentity;
         this.sessionKeyPair = sessionKeyPair;
-        this.msaToken.set(msaToken);
-        this.hookChangeListeners();
+        this.holders.setInitialValue(MSA_TOKEN, msaToken);
     }
 
-    private BedrockAuthManager(final HttpClient httpClient, final String gameVersion, final MsaApplicationConfig msaApplicationConfig, final String deviceType, final KeyPair deviceKeyPair, final UUID deviceId, final KeyPair sessionKeyPair, final MsaToken msaToken, final XblDeviceToken xblDeviceToken, final XblUserToken xblUserToken, final XblTitleToken xblTitleToken, final XblXstsToken bedrockXstsToken, final XblXstsToken playFabXstsToken, final XblXstsToken realmsXstsToken, final XblXstsToken xboxLiveXstsToken, final XblUserProfile xboxUserProfile, final PlayFabToken playFabToken, final PlayFabEntityToken playFabMasterToken, final MinecraftSession minecraftSession, final MinecraftMultiplayerToken minecraftMultiplayerToken, final MinecraftCertificateChain minecraftCertificateChain) {
+    private BedrockAuthManager(final HttpClient httpClient, final String gameVersion, final MsaApplicationConfig msaApplicationConfig, final DeviceIdentity deviceIdentity, final KeyPair sessionKeyPair, final MsaToken msaToken, final XblUserToken xblUserToken, final XblTitleToken xblTitleToken, final XblXstsToken bedrockXstsToken, final XblXstsToken playFabXstsToken, final XblXstsToken realmsXstsToken, final XblXstsToken xboxLiveXstsToken, final XblUserProfile xboxUserProfile, final PlayFabToken playFabToken, final PlayFabEntityToken playFabMasterToken, final MinecraftSession minecraftSession, final MinecraftMultiplayerToken minecraftMultiplayerToken, final MinecraftCertificateChain minecraftCertificateChain) {
         this.httpClient = httpClient;
         this.gameVersion = gameVersion;
         this.msaApplicationConfig = msaApplicationConfig;
-        this.deviceType = deviceType;
-        this.deviceKeyPair = deviceKeyPair;
-        this.deviceId = deviceId;
+        this.deviceType = deviceIdentity.getDeviceType();
+        this.deviceKeyPair = deviceIdentity.getDeviceKeyPair();
+        this.deviceId = deviceIdentity.getDeviceId();
+        this.deviceIdentity = deviceIdentity;
         this.sessionKeyPair = sessionKeyPair;
-        this.msaToken.set(msaToken);
-        this.xblDeviceToken.set(xblDeviceToken);
-        this.xblUserToken.set(xblUserToken);
-        this.xblTitleToken.set(xblTitleToken);
-        this.bedrockXstsToken.set(bedrockXstsToken);
-        this.playFabXstsToken.set(playFabXstsToken);
-        this.realmsXstsToken.set(realmsXstsToken);
-        this.xboxLiveXstsToken.set(xboxLiveXstsToken);
-        this.xboxUserProfile.set(xboxUserProfile);
-        this.playFabToken.set(playFabToken);
-        this.playFabMasterToken.set(playFabMasterToken);
-        this.minecraftSession.set(minecraftSession);
-        this.minecraftMultiplayerToken.set(minecraftMultiplayerToken);
-        this.minecraftCertificateChain.set(minecraftCertificateChain);
-        this.hookChangeListeners();
+        this.holders.setInitialValue(MSA_TOKEN, msaToken);
+        this.holders.setInitialValue(XBL_USER_TOKEN, xblUserToken);
+        this.holders.setInitialValue(XBL_TITLE_TOKEN, xblTitleToken);
+        this.holders.setInitialValue(BEDROCK_XSTS_TOKEN, bedrockXstsToken);
+        this.holders.setInitialValue(PLAYFAB_XSTS_TOKEN, playFabXstsToken);
+        this.holders.setInitialValue(REALMS_XSTS_TOKEN, realmsXstsToken);
+        this.holders.setInitialValue(XBOX_LIVE_XSTS_TOKEN, xboxLiveXstsToken);
+        this.holders.setInitialValue(XBOX_USER_PROFILE, xboxUserProfile);
+        this.holders.setInitialValue(PLAYFAB_TOKEN, playFabToken);
+        this.holders.setInitialValue(PLAYFAB_MASTER_TOKEN, playFabMasterToken);
+        this.holders.setInitialValue(MINECRAFT_SESSION, minecraftSession);
+        this.holders.setInitialValue(MINECRAFT_MULTIPLAYER_TOKEN, minecraftMultiplayerToken);
+        this.holders.setInitialValue(MINECRAFT_CERTIFICATE_CHAIN, minecraftCertificateChain);
     }
 
-    private MsaToken refreshMsaToken() throws IOException {
-        if (this.msaToken.getCached().getRefreshToken() == null) {
-            throw new IllegalStateException("Can't refresh MSA token, because it was created without a refresh token. The user has to sign in again.");
+    public Holder<MsaToken> getMsaToken() {
+        return this.holders.get(MSA_TOKEN);
+    }
+
+    public Holder<XblDeviceToken> getXblDeviceToken() {
+        return this.holders.get(XBL_DEVICE_TOKEN);
+    }
+
+    public Holder<XblUserToken> getXblUserToken() {
+        return this.holders.get(XBL_USER_TOKEN);
+    }
+
+    public Holder<XblTitleToken> getXblTitleToken() {
+        return this.holders.get(XBL_TITLE_TOKEN);
+    }
+
+    public Holder<XblXstsToken> getBedrockXstsToken() {
+        return this.holders.get(BEDROCK_XSTS_TOKEN);
+    }
+
+    public Holder<XblXstsToken> getPlayFabXstsToken() {
+        return this.holders.get(PLAYFAB_XSTS_TOKEN);
+    }
+
+    public Holder<XblXstsToken> getRealmsXstsToken() {
+        return this.holders.get(REALMS_XSTS_TOKEN);
+    }
+
+    public Holder<XblXstsToken> getXboxLiveXstsToken() {
+        return this.holders.get(XBOX_LIVE_XSTS_TOKEN);
+    }
+
+    public Holder<XblUserProfile> getXboxUserProfile() {
+        return this.holders.get(XBOX_USER_PROFILE);
+    }
+
+    public Holder<PlayFabToken> getPlayFabToken() {
+        return this.holders.get(PLAYFAB_TOKEN);
+    }
+
+    public Holder<PlayFabEntityToken> getPlayFabMasterToken() {
+        return this.holders.get(PLAYFAB_MASTER_TOKEN);
+    }
+
+    public Holder<MinecraftSession> getMinecraftSession() {
+        return this.holders.get(MINECRAFT_SESSION);
+    }
+
+    public Holder<MinecraftMultiplayerToken> getMinecraftMultiplayerToken() {
+        return this.holders.get(MINECRAFT_MULTIPLAYER_TOKEN);
+    }
+
+    public Holder<MinecraftCertificateChain> getMinecraftCertificateChain() {
+        return this.holders.get(MINECRAFT_CERTIFICATE_CHAIN);
+    }
+
+    /**
+     * Creates a batch Xbox profile lookup which is authenticated with the Xbox Live XSTS token of this auth manager.
+     *
+     * @return The profile lookup.
+     */
+    public XblProfileLookup createXboxProfileLookup() {
+        return new XblProfileLookup(this.httpClient, this.getXboxLiveXstsToken());
+    }
+
+    /**
+     * Returns all holders of this auth manager.<br>
+     * This creates every holder which hasn't been accessed yet. Use {@link #getHolderSlots()} to only look at the holders which already exist.
+     *
+     * @return All holders of this auth manager
+     */
+    public List<Holder<?>> getHolders() {
+        return Arrays.asList(
+                this.getMsaToken(),
+                this.getXblDeviceToken(),
+                this.getXblUserToken(),
+                this.getXblTitleToken(),
+                this.getBedrockXstsToken(),
+                this.getPlayFabXstsToken(),
+                this.getRealmsXstsToken(),
+                this.getXboxLiveXstsToken(),
+                this.getXboxUserProfile(),
+                this.getPlayFabToken(),
+                this.getPlayFabMasterToken(),
+                this.getMinecraftSession(),
+                this.getMinecraftMultiplayerToken(),
+                this.getMinecraftCertificateChain()
+        );
+    }
+
+    /**
+     * @return The lazily created holders of this auth manager. The slot indices match the order of {@link #getHolders()}
+     */
+    @ApiStatus.Internal
+    public LazyHolders getHolderSlots() {
+        return this.holders;
+    }
+
+    /**
+     * Resolves everything needed to join a server.<br>
+     * Once the shared device and user tokens are up to date, the certificate chain and the multiplayer token branches are resolved concurrently.<br>
+     * The returned bundle is cached until the first of its tokens expires.
+     *
+     * @return The join bundle.
+     */
+    public MinecraftJoinBundle prepareJoin() throws IOException {
+        final Holder<MinecraftCertificateChain> certificateChainHolder = this.getMinecraftCertificateChain();
+        final Holder<MinecraftMultiplayerToken> multiplayerTokenHolder = this.getMinecraftMultiplayerToken();
+        final MinecraftJoinBundle cachedBundle = this.joinBundle;
+        if (cachedBundle != null && !cachedBundle.isExpired() && cachedBundle.getSessionKeyPair() == this.sessionKeyPair && cachedBundle.getCertificateChain() == certificateChainHolder.getCached() && cachedBundle.getMultiplayerToken() == multiplayerTokenHolder.getCached()) {
+            return cachedBundle; // The bundle itself is always consistent, even if a rotation happens right now
+        }
+
+        this.getXblDeviceToken().getUpToDate();
+        this.getXblUserToken().getUpToDate();
+        if (this.msaApplicationConfig.isTitleClientId()) {
+            this.getXblTitleToken().getUpToDate();
         }
-        return this.httpClient.executeAndHandle(new MsaRefreshTokenRequest(this.msaApplicationConfig, this.msaToken.getCached()));
+
+        final CompletableFuture<MinecraftCertificateChain> certificateChainFuture = CompletableFuture.supplyAsync(certificateChainHolder::getUpToDateUnchecked);
+        multiplayerTokenHolder.getUpToDate();
+        this.joinUnchecked(certificateChainFuture);
+
+        // The key pair and both tokens are only swapped while holding both refresh locks, so reading them under the same locks gives a consistent snapshot
+        return certificateChainHolder.callLocked(() -> multiplayerTokenHolder.callLocked(() -> {
+            final MinecraftJoinBundle bundle = new MinecraftJoinBundle(certificateChainHolder.getCached(), multiplayerTokenHolder.getCached(), this.sessionKeyPair);
+            this.joinBundle = bundle;
+            return bundle;
+        }));
+    }
+
+    /**
+     * Resolves everything needed to join a server.<br>
+     * Once the shared device and user tokens are up to date, the certificate chain and the multiplayer token branches are resolved concurrently.<br>
+     * The returned bundle is cached until the first of its tokens expires.
+     *
+     * @return The join bundle.
+     */
+    @SneakyThrows
+    public MinecraftJoinBundle prepareJoinUnchecked() {
+        return this.prepareJoin();
     }
 
-    private XblDeviceToken refreshXblDeviceToken() throws IOException {
-        return this.httpClient.executeAndHandle(new XblDeviceAuthenticateRequest(this.deviceType, this.deviceId, this.deviceKeyPair));
+    /**
+     * Resolves everything needed to join a server.<br>
+     * Once the shared device and user tokens are up to date, the certificate chain and the multiplayer token branches are resolved concurrently.<br>
+     * The returned bundle is cached until the first of its tokens expires.
+     *
+     * @return The join bundle.
+     */
+    public CompletableFuture<MinecraftJoinBundle> prepareJoinAsync() {
+        return CompletableFuture.supplyAsync(this::prepareJoinUnchecked);
+    }
+
+    /**
+     * Returns a builder for the JWTs of the login packet.<br>
+     * The builder is reused until the certificate chain or the session key pair changes.
+     *
+     * @return The login payload builder.
+     */
+    public BedrockLoginPayloadBuilder getLoginPayloadBuilder() throws IOException {
+        final Holder<MinecraftCertificateChain> certificateChainHolder = this.getMinecraftCertificateChain();
+        certificateChainHolder.getUpToDate();
+
+        // The key pair is only swapped while holding the refresh lock of the certificate chain, so the chain and the key pair read under it belong together
+        return certificateChainHolder.callLocked(() -> {
+            final MinecraftCertificateChain certificateChain = certificateChainHolder.getCached();
+            final KeyPair sessionKeyPair = this.sessionKeyPair;
+            final BedrockLoginPayloadBuilder cachedBuilder = this.loginPayloadBuilder;
+            if (cachedBuilder != null && cachedBuilder.isFor(certificateChain, sessionKeyPair)) {
+                return cachedBuilder;
+            }
+
+            final BedrockLoginPayloadBuilder builder = new BedrockLoginPayloadBuilder(certificateChain, sessionKeyPair);
+            this.loginPayloadBuilder = builder;
+            return builder;
+        });
+    }
+
+    /**
+     * Returns a builder for the JWTs of the login packet.<br>
+     * The builder is reused until the certificate chain or the session key pair changes.
+     *
+     * @return The login payload builder.
+     */
+    @SneakyThrows
+    public BedrockLoginPayloadBuilder getLoginPayloadBuilderUnchecked() {
+        return this.getLoginPayloadBuilder();
+    }
+
+    /**
+     * Returns a builder for the JWTs of the login packet.<br>
+     * The builder is reused until the certificate chain or the session key pair changes.
+     *
+     * @return The login payload builder.
+     */
+    public CompletableFuture<BedrockLoginPayloadBuilder> getLoginPayloadBuilderAsync() {
+        return CompletableFuture.supplyAsync(this::getLoginPayloadBuilderUnchecked);
+    }
+
+    /**
+     * Replaces the session key pair with a newly generated one.<br>
+     * The certificate chain and multiplayer token for the new key pair are fetched first and then swapped in together with the key pair, so joins never have to wait for the rotation.<br>
+     * Previously returned join bundles and login payload builders keep using the old key pair and stay valid until their tokens expire.
+     */
+    public void rotateSessionKeyPair() throws IOException {
+        synchronized (this.sessionKeyRotationLock) {
+            final KeyPair nextSessionKeyPair = CryptUtil.generateEcdsa384KeyPair();
+            final CompletableFuture<MinecraftCertificateChain> certificateChainFuture = CompletableFuture.supplyAsync(() -> this.fetchMinecraftCertificateChainUnchecked(nextSessionKeyPair));
+            final MinecraftMultiplayerToken multiplayerToken = HttpUtil.executeAndHandle(this.httpClient, new MinecraftMultiplayerSessionStartRequest(this.getMinecraftSession().getUpToDate(), nextSessionKeyPair));
+            final MinecraftCertificateChain certificateChain = this.joinUnchecked(certificateChainFuture);
+
+            // Hold both refresh locks, so a refresh which is still using the old key pair can't overwrite the new tokens
+            final Holder<MinecraftCertificateChain> certificateChainHolder = this.getMinecraftCertificateChain();
+            final Holder<MinecraftMultiplayerToken> multiplayerTokenHolder = this.getMinecraftMultiplayerToken();
+            certificateChainHolder.runLocked(() -> multiplayerTokenHolder.runLocked(() -> {
+                this.sessionKeyPair = nextSessionKeyPair;
+                certificateChainHolder.set(certificateChain);
+                multiplayerTokenHolder.set(multiplayerToken);
+                this.joinBundle = new MinecraftJoinBundle(certificateChain, multiplayerToken, nextSessionKeyPair);
+            }));
+        }
+    }
+
+    /**
+     * Replaces the session key pair with a newly generated one.<br>
+     * The certificate chain and multiplayer token for the new key pair are fetched first and then swapped in together with the key pair, so joins never have to wait for the rotation.<br>
+     * Previously returned join bundles and login payload builders keep using the old key pair and stay valid until their tokens expire.
+     */
+    @SneakyThrows
+    public void rotateSessionKeyPairUnchecked() {
+        this.rotateSessionKeyPair();
+    }
+
+    /**
+     * Replaces the session key pair with a newly generated one in the background.<br>
+     * The certificate chain and multiplayer token for the new key pair are fetched first and then swapped in together with the key pair, so joins never have to wait for the rotation.<br>
+     * Previously returned join bundles and login payload builders keep using the old key pair and stay valid until their tokens expire.
+     */
+    public CompletableFuture<Void> rotateSessionKeyPairAsync() {
+        return CompletableFuture.runAsync(this::rotateSessionKeyPairUnchecked);
+    }
+
+    @SneakyThrows
+    private MinecraftCertificateChain fetchMinecraftCertificateChainUnchecked(final KeyPair sessionKeyPair) {
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftAuthenticationRequest(this.getBedrockXstsToken().getUpToDate(), sessionKeyPair));
+    }
+
+    @SneakyThrows
+    private <T> T joinUnchecked(final CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private Holder<?> createHolder(final int index) {
+        switch (index) {
+            case MSA_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "msaToken", this::refreshMsaToken);
+            case XBL_DEVICE_TOKEN:
+                return this.deviceIdentity.getXblDeviceToken();
+            case XBL_USER_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "xblUserToken", this::refreshXblUserToken, this.sisuTokensLock);
+            case XBL_TITLE_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "xblTitleToken", this::refreshXblTitleToken, this.sisuTokensLock);
+            case BEDROCK_XSTS_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "bedrockXstsToken", this::refreshBedrockXstsToken, this.sisuTokensLock);
+            case PLAYFAB_XSTS_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "playFabXstsToken", this::refreshPlayFabXstsToken);
+            case REALMS_XSTS_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "realmsXstsToken", this::refreshRealmsXstsToken);
+            case XBOX_LIVE_XSTS_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "xboxLiveXstsToken", this::refreshXboxLiveXstsToken);
+            case XBOX_USER_PROFILE:
+                return new Holder<>(BedrockAuthManager.class, "xboxUserProfile", this::refreshXboxUserProfile);
+            case PLAYFAB_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "playFabToken", this::refreshPlayFabToken);
+            case PLAYFAB_MASTER_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "playFabMasterToken", this::refreshPlayFabMasterToken);
+            case MINECRAFT_SESSION:
+                return new Holder<>(BedrockAuthManager.class, "minecraftSession", this::refreshMinecraftSession);
+            case MINECRAFT_MULTIPLAYER_TOKEN:
+                return new Holder<>(BedrockAuthManager.class, "minecraftMultiplayerToken", this::refreshMinecraftMultiplayerToken);
+            case MINECRAFT_CERTIFICATE_CHAIN:
+                return new Holder<>(BedrockAuthManager.class, "minecraftCertificateChain", this::refreshMinecraftCertificateChain);
+            default:
+                throw new IllegalArgumentException("Unknown holder index: " + index);
+        }
+    }
+
+    private MsaToken refreshMsaToken() throws IOException {
+        if (this.getMsaToken().getCached().getRefreshToken() == null) {
+            throw new IllegalStateException("Can't refresh MSA token, because it was created without a refresh token. The user has to sign in again.");
+        }
+        return HttpUtil.executeAndHandle(this.httpClient, new MsaRefreshTokenRequest(this.msaApplicationConfig, this.getMsaToken().getCached()));
     }
 
     private XblUserToken refreshXblUserToken() throws IOException {
         if (this.msaApplicationConfig.isTitleClientId()) {
             this.refreshSisuTokens();
-            return this.xblUserToken.getCached();
+            return this.getXblUserToken().getCached();
         } else {
-            return this.httpClient.executeAndHandle(new XblUserAuthenticateRequest(this.msaApplicationConfig, this.msaToken.getUpToDate()));
+            return HttpUtil.executeAndHandle(this.httpClient, new XblUserAuthenticateRequest(this.msaApplicationConfig, this.getMsaToken().getUpToDate()));
         }
     }
 
@@ -233,80 +570,63 @@ public class BedrockAuthManager {
             throw new UnsupportedOperationException("Can't refresh XBL title token, because the MSA application client ID is not a title client ID");
         }
         this.refreshSisuTokens();
-        return this.xblTitleToken.getCached();
+        return this.getXblTitleToken().getCached();
     }
 
     private XblXstsToken refreshBedrockXstsToken() throws IOException {
         if (this.msaApplicationConfig.isTitleClientId()) {
             this.refreshSisuTokens();
-            return this.bedrockXstsToken.getCached();
+            return this.getBedrockXstsToken().getCached();
         } else {
-            return this.httpClient.executeAndHandle(new XblXstsAuthorizeRequest(this.xblDeviceToken.getUpToDate(), this.xblUserToken.getUpToDate(), null, XblConstants.BEDROCK_XSTS_RELYING_PARTY));
+            return HttpUtil.executeAndHandle(this.httpClient, new XblXstsAuthorizeRequest(this.getXblDeviceToken().getUpToDate(), this.getXblUserToken().getUpToDate(), null, XblConstants.BEDROCK_XSTS_RELYING_PARTY));
         }
     }
 
     private XblXstsToken refreshPlayFabXstsToken() throws IOException {
-        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.xblTitleToken.getUpToDate() : null;
-        return this.httpClient.executeAndHandle(new XblXstsAuthorizeRequest(this.xblDeviceToken.getUpToDate(), this.xblUserToken.getUpToDate(), titleToken, XblConstants.BEDROCK_PLAY_FAB_XSTS_RELYING_PARTY));
+        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.getXblTitleToken().getUpToDate() : null;
+        return HttpUtil.executeAndHandle(this.httpClient, new XblXstsAuthorizeRequest(this.getXblDeviceToken().getUpToDate(), this.getXblUserToken().getUpToDate(), titleToken, XblConstants.BEDROCK_PLAYFAB_XSTS_RELYING_PARTY));
     }
 
     private XblXstsToken refreshRealmsXstsToken() throws IOException {
-        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.xblTitleToken.getUpToDate() : null;
-        return this.httpClient.executeAndHandle(new XblXstsAuthorizeRequest(this.xblDeviceToken.getUpToDate(), this.xblUserToken.getUpToDate(), titleToken, XblConstants.BEDROCK_REALMS_XSTS_RELYING_PARTY));
+        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.getXblTitleToken().getUpToDate() : null;
+        return HttpUtil.executeAndHandle(this.httpClient, new XblXstsAuthorizeRequest(this.getXblDeviceToken().getUpToDate(), this.getXblUserToken().getUpToDate(), titleToken, XblConstants.BEDROCK_REALMS_XSTS_RELYING_PARTY));
     }
 
     private XblXstsToken refreshXboxLiveXstsToken() throws IOException {
-        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.xblTitleToken.getUpToDate() : null;
-        return this.httpClient.executeAndHandle(new XblXstsAuthorizeRequest(this.xblDeviceToken.getUpToDate(), this.xblUserToken.getUpToDate(), titleToken, XblConstants.XBL_XSTS_RELYING_PARTY));
+        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.getXblTitleToken().getUpToDate() : null;
+        return HttpUtil.executeAndHandle(this.httpClient, new XblXstsAuthorizeRequest(this.getXblDeviceToken().getUpToDate(), this.getXblUserToken().getUpToDate(), titleToken, XblConstants.XBL_XSTS_RELYING_PARTY));
     }
 
     private XblUserProfile refreshXboxUserProfile() throws IOException {
-        return this.httpClient.executeAndHandle(new XblUserProfileSettingsRequest(this.xboxLiveXstsToken.getUpToDate(), "me", "Gamertag", "AppDisplayName", "AppDisplayPicRaw"));
+        return HttpUtil.executeAndHandle(this.httpClient, new XblUserProfileSettingsRequest(this.getXboxLiveXstsToken().getUpToDate(), "me", "Gamertag", "AppDisplayName", "AppDisplayPicRaw"));
     }
 
     private PlayFabToken refreshPlayFabToken() throws IOException {
-        return this.httpClient.executeAndHandle(new PlayFabLoginWithXboxRequest(this.playFabXstsToken.getUpToDate(), PlayFabConstants.BEDROCK_PLAY_FAB_TITLE_ID));
+        return HttpUtil.executeAndHandle(this.httpClient, new PlayFabLoginWithXboxRequest(this.getPlayFabXstsToken().getUpToDate(), PlayFabConstants.BEDROCK_PLAYFAB_TITLE_ID));
     }
 
     private PlayFabEntityToken refreshPlayFabMasterToken() throws IOException {
-        final PlayFabToken playFabToken = this.playFabToken.getUpToDate();
-        return this.httpClient.executeAndHandle(new PlayFabGetEntityTokenRequest(playFabToken.getEntityToken(), PlayFabConstants.BEDROCK_PLAY_FAB_TITLE_ID, playFabToken.getPlayFabId(), "master_player_account"));
+        final PlayFabToken playFabToken = this.getPlayFabToken().getUpToDate();
+        return HttpUtil.executeAndHandle(this.httpClient, new PlayFabGetEntityTokenRequest(playFabToken.getEntityToken(), PlayFabConstants.BEDROCK_PLAYFAB_TITLE_ID, playFabToken.getPlayFabId(), "master_player_account"));
     }
 
     private MinecraftSession refreshMinecraftSession() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftSessionStartRequest(this.playFabToken.getUpToDate(), this.gameVersion, this.deviceId));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftSessionStartRequest(this.getPlayFabToken().getUpToDate(), this.gameVersion, this.deviceId));
     }
 
     private MinecraftMultiplayerToken refreshMinecraftMultiplayerToken() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftMultiplayerSessionStartRequest(this.minecraftSession.getUpToDate(), this.sessionKeyPair));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftMultiplayerSessionStartRequest(this.getMinecraftSession().getUpToDate(), this.sessionKeyPair));
     }
 
     private MinecraftCertificateChain refreshMinecraftCertificateChain() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftAuthenticationRequest(this.bedrockXstsToken.getUpToDate(), this.sessionKeyPair));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftAuthenticationRequest(this.getBedrockXstsToken().getUpToDate(), this.sessionKeyPair));
     }
 
     private void refreshSisuTokens() throws IOException {
-        final XblSisuTokens sisuTokens = this.httpClient.executeAndHandle(new XblSisuAuthorizeRequest(this.msaApplicationConfig, this.msaToken.getUpToDate(), this.xblDeviceToken.getUpToDate(), this.deviceKeyPair, XblConstants.BEDROCK_XSTS_RELYING_PARTY));
-        this.xblUserToken.set(sisuTokens.getUserToken());
-        this.xblTitleToken.set(sisuTokens.getTitleToken());
-        this.bedrockXstsToken.set(sisuTokens.getXstsToken());
-    }
-
-    private void hookChangeListeners() {
-        this.msaToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xblDeviceToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xblUserToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xblTitleToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.bedrockXstsToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.playFabXstsToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.realmsXstsToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xboxLiveXstsToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xboxUserProfile.getChangeListeners().add(this.changeListeners::invoke);
-        this.playFabToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.playFabMasterToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftSession.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftMultiplayerToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftCertificateChain.getChangeListeners().add(this.changeListeners::invoke);
+        final XblSisuTokens sisuTokens = HttpUtil.executeAndHandle(this.httpClient, new XblSisuAuthorizeRequest(this.msaApplicationConfig, this.getMsaToken().getUpToDate(), this.getXblDeviceToken().getUpToDate(), this.deviceKeyPair, XblConstants.BEDROCK_XSTS_RELYING_PARTY));
+        this.getXblUserToken().set(sisuTokens.getUserToken());
+        this.getXblTitleToken().set(sisuTokens.getTitleToken());
+        this.getBedrockXstsToken().set(sisuTokens.getXstsToken());
     }
 
     @Setter
@@ -320,6 +640,7 @@ public class BedrockAuthManager {
         private String deviceType = "Android";
         private KeyPair deviceKeyPair;
         private UUID deviceId;
+        private DeviceIdentity deviceIdentity;
         private KeyPair sessionKeyPair;
 
         /**
@@ -330,7 +651,7 @@ public class BedrockAuthManager {
          */
         public BedrockAuthManager login(final MsaAuthServiceSupplier msaAuthServiceSupplier) throws IOException, InterruptedException, TimeoutException {
             final MsaAuthService msaAuthService = msaAuthServiceSupplier.get(this.httpClient, this.msaApplicationConfig);
-            return this.login(msaAuthService.acquireToken());
+            return this.login(msaAuthService.acquireTokenAndRecord());
         }
 
         /**
@@ -343,7 +664,7 @@ public class BedrockAuthManager {
          */
         public <T> BedrockAuthManager login(final ParamMsaAuthServiceSupplier<T> msaAuthServiceSupplier, final T param) throws IOException, InterruptedException, TimeoutException {
             final MsaAuthService msaAuthService = msaAuthServiceSupplier.get(this.httpClient, this.msaApplicationConfig, param);
-            return this.login(msaAuthService.acquireToken());
+            return this.login(msaAuthService.acquireTokenAndRecord());
         }
 
         /**
@@ -355,7 +676,7 @@ public class BedrockAuthManager {
          * @return A logged in {@link BedrockAuthManager}.
          */
         public BedrockAuthManager login(final String refreshToken) throws IOException {
-            return this.login(this.httpClient.executeAndHandle(new MsaRefreshTokenRequest(this.msaApplicationConfig, refreshToken)));
+            return this.login(HttpUtil.executeAndHandle(this.httpClient, new MsaRefreshTokenRequest(this.msaApplicationConfig, refreshToken)));
         }
 
         /**
@@ -367,16 +688,23 @@ public class BedrockAuthManager {
          * @return A logged in {@link BedrockAuthManager}.
          */
         public BedrockAuthManager login(final MsaToken msaToken) {
-            return new BedrockAuthManager(
+            final BedrockAuthManager authManager = new BedrockAuthManager(
                     this.httpClient,
                     this.gameVersion,
                     this.msaApplicationConfig,
-                    this.deviceType,
-                    this.deviceKeyPair != null ? this.deviceKeyPair : CryptUtil.generateEcdsa256KeyPair(),
-                    this.deviceId != null ? this.deviceId : UUID.randomUUID(),
+                    this.deviceIdentity != null ? this.deviceIdentity : new DeviceIdentity(
+                            this.httpClient,
+                            this.deviceType,
+                            this.deviceKeyPair != null ? this.deviceKeyPair : CryptUtil.generateEcdsa256KeyPair(),
+                            this.deviceId != null ? this.deviceId : UUID.randomUUID()
+                    ),
                     this.sessionKeyPair != null ? this.sessionKeyPair : CryptUtil.generateEcdsa384KeyPair(),
                     msaToken
             );
+            if (this.deviceIdentity != null) {
+                authManager.holders.markShared(XBL_DEVICE_TOKEN);
+            }
+            return authManager;
         }
 
     }
@@ -0,0 +1,113 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.bedrock;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
+import net.raphimc.minecraftauth.util.CryptUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.util.Base64;
+
+/**
+ * Builds the JWTs of the Bedrock login packet for a certificate chain and session key pair.<br>
+ * The chain JSON and the JWT header are serialized once, so every connection only costs a single ES384 signature for the client data.<br>
+ * Instances are immutable and thread-safe. {@link BedrockAuthManager#getLoginPayloadBuilder()} only creates a new builder when the certificate chain or the session key pair changes.
+ */
+@Getter
+public class BedrockLoginPayloadBuilder {
+
+    private static final ThreadLocal<Signature> SIGNATURE = ThreadLocal.withInitial(() -> {
+        try {
+            return CryptUtil.createSha384EcdsaSignature();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to create SHA384withECDSA signature", e);
+        }
+    });
+    private static final Base64.Encoder BASE64_URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final MinecraftCertificateChain certificateChain;
+    private final KeyPair sessionKeyPair;
+    /**
+     * The serialized login chain (Self signed JWT, Mojang JWT and identity JWT).
+     */
+    private final String chainJson;
+    @Getter(AccessLevel.NONE)
+    private final String encodedHeader;
+
+    public BedrockLoginPayloadBuilder(final MinecraftCertificateChain certificateChain, final KeyPair sessionKeyPair) {
+        this.certificateChain = certificateChain;
+        this.sessionKeyPair = sessionKeyPair;
+
+        final JsonObject header = new JsonObject();
+        header.addProperty("alg", "ES384");
+        header.addProperty("x5u", Base64.getEncoder().encodeToString(sessionKeyPair.getPublic().getEncoded()));
+        this.encodedHeader = BASE64_URL_ENCODER.encodeToString(header.toString().getBytes(StandardCharsets.UTF_8));
+
+        final JsonObject selfSignedPayload = new JsonObject();
+        selfSignedPayload.addProperty("certificateAuthority", true);
+        selfSignedPayload.addProperty("exp", certificateChain.getExpireTimeMs() / 1000L);
+        selfSignedPayload.addProperty("identityPublicKey", certificateChain.getParsedMojangJwt().getHeader().reqString("x5u"));
+        selfSignedPayload.addProperty("nbf", System.currentTimeMillis() / 1000L - 60);
+        final JsonArray chain = new JsonArray();
+        chain.add(this.sign(selfSignedPayload.toString()));
+        chain.add(certificateChain.getMojangJwt());
+        chain.add(certificateChain.getIdentityJwt());
+        final JsonObject chainJson = new JsonObject();
+        chainJson.add("chain", chain);
+        this.chainJson = chainJson.toString();
+    }
+
+    /**
+     * Signs the client data of a connection with the session key pair.
+     *
+     * @param clientData The client data (Skin, device info, etc.)
+     * @return The compact client data JWT
+     */
+    public String buildClientDataJwt(final JsonObject clientData) {
+        return this.sign(clientData.toString());
+    }
+
+    /**
+     * @param certificateChain The certificate chain
+     * @param sessionKeyPair   The session key pair
+     * @return True if this builder was created for the given certificate chain and session key pair
+     */
+    public boolean isFor(final MinecraftCertificateChain certificateChain, final KeyPair sessionKeyPair) {
+        return this.certificateChain == certificateChain && this.sessionKeyPair == sessionKeyPair;
+    }
+
+    private String sign(final String payload) {
+        final String signingInput = this.encodedHeader + '.' + BASE64_URL_ENCODER.encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        try {
+            final byte[] signature = CryptUtil.signInP1363Format(SIGNATURE.get(), (ECPrivateKey) this.sessionKeyPair.getPrivate(), signingInput.getBytes(StandardCharsets.UTF_8));
+            return signingInput + '.' + BASE64_URL_ENCODER.encodeToString(signature);
+        } catch (GeneralSecurityException e) {
+            throw new RuntimeException("Failed to sign JWT", e);
+        }
+    }
+
+}
@@ -18,6 +18,7 @@
 package net.raphimc.minecraftauth.bedrock.model;
 
 import com.google.gson.JsonObject;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -25,6 +26,7 @@ import lombok.Value;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.raphimc.minecraftauth.util.Expirable;
 import net.raphimc.minecraftauth.util.jwt.Jwt;
+import net.raphimc.minecraftauth.util.jwt.LazyJwt;
 
 import java.util.UUID;
 
@@ -53,15 +55,23 @@ public class MinecraftCertificateChain implements Expirable {
     String mojangJwt;
     String identityJwt;
 
-    @Getter(lazy = true)
+    @Getter(AccessLevel.NONE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    Jwt parsedMojangJwt = Jwt.parse(this.mojangJwt);
+    LazyJwt parsedMojangJwtView = new LazyJwt();
 
-    @Getter(lazy = true)
+    public Jwt getParsedMojangJwt() {
+        return this.parsedMojangJwtView.get(this.mojangJwt);
+    }
+
+    @Getter(AccessLevel.NONE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    Jwt parsedIdentityJwt = Jwt.parse(this.identityJwt);
+    LazyJwt parsedIdentityJwtView = new LazyJwt();
+
+    public Jwt getParsedIdentityJwt() {
+        return this.parsedIdentityJwtView.get(this.identityJwt);
+    }
 
     @Override
     public long getExpireTimeMs() {
@@ -0,0 +1,41 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.bedrock.model;
+
+import lombok.Value;
+import net.raphimc.minecraftauth.util.Expirable;
+
+import java.security.KeyPair;
+
+/**
+ * Everything needed to join a Bedrock server, resolved together by {@link net.raphimc.minecraftauth.bedrock.BedrockAuthManager#prepareJoin()}.<br>
+ * The bundle expires as soon as the first of its tokens expires.
+ */
+@Value
+public class MinecraftJoinBundle implements Expirable {
+
+    MinecraftCertificateChain certificateChain;
+    MinecraftMultiplayerToken multiplayerToken;
+    KeyPair sessionKeyPair;
+
+    @Override
+    public long getExpireTimeMs() {
+        return Math.min(this.certificateChain.getExpireTimeMs(), this.multiplayerToken.getExpireTimeMs());
+    }
+
+}
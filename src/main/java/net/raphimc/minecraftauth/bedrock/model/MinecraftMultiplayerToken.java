@@ -18,6 +18,7 @@
 package net.raphimc.minecraftauth.bedrock.model;
 
 import com.google.gson.JsonObject;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -25,6 +26,7 @@ import lombok.Value;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.raphimc.minecraftauth.util.Expirable;
 import net.raphimc.minecraftauth.util.jwt.Jwt;
+import net.raphimc.minecraftauth.util.jwt.LazyJwt;
 
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
@@ -54,10 +56,14 @@ public class MinecraftMultiplayerToken implements Expirable {
     long expireTimeMs;
     String token;
 
-    @Getter(lazy = true)
+    @Getter(AccessLevel.NONE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    Jwt parsedToken = Jwt.parse(this.token);
+    LazyJwt parsedTokenView = new LazyJwt();
+
+    public Jwt getParsedToken() {
+        return this.parsedTokenView.get(this.token);
+    }
 
     public String getDisplayName() {
         return this.getParsedToken().getPayload().reqString("xname");
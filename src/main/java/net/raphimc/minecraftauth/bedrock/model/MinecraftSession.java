@@ -18,6 +18,7 @@
 package net.raphimc.minecraftauth.bedrock.model;
 
 import com.google.gson.JsonObject;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.ToString;
@@ -25,6 +26,7 @@ import lombok.Value;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.raphimc.minecraftauth.util.Expirable;
 import net.raphimc.minecraftauth.util.jwt.Jwt;
+import net.raphimc.minecraftauth.util.jwt.LazyJwt;
 
 @Value
 public class MinecraftSession implements Expirable {
@@ -51,9 +53,13 @@ public class MinecraftSession implements Expirable {
     long expireTimeMs;
     String authorizationHeader;
 
-    @Getter(lazy = true)
+    @Getter(AccessLevel.NONE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
-    Jwt parsedToken = Jwt.parse(this.authorizationHeader.split(" ", 2)[1]);
+    LazyJwt parsedTokenView = new LazyJwt();
+
+    public Jwt getParsedToken() {
+        return this.parsedTokenView.get(this.authorizationHeader.substring(this.authorizationHeader.indexOf(' ') + 1));
+    }
 
 }
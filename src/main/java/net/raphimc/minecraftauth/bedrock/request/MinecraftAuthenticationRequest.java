@@ -25,6 +25,7 @@ import net.lenni0451.commons.httpclient.constants.HttpHeaders;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
 import net.raphimc.minecraftauth.bedrock.responsehandler.MinecraftResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 
@@ -36,7 +37,7 @@ import java.util.Base64;
 public class MinecraftAuthenticationRequest extends PostRequest implements MinecraftResponseHandler<MinecraftCertificateChain> {
 
     public MinecraftAuthenticationRequest(final XblXstsToken xstsToken, final KeyPair ecdsa384KeyPair) throws MalformedURLException {
-        super("https://multiplayer.minecraft.net/authentication");
+        super(BaseUrlOverrides.apply("https://multiplayer.minecraft.net/authentication"));
 
         final JsonObject postData = new JsonObject();
         postData.addProperty("identityPublicKey", Base64.getEncoder().encodeToString(ecdsa384KeyPair.getPublic().getEncoded()));
@@ -25,6 +25,7 @@ import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.bedrock.model.MinecraftMultiplayerToken;
 import net.raphimc.minecraftauth.bedrock.model.MinecraftSession;
 import net.raphimc.minecraftauth.bedrock.responsehandler.MinecraftServicesResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 
 import java.io.IOException;
@@ -36,7 +37,7 @@ import java.util.Base64;
 public class MinecraftMultiplayerSessionStartRequest extends PostRequest implements MinecraftServicesResponseHandler<MinecraftMultiplayerToken> {
 
     public MinecraftMultiplayerSessionStartRequest(final MinecraftSession session, final KeyPair ecdsa384KeyPair) throws MalformedURLException {
-        super("https://authorization.franchise.minecraft-services.net/api/v1.0/multiplayer/session/start");
+        super(BaseUrlOverrides.apply("https://authorization.franchise.minecraft-services.net/api/v1.0/multiplayer/session/start"));
 
         final JsonObject postData = new JsonObject();
         postData.addProperty("publicKey", Base64.getEncoder().encodeToString(ecdsa384KeyPair.getPublic().getEncoded()));
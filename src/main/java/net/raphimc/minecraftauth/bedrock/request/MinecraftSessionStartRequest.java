@@ -26,28 +26,37 @@ import net.raphimc.minecraftauth.bedrock.responsehandler.MinecraftServicesRespon
 import net.raphimc.minecraftauth.playfab.data.PlayFabConstants;
 import net.raphimc.minecraftauth.playfab.model.PlayFabToken;
 import net.raphimc.minecraftauth.util.UuidUtil;
-import net.raphimc.minecraftauth.util.http.content.JsonContent;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.util.http.content.JsonContentTemplate;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.time.Instant;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MinecraftSessionStartRequest extends PostRequest implements MinecraftServicesResponseHandler<MinecraftSession> {
 
+    private static final Map<String, JsonContentTemplate> CONTENT_TEMPLATES = new ConcurrentHashMap<>();
+
     @Deprecated
     public MinecraftSessionStartRequest(final XblXstsToken xstsToken, final PlayFabToken playFabToken, final String gameVersion, final UUID deviceId) throws MalformedURLException {
         this(playFabToken, gameVersion, deviceId);
     }
 
     public MinecraftSessionStartRequest(final PlayFabToken playFabToken, final String gameVersion, final UUID deviceId) throws MalformedURLException {
-        super("https://authorization.franchise.minecraft-services.net/api/v1.0/session/start");
+        super(BaseUrlOverrides.apply("https://authorization.franchise.minecraft-services.net/api/v1.0/session/start"));
+
+        this.setContent(CONTENT_TEMPLATES.computeIfAbsent(gameVersion, MinecraftSessionStartRequest::createContentTemplate).render(UuidUtil.toUndashedString(deviceId), playFabToken.getSessionTicket()));
+    }
 
+    private static JsonContentTemplate createContentTemplate(final String gameVersion) {
         final JsonObject device = new JsonObject();
         device.addProperty("applicationType", "MinecraftPE");
         device.addProperty("gameVersion", gameVersion);
-        device.addProperty("id", UuidUtil.toUndashedString(deviceId));
+        device.addProperty("id", JsonContentTemplate.placeholder(0));
         device.addProperty("memory", 32L * 1024L * 1024L * 1024L);
         device.addProperty("hardwareMemoryTier", 5);
         device.addProperty("platform", "Windows10");
@@ -59,12 +68,11 @@ public class MinecraftSessionStartRequest extends PostRequest implements Minecra
         user.addProperty("regionCode", "US");
         user.addProperty("languageCode", "en-US");
         user.addProperty("tokenType", "PlayFab");
-        user.addProperty("token", playFabToken.getSessionTicket());
+        user.addProperty("token", JsonContentTemplate.placeholder(1));
         final JsonObject postData = new JsonObject();
         postData.add("device", device);
         postData.add("user", user);
-
-        this.setContent(new JsonContent(postData));
+        return new JsonContentTemplate(postData);
     }
 
     @Override
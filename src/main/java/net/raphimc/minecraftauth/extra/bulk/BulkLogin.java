@@ -0,0 +1,199 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.bulk;
+
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.msa.model.MsaCredentials;
+import net.raphimc.minecraftauth.msa.service.impl.CredentialsMsaAuthService;
+import net.raphimc.minecraftauth.util.holder.Holder;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Logs in a large number of accounts with their credentials.<br>
+ * Every account passes through the {@link LoginStage}s in order. Each stage has its own bounded number of threads, because each stage talks to a different group of hosts. While one account is in the Xbox Live stage, the next ones are already logging in with Microsoft.<br>
+ * Every account uses its own cookie manager, so sessions never leak between accounts. Results are reported as soon as an account finishes or fails, so one slow or failing account never holds back the others.
+ * <pre>
+ * BulkLogin.forJava(JavaAuthManager.create(httpClient))
+ *         .msaConcurrency(4)
+ *         .login(credentials.stream(), result -&gt; {
+ *             if (result.isSuccess()) {
+ *                 save(result.getAuthManager());
+ *             } else {
+ *                 log(result.getCredentials().getEmail() + " failed at " + result.getFailedStage(), result.getError());
+ *             }
+ *         });
+ * </pre>
+ *
+ * @param <M> The type of the auth manager
+ */
+@Setter
+@Accessors(fluent = true)
+public class BulkLogin<M> {
+
+    public static BulkLogin<JavaAuthManager> forJava(final JavaAuthManager.Builder builder) {
+        return new BulkLogin<>(credentials -> builder.login(CredentialsMsaAuthService::new, credentials), JavaAuthManager::getJavaXstsToken, JavaAuthManager::getMinecraftToken);
+    }
+
+    public static BulkLogin<BedrockAuthManager> forBedrock(final BedrockAuthManager.Builder builder) {
+        return new BulkLogin<>(credentials -> builder.login(CredentialsMsaAuthService::new, credentials), BedrockAuthManager::getBedrockXstsToken, BedrockAuthManager::getMinecraftCertificateChain);
+    }
+
+    private final MsaLogin<M> msaLogin;
+    /**
+     * The maximum number of accounts logging in with Microsoft at the same time.
+     */
+    private int msaConcurrency = 4;
+    /**
+     * The maximum number of accounts requesting Xbox Live tokens at the same time.
+     */
+    private int xboxLiveConcurrency = 16;
+    /**
+     * The maximum number of accounts requesting Minecraft tokens at the same time.
+     */
+    private int minecraftConcurrency = 16;
+    /**
+     * The maximum number of accounts taken from the input which haven't been reported yet.
+     */
+    private int maxInFlight = 256;
+    /**
+     * Selects the holder which is brought up to date in the {@link LoginStage#XBOX_LIVE} stage or null to skip the stage.
+     */
+    private Function<M, Holder<?>> xboxLiveStage;
+    /**
+     * Selects the holder which is brought up to date in the {@link LoginStage#MINECRAFT} stage or null to skip the stage.
+     */
+    private Function<M, Holder<?>> minecraftStage;
+
+    private BulkLogin(final MsaLogin<M> msaLogin, final Function<M, Holder<?>> xboxLiveStage, final Function<M, Holder<?>> minecraftStage) {
+        this.msaLogin = msaLogin;
+        this.xboxLiveStage = xboxLiveStage;
+        this.minecraftStage = minecraftStage;
+    }
+
+    /**
+     * Logs in all accounts of the given stream.<br>
+     * The stream is consumed lazily, so at most {@link #maxInFlight} accounts are held in memory at the same time.<br>
+     * The result consumer is called from the worker threads as soon as an account is done, so it has to be thread-safe.
+     *
+     * @param credentials    The credentials of the accounts
+     * @param resultConsumer The consumer receiving the result of every account
+     * @throws InterruptedException If the current thread was interrupted. All pending logins are aborted in that case.
+     */
+    public void login(final Stream<MsaCredentials> credentials, final Consumer<LoginResult<M>> resultConsumer) throws InterruptedException {
+        final ExecutorService msaExecutor = createExecutor(LoginStage.MSA_LOGIN, this.msaConcurrency);
+        final ExecutorService xboxLiveExecutor = createExecutor(LoginStage.XBOX_LIVE, this.xboxLiveConcurrency);
+        final ExecutorService minecraftExecutor = createExecutor(LoginStage.MINECRAFT, this.minecraftConcurrency);
+        final Semaphore inFlight = new Semaphore(this.maxInFlight);
+        try {
+            final Iterator<MsaCredentials> iterator = credentials.iterator();
+            long index = 0;
+            while (iterator.hasNext()) {
+                final PendingAccount account = new PendingAccount(index++, iterator.next(), inFlight, resultConsumer);
+                inFlight.acquire();
+                msaExecutor.execute(() -> {
+                    try {
+                        account.authManager = this.msaLogin.login(account.credentials);
+                    } catch (Throwable e) {
+                        account.complete(LoginStage.MSA_LOGIN, e);
+                        return;
+                    }
+                    this.runStage(xboxLiveExecutor, account, LoginStage.XBOX_LIVE, this.xboxLiveStage, () -> this.runStage(minecraftExecutor, account, LoginStage.MINECRAFT, this.minecraftStage, () -> account.complete(null, null)));
+                });
+            }
+            // Wait until every account has been reported
+            inFlight.acquire(this.maxInFlight);
+        } finally {
+            msaExecutor.shutdownNow();
+            xboxLiveExecutor.shutdownNow();
+            minecraftExecutor.shutdownNow();
+        }
+    }
+
+    private void runStage(final ExecutorService executor, final PendingAccount account, final LoginStage stage, final Function<M, Holder<?>> holderSelector, final Runnable next) {
+        if (holderSelector == null) {
+            next.run();
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                holderSelector.apply(account.authManager).getUpToDate();
+            } catch (Throwable e) {
+                account.complete(stage, e);
+                return;
+            }
+            next.run();
+        });
+    }
+
+    private static ExecutorService createExecutor(final LoginStage stage, final int threads) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Bulk Login " + stage.name() + " #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private class PendingAccount {
+
+        private final long index;
+        private final MsaCredentials credentials;
+        private final Semaphore inFlight;
+        private final Consumer<LoginResult<M>> resultConsumer;
+        private volatile M authManager;
+
+        private PendingAccount(final long index, final MsaCredentials credentials, final Semaphore inFlight, final Consumer<LoginResult<M>> resultConsumer) {
+            this.index = index;
+            this.credentials = credentials;
+            this.inFlight = inFlight;
+            this.resultConsumer = resultConsumer;
+        }
+
+        private void complete(final LoginStage failedStage, final Throwable error) {
+            try {
+                this.resultConsumer.accept(new LoginResult<>(this.index, this.credentials, this.authManager, failedStage, error));
+            } finally {
+                this.inFlight.release();
+            }
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface MsaLogin<M> {
+
+        M login(final MsaCredentials credentials) throws IOException, InterruptedException, TimeoutException;
+
+    }
+
+}
@@ -0,0 +1,179 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.bulk;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.util.holder.Holder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Restores a large number of saved auth managers in parallel.<br>
+ * Reading, JSON parsing and key decoding are executed on a {@link ForkJoinPool}. The results are returned in the same order as the input and errors are reported per account.<br>
+ * Optionally, the restored accounts can be validated afterwards by bringing one of their holders up to date. Validation performs network requests, so it uses a separate, bounded number of threads.
+ * <pre>
+ * final List&lt;RestoreResult&lt;JavaAuthManager&gt;&gt; results = BulkRestore.forJava(httpClient)
+ *         .validate(JavaAuthManager::getMinecraftToken)
+ *         .restoreFiles(files);
+ * </pre>
+ *
+ * @param <M> The type of the auth manager
+ */
+@Setter
+@Accessors(fluent = true)
+public class BulkRestore<M> {
+
+    public static BulkRestore<JavaAuthManager> forJava(final HttpClient httpClient) {
+        return new BulkRestore<>(json -> JavaAuthManager.fromJson(httpClient, json));
+    }
+
+    public static BulkRestore<BedrockAuthManager> forBedrock(final HttpClient httpClient, final String gameVersion) {
+        return new BulkRestore<>(json -> BedrockAuthManager.fromJson(httpClient, gameVersion, json));
+    }
+
+    private final Function<JsonObject, M> deserializer;
+    /**
+     * The number of threads used for reading and decoding.
+     */
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    /**
+     * The maximum number of accounts validated at the same time.
+     */
+    private int validationConcurrency = 16;
+    /**
+     * Selects the holder which is brought up to date to validate an account or null to skip the validation.
+     */
+    private Function<M, Holder<?>> validate;
+
+    private BulkRestore(final Function<JsonObject, M> deserializer) {
+        this.deserializer = deserializer;
+    }
+
+    /**
+     * Restores the auth managers from their serialized JSON strings.
+     *
+     * @param jsons The JSON strings
+     * @return The results in the same order as the input
+     */
+    public List<RestoreResult<M>> restore(final List<String> jsons) throws InterruptedException {
+        return this.restore(jsons, json -> JsonParser.parseString(json).getAsJsonObject());
+    }
+
+    /**
+     * Restores the auth managers from their serialized JSON objects.
+     *
+     * @param jsons The JSON objects
+     * @return The results in the same order as the input
+     */
+    public List<RestoreResult<M>> restoreJson(final List<JsonObject> jsons) throws InterruptedException {
+        return this.restore(jsons, json -> json);
+    }
+
+    /**
+     * Restores the auth managers from files containing their serialized JSON.
+     *
+     * @param files The files
+     * @return The results in the same order as the input
+     */
+    public List<RestoreResult<M>> restoreFiles(final List<Path> files) throws InterruptedException {
+        return this.restore(files, file -> JsonParser.parseString(new String(Files.readAllBytes(file), StandardCharsets.UTF_8)).getAsJsonObject());
+    }
+
+    private <T> List<RestoreResult<M>> restore(final List<T> sources, final JsonDecoder<T> decoder) throws InterruptedException {
+        final List<RestoreResult<M>> results = this.decode(sources, decoder);
+        if (this.validate != null) {
+            this.runValidation(results);
+        }
+        return results;
+    }
+
+    private <T> List<RestoreResult<M>> decode(final List<T> sources, final JsonDecoder<T> decoder) throws InterruptedException {
+        final ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            // Parallel streams use the pool they are started from
+            return pool.submit(() -> IntStream.range(0, sources.size()).parallel().mapToObj(i -> {
+                try {
+                    return new RestoreResult<M>(i, this.deserializer.apply(decoder.decode(sources.get(i))), null);
+                } catch (Throwable e) {
+                    return new RestoreResult<M>(i, null, e);
+                }
+            }).collect(Collectors.toCollection(ArrayList::new))).get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to restore accounts", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void runValidation(final List<RestoreResult<M>> results) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(this.validationConcurrency);
+        try {
+            final List<Future<RestoreResult<M>>> futures = new ArrayList<>(results.size());
+            for (RestoreResult<M> result : results) {
+                if (!result.isSuccess()) {
+                    futures.add(null);
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        this.validate.apply(result.getAuthManager()).getUpToDate();
+                        return result;
+                    } catch (Throwable e) {
+                        return new RestoreResult<>(result.getIndex(), result.getAuthManager(), e);
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                if (futures.get(i) != null) {
+                    results.set(i, futures.get(i).get());
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to validate accounts", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface JsonDecoder<T> {
+
+        JsonObject decode(final T source) throws IOException;
+
+    }
+
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.bulk;
+
+import lombok.Value;
+import net.raphimc.minecraftauth.msa.model.MsaCredentials;
+
+/**
+ * The result of logging in a single account with {@link BulkLogin}.
+ *
+ * @param <M> The type of the auth manager
+ */
+@Value
+public class LoginResult<M> {
+
+    /**
+     * The position of the account in the input stream.
+     */
+    long index;
+    /**
+     * The credentials of the account.
+     */
+    MsaCredentials credentials;
+    /**
+     * The logged in auth manager or null if the MSA login failed.<br>
+     * If a later stage failed, the auth manager is still set.
+     */
+    M authManager;
+    /**
+     * The stage which failed or null if the account was logged in successfully.
+     */
+    LoginStage failedStage;
+    /**
+     * The error which occurred in the failed stage or null if the account was logged in successfully.
+     */
+    Throwable error;
+
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+}
@@ -0,0 +1,38 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.bulk;
+
+/**
+ * The stages an account passes through in {@link BulkLogin}. Each stage talks to a different group of hosts.
+ */
+public enum LoginStage {
+
+    /**
+     * Loading the authorize page, posting the credentials and redeeming the auth code on the Microsoft login host.
+     */
+    MSA_LOGIN,
+    /**
+     * Obtaining the Xbox Live device, user, title and XSTS tokens.
+     */
+    XBOX_LIVE,
+    /**
+     * Obtaining the game specific tokens from the Minecraft services.
+     */
+    MINECRAFT
+
+}
@@ -0,0 +1,48 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.bulk;
+
+import lombok.Value;
+
+/**
+ * The result of restoring a single account with {@link BulkRestore}.
+ *
+ * @param <M> The type of the auth manager
+ */
+@Value
+public class RestoreResult<M> {
+
+    /**
+     * The index of the account in the input list.
+     */
+    int index;
+    /**
+     * The restored auth manager or null if it couldn't be decoded.
+     */
+    M authManager;
+    /**
+     * The error which occurred while decoding or validating the account or null if the account was restored successfully.<br>
+     * If validation failed, the auth manager is still set.
+     */
+    Throwable error;
+
+    public boolean isSuccess() {
+        return this.error == null;
+    }
+
+}
@@ -22,6 +22,7 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.DeleteRequest;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
 import net.raphimc.minecraftauth.extra.realms.responsehandler.RealmsResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -29,7 +30,7 @@ import java.net.MalformedURLException;
 public class BedrockRealmsInviteDeleteRequest extends DeleteRequest implements RealmsResponseHandler<Void> {
 
     public BedrockRealmsInviteDeleteRequest(final RealmsServer server) throws MalformedURLException {
-        super("https://pocket.realms.minecraft.net/invites/" + server.getId());
+        super(BaseUrlOverrides.apply("https://pocket.realms.minecraft.net/invites/" + server.getId()));
     }
 
     @Override
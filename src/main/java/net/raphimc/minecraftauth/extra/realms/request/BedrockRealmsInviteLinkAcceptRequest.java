@@ -22,6 +22,7 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
 import net.raphimc.minecraftauth.extra.realms.responsehandler.RealmsResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -29,7 +30,7 @@ import java.net.MalformedURLException;
 public class BedrockRealmsInviteLinkAcceptRequest extends PostRequest implements RealmsResponseHandler<RealmsServer> {
 
     public BedrockRealmsInviteLinkAcceptRequest(final String code) throws MalformedURLException {
-        super("https://pocket.realms.minecraft.net/invites/v1/link/accept/" + code);
+        super(BaseUrlOverrides.apply("https://pocket.realms.minecraft.net/invites/v1/link/accept/" + code));
     }
 
     @Override
@@ -23,6 +23,7 @@ import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsJoinInformation;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
 import net.raphimc.minecraftauth.extra.realms.responsehandler.RealmsResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -30,7 +31,7 @@ import java.net.MalformedURLException;
 public class BedrockRealmsWorldJoinRequest extends GetRequest implements RealmsResponseHandler<RealmsJoinInformation> {
 
     public BedrockRealmsWorldJoinRequest(final RealmsServer server) throws MalformedURLException {
-        super("https://pocket.realms.minecraft.net/worlds/" + server.getId() + "/join");
+        super(BaseUrlOverrides.apply("https://pocket.realms.minecraft.net/worlds/" + server.getId() + "/join"));
     }
 
     @Override
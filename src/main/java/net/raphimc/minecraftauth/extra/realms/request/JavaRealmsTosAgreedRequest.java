@@ -21,6 +21,7 @@ import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.extra.realms.responsehandler.RealmsResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -28,7 +29,7 @@ import java.net.MalformedURLException;
 public class JavaRealmsTosAgreedRequest extends PostRequest implements RealmsResponseHandler<Void> {
 
     public JavaRealmsTosAgreedRequest() throws MalformedURLException {
-        super("https://pc.realms.minecraft.net/mco/tos/agreed");
+        super(BaseUrlOverrides.apply("https://pc.realms.minecraft.net/mco/tos/agreed"));
     }
 
     @Override
@@ -23,6 +23,7 @@ import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsJoinInformation;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
 import net.raphimc.minecraftauth.extra.realms.responsehandler.RealmsResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -30,7 +31,7 @@ import java.net.MalformedURLException;
 public class JavaRealmsWorldJoinRequest extends GetRequest implements RealmsResponseHandler<RealmsJoinInformation> {
 
     public JavaRealmsWorldJoinRequest(final RealmsServer server) throws MalformedURLException {
-        super("https://pc.realms.minecraft.net/worlds/v1/" + server.getId() + "/join/pc");
+        super(BaseUrlOverrides.apply("https://pc.realms.minecraft.net/worlds/v1/" + server.getId() + "/join/pc"));
     }
 
     @Override
@@ -23,6 +23,7 @@ import net.lenni0451.commons.httpclient.constants.HttpHeaders;
 import net.lenni0451.commons.httpclient.exceptions.HttpRequestException;
 import net.lenni0451.commons.httpclient.handler.HttpResponseHandler;
 import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -30,7 +31,7 @@ import java.net.MalformedURLException;
 public class RealmsClientCompatibleRequest extends GetRequest implements HttpResponseHandler<String> {
 
     public RealmsClientCompatibleRequest(final String host) throws MalformedURLException {
-        super("https://" + host + "/mco/client/compatible");
+        super(BaseUrlOverrides.apply("https://" + host + "/mco/client/compatible"));
 
         this.setHeader(HttpHeaders.ACCEPT, ContentTypes.TEXT_PLAIN.getMimeType());
     }
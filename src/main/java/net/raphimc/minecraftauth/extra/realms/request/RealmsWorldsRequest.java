@@ -17,29 +17,45 @@
  */
 package net.raphimc.minecraftauth.extra.realms.request;
 
-import net.lenni0451.commons.gson.elements.GsonElement;
-import net.lenni0451.commons.gson.elements.GsonObject;
+import com.google.gson.stream.JsonReader;
+import net.lenni0451.commons.gson.GsonParser;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
 import net.raphimc.minecraftauth.extra.realms.responsehandler.RealmsResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.util.http.responsehandler.StreamingJsonHttpResponseHandler;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.util.ArrayList;
 import java.util.List;
 
-public class RealmsWorldsRequest extends GetRequest implements RealmsResponseHandler<List<RealmsServer>> {
+public class RealmsWorldsRequest extends GetRequest implements RealmsResponseHandler<List<RealmsServer>>, StreamingJsonHttpResponseHandler<List<RealmsServer>> {
 
     public RealmsWorldsRequest(final String host) throws MalformedURLException {
-        super("https://" + host + "/worlds");
+        super(BaseUrlOverrides.apply("https://" + host + "/worlds"));
     }
 
     @Override
-    public List<RealmsServer> handle(final HttpResponse response, final GsonObject json) throws IOException {
-        final List<RealmsServer> servers = new ArrayList<>();
-        for (GsonElement server : json.reqArray("servers")) {
-            servers.add(RealmsServer.fromApiJson(server.asObject()));
+    public List<RealmsServer> handle(final HttpResponse response, final JsonReader reader) throws IOException {
+        List<RealmsServer> servers = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("servers")) {
+                servers = new ArrayList<>();
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    servers.add(RealmsServer.fromApiJson(GsonParser.parse(reader).asObject()));
+                }
+                reader.endArray();
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (servers == null) {
+            throw new IllegalStateException("Missing servers array");
         }
         return servers;
     }
@@ -25,6 +25,7 @@ import net.raphimc.minecraftauth.extra.realms.model.RealmsJoinInformation;
 import net.raphimc.minecraftauth.extra.realms.model.RealmsServer;
 import net.raphimc.minecraftauth.extra.realms.request.RealmsClientCompatibleRequest;
 import net.raphimc.minecraftauth.extra.realms.request.RealmsWorldsRequest;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 
 import java.io.IOException;
 import java.util.List;
@@ -42,7 +43,7 @@ public abstract class RealmsService {
     }
 
     public boolean isCompatible() throws IOException {
-        final String response = this.httpClient.executeAndHandle(this.authorizeRequest(new RealmsClientCompatibleRequest(this.host)));
+        final String response = HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new RealmsClientCompatibleRequest(this.host)));
         return response.equals("COMPATIBLE");
     }
 
@@ -56,7 +57,7 @@ public abstract class RealmsService {
     }
 
     public List<RealmsServer> getWorlds() throws IOException {
-        return this.httpClient.executeAndHandle(this.authorizeRequest(new RealmsWorldsRequest(this.host)));
+        return HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new RealmsWorldsRequest(this.host)));
     }
 
     @SneakyThrows
@@ -28,6 +28,7 @@ import net.raphimc.minecraftauth.extra.realms.request.BedrockRealmsInviteLinkAcc
 import net.raphimc.minecraftauth.extra.realms.request.BedrockRealmsWorldJoinRequest;
 import net.raphimc.minecraftauth.extra.realms.service.RealmsService;
 import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 
 import java.io.IOException;
@@ -45,7 +46,7 @@ public class BedrockRealmsService extends RealmsService {
     }
 
     public RealmsServer acceptInvite(final String code) throws IOException {
-        return this.httpClient.executeAndHandle(this.authorizeRequest(new BedrockRealmsInviteLinkAcceptRequest(code)));
+        return HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new BedrockRealmsInviteLinkAcceptRequest(code)));
     }
 
     @SneakyThrows
@@ -58,7 +59,7 @@ public class BedrockRealmsService extends RealmsService {
     }
 
     public void leaveInvitedRealm(final RealmsServer server) throws IOException {
-        this.httpClient.executeAndHandle(this.authorizeRequest(new BedrockRealmsInviteDeleteRequest(server)));
+        HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new BedrockRealmsInviteDeleteRequest(server)));
     }
 
     @SneakyThrows
@@ -72,7 +73,7 @@ public class BedrockRealmsService extends RealmsService {
 
     @Override
     public RealmsJoinInformation joinWorld(final RealmsServer server) throws IOException {
-        return this.httpClient.executeAndHandle(this.authorizeRequest(new BedrockRealmsWorldJoinRequest(server)));
+        return HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new BedrockRealmsWorldJoinRequest(server)));
     }
 
     @Override
@@ -29,6 +29,7 @@ import net.raphimc.minecraftauth.java.model.MinecraftProfile;
 import net.raphimc.minecraftauth.java.model.MinecraftToken;
 import net.raphimc.minecraftauth.util.UuidUtil;
 import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 
 import java.io.IOException;
 import java.net.CookieManager;
@@ -50,11 +51,11 @@ public class JavaRealmsService extends RealmsService {
 
     @Override
     public RealmsJoinInformation joinWorld(final RealmsServer server) throws IOException {
-        return this.httpClient.executeAndHandle(this.authorizeRequest(new JavaRealmsWorldJoinRequest(server)));
+        return HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new JavaRealmsWorldJoinRequest(server)));
     }
 
     public void acceptTos() throws IOException {
-        this.httpClient.executeAndHandle(this.authorizeRequest(new JavaRealmsTosAgreedRequest()));
+        HttpUtil.executeAndHandle(this.httpClient, this.authorizeRequest(new JavaRealmsTosAgreedRequest()));
     }
 
     @SneakyThrows
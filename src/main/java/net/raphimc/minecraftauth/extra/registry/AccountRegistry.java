@@ -0,0 +1,469 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.registry;
+
+import lombok.Getter;
+import lombok.Setter;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftMultiplayerToken;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.util.Expirable;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.IoSupplier;
+import net.raphimc.minecraftauth.util.holder.LazyHolders;
+import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+import net.raphimc.minecraftauth.xbl.model.XblUserProfile;
+
+import java.io.Closeable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a large number of auth managers up to date.<br>
+ * Every holder of a registered auth manager is scheduled on a single hashed timing wheel and refreshed shortly before it expires.
+ * Refreshes are executed on a bounded thread pool where {@link RefreshPriority#INTERACTIVE} work runs ahead of {@link RefreshPriority#BACKGROUND} work.<br>
+ * Registered accounts are indexed by their Minecraft UUID, XUID and gamertag. The indexes are updated whenever the auth manager changes.<br>
+ * Holders without a value are not refreshed in the background. They are scheduled as soon as they get a value.<br>
+ * Registering an auth manager doesn't create its lazily allocated holders. Holders which haven't been accessed yet are tracked through their stored value.
+ */
+public class AccountRegistry implements Closeable {
+
+    private static final long TICK_DURATION_MS = 1000;
+    private static final int WHEEL_SIZE = 4096;
+    private static final long RETRY_DELAY_MS = TimeUnit.SECONDS.toMillis(10);
+    private static final long MAX_RETRY_DELAY_MS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Map<Object, RegisteredAccount<?>> accounts = new ConcurrentHashMap<>();
+    private final Map<UUID, RegisteredAccount<?>> accountsByUuid = new ConcurrentHashMap<>();
+    private final Map<String, RegisteredAccount<?>> accountsByXuid = new ConcurrentHashMap<>();
+    private final Map<String, RegisteredAccount<?>> accountsByGamertag = new ConcurrentHashMap<>();
+    private final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_DURATION_MS, WHEEL_SIZE);
+    private final AtomicLong taskSequence = new AtomicLong();
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor refreshExecutor;
+
+    /**
+     * The time before a holder expires at which it gets refreshed in the background.
+     */
+    @Getter
+    private final long refreshMarginMs;
+
+    /**
+     * Called when a background refresh fails. The refresh is retried with an exponential backoff afterwards.<br>
+     * The account is null if the failure happened in the ticker and couldn't be attributed to an account.
+     */
+    @Getter
+    @Setter
+    private volatile BiConsumer<RegisteredAccount<?>, Throwable> refreshErrorHandler = (account, e) -> {
+    };
+
+    public AccountRegistry() {
+        this(4, TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * @param maxConcurrentRefreshes The maximum number of refreshes executed at the same time
+     * @param refreshMarginMs        The time before a holder expires at which it gets refreshed in the background
+     */
+    public AccountRegistry(final int maxConcurrentRefreshes, final long refreshMarginMs) {
+        if (maxConcurrentRefreshes <= 0) {
+            throw new IllegalArgumentException("maxConcurrentRefreshes must be positive");
+        }
+        this.refreshMarginMs = refreshMarginMs;
+        this.refreshExecutor = new ThreadPoolExecutor(maxConcurrentRefreshes, maxConcurrentRefreshes, 60, TimeUnit.SECONDS, new PriorityBlockingQueue<>(), daemonThreadFactory("MinecraftAuth Account Refresh"));
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(daemonThreadFactory("MinecraftAuth Account Registry Ticker"));
+        this.ticker.scheduleAtFixedRate(this::tick, TICK_DURATION_MS, TICK_DURATION_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public RegisteredAccount<JavaAuthManager> register(final JavaAuthManager authManager) {
+        return this.register(authManager, authManager.getChangeListeners(), authManager.getHolderSlots(), AccountRegistry::indexJava);
+    }
+
+    public RegisteredAccount<BedrockAuthManager> register(final BedrockAuthManager authManager) {
+        return this.register(authManager, authManager.getChangeListeners(), authManager.getHolderSlots(), AccountRegistry::indexBedrock);
+    }
+
+    /**
+     * Removes an auth manager from the registry and stops refreshing it in the background.
+     *
+     * @param authManager The auth manager to remove
+     * @return true if the auth manager was registered
+     */
+    public boolean unregister(final Object authManager) {
+        final RegisteredAccount<?> account = this.accounts.remove(authManager);
+        if (account == null) {
+            return false;
+        }
+
+        account.managerChangeListeners.remove(account.managerChangeListener);
+        account.holders.removeCreationListener(account.holderCreationListener);
+        for (RegisteredAccount.TrackedHolder trackedHolder : account.trackedHolders) {
+            final Holder<?> holder;
+            synchronized (trackedHolder) {
+                holder = trackedHolder.holder;
+                if (trackedHolder.timeout != null) {
+                    this.timingWheel.cancel(trackedHolder.timeout);
+                    trackedHolder.timeout = null;
+                }
+            }
+            if (holder != null) { // Outside of the tracked holder lock, because the change listeners call schedule while holding their own lock
+                holder.getChangeListeners().remove(trackedHolder.changeListener);
+            }
+        }
+        synchronized (account) {
+            removeIndex(this.accountsByUuid, account.uuid, account);
+            removeIndex(this.accountsByXuid, account.xuid, account);
+            removeIndex(this.accountsByGamertag, lowerCase(account.gamertag), account);
+        }
+        return true;
+    }
+
+    public RegisteredAccount<?> getByUuid(final UUID uuid) {
+        return this.accountsByUuid.get(uuid);
+    }
+
+    public RegisteredAccount<?> getByXuid(final String xuid) {
+        return this.accountsByXuid.get(xuid);
+    }
+
+    /**
+     * @param gamertag The gamertag to look up (Case-insensitive)
+     * @return The registered account or null if no account with the gamertag is registered
+     */
+    public RegisteredAccount<?> getByGamertag(final String gamertag) {
+        return this.accountsByGamertag.get(lowerCase(gamertag));
+    }
+
+    public Collection<RegisteredAccount<?>> getAccounts() {
+        return Collections.unmodifiableCollection(this.accounts.values());
+    }
+
+    public int size() {
+        return this.accounts.size();
+    }
+
+    /**
+     * @return The number of holders currently scheduled for a background refresh
+     */
+    public int getScheduledRefreshCount() {
+        return this.timingWheel.size();
+    }
+
+    /**
+     * Returns the up to date value of the holder. If the holder has to be refreshed, the refresh is executed on the refresh thread pool with {@link RefreshPriority#INTERACTIVE} priority.
+     *
+     * @param holder The holder to get the value of
+     * @param <T>    The type of the value
+     * @return A future which completes with the up to date value
+     */
+    public <T extends Expirable> CompletableFuture<T> getUpToDate(final Holder<T> holder) {
+        return this.getUpToDate(holder, RefreshPriority.INTERACTIVE);
+    }
+
+    public <T extends Expirable> CompletableFuture<T> getUpToDate(final Holder<T> holder, final RefreshPriority priority) {
+        if (holder.hasValue() && !holder.isExpired()) {
+            return CompletableFuture.completedFuture(holder.getCached());
+        }
+        return this.submit(priority, holder::getUpToDate);
+    }
+
+    /**
+     * Executes a task on the refresh thread pool.
+     *
+     * @param priority The priority of the task
+     * @param task     The task to execute
+     * @param <T>      The type of the result
+     * @return A future which completes with the result of the task
+     */
+    public <T> CompletableFuture<T> submit(final RefreshPriority priority, final IoSupplier<T> task) {
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        this.refreshExecutor.execute(new PrioritizedTask(priority, this.taskSequence.getAndIncrement(), () -> {
+            try {
+                future.complete(task.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            }
+        }));
+        return future;
+    }
+
+    @Override
+    public void close() {
+        this.ticker.shutdownNow();
+        this.refreshExecutor.shutdownNow();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> RegisteredAccount<T> register(final T authManager, final ChangeListeners managerChangeListeners, final LazyHolders holders, final Consumer<RegisteredAccount<T>> indexer) {
+        final RegisteredAccount<T> account = new RegisteredAccount<>(authManager, managerChangeListeners, holders);
+        final RegisteredAccount<?> existingAccount = this.accounts.putIfAbsent(authManager, account);
+        if (existingAccount != null) {
+            return (RegisteredAccount<T>) existingAccount;
+        }
+
+        account.managerChangeListener = () -> this.reindex(account, indexer);
+        managerChangeListeners.add(account.managerChangeListener);
+        for (int i = 0; i < account.trackedHolders.length; i++) {
+            final RegisteredAccount.TrackedHolder trackedHolder = new RegisteredAccount.TrackedHolder(account, i);
+            trackedHolder.changeListener = () -> this.schedule(trackedHolder, 0);
+            account.trackedHolders[i] = trackedHolder;
+        }
+        account.holderCreationListener = index -> this.attach(account.trackedHolders[index]);
+        holders.addCreationListener(account.holderCreationListener);
+        for (RegisteredAccount.TrackedHolder trackedHolder : account.trackedHolders) {
+            this.attach(trackedHolder);
+        }
+        this.reindex(account, indexer);
+        return account;
+    }
+
+    /**
+     * Starts listening for changes of the holder if it has been created and schedules its background refresh.
+     *
+     * @param trackedHolder The holder to attach to
+     */
+    private void attach(final RegisteredAccount.TrackedHolder trackedHolder) {
+        if (trackedHolder.account.holders.isShared(trackedHolder.index)) { // Refreshed on demand by the auth managers sharing it
+            return;
+        }
+
+        final Holder<?> holder = trackedHolder.account.holders.getIfCreated(trackedHolder.index);
+        if (holder != null) {
+            final boolean attached;
+            synchronized (trackedHolder) {
+                attached = trackedHolder.holder == null && this.isRegistered(trackedHolder.account);
+                if (attached) {
+                    trackedHolder.holder = holder;
+                }
+            }
+            if (attached) { // Outside of the tracked holder lock, because the change listeners call schedule while holding their own lock
+                holder.getChangeListeners().add(trackedHolder.changeListener);
+                if (!this.isRegistered(trackedHolder.account)) { // Unregistered before the listener was added
+                    holder.getChangeListeners().remove(trackedHolder.changeListener);
+                }
+            }
+        }
+        this.schedule(trackedHolder, 0); // The value might have changed before the change listener was added
+    }
+
+    private boolean isRegistered(final RegisteredAccount<?> account) {
+        return this.accounts.get(account.getAuthManager()) == account;
+    }
+
+    private void tick() {
+        for (Runnable task : this.timingWheel.advance()) {
+            try { // An exception would cancel all future ticks of the scheduled executor
+                task.run();
+            } catch (Throwable e) {
+                this.reportError(null, e);
+            }
+        }
+    }
+
+    private void submitRefresh(final RegisteredAccount.TrackedHolder trackedHolder) {
+        if (this.refreshExecutor.isShutdown()) {
+            return;
+        }
+        try {
+            this.refreshExecutor.execute(new PrioritizedTask(RefreshPriority.BACKGROUND, this.taskSequence.getAndIncrement(), () -> this.refresh(trackedHolder)));
+        } catch (Throwable e) {
+            if (this.refreshExecutor.isShutdown()) { // Closed in the meantime
+                return;
+            }
+            this.reportError(trackedHolder.account, e);
+            this.schedule(trackedHolder, RETRY_DELAY_MS);
+        }
+    }
+
+    private void reportError(final RegisteredAccount<?> account, final Throwable e) {
+        try {
+            this.refreshErrorHandler.accept(account, e);
+        } catch (Throwable ignored) {
+        }
+    }
+
+    /**
+     * Schedules the background refresh of a holder.
+     *
+     * @param trackedHolder The holder to schedule
+     * @param retryDelayMs  The delay after which a failed refresh is retried or 0 to schedule based on the expire time of the holder
+     */
+    private void schedule(final RegisteredAccount.TrackedHolder trackedHolder, final long retryDelayMs) {
+        synchronized (trackedHolder) {
+            if (trackedHolder.timeout != null) {
+                this.timingWheel.cancel(trackedHolder.timeout);
+                trackedHolder.timeout = null;
+            }
+            if (this.accounts.get(trackedHolder.account.getAuthManager()) != trackedHolder.account) { // Unregistered in the meantime
+                return;
+            }
+
+            final long deadlineMs;
+            if (retryDelayMs > 0) {
+                deadlineMs = System.currentTimeMillis() + retryDelayMs;
+            } else {
+                final Expirable value = trackedHolder.account.holders.getCached(trackedHolder.index);
+                if (value == null || value.getExpireTimeMs() == Long.MAX_VALUE) { // Nothing to keep up to date
+                    return;
+                }
+                deadlineMs = value.getExpireTimeMs() - this.refreshMarginMs;
+            }
+            trackedHolder.timeout = this.timingWheel.schedule(() -> this.submitRefresh(trackedHolder), deadlineMs);
+        }
+    }
+
+    private void refresh(final RegisteredAccount.TrackedHolder trackedHolder) {
+        final Expirable value = trackedHolder.account.holders.getCached(trackedHolder.index);
+        if (value != null && value.getExpireTimeMs() - this.refreshMarginMs > System.currentTimeMillis()) { // Refreshed by someone else in the meantime
+            this.schedule(trackedHolder, 0);
+            return;
+        }
+
+        try {
+            trackedHolder.account.holders.get(trackedHolder.index).refresh(); // Creates the holder, which attaches it through the creation listener
+            synchronized (trackedHolder) {
+                trackedHolder.failedAttempts = 0;
+            }
+            this.schedule(trackedHolder, 0); // The change listener isn't called if the refreshed value is equal to the old one
+        } catch (Throwable e) {
+            final int failedAttempts;
+            synchronized (trackedHolder) {
+                failedAttempts = ++trackedHolder.failedAttempts;
+            }
+            this.reportError(trackedHolder.account, e);
+            this.schedule(trackedHolder, Math.min(MAX_RETRY_DELAY_MS, RETRY_DELAY_MS << Math.min(failedAttempts - 1, 16)));
+        }
+    }
+
+    private <T> void reindex(final RegisteredAccount<T> account, final Consumer<RegisteredAccount<T>> indexer) {
+        synchronized (account) {
+            final UUID oldUuid = account.uuid;
+            final String oldXuid = account.xuid;
+            final String oldGamertag = account.gamertag;
+            indexer.accept(account);
+            if (this.accounts.get(account.getAuthManager()) != account) { // Unregistered in the meantime
+                return;
+            }
+
+            updateIndex(this.accountsByUuid, oldUuid, account.uuid, account);
+            updateIndex(this.accountsByXuid, oldXuid, account.xuid, account);
+            updateIndex(this.accountsByGamertag, lowerCase(oldGamertag), lowerCase(account.gamertag), account);
+        }
+    }
+
+    private static void indexJava(final RegisteredAccount<JavaAuthManager> account) {
+        // Read from the slots, so indexing doesn't create holders which haven't been accessed yet
+        final MinecraftProfile minecraftProfile = account.holders.getCached(JavaAuthManager.MINECRAFT_PROFILE);
+        final XblUserProfile xboxUserProfile = account.holders.getCached(JavaAuthManager.XBOX_USER_PROFILE);
+        account.uuid = minecraftProfile != null ? minecraftProfile.getId() : null;
+        account.xuid = xboxUserProfile != null ? xboxUserProfile.getId() : null;
+        account.gamertag = xboxUserProfile != null ? xboxUserProfile.getSettings().get("Gamertag") : null;
+    }
+
+    private static void indexBedrock(final RegisteredAccount<BedrockAuthManager> account) {
+        // Read from the slots, so indexing doesn't create holders which haven't been accessed yet
+        final MinecraftCertificateChain certificateChain = account.holders.getCached(BedrockAuthManager.MINECRAFT_CERTIFICATE_CHAIN);
+        final MinecraftMultiplayerToken multiplayerToken = account.holders.getCached(BedrockAuthManager.MINECRAFT_MULTIPLAYER_TOKEN);
+        final XblUserProfile xboxUserProfile = account.holders.getCached(BedrockAuthManager.XBOX_USER_PROFILE);
+        if (certificateChain != null) {
+            account.uuid = certificateChain.getIdentityUuid();
+            account.xuid = certificateChain.getIdentityXuid();
+            account.gamertag = certificateChain.getIdentityDisplayName();
+        } else if (multiplayerToken != null) {
+            account.uuid = multiplayerToken.getUuid();
+            account.xuid = multiplayerToken.getXuid();
+            account.gamertag = multiplayerToken.getDisplayName();
+        } else {
+            account.uuid = null;
+            account.xuid = xboxUserProfile != null ? xboxUserProfile.getId() : null;
+            account.gamertag = xboxUserProfile != null ? xboxUserProfile.getSettings().get("Gamertag") : null;
+        }
+    }
+
+    private static <K> void updateIndex(final Map<K, RegisteredAccount<?>> index, final K oldKey, final K newKey, final RegisteredAccount<?> account) {
+        if (oldKey != null && !oldKey.equals(newKey)) {
+            index.remove(oldKey, account);
+        }
+        if (newKey != null) {
+            index.put(newKey, account);
+        }
+    }
+
+    private static <K> void removeIndex(final Map<K, RegisteredAccount<?>> index, final K key, final RegisteredAccount<?> account) {
+        if (key != null) {
+            index.remove(key, account);
+        }
+    }
+
+    private static String lowerCase(final String s) {
+        return s != null ? s.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private static ThreadFactory daemonThreadFactory(final String name) {
+        final AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            final Thread thread = new Thread(runnable, name + " #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class PrioritizedTask implements Runnable, Comparable<PrioritizedTask> {
+
+        private final RefreshPriority priority;
+        private final long sequence;
+        private final Runnable task;
+
+        private PrioritizedTask(final RefreshPriority priority, final long sequence, final Runnable task) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            this.task.run();
+        }
+
+        @Override
+        public int compareTo(final PrioritizedTask other) {
+            final int priorityComparison = this.priority.compareTo(other.priority);
+            return priorityComparison != 0 ? priorityComparison : Long.compare(this.sequence, other.sequence);
+        }
+
+    }
+
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.registry;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A hashed timing wheel with a fixed tick duration.<br>
+ * Scheduling and cancelling are O(1). Each tick only visits the timeouts of one bucket, so the cost per tick is independent of the total number of scheduled timeouts.
+ */
+class HashedTimingWheel {
+
+    private final long tickDurationMs;
+    private final long startTimeMs;
+    private final Set<Timeout>[] buckets;
+    private final int mask;
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    HashedTimingWheel(final long tickDurationMs, final int wheelSize) {
+        if (Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("Wheel size must be a power of two");
+        }
+        this.tickDurationMs = tickDurationMs;
+        this.startTimeMs = System.currentTimeMillis();
+        this.buckets = new Set[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            this.buckets[i] = new HashSet<>();
+        }
+        this.mask = wheelSize - 1;
+    }
+
+    synchronized Timeout schedule(final Runnable task, final long deadlineMs) {
+        final long deadlineTick = Math.max(this.currentTick, (deadlineMs - this.startTimeMs + this.tickDurationMs - 1) / this.tickDurationMs);
+        final Timeout timeout = new Timeout(task, (deadlineTick - this.currentTick) / this.buckets.length, this.buckets[(int) (deadlineTick & this.mask)]);
+        timeout.bucket.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Advances the wheel to the current time and returns the tasks whose deadline has been reached.
+     *
+     * @return The expired tasks
+     */
+    List<Runnable> advance() {
+        final List<Runnable> expiredTasks = new ArrayList<>();
+        synchronized (this) {
+            final long nowTick = (System.currentTimeMillis() - this.startTimeMs) / this.tickDurationMs;
+            while (this.currentTick <= nowTick) {
+                final Set<Timeout> bucket = this.buckets[(int) (this.currentTick & this.mask)];
+                bucket.removeIf(timeout -> {
+                    if (timeout.remainingRounds <= 0) {
+                        expiredTasks.add(timeout.task);
+                        return true;
+                    }
+                    timeout.remainingRounds--;
+                    return false;
+                });
+                this.currentTick++;
+            }
+        }
+        return expiredTasks;
+    }
+
+    synchronized void cancel(final Timeout timeout) {
+        timeout.bucket.remove(timeout);
+    }
+
+    synchronized int size() {
+        int size = 0;
+        for (Set<Timeout> bucket : this.buckets) {
+            size += bucket.size();
+        }
+        return size;
+    }
+
+    static class Timeout {
+
+        private final Runnable task;
+        private final Set<Timeout> bucket;
+        private long remainingRounds;
+
+        private Timeout(final Runnable task, final long remainingRounds, final Set<Timeout> bucket) {
+            this.task = task;
+            this.remainingRounds = remainingRounds;
+            this.bucket = bucket;
+        }
+
+    }
+
+}
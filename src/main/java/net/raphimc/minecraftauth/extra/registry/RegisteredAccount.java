@@ -0,0 +1,95 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.registry;
+
+import lombok.Getter;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.LazyHolders;
+import net.raphimc.minecraftauth.util.holder.listener.BasicChangeListener;
+import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * An auth manager registered in an {@link AccountRegistry}.
+ *
+ * @param <T> The type of the auth manager.
+ */
+public class RegisteredAccount<T> {
+
+    @Getter
+    private final T authManager;
+    final LazyHolders holders;
+    final TrackedHolder[] trackedHolders;
+    final ChangeListeners managerChangeListeners;
+    BasicChangeListener managerChangeListener;
+    IntConsumer holderCreationListener;
+
+    volatile UUID uuid;
+    volatile String xuid;
+    volatile String gamertag;
+
+    RegisteredAccount(final T authManager, final ChangeListeners managerChangeListeners, final LazyHolders holders) {
+        this.authManager = authManager;
+        this.managerChangeListeners = managerChangeListeners;
+        this.holders = holders;
+        this.trackedHolders = new TrackedHolder[holders.size()];
+    }
+
+    /**
+     * @return The Minecraft UUID of the account or null if it is not known yet
+     */
+    public UUID getUuid() {
+        return this.uuid;
+    }
+
+    /**
+     * @return The XUID of the account or null if it is not known yet
+     */
+    public String getXuid() {
+        return this.xuid;
+    }
+
+    /**
+     * @return The gamertag of the account or null if it is not known yet
+     */
+    public String getGamertag() {
+        return this.gamertag;
+    }
+
+    static class TrackedHolder {
+
+        final RegisteredAccount<?> account;
+        final int index;
+        /**
+         * The holder once it has been created. Until then, only the value stored in the holder slot is tracked.
+         */
+        Holder<?> holder;
+        BasicChangeListener changeListener;
+        HashedTimingWheel.Timeout timeout;
+        int failedAttempts;
+
+        TrackedHolder(final RegisteredAccount<?> account, final int index) {
+            this.account = account;
+            this.index = index;
+        }
+
+    }
+
+}
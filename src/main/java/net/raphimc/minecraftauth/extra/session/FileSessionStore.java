@@ -0,0 +1,382 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.session;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Getter;
+import lombok.Setter;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.msa.model.MsaToken;
+import net.raphimc.minecraftauth.util.CryptUtil;
+import net.raphimc.minecraftauth.util.FileUtil;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.IoSupplier;
+import net.raphimc.minecraftauth.util.holder.LazyHolders;
+import net.raphimc.minecraftauth.util.holder.listener.BasicChangeListener;
+import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Stores an auth manager in a file which can be shared by multiple processes on the same host.<br>
+ * All file accesses are guarded by a {@link java.nio.channels.FileLock} on a separate lock file and the session file is replaced atomically, so readers never see partially written files.<br>
+ * Changes made by other processes are detected by comparing the file key (Inode), modification time and size of the file, followed by a SHA-256 hash of the contents if they differ.<br>
+ * The auth manager is saved automatically whenever one of its holders changes. Changes made during a refresh are saved at once after the refresh has finished. Before the MSA token is refreshed, the store checks if another process has already committed a newer MSA token and reuses it.
+ * The MSA token refresh is executed while holding the file lock, so the refresh token is never rotated by two processes at the same time.
+ *
+ * @param <M> The type of the auth manager
+ */
+public class FileSessionStore<M> {
+
+    public static FileSessionStore<JavaAuthManager> forJava(final Path file, final HttpClient httpClient) {
+        return new FileSessionStore<>(file, JavaAuthManager::toJson, json -> JavaAuthManager.fromJson(httpClient, json), JavaAuthManager::getHolderSlots, JavaAuthManager::getMsaToken, JavaAuthManager::getChangeListeners);
+    }
+
+    public static FileSessionStore<BedrockAuthManager> forBedrock(final Path file, final HttpClient httpClient, final String gameVersion) {
+        return new FileSessionStore<>(file, BedrockAuthManager::toJson, json -> BedrockAuthManager.fromJson(httpClient, gameVersion, json), BedrockAuthManager::getHolderSlots, BedrockAuthManager::getMsaToken, BedrockAuthManager::getChangeListeners);
+    }
+
+    @Getter
+    private final Path file;
+    private final Path lockFile;
+    private final Function<M, JsonObject> serializer;
+    private final Function<JsonObject, M> deserializer;
+    private final Function<M, LazyHolders> holdersGetter;
+    private final Function<M, Holder<MsaToken>> msaTokenGetter;
+    private final Function<M, ChangeListeners> changeListenersGetter;
+    private final BasicChangeListener changeListener = this::onChange;
+    private final Runnable saveAction = this::saveAfterChange;
+    private final ThreadLocal<Boolean> adopting = ThreadLocal.withInitial(() -> false);
+
+    /**
+     * The auth manager bound to this store or null if none has been loaded or saved yet.
+     */
+    @Getter
+    private volatile M authManager;
+    /**
+     * Called when saving the auth manager after a change fails. By default, the exception is rethrown to the code which changed the auth manager.
+     */
+    @Setter
+    private Consumer<Throwable> saveErrorHandler = e -> {
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
+        } else if (e instanceof IOException) {
+            throw new UncheckedIOException((IOException) e);
+        } else {
+            throw new RuntimeException(e);
+        }
+    };
+    private Fingerprint fingerprint;
+    /**
+     * The auth managers whose MSA token supplier has already been decorated by this store. A decorated supplier falls back to the plain supplier once the auth manager is no longer bound.
+     */
+    private final Set<M> decoratedAuthManagers = Collections.newSetFromMap(new WeakHashMap<>());
+
+    private FileSessionStore(final Path file, final Function<M, JsonObject> serializer, final Function<JsonObject, M> deserializer, final Function<M, LazyHolders> holdersGetter, final Function<M, Holder<MsaToken>> msaTokenGetter, final Function<M, ChangeListeners> changeListenersGetter) {
+        this.file = file.toAbsolutePath().normalize();
+        this.lockFile = this.file.resolveSibling(this.file.getFileName() + ".lock");
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+        this.holdersGetter = holdersGetter;
+        this.msaTokenGetter = msaTokenGetter;
+        this.changeListenersGetter = changeListenersGetter;
+    }
+
+    /**
+     * Loads the auth manager from the file and binds it to this store.<br>
+     * If an auth manager is already bound, newer tokens committed by other processes are adopted instead.
+     *
+     * @return The auth manager or null if the file doesn't exist
+     */
+    public M load() throws IOException {
+        if (this.authManager != null) {
+            this.reloadIfChanged();
+            return this.authManager;
+        }
+
+        final JsonObject json = FileUtil.withLock(this.lockFile, () -> {
+            final byte[] data = readFile(this.file);
+            if (data == null) {
+                return null;
+            }
+            this.fingerprint = Fingerprint.of(this.file, data);
+            return parse(data);
+        });
+        if (json == null) {
+            return null;
+        }
+
+        final M authManager = this.deserializer.apply(json);
+        this.bind(authManager);
+        return authManager;
+    }
+
+    /**
+     * Binds the auth manager to this store and saves it.<br>
+     * This is used to store a freshly logged in auth manager.
+     *
+     * @param authManager The auth manager
+     */
+    public void save(final M authManager) throws IOException {
+        this.bind(authManager);
+        this.save();
+    }
+
+    /**
+     * Saves the bound auth manager.<br>
+     * If another process has committed newer tokens in the meantime, they are kept in the file.
+     */
+    public void save() throws IOException {
+        final M authManager = this.authManager;
+        if (authManager == null) {
+            throw new IllegalStateException("No auth manager is bound to this store");
+        }
+
+        FileUtil.withLock(this.lockFile, () -> {
+            this.write(this.serializer.apply(authManager));
+            return null;
+        });
+    }
+
+    /**
+     * Adopts all tokens which have been committed to the file by another process and are newer than the tokens of the bound auth manager.
+     *
+     * @return True if the file has changed since it was last read or written by this store
+     */
+    public boolean reloadIfChanged() throws IOException {
+        final M authManager = this.authManager;
+        if (authManager == null) {
+            return false;
+        }
+
+        final JsonObject json = FileUtil.withLock(this.lockFile, () -> {
+            final byte[] data = this.readFileIfChanged();
+            if (data == null) {
+                return null;
+            }
+            this.fingerprint = Fingerprint.of(this.file, data);
+            return parse(data);
+        });
+        if (json == null) {
+            return false;
+        }
+
+        // Holders are updated outside of the file lock, because other threads may hold a holder lock while waiting for the file lock
+        final LazyHolders holders = this.holdersGetter.apply(authManager);
+        final LazyHolders storedHolders = this.holdersGetter.apply(this.deserializer.apply(json));
+        this.adopting.set(true);
+        try {
+            for (int i = 0; i < holders.size(); i++) {
+                holders.adoptIfNewer(i, storedHolders.getCached(i));
+            }
+        } finally {
+            this.adopting.set(false);
+        }
+        return true;
+    }
+
+    private synchronized void bind(final M authManager) {
+        if (this.authManager == authManager) {
+            return;
+        }
+        if (this.authManager != null) {
+            this.changeListenersGetter.apply(this.authManager).remove(this.changeListener);
+        }
+
+        this.authManager = authManager;
+        this.changeListenersGetter.apply(authManager).add(this.changeListener);
+        if (this.decoratedAuthManagers.add(authManager)) { // Binding the same auth manager again must not stack another decorator
+            this.msaTokenGetter.apply(authManager).decorateSupplier(supplier -> () -> this.refreshMsaToken(authManager, supplier));
+        }
+    }
+
+    private void onChange() {
+        if (this.adopting.get()) {
+            return;
+        }
+        // A refresh usually changes multiple holders, so the file is only written once the whole refresh has finished
+        Holder.runAfterRefresh(this.saveAction);
+    }
+
+    private void saveAfterChange() {
+        try {
+            this.save();
+        } catch (Throwable e) {
+            this.saveErrorHandler.accept(e);
+        }
+    }
+
+    private MsaToken refreshMsaToken(final M authManager, final IoSupplier<MsaToken> supplier) throws IOException {
+        if (this.authManager != authManager) { // No longer bound to this store
+            return supplier.get();
+        }
+
+        // This is called while holding the lock of the MSA token holder
+        return FileUtil.withLock(this.lockFile, () -> {
+            final Holder<MsaToken> msaTokenHolder = this.msaTokenGetter.apply(authManager);
+            final byte[] data = this.readFileIfChanged();
+            if (data != null) {
+                final JsonElement storedMsaToken = parse(data).get("msaToken");
+                if (storedMsaToken != null && storedMsaToken.isJsonObject()) {
+                    final MsaToken msaToken = MsaToken.fromJson(storedMsaToken.getAsJsonObject());
+                    final MsaToken cachedMsaToken = msaTokenHolder.getCached();
+                    if (cachedMsaToken == null || msaToken.getExpireTimeMs() > cachedMsaToken.getExpireTimeMs()) {
+                        if (!msaToken.isExpired()) {
+                            return msaToken;
+                        }
+                        // Refresh using the newest refresh token
+                        this.adopting.set(true);
+                        try {
+                            msaTokenHolder.set(msaToken);
+                        } finally {
+                            this.adopting.set(false);
+                        }
+                    }
+                }
+            }
+
+            final MsaToken msaToken = supplier.get();
+            final JsonObject json = this.serializer.apply(authManager);
+            json.add("msaToken", MsaToken.toJson(msaToken));
+            this.write(json);
+            return msaToken;
+        });
+    }
+
+    /**
+     * Writes the json to the file. Must be called while holding the file lock.
+     */
+    private void write(final JsonObject json) throws IOException {
+        final byte[] currentData = this.readFileIfChanged();
+        if (currentData != null) {
+            mergeNewerTokens(json, parse(currentData));
+        }
+
+        final byte[] data = json.toString().getBytes(StandardCharsets.UTF_8);
+        if (currentData == null && this.fingerprint != null && Arrays.equals(this.fingerprint.hash, CryptUtil.sha256(data))) { // Already saved (For example by the MSA token refresh which triggered this change)
+            return;
+        }
+        FileUtil.writeAtomically(this.file, data);
+        this.fingerprint = Fingerprint.of(this.file, data);
+    }
+
+    /**
+     * Reads the file if it has been changed by another process since it was last read or written by this store. Must be called while holding the file lock.
+     *
+     * @return The contents of the file or null if it doesn't exist or hasn't changed
+     */
+    private byte[] readFileIfChanged() throws IOException {
+        final BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(this.file, BasicFileAttributes.class);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+        if (this.fingerprint != null && this.fingerprint.matches(attributes)) {
+            return null;
+        }
+
+        final byte[] data = readFile(this.file);
+        if (data == null) {
+            return null;
+        }
+        final Fingerprint fingerprint = Fingerprint.of(this.file, data);
+        if (this.fingerprint != null && Arrays.equals(this.fingerprint.hash, fingerprint.hash)) { // Only the metadata changed
+            this.fingerprint = fingerprint;
+            return null;
+        }
+        return data;
+    }
+
+    private static void mergeNewerTokens(final JsonObject json, final JsonObject storedJson) {
+        if (!Objects.equals(json.get("deviceId"), storedJson.get("deviceId"))) {
+            return;
+        }
+
+        for (Map.Entry<String, JsonElement> entry : storedJson.entrySet()) {
+            final long storedExpireTimeMs = getExpireTimeMs(entry.getValue());
+            if (storedExpireTimeMs != -1 && getExpireTimeMs(json.get(entry.getKey())) < storedExpireTimeMs) {
+                json.add(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static long getExpireTimeMs(final JsonElement element) {
+        if (element == null || !element.isJsonObject() || !element.getAsJsonObject().has("expireTimeMs")) {
+            return -1;
+        }
+        return element.getAsJsonObject().get("expireTimeMs").getAsLong();
+    }
+
+    private static byte[] readFile(final Path file) throws IOException {
+        try {
+            return Files.readAllBytes(file);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static JsonObject parse(final byte[] data) {
+        return JsonParser.parseString(new String(data, StandardCharsets.UTF_8)).getAsJsonObject();
+    }
+
+    private static class Fingerprint {
+
+        private final Object fileKey;
+        private final long lastModifiedTime;
+        private final long size;
+        private final byte[] hash;
+
+        private Fingerprint(final BasicFileAttributes attributes, final byte[] hash) {
+            this.fileKey = attributes.fileKey();
+            this.lastModifiedTime = attributes.lastModifiedTime().toMillis();
+            this.size = attributes.size();
+            this.hash = hash;
+        }
+
+        private static Fingerprint of(final Path file, final byte[] data) throws IOException {
+            return new Fingerprint(Files.readAttributes(file, BasicFileAttributes.class), CryptUtil.sha256(data));
+        }
+
+        private boolean matches(final BasicFileAttributes attributes) {
+            return Objects.equals(this.fileKey, attributes.fileKey()) && this.lastModifiedTime == attributes.lastModifiedTime().toMillis() && this.size == attributes.size();
+        }
+
+    }
+
+}
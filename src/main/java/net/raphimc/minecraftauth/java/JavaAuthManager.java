@@ -22,17 +22,20 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import lombok.Setter;
+import lombok.SneakyThrows;
 import lombok.experimental.Accessors;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpClient;
 import net.raphimc.minecraftauth.java.model.MinecraftEntitlements;
 import net.raphimc.minecraftauth.java.model.MinecraftPlayerCertificates;
 import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.java.model.MinecraftSkin;
 import net.raphimc.minecraftauth.java.model.MinecraftToken;
 import net.raphimc.minecraftauth.java.request.MinecraftEntitlementsRequest;
 import net.raphimc.minecraftauth.java.request.MinecraftLauncherLoginRequest;
 import net.raphimc.minecraftauth.java.request.MinecraftPlayerCertificatesRequest;
 import net.raphimc.minecraftauth.java.request.MinecraftProfileRequest;
+import net.raphimc.minecraftauth.java.request.MinecraftTextureRequest;
 import net.raphimc.minecraftauth.msa.data.MsaConstants;
 import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
@@ -42,15 +45,24 @@ import net.raphimc.minecraftauth.msa.service.util.MsaAuthServiceSupplier;
 import net.raphimc.minecraftauth.msa.service.util.ParamMsaAuthServiceSupplier;
 import net.raphimc.minecraftauth.util.CryptUtil;
 import net.raphimc.minecraftauth.util.JsonUtil;
+import net.raphimc.minecraftauth.util.cache.HttpDiskCache;
 import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.LazyHolders;
 import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+import net.raphimc.minecraftauth.xbl.DeviceIdentity;
+import net.raphimc.minecraftauth.xbl.XblProfileLookup;
 import net.raphimc.minecraftauth.xbl.data.XblConstants;
 import net.raphimc.minecraftauth.xbl.model.*;
 import net.raphimc.minecraftauth.xbl.request.*;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.io.IOException;
 import java.security.KeyPair;
+import java.util.Arrays;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 
 @Getter
@@ -61,14 +73,33 @@ public class JavaAuthManager {
     }
 
     public static JavaAuthManager fromJson(final HttpClient httpClient, final GsonObject json) {
+        return load(httpClient, json, DeviceIdentity.fromJson(httpClient, json));
+    }
+
+    /**
+     * Loads an auth manager which uses the given (Possibly shared) device identity instead of the one stored in the json.<br>
+     * The stored device token is only reused if it belongs to the given device identity.<br>
+     * The shared device token holder doesn't notify the change listeners of the auth manager, so the device identity has to be saved separately (See {@link DeviceIdentity#toJson(DeviceIdentity)}).
+     */
+    public static JavaAuthManager fromJson(final HttpClient httpClient, final JsonObject json, final DeviceIdentity deviceIdentity) {
+        return fromJson(httpClient, new GsonObject(json), deviceIdentity);
+    }
+
+    public static JavaAuthManager fromJson(final HttpClient httpClient, final GsonObject json, final DeviceIdentity deviceIdentity) {
+        final JavaAuthManager authManager = load(httpClient, json, deviceIdentity);
+        authManager.holders.markShared(XBL_DEVICE_TOKEN);
+        return authManager;
+    }
+
+    private static JavaAuthManager load(final HttpClient httpClient, final GsonObject json, final DeviceIdentity deviceIdentity) {
+        if (deviceIdentity.getDeviceId().toString().equals(json.reqString("deviceId"))) {
+            json.optObject("xblDeviceToken").map(XblDeviceToken::fromJson).ifPresent(deviceIdentity::adoptXblDeviceToken);
+        }
         return new JavaAuthManager(
                 httpClient,
                 MsaApplicationConfig.fromJson(json.reqObject("msaApplicationConfig")),
-                json.reqString("deviceType"),
-                JsonUtil.decodeKeyPair(json.reqObject("deviceKeyPair")),
-                UUID.fromString(json.reqString("deviceId")),
+                deviceIdentity,
                 MsaToken.fromJson(json.reqObject("msaToken")),
-                json.optObject("xblDeviceToken").map(XblDeviceToken::fromJson).orElse(null),
                 json.optObject("xblUserToken").map(XblUserToken::fromJson).orElse(null),
                 json.optObject("xblTitleToken").map(XblTitleToken::fromJson).orElse(null),
                 json.optObject("javaXstsToken").map(XblXstsToken::fromJson).orElse(null),
@@ -88,36 +119,36 @@ public class JavaAuthManager {
         json.addProperty("deviceType", authManager.deviceType);
         json.add("deviceKeyPair", JsonUtil.encodeKeyPair(authManager.deviceKeyPair));
         json.addProperty("deviceId", authManager.deviceId.toString());
-        json.add("msaToken", MsaToken.toJson(authManager.msaToken.getCached()));
-        if (authManager.xblDeviceToken.hasValue()) {
-            json.add("xblDeviceToken", XblDeviceToken.toJson(authManager.xblDeviceToken.getCached()));
+        json.add("msaToken", MsaToken.toJson(authManager.holders.getCached(MSA_TOKEN)));
+        if (authManager.deviceIdentity.getXblDeviceToken().hasValue()) {
+            json.add("xblDeviceToken", XblDeviceToken.toJson(authManager.deviceIdentity.getXblDeviceToken().getCached()));
         }
-        if (authManager.xblUserToken.hasValue()) {
-            json.add("xblUserToken", XblUserToken.toJson(authManager.xblUserToken.getCached()));
+        if (authManager.holders.getCached(XBL_USER_TOKEN) != null) {
+            json.add("xblUserToken", XblUserToken.toJson(authManager.holders.getCached(XBL_USER_TOKEN)));
         }
-        if (authManager.xblTitleToken.hasValue()) {
-            json.add("xblTitleToken", XblTitleToken.toJson(authManager.xblTitleToken.getCached()));
+        if (authManager.holders.getCached(XBL_TITLE_TOKEN) != null) {
+            json.add("xblTitleToken", XblTitleToken.toJson(authManager.holders.getCached(XBL_TITLE_TOKEN)));
         }
-        if (authManager.javaXstsToken.hasValue()) {
-            json.add("javaXstsToken", XblXstsToken.toJson(authManager.javaXstsToken.getCached()));
+        if (authManager.holders.getCached(JAVA_XSTS_TOKEN) != null) {
+            json.add("javaXstsToken", XblXstsToken.toJson(authManager.holders.getCached(JAVA_XSTS_TOKEN)));
         }
-        if (authManager.xboxLiveXstsToken.hasValue()) {
-            json.add("xboxLiveXstsToken", XblXstsToken.toJson(authManager.xboxLiveXstsToken.getCached()));
+        if (authManager.holders.getCached(XBOX_LIVE_XSTS_TOKEN) != null) {
+            json.add("xboxLiveXstsToken", XblXstsToken.toJson(authManager.holders.getCached(XBOX_LIVE_XSTS_TOKEN)));
         }
-        if (authManager.xboxUserProfile.hasValue()) {
-            json.add("xboxUserProfile", XblUserProfile.toJson(authManager.xboxUserProfile.getCached()));
+        if (authManager.holders.getCached(XBOX_USER_PROFILE) != null) {
+            json.add("xboxUserProfile", XblUserProfile.toJson(authManager.holders.getCached(XBOX_USER_PROFILE)));
         }
-        if (authManager.minecraftToken.hasValue()) {
-            json.add("minecraftToken", MinecraftToken.toJson(authManager.minecraftToken.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_TOKEN) != null) {
+            json.add("minecraftToken", MinecraftToken.toJson(authManager.holders.getCached(MINECRAFT_TOKEN)));
         }
-        if (authManager.minecraftEntitlements.hasValue()) {
-            json.add("minecraftEntitlements", MinecraftEntitlements.toJson(authManager.minecraftEntitlements.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_ENTITLEMENTS) != null) {
+            json.add("minecraftEntitlements", MinecraftEntitlements.toJson(authManager.holders.getCached(MINECRAFT_ENTITLEMENTS)));
         }
-        if (authManager.minecraftProfile.hasValue()) {
-            json.add("minecraftProfile", MinecraftProfile.toJson(authManager.minecraftProfile.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_PROFILE) != null) {
+            json.add("minecraftProfile", MinecraftProfile.toJson(authManager.holders.getCached(MINECRAFT_PROFILE)));
         }
-        if (authManager.minecraftPlayerCertificates.hasValue()) {
-            json.add("minecraftPlayerCertificates", MinecraftPlayerCertificates.toJson(authManager.minecraftPlayerCertificates.getCached()));
+        if (authManager.holders.getCached(MINECRAFT_PLAYER_CERTIFICATES) != null) {
+            json.add("minecraftPlayerCertificates", MinecraftPlayerCertificates.toJson(authManager.holders.getCached(MINECRAFT_PLAYER_CERTIFICATES)));
         }
         return json;
     }
@@ -126,75 +157,306 @@ public class JavaAuthManager {
         return new Builder(httpClient);
     }
 
+    private static final int MSA_TOKEN = 0;
+    private static final int XBL_DEVICE_TOKEN = 1;
+    private static final int XBL_USER_TOKEN = 2;
+    private static final int XBL_TITLE_TOKEN = 3;
+    private static final int JAVA_XSTS_TOKEN = 4;
+    private static final int XBOX_LIVE_XSTS_TOKEN = 5;
+    @ApiStatus.Internal
+    public static final int XBOX_USER_PROFILE = 6;
+    private static final int MINECRAFT_TOKEN = 7;
+    private static final int MINECRAFT_ENTITLEMENTS = 8;
+    @ApiStatus.Internal
+    public static final int MINECRAFT_PROFILE = 9;
+    private static final int MINECRAFT_PLAYER_CERTIFICATES = 10;
+    private static final int HOLDER_COUNT = 11;
+
     private final HttpClient httpClient;
     private final MsaApplicationConfig msaApplicationConfig;
     private final String deviceType;
     private final KeyPair deviceKeyPair;
     private final UUID deviceId;
+    private final DeviceIdentity deviceIdentity;
     private final ChangeListeners changeListeners = new ChangeListeners();
 
     @Getter(AccessLevel.NONE)
     private final Object sisuTokensLock = new Object();
 
-    private final Holder<MsaToken> msaToken = new Holder<>(this::refreshMsaToken);
-    private final Holder<XblDeviceToken> xblDeviceToken = new Holder<>(this::refreshXblDeviceToken);
-    private final Holder<XblUserToken> xblUserToken = new Holder<>(this::refreshXblUserToken, this.sisuTokensLock);
-    private final Holder<XblTitleToken> xblTitleToken = new Holder<>(this::refreshXblTitleToken, this.sisuTokensLock);
-    private final Holder<XblXstsToken> javaXstsToken = new Holder<>(this::refreshJavaXstsToken, this.sisuTokensLock);
-    private final Holder<XblXstsToken> xboxLiveXstsToken = new Holder<>(this::refreshXboxLiveXstsToken);
-    private final Holder<XblUserProfile> xboxUserProfile = new Holder<>(this::refreshXboxUserProfile);
-    private final Holder<MinecraftToken> minecraftToken = new Holder<>(this::refreshMinecraftToken);
-    private final Holder<MinecraftEntitlements> minecraftEntitlements = new Holder<>(this::refreshMinecraftEntitlements);
-    private final Holder<MinecraftProfile> minecraftProfile = new Holder<>(this::refreshMinecraftProfile);
-    private final Holder<MinecraftPlayerCertificates> minecraftPlayerCertificates = new Holder<>(this::refreshMinecraftPlayerCertificates);
-
-    private JavaAuthManager(final HttpClient httpClient, final MsaApplicationConfig msaApplicationConfig, final String deviceType, final KeyPair deviceKeyPair, final UUID deviceId, final MsaToken msaToken) {
+    @Getter(AccessLevel.NONE)
+    private final LazyHolders holders = new LazyHolders(HOLDER_COUNT, this::createHolder, this.changeListeners);
+
+    private JavaAuthManager(final HttpClient httpClient, final MsaApplicationConfig msaApplicationConfig, final DeviceIdentity deviceIdentity, final MsaToken msaToken) {
         this.httpClient = httpClient;
         this.msaApplicationConfig = msaApplicationConfig;
-        this.deviceType = deviceType;
-        this.deviceKeyPair = deviceKeyPair;
-        this.deviceId = deviceId;
-        this.msaToken.set(msaToken);
-        this.hookChangeListeners();
+        this.deviceType = deviceIdentity.getDeviceType();
+        this.deviceKeyPair = deviceIdentity.getDeviceKeyPair();
+        this.deviceId = deviceIdentity.getDeviceId();
+        this.deviceIdentity = deviceIdentity;
+        this.holders.setInitialValue(MSA_TOKEN, msaToken);
     }
 
-    private JavaAuthManager(final HttpClient httpClient, final MsaApplicationConfig msaApplicationConfig, final String deviceType, final KeyPair deviceKeyPair, final UUID deviceId, final MsaToken msaToken, final XblDeviceToken xblDeviceToken, final XblUserToken xblUserToken, final XblTitleToken xblTitleToken, final XblXstsToken javaXstsToken, final XblXstsToken xboxLiveXstsToken, final XblUserProfile xboxUserProfile, final MinecraftToken minecraftToken, final MinecraftEntitlements minecraftEntitlements, final MinecraftProfile minecraftProfile, final MinecraftPlayerCertificates minecraftPlayerCertificates) {
+    private JavaAuthManager(final HttpClient httpClient, final MsaApplicationConfig msaApplicationConfig, final DeviceIdentity deviceIdentity, final MsaToken msaToken, final XblUserToken xblUserToken, final XblTitleToken xblTitleToken, final XblXstsToken javaXstsToken, final XblXstsToken xboxLiveXstsToken, final XblUserProfile xboxUserProfile, final MinecraftToken minecraftToken, final MinecraftEntitlements minecraftEntitlements, final MinecraftProfile minecraftProfile, final MinecraftPlayerCertificates minecraftPlayerCertificates) {
         this.httpClient = httpClient;
         this.msaApplicationConfig = msaApplicationConfig;
-        this.deviceType = deviceType;
-        this.deviceKeyPair = deviceKeyPair;
-        this.deviceId = deviceId;
-        this.msaToken.set(msaToken);
-        this.xblDeviceToken.set(xblDeviceToken);
-        this.xblUserToken.set(xblUserToken);
-        this.xblTitleToken.set(xblTitleToken);
-        this.javaXstsToken.set(javaXstsToken);
-        this.xboxLiveXstsToken.set(xboxLiveXstsToken);
-        this.xboxUserProfile.set(xboxUserProfile);
-        this.minecraftToken.set(minecraftToken);
-        this.minecraftEntitlements.set(minecraftEntitlements);
-        this.minecraftProfile.set(minecraftProfile);
-        this.minecraftPlayerCertificates.set(minecraftPlayerCertificates);
-        this.hookChangeListeners();
+        this.deviceType = deviceIdentity.getDeviceType();
+        this.deviceKeyPair = deviceIdentity.getDeviceKeyPair();
+        this.deviceId = deviceIdentity.getDeviceId();
+        this.deviceIdentity = deviceIdentity;
+        this.holders.setInitialValue(MSA_TOKEN, msaToken);
+        this.holders.setInitialValue(XBL_USER_TOKEN, xblUserToken);
+        this.holders.setInitialValue(XBL_TITLE_TOKEN, xblTitleToken);
+        this.holders.setInitialValue(JAVA_XSTS_TOKEN, javaXstsToken);
+        this.holders.setInitialValue(XBOX_LIVE_XSTS_TOKEN, xboxLiveXstsToken);
+        this.holders.setInitialValue(XBOX_USER_PROFILE, xboxUserProfile);
+        this.holders.setInitialValue(MINECRAFT_TOKEN, minecraftToken);
+        this.holders.setInitialValue(MINECRAFT_ENTITLEMENTS, minecraftEntitlements);
+        this.holders.setInitialValue(MINECRAFT_PROFILE, minecraftProfile);
+        this.holders.setInitialValue(MINECRAFT_PLAYER_CERTIFICATES, minecraftPlayerCertificates);
     }
 
-    private MsaToken refreshMsaToken() throws IOException {
-        if (this.msaToken.getCached().getRefreshToken() == null) {
-            throw new IllegalStateException("Can't refresh MSA token, because it was created without a refresh token. The user has to sign in again.");
+    public Holder<MsaToken> getMsaToken() {
+        return this.holders.get(MSA_TOKEN);
+    }
+
+    public Holder<XblDeviceToken> getXblDeviceToken() {
+        return this.holders.get(XBL_DEVICE_TOKEN);
+    }
+
+    public Holder<XblUserToken> getXblUserToken() {
+        return this.holders.get(XBL_USER_TOKEN);
+    }
+
+    public Holder<XblTitleToken> getXblTitleToken() {
+        return this.holders.get(XBL_TITLE_TOKEN);
+    }
+
+    public Holder<XblXstsToken> getJavaXstsToken() {
+        return this.holders.get(JAVA_XSTS_TOKEN);
+    }
+
+    public Holder<XblXstsToken> getXboxLiveXstsToken() {
+        return this.holders.get(XBOX_LIVE_XSTS_TOKEN);
+    }
+
+    public Holder<XblUserProfile> getXboxUserProfile() {
+        return this.holders.get(XBOX_USER_PROFILE);
+    }
+
+    public Holder<MinecraftToken> getMinecraftToken() {
+        return this.holders.get(MINECRAFT_TOKEN);
+    }
+
+    public Holder<MinecraftEntitlements> getMinecraftEntitlements() {
+        return this.holders.get(MINECRAFT_ENTITLEMENTS);
+    }
+
+    public Holder<MinecraftProfile> getMinecraftProfile() {
+        return this.holders.get(MINECRAFT_PROFILE);
+    }
+
+    public Holder<MinecraftPlayerCertificates> getMinecraftPlayerCertificates() {
+        return this.holders.get(MINECRAFT_PLAYER_CERTIFICATES);
+    }
+
+    /**
+     * Creates a chat signer bound to the player certificates of this auth manager.<br>
+     * The signer follows certificate refreshes until it is closed.
+     *
+     * @return The chat signer.
+     */
+    public MinecraftChatSigner createChatSigner() throws IOException {
+        return new MinecraftChatSigner(this.getMinecraftPlayerCertificates(), this.getMinecraftProfile().getUpToDate().getId());
+    }
+
+    /**
+     * Creates a chat signer bound to the player certificates of this auth manager.<br>
+     * The signer follows certificate refreshes until it is closed.
+     *
+     * @return The chat signer.
+     */
+    @SneakyThrows
+    public MinecraftChatSigner createChatSignerUnchecked() {
+        return this.createChatSigner();
+    }
+
+    /**
+     * Creates a chat signer bound to the player certificates of this auth manager.<br>
+     * The signer follows certificate refreshes until it is closed.
+     *
+     * @return The chat signer.
+     */
+    public CompletableFuture<MinecraftChatSigner> createChatSignerAsync() {
+        return CompletableFuture.supplyAsync(this::createChatSignerUnchecked);
+    }
+
+    /**
+     * Refreshes the Minecraft profile through the given disk cache.<br>
+     * If the profile hasn't changed since it was cached, the server only has to confirm the cached response instead of sending the full profile.
+     *
+     * @param httpDiskCache The disk cache.
+     * @return The refreshed profile.
+     */
+    public MinecraftProfile refreshMinecraftProfile(final HttpDiskCache httpDiskCache) throws IOException {
+        final MinecraftProfileRequest request = new MinecraftProfileRequest(this.getMinecraftToken().getUpToDate());
+        final XblXstsToken javaXstsToken = this.getJavaXstsToken().getCached();
+        final MinecraftProfile profile;
+        if (javaXstsToken != null) { // The profile url is the same for all players, so the cache key has to identify the account
+            profile = httpDiskCache.executeAndHandle(this.httpClient, request, "minecraftProfile:" + javaXstsToken.getUserHash());
+        } else {
+            profile = HttpUtil.executeAndHandle(this.httpClient, request);
         }
-        return this.httpClient.executeAndHandle(new MsaRefreshTokenRequest(this.msaApplicationConfig, this.msaToken.getCached()));
+        this.getMinecraftProfile().set(profile);
+        return profile;
     }
 
-    private XblDeviceToken refreshXblDeviceToken() throws IOException {
-        return this.httpClient.executeAndHandle(new XblDeviceAuthenticateRequest(this.deviceType, this.deviceId, this.deviceKeyPair));
+    /**
+     * Refreshes the Minecraft profile through the given disk cache.<br>
+     * If the profile hasn't changed since it was cached, the server only has to confirm the cached response instead of sending the full profile.
+     *
+     * @param httpDiskCache The disk cache.
+     * @return The refreshed profile.
+     */
+    @SneakyThrows
+    public MinecraftProfile refreshMinecraftProfileUnchecked(final HttpDiskCache httpDiskCache) {
+        return this.refreshMinecraftProfile(httpDiskCache);
+    }
+
+    /**
+     * Refreshes the Minecraft profile through the given disk cache.<br>
+     * If the profile hasn't changed since it was cached, the server only has to confirm the cached response instead of sending the full profile.
+     *
+     * @param httpDiskCache The disk cache.
+     * @return The refreshed profile.
+     */
+    public CompletableFuture<MinecraftProfile> refreshMinecraftProfileAsync(final HttpDiskCache httpDiskCache) {
+        return CompletableFuture.supplyAsync(() -> this.refreshMinecraftProfileUnchecked(httpDiskCache));
+    }
+
+    /**
+     * Downloads a skin or cape texture through the given disk cache.
+     *
+     * @param httpDiskCache The disk cache.
+     * @param url           The url of the texture (For example {@link MinecraftSkin#getUrl()}).
+     * @return The texture image data.
+     */
+    public byte[] downloadTexture(final HttpDiskCache httpDiskCache, final String url) throws IOException {
+        return httpDiskCache.executeAndHandle(this.httpClient, new MinecraftTextureRequest(url));
+    }
+
+    /**
+     * Downloads a skin or cape texture through the given disk cache.
+     *
+     * @param httpDiskCache The disk cache.
+     * @param url           The url of the texture (For example {@link MinecraftSkin#getUrl()}).
+     * @return The texture image data.
+     */
+    @SneakyThrows
+    public byte[] downloadTextureUnchecked(final HttpDiskCache httpDiskCache, final String url) {
+        return this.downloadTexture(httpDiskCache, url);
+    }
+
+    /**
+     * Downloads a skin or cape texture through the given disk cache.
+     *
+     * @param httpDiskCache The disk cache.
+     * @param url           The url of the texture (For example {@link MinecraftSkin#getUrl()}).
+     * @return The texture image data.
+     */
+    public CompletableFuture<byte[]> downloadTextureAsync(final HttpDiskCache httpDiskCache, final String url) {
+        return CompletableFuture.supplyAsync(() -> this.downloadTextureUnchecked(httpDiskCache, url));
+    }
+
+    /**
+     * Creates a bulk profile lookup which is authenticated with the Minecraft token of this auth manager.
+     *
+     * @return The profile lookup.
+     */
+    public MinecraftProfileLookup createProfileLookup() {
+        return new MinecraftProfileLookup(this.httpClient, this.getMinecraftToken());
+    }
+
+    /**
+     * Creates a batch Xbox profile lookup which is authenticated with the Xbox Live XSTS token of this auth manager.
+     *
+     * @return The profile lookup.
+     */
+    public XblProfileLookup createXboxProfileLookup() {
+        return new XblProfileLookup(this.httpClient, this.getXboxLiveXstsToken());
+    }
+
+    /**
+     * Returns all holders of this auth manager.<br>
+     * This creates every holder which hasn't been accessed yet. Use {@link #getHolderSlots()} to only look at the holders which already exist.
+     *
+     * @return All holders of this auth manager
+     */
+    public List<Holder<?>> getHolders() {
+        return Arrays.asList(
+                this.getMsaToken(),
+                this.getXblDeviceToken(),
+                this.getXblUserToken(),
+                this.getXblTitleToken(),
+                this.getJavaXstsToken(),
+                this.getXboxLiveXstsToken(),
+                this.getXboxUserProfile(),
+                this.getMinecraftToken(),
+                this.getMinecraftEntitlements(),
+                this.getMinecraftProfile(),
+                this.getMinecraftPlayerCertificates()
+        );
+    }
+
+    /**
+     * @return The lazily created holders of this auth manager. The slot indices match the order of {@link #getHolders()}
+     */
+    @ApiStatus.Internal
+    public LazyHolders getHolderSlots() {
+        return this.holders;
+    }
+
+    private Holder<?> createHolder(final int index) {
+        switch (index) {
+            case MSA_TOKEN:
+                return new Holder<>(JavaAuthManager.class, "msaToken", this::refreshMsaToken);
+            case XBL_DEVICE_TOKEN:
+                return this.deviceIdentity.getXblDeviceToken();
+            case XBL_USER_TOKEN:
+                return new Holder<>(JavaAuthManager.class, "xblUserToken", this::refreshXblUserToken, this.sisuTokensLock);
+            case XBL_TITLE_TOKEN:
+                return new Holder<>(JavaAuthManager.class, "xblTitleToken", this::refreshXblTitleToken, this.sisuTokensLock);
+            case JAVA_XSTS_TOKEN:
+                return new Holder<>(JavaAuthManager.class, "javaXstsToken", this::refreshJavaXstsToken, this.sisuTokensLock);
+            case XBOX_LIVE_XSTS_TOKEN:
+                return new Holder<>(JavaAuthManager.class, "xboxLiveXstsToken", this::refreshXboxLiveXstsToken);
+            case XBOX_USER_PROFILE:
+                return new Holder<>(JavaAuthManager.class, "xboxUserProfile", this::refreshXboxUserProfile);
+            case MINECRAFT_TOKEN:
+                return new Holder<>(JavaAuthManager.class, "minecraftToken", this::refreshMinecraftToken);
+            case MINECRAFT_ENTITLEMENTS:
+                return new Holder<>(JavaAuthManager.class, "minecraftEntitlements", this::refreshMinecraftEntitlements);
+            case MINECRAFT_PROFILE:
+                return new Holder<>(JavaAuthManager.class, "minecraftProfile", this::refreshMinecraftProfile);
+            case MINECRAFT_PLAYER_CERTIFICATES:
+                return new Holder<>(JavaAuthManager.class, "minecraftPlayerCertificates", this::refreshMinecraftPlayerCertificates);
+            default:
+                throw new IllegalArgumentException("Unknown holder index: " + index);
+        }
+    }
+
+    private MsaToken refreshMsaToken() throws IOException {
+        if (this.getMsaToken().getCached().getRefreshToken() == null) {
+            throw new IllegalStateException("Can't refresh MSA token, because it was created without a refresh token. The user has to sign in again.");
+        }
+        return HttpUtil.executeAndHandle(this.httpClient, new MsaRefreshTokenRequest(this.msaApplicationConfig, this.getMsaToken().getCached()));
     }
 
     private XblUserToken refreshXblUserToken() throws IOException {
         if (this.msaApplicationConfig.isTitleClientId()) {
             this.refreshSisuTokens();
-            return this.xblUserToken.getCached();
+            return this.getXblUserToken().getCached();
         } else {
-            return this.httpClient.executeAndHandle(new XblUserAuthenticateRequest(this.msaApplicationConfig, this.msaToken.getUpToDate()));
+            return HttpUtil.executeAndHandle(this.httpClient, new XblUserAuthenticateRequest(this.msaApplicationConfig, this.getMsaToken().getUpToDate()));
         }
     }
 
@@ -203,62 +465,48 @@ public class JavaAuthManager {
             throw new UnsupportedOperationException("Can't refresh XBL title token, because the MSA application client ID is not a title client ID");
         }
         this.refreshSisuTokens();
-        return this.xblTitleToken.getCached();
+        return this.getXblTitleToken().getCached();
     }
 
     private XblXstsToken refreshJavaXstsToken() throws IOException {
         if (this.msaApplicationConfig.isTitleClientId()) {
             this.refreshSisuTokens();
-            return this.javaXstsToken.getCached();
+            return this.getJavaXstsToken().getCached();
         } else {
-            return this.httpClient.executeAndHandle(new XblXstsAuthorizeRequest(this.xblDeviceToken.getUpToDate(), this.xblUserToken.getUpToDate(), null, XblConstants.JAVA_XSTS_RELYING_PARTY));
+            return HttpUtil.executeAndHandle(this.httpClient, new XblXstsAuthorizeRequest(this.getXblDeviceToken().getUpToDate(), this.getXblUserToken().getUpToDate(), null, XblConstants.JAVA_XSTS_RELYING_PARTY));
         }
     }
 
     private XblXstsToken refreshXboxLiveXstsToken() throws IOException {
-        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.xblTitleToken.getUpToDate() : null;
-        return this.httpClient.executeAndHandle(new XblXstsAuthorizeRequest(this.xblDeviceToken.getUpToDate(), this.xblUserToken.getUpToDate(), titleToken, XblConstants.XBL_XSTS_RELYING_PARTY));
+        final XblTitleToken titleToken = this.msaApplicationConfig.isTitleClientId() ? this.getXblTitleToken().getUpToDate() : null;
+        return HttpUtil.executeAndHandle(this.httpClient, new XblXstsAuthorizeRequest(this.getXblDeviceToken().getUpToDate(), this.getXblUserToken().getUpToDate(), titleToken, XblConstants.XBL_XSTS_RELYING_PARTY));
     }
 
     private XblUserProfile refreshXboxUserProfile() throws IOException {
-        return this.httpClient.executeAndHandle(new XblUserProfileSettingsRequest(this.xboxLiveXstsToken.getUpToDate(), "me", "Gamertag", "AppDisplayName", "AppDisplayPicRaw"));
+        return HttpUtil.executeAndHandle(this.httpClient, new XblUserProfileSettingsRequest(this.getXboxLiveXstsToken().getUpToDate(), "me", "Gamertag", "AppDisplayName", "AppDisplayPicRaw"));
     }
 
     private MinecraftToken refreshMinecraftToken() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftLauncherLoginRequest(this.javaXstsToken.getUpToDate()));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftLauncherLoginRequest(this.getJavaXstsToken().getUpToDate()));
     }
 
     private MinecraftEntitlements refreshMinecraftEntitlements() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftEntitlementsRequest(this.minecraftToken.getUpToDate()));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftEntitlementsRequest(this.getMinecraftToken().getUpToDate()));
     }
 
     private MinecraftProfile refreshMinecraftProfile() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftProfileRequest(this.minecraftToken.getUpToDate()));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftProfileRequest(this.getMinecraftToken().getUpToDate()));
     }
 
     private MinecraftPlayerCertificates refreshMinecraftPlayerCertificates() throws IOException {
-        return this.httpClient.executeAndHandle(new MinecraftPlayerCertificatesRequest(this.minecraftToken.getUpToDate()));
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftPlayerCertificatesRequest(this.getMinecraftToken().getUpToDate()));
     }
 
     private void refreshSisuTokens() throws IOException {
-        final XblSisuTokens sisuTokens = this.httpClient.executeAndHandle(new XblSisuAuthorizeRequest(this.msaApplicationConfig, this.msaToken.getUpToDate(), this.xblDeviceToken.getUpToDate(), this.deviceKeyPair, XblConstants.JAVA_XSTS_RELYING_PARTY));
-        this.xblUserToken.set(sisuTokens.getUserToken());
-        this.xblTitleToken.set(sisuTokens.getTitleToken());
-        this.javaXstsToken.set(sisuTokens.getXstsToken());
-    }
-
-    private void hookChangeListeners() {
-        this.msaToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xblDeviceToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xblUserToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xblTitleToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.javaXstsToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xboxLiveXstsToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.xboxUserProfile.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftToken.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftEntitlements.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftProfile.getChangeListeners().add(this.changeListeners::invoke);
-        this.minecraftPlayerCertificates.getChangeListeners().add(this.changeListeners::invoke);
+        final XblSisuTokens sisuTokens = HttpUtil.executeAndHandle(this.httpClient, new XblSisuAuthorizeRequest(this.msaApplicationConfig, this.getMsaToken().getUpToDate(), this.getXblDeviceToken().getUpToDate(), this.deviceKeyPair, XblConstants.JAVA_XSTS_RELYING_PARTY));
+        this.getXblUserToken().set(sisuTokens.getUserToken());
+        this.getXblTitleToken().set(sisuTokens.getTitleToken());
+        this.getJavaXstsToken().set(sisuTokens.getXstsToken());
     }
 
     @Setter
@@ -271,6 +519,7 @@ public class JavaAuthManager {
         private String deviceType = "Win32";
         private KeyPair deviceKeyPair;
         private UUID deviceId;
+        private DeviceIdentity deviceIdentity;
 
         /**
          * Login with the given {@link MsaAuthServiceSupplier}.
@@ -280,7 +529,7 @@ public class JavaAuthManager {
          */
         public JavaAuthManager login(final MsaAuthServiceSupplier msaAuthServiceSupplier) throws IOException, InterruptedException, TimeoutException {
             final MsaAuthService msaAuthService = msaAuthServiceSupplier.get(this.httpClient, this.msaApplicationConfig);
-            return this.login(msaAuthService.acquireToken());
+            return this.login(msaAuthService.acquireTokenAndRecord());
         }
 
         /**
@@ -293,7 +542,7 @@ public class JavaAuthManager {
          */
         public <T> JavaAuthManager login(final ParamMsaAuthServiceSupplier<T> msaAuthServiceSupplier, final T param) throws IOException, InterruptedException, TimeoutException {
             final MsaAuthService msaAuthService = msaAuthServiceSupplier.get(this.httpClient, this.msaApplicationConfig, param);
-            return this.login(msaAuthService.acquireToken());
+            return this.login(msaAuthService.acquireTokenAndRecord());
         }
 
         /**
@@ -305,7 +554,7 @@ public class JavaAuthManager {
          * @return A logged in {@link JavaAuthManager}.
          */
         public JavaAuthManager login(final String refreshToken) throws IOException {
-            return this.login(this.httpClient.executeAndHandle(new MsaRefreshTokenRequest(this.msaApplicationConfig, refreshToken)));
+            return this.login(HttpUtil.executeAndHandle(this.httpClient, new MsaRefreshTokenRequest(this.msaApplicationConfig, refreshToken)));
         }
 
         /**
@@ -317,14 +566,21 @@ public class JavaAuthManager {
          * @return A logged in {@link JavaAuthManager}.
          */
         public JavaAuthManager login(final MsaToken msaToken) {
-            return new JavaAuthManager(
+            final JavaAuthManager authManager = new JavaAuthManager(
                     this.httpClient,
                     this.msaApplicationConfig,
-                    this.deviceType,
-                    this.deviceKeyPair != null ? this.deviceKeyPair : CryptUtil.generateEcdsa256KeyPair(),
-                    this.deviceId != null ? this.deviceId : UUID.randomUUID(),
+                    this.deviceIdentity != null ? this.deviceIdentity : new DeviceIdentity(
+                            this.httpClient,
+                            this.deviceType,
+                            this.deviceKeyPair != null ? this.deviceKeyPair : CryptUtil.generateEcdsa256KeyPair(),
+                            this.deviceId != null ? this.deviceId : UUID.randomUUID()
+                    ),
                     msaToken
             );
+            if (this.deviceIdentity != null) {
+                authManager.holders.markShared(XBL_DEVICE_TOKEN);
+            }
+            return authManager;
         }
 
     }
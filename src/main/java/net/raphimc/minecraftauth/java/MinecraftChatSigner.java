@@ -0,0 +1,256 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java;
+
+import lombok.Getter;
+import net.raphimc.minecraftauth.java.model.MinecraftPlayerCertificates;
+import net.raphimc.minecraftauth.java.model.SignedChatMessage;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.listener.BasicChangeListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Signs Java Edition chat messages with the key pair of the player certificates.<br>
+ * Every thread keeps its own SHA256withRSA signature and encoding buffer, shared by all signers and only reinitialized when a different key is used. The signed data is encoded into the reused buffer without intermediate arrays.<br>
+ * A change listener on the certificates holder rebinds the signer when the certificates are refreshed. Every binding starts a new chat session with a new session id and message index.
+ */
+public class MinecraftChatSigner implements Closeable {
+
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    /**
+     * Static, so signers don't leave their own state behind in every (Pooled) thread that has used them.
+     */
+    private static final ThreadLocal<ThreadState> THREAD_STATE = ThreadLocal.withInitial(ThreadState::new);
+
+    private final Holder<MinecraftPlayerCertificates> certificates;
+    /**
+     * The UUID of the player sending the messages.
+     */
+    @Getter
+    private final UUID senderUuid;
+    private final BasicChangeListener changeListener = this::rebind;
+    private volatile Binding binding;
+
+    public MinecraftChatSigner(final Holder<MinecraftPlayerCertificates> certificates, final UUID senderUuid) {
+        this.certificates = certificates;
+        this.senderUuid = senderUuid;
+        this.certificates.getChangeListeners().add(this.changeListener);
+        this.rebind();
+    }
+
+    /**
+     * Signs a chat message with a random salt, the current time and no last seen messages.
+     *
+     * @param content The message content
+     * @return The signed message
+     */
+    public SignedChatMessage sign(final String content) throws IOException {
+        return this.sign(content, ThreadLocalRandom.current().nextLong(), System.currentTimeMillis(), Collections.emptyList());
+    }
+
+    /**
+     * Signs a chat message.
+     *
+     * @param content            The message content
+     * @param salt               The salt
+     * @param timestampMs        The timestamp in milliseconds
+     * @param lastSeenSignatures The signatures of the last seen messages
+     * @return The signed message
+     */
+    public SignedChatMessage sign(final String content, final long salt, final long timestampMs, final List<byte[]> lastSeenSignatures) throws IOException {
+        final Binding binding = this.getBinding();
+        return THREAD_STATE.get().sign(this.senderUuid, binding, binding.nextIndex.getAndIncrement(), content, salt, timestampMs, lastSeenSignatures);
+    }
+
+    /**
+     * Signs multiple chat messages in order, using the same binding, a random salt and the current time for all of them.<br>
+     * The messages get consecutive indices, even if other threads are signing at the same time.
+     *
+     * @param contents           The message contents
+     * @param lastSeenSignatures The signatures of the last seen messages
+     * @return The signed messages in the same order as the contents
+     */
+    public List<SignedChatMessage> signBatch(final List<String> contents, final List<byte[]> lastSeenSignatures) throws IOException {
+        final Binding binding = this.getBinding();
+        final ThreadState state = THREAD_STATE.get();
+        final long timestampMs = System.currentTimeMillis();
+        final int firstIndex = binding.nextIndex.getAndAdd(contents.size());
+        final List<SignedChatMessage> signedMessages = new ArrayList<>(contents.size());
+        for (int i = 0; i < contents.size(); i++) {
+            signedMessages.add(state.sign(this.senderUuid, binding, firstIndex + i, contents.get(i), ThreadLocalRandom.current().nextLong(), timestampMs, lastSeenSignatures));
+        }
+        return signedMessages;
+    }
+
+    /**
+     * @return The chat session id of the current certificates or null if there are no certificates yet
+     */
+    public UUID getSessionId() {
+        final Binding binding = this.binding;
+        return binding != null ? binding.sessionId : null;
+    }
+
+    /**
+     * @return The certificates currently used for signing or null if there are no certificates yet
+     */
+    public MinecraftPlayerCertificates getCertificates() {
+        final Binding binding = this.binding;
+        return binding != null ? binding.certificates : null;
+    }
+
+    /**
+     * Removes the change listener from the certificates holder.
+     */
+    @Override
+    public void close() {
+        this.certificates.getChangeListeners().remove(this.changeListener);
+    }
+
+    private Binding getBinding() throws IOException {
+        final Binding binding = this.binding;
+        if (binding != null && !binding.certificates.isExpired()) {
+            return binding;
+        }
+
+        // Refreshing the certificates rebinds through the change listener
+        final MinecraftPlayerCertificates certificates = this.certificates.getUpToDate();
+        final Binding reboundBinding = this.binding;
+        if (reboundBinding != null && reboundBinding.certificates == certificates) {
+            return reboundBinding;
+        }
+        return this.bind(certificates);
+    }
+
+    private void rebind() {
+        final MinecraftPlayerCertificates certificates = this.certificates.getCached();
+        if (certificates == null) {
+            this.binding = null;
+        } else {
+            this.bind(certificates);
+        }
+    }
+
+    private synchronized Binding bind(final MinecraftPlayerCertificates certificates) {
+        final Binding binding = this.binding;
+        if (binding != null && binding.certificates == certificates) {
+            return binding;
+        }
+        final Binding newBinding = new Binding(certificates);
+        this.binding = newBinding;
+        return newBinding;
+    }
+
+    private static class Binding {
+
+        private final MinecraftPlayerCertificates certificates;
+        private final UUID sessionId = UUID.randomUUID();
+        private final AtomicInteger nextIndex = new AtomicInteger();
+
+        private Binding(final MinecraftPlayerCertificates certificates) {
+            this.certificates = certificates;
+        }
+
+    }
+
+    private static class ThreadState {
+
+        private final Signature signature;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+        private ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_SIZE);
+        private PrivateKey boundKey;
+
+        private ThreadState() {
+            try {
+                this.signature = Signature.getInstance("SHA256withRSA");
+            } catch (NoSuchAlgorithmException e) {
+                throw new RuntimeException("Failed to create SHA256withRSA signature", e);
+            }
+        }
+
+        private SignedChatMessage sign(final UUID senderUuid, final Binding binding, final int index, final String content, final long salt, final long timestampMs, final List<byte[]> lastSeenSignatures) {
+            try {
+                final PrivateKey privateKey = binding.certificates.getKeyPair().getPrivate();
+                if (this.boundKey != privateKey) {
+                    this.signature.initSign(privateKey);
+                    this.boundKey = privateKey;
+                }
+
+                while (true) {
+                    try {
+                        this.encode(senderUuid, binding, index, content, salt, timestampMs, lastSeenSignatures);
+                        break;
+                    } catch (BufferOverflowException e) {
+                        this.buffer = ByteBuffer.allocate(this.buffer.capacity() * 2);
+                    }
+                }
+                this.signature.update(this.buffer.array(), 0, this.buffer.position());
+                return new SignedChatMessage(binding.sessionId, index, salt, timestampMs, content, this.signature.sign());
+            } catch (GeneralSecurityException e) {
+                this.boundKey = null;
+                throw new RuntimeException("Failed to sign chat message", e);
+            }
+        }
+
+        private void encode(final UUID senderUuid, final Binding binding, final int index, final String content, final long salt, final long timestampMs, final List<byte[]> lastSeenSignatures) {
+            final ByteBuffer buffer = this.buffer;
+            buffer.clear();
+            // Message link
+            buffer.putInt(1);
+            buffer.putLong(senderUuid.getMostSignificantBits());
+            buffer.putLong(senderUuid.getLeastSignificantBits());
+            buffer.putLong(binding.sessionId.getMostSignificantBits());
+            buffer.putLong(binding.sessionId.getLeastSignificantBits());
+            buffer.putInt(index);
+            // Message body
+            buffer.putLong(salt);
+            buffer.putLong(timestampMs / 1000L);
+            final int lengthPosition = buffer.position();
+            buffer.putInt(0);
+            this.encoder.reset();
+            if (this.encoder.encode(CharBuffer.wrap(content), buffer, true).isOverflow() || this.encoder.flush(buffer).isOverflow()) {
+                throw new BufferOverflowException();
+            }
+            buffer.putInt(lengthPosition, buffer.position() - lengthPosition - Integer.BYTES);
+            // Last seen messages
+            buffer.putInt(lastSeenSignatures.size());
+            for (byte[] lastSeenSignature : lastSeenSignatures) {
+                buffer.put(lastSeenSignature);
+            }
+        }
+
+    }
+
+}
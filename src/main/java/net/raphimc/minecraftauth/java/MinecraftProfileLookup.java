@@ -0,0 +1,228 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java;
+
+import lombok.SneakyThrows;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.java.model.MinecraftToken;
+import net.raphimc.minecraftauth.java.request.MinecraftProfileLookupRequest;
+import net.raphimc.minecraftauth.util.cache.TtlCache;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves player names to profiles using the bulk profile lookup of the Minecraft services.<br>
+ * Names are split into chunks of {@link MinecraftProfileLookupRequest#MAX_NAMES} which are looked up concurrently. Found profiles and unknown names are cached, so repeated lookups don't hit the rate limit.<br>
+ * The requests are authenticated with the Minecraft token of an auth manager (See {@link JavaAuthManager#createProfileLookup()}).
+ */
+public class MinecraftProfileLookup implements Closeable {
+
+    private final HttpClient httpClient;
+    private final Holder<MinecraftToken> minecraftToken;
+    private final ExecutorService executor;
+    private final TtlCache<String, Optional<MinecraftProfile>> cache;
+    private final long negativeCacheTtlMs;
+    private final Set<CompletableFuture<List<MinecraftProfile>>> pendingChunks = ConcurrentHashMap.newKeySet();
+
+    public MinecraftProfileLookup(final HttpClient httpClient, final Holder<MinecraftToken> minecraftToken) {
+        this(httpClient, minecraftToken, 4, 10_000, TimeUnit.MINUTES.toMillis(30), TimeUnit.MINUTES.toMillis(5));
+    }
+
+    /**
+     * @param httpClient            The http client
+     * @param minecraftToken        The holder of the Minecraft token used to authenticate the requests
+     * @param maxConcurrentRequests The maximum number of chunks looked up at the same time
+     * @param maxCacheSize          The maximum number of cached names
+     * @param cacheTtlMs            The time for which found profiles are cached
+     * @param negativeCacheTtlMs    The time for which unknown names are cached
+     */
+    public MinecraftProfileLookup(final HttpClient httpClient, final Holder<MinecraftToken> minecraftToken, final int maxConcurrentRequests, final int maxCacheSize, final long cacheTtlMs, final long negativeCacheTtlMs) {
+        this.httpClient = httpClient;
+        this.minecraftToken = minecraftToken;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Profile Lookup #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new TtlCache<>(cacheTtlMs, maxCacheSize);
+        this.negativeCacheTtlMs = negativeCacheTtlMs;
+    }
+
+    /**
+     * Looks up the profiles of the given players.
+     *
+     * @param names The names of the players
+     * @return The found profiles mapped by their lowercase name. Unknown names are not contained.
+     */
+    public Map<String, MinecraftProfile> lookup(final String... names) throws IOException {
+        return this.lookup(Arrays.asList(names));
+    }
+
+    /**
+     * Looks up the profiles of the given players.
+     *
+     * @param names The names of the players
+     * @return The found profiles mapped by their lowercase name. Unknown names are not contained.
+     */
+    public Map<String, MinecraftProfile> lookup(final Collection<String> names) throws IOException {
+        try {
+            return this.lookupAsync(names).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Looks up the profiles of the given players.
+     *
+     * @param names The names of the players
+     * @return The found profiles mapped by their lowercase name. Unknown names are not contained.
+     */
+    @SneakyThrows
+    public Map<String, MinecraftProfile> lookupUnchecked(final Collection<String> names) {
+        return this.lookup(names);
+    }
+
+    /**
+     * Looks up the profiles of the given players without blocking the current thread.
+     *
+     * @param names The names of the players
+     * @return A future which completes with the found profiles mapped by their lowercase name. Unknown names are not contained.
+     */
+    public CompletableFuture<Map<String, MinecraftProfile>> lookupAsync(final Collection<String> names) {
+        final Map<String, MinecraftProfile> profiles = new HashMap<>();
+        final Set<String> uncachedNames = new LinkedHashSet<>();
+        for (String name : names) {
+            final String key = name.toLowerCase(Locale.ROOT);
+            final Optional<MinecraftProfile> cachedProfile = this.cache.get(key);
+            if (cachedProfile == null) {
+                uncachedNames.add(key);
+            } else {
+                cachedProfile.ifPresent(profile -> profiles.put(key, profile));
+            }
+        }
+        if (uncachedNames.isEmpty()) {
+            return CompletableFuture.completedFuture(profiles);
+        }
+
+        final List<CompletableFuture<List<MinecraftProfile>>> futures = new ArrayList<>();
+        final List<String> chunk = new ArrayList<>(MinecraftProfileLookupRequest.MAX_NAMES);
+        for (String name : uncachedNames) {
+            chunk.add(name);
+            if (chunk.size() == MinecraftProfileLookupRequest.MAX_NAMES) {
+                futures.add(this.lookupChunk(new ArrayList<>(chunk)));
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            futures.add(this.lookupChunk(chunk));
+        }
+
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).thenApply(v -> {
+            for (CompletableFuture<List<MinecraftProfile>> future : futures) {
+                for (MinecraftProfile profile : future.join()) {
+                    profiles.put(profile.getName().toLowerCase(Locale.ROOT), profile);
+                }
+            }
+            return profiles;
+        });
+    }
+
+    /**
+     * Removes all cached profiles and unknown names.
+     */
+    public void clearCache() {
+        this.cache.clear();
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow(); // Queued chunks are dropped and never complete their futures
+        final IllegalStateException e = new IllegalStateException("The profile lookup has been closed");
+        for (CompletableFuture<List<MinecraftProfile>> future : this.pendingChunks) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private CompletableFuture<List<MinecraftProfile>> lookupChunk(final List<String> names) {
+        final CompletableFuture<List<MinecraftProfile>> future = new CompletableFuture<>();
+        this.pendingChunks.add(future);
+        future.whenComplete((profiles, e) -> this.pendingChunks.remove(future));
+        try {
+            this.executor.execute(() -> {
+                try {
+                    future.complete(this.lookupChunkAndCache(names));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private List<MinecraftProfile> lookupChunkAndCache(final List<String> names) {
+        final List<MinecraftProfile> profiles = this.lookupChunkUnchecked(names);
+        final Set<String> unknownNames = new LinkedHashSet<>(names);
+        for (MinecraftProfile profile : profiles) {
+            final String key = profile.getName().toLowerCase(Locale.ROOT);
+            unknownNames.remove(key);
+            this.cache.put(key, Optional.of(profile));
+        }
+        for (String name : unknownNames) {
+            this.cache.put(name, Optional.empty(), this.negativeCacheTtlMs);
+        }
+        return profiles;
+    }
+
+    @SneakyThrows
+    private List<MinecraftProfile> lookupChunkUnchecked(final List<String> names) {
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftProfileLookupRequest(this.minecraftToken.getUpToDate(), names));
+    }
+
+}
@@ -0,0 +1,195 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java;
+
+import lombok.SneakyThrows;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.java.model.MinecraftGameProfile;
+import net.raphimc.minecraftauth.java.request.MinecraftHasJoinedRequest;
+import net.raphimc.minecraftauth.util.cache.TtlCache;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PublicKey;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Verifies on the server side that joining players have authenticated with the session server ("hasJoined").<br>
+ * Requests are executed on a small bounded pool, so a login storm queues up instead of opening an unbounded number of connections. Concurrent verifications of the same player are coalesced into one request.<br>
+ * Successful verifications are cached per username and server id for a short time. The session server url can be redirected with {@link net.raphimc.minecraftauth.util.http.BaseUrlOverrides}.
+ */
+public class MinecraftSessionVerifier implements Closeable {
+
+    private final HttpClient httpClient;
+    private final ExecutorService executor;
+    private final TtlCache<String, MinecraftGameProfile> cache;
+    private final Map<String, CompletableFuture<MinecraftGameProfile>> pendingVerifications = new ConcurrentHashMap<>();
+
+    public MinecraftSessionVerifier(final HttpClient httpClient) {
+        this(httpClient, 16, 30_000);
+    }
+
+    /**
+     * @param httpClient            The http client
+     * @param maxConcurrentRequests The maximum number of requests sent to the session server at the same time
+     * @param cacheTtlMs            The time for which successful verifications are cached
+     */
+    public MinecraftSessionVerifier(final HttpClient httpClient, final int maxConcurrentRequests, final long cacheTtlMs) {
+        this.httpClient = httpClient;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Session Verifier #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.cache = new TtlCache<>(cacheTtlMs, 10_000);
+    }
+
+    /**
+     * Computes the server id hash the client and the server send to the session server.
+     *
+     * @param serverId     The server id sent in the encryption request (Usually empty)
+     * @param sharedSecret The shared secret of the connection
+     * @param publicKey    The public key of the server
+     * @return The server id hash (Minecraft's signed hexadecimal SHA-1 digest)
+     */
+    public static String computeServerIdHash(final String serverId, final byte[] sharedSecret, final PublicKey publicKey) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            digest.update(serverId.getBytes(StandardCharsets.ISO_8859_1));
+            digest.update(sharedSecret);
+            digest.update(publicKey.getEncoded());
+            return new BigInteger(digest.digest()).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash server id", e);
+        }
+    }
+
+    /**
+     * Verifies that the player has joined the server.
+     *
+     * @param username     The username sent by the player
+     * @param serverIdHash The server id hash (See {@link #computeServerIdHash(String, byte[], PublicKey)})
+     * @param ip           The ip address of the player or null to skip the ip check
+     * @return The game profile of the player or null if the player hasn't joined
+     */
+    public MinecraftGameProfile hasJoined(final String username, final String serverIdHash, final String ip) throws IOException {
+        try {
+            return this.hasJoinedAsync(username, serverIdHash, ip).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Verifies that the player has joined the server.
+     *
+     * @param username     The username sent by the player
+     * @param serverIdHash The server id hash (See {@link #computeServerIdHash(String, byte[], PublicKey)})
+     * @param ip           The ip address of the player or null to skip the ip check
+     * @return The game profile of the player or null if the player hasn't joined
+     */
+    @SneakyThrows
+    public MinecraftGameProfile hasJoinedUnchecked(final String username, final String serverIdHash, final String ip) {
+        return this.hasJoined(username, serverIdHash, ip);
+    }
+
+    /**
+     * Verifies that the player has joined the server without blocking the current thread.
+     *
+     * @param username     The username sent by the player
+     * @param serverIdHash The server id hash (See {@link #computeServerIdHash(String, byte[], PublicKey)})
+     * @param ip           The ip address of the player or null to skip the ip check
+     * @return A future which completes with the game profile of the player or null if the player hasn't joined
+     */
+    public CompletableFuture<MinecraftGameProfile> hasJoinedAsync(final String username, final String serverIdHash, final String ip) {
+        final String key = username.toLowerCase(Locale.ROOT) + '\0' + serverIdHash + '\0' + (ip != null ? ip : "");
+        final MinecraftGameProfile cachedProfile = this.cache.get(key);
+        if (cachedProfile != null) {
+            return CompletableFuture.completedFuture(cachedProfile);
+        }
+
+        final CompletableFuture<MinecraftGameProfile> future = new CompletableFuture<>();
+        final CompletableFuture<MinecraftGameProfile> pendingFuture = this.pendingVerifications.putIfAbsent(key, future);
+        if (pendingFuture != null) {
+            return pendingFuture;
+        }
+
+        // Attached outside of the map update, because the verification might already be completed (For example if the executor rejects it)
+        future.whenComplete((profile, e) -> {
+            if (profile != null) {
+                this.cache.put(key, profile);
+            }
+            this.pendingVerifications.remove(key, future);
+        });
+        try {
+            this.executor.execute(() -> {
+                try {
+                    future.complete(this.verify(username, serverIdHash, ip));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Removes all cached verifications.
+     */
+    public void clearCache() {
+        this.cache.clear();
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow(); // Queued verifications are dropped and never complete their futures
+        final IllegalStateException e = new IllegalStateException("The session verifier has been closed");
+        for (CompletableFuture<MinecraftGameProfile> future : this.pendingVerifications.values()) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    @SneakyThrows
+    private MinecraftGameProfile verify(final String username, final String serverIdHash, final String ip) {
+        return HttpUtil.executeAndHandle(this.httpClient, new MinecraftHasJoinedRequest(username, serverIdHash, ip));
+    }
+
+}
@@ -17,12 +17,17 @@
  */
 package net.raphimc.minecraftauth.java.model;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import lombok.Value;
+import net.lenni0451.commons.gson.elements.GsonElement;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.raphimc.minecraftauth.util.Expirable;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Value
 public class MinecraftProfile implements Expirable {
@@ -34,7 +39,9 @@ public class MinecraftProfile implements Expirable {
     public static MinecraftProfile fromJson(final GsonObject json) {
         return new MinecraftProfile(
                 UUID.fromString(json.reqString("id")),
-                json.reqString("name")
+                json.reqString("name"),
+                json.optArray("skins").map(skins -> skins.stream().map(GsonElement::asObject).map(MinecraftSkin::fromJson).collect(Collectors.toList())).orElse(Collections.emptyList()),
+                json.optArray("capes").map(capes -> capes.stream().map(GsonElement::asObject).map(MinecraftCape::fromJson).collect(Collectors.toList())).orElse(Collections.emptyList())
         );
     }
 
@@ -43,11 +50,48 @@ public class MinecraftProfile implements Expirable {
         json.addProperty("_saveVersion", 1);
         json.addProperty("id", profile.id.toString());
         json.addProperty("name", profile.name);
+        final JsonArray skins = new JsonArray();
+        for (MinecraftSkin skin : profile.skins) {
+            skins.add(MinecraftSkin.toJson(skin));
+        }
+        json.add("skins", skins);
+        final JsonArray capes = new JsonArray();
+        for (MinecraftCape cape : profile.capes) {
+            capes.add(MinecraftCape.toJson(cape));
+        }
+        json.add("capes", capes);
         return json;
     }
 
     UUID id;
     String name;
+    List<MinecraftSkin> skins;
+    List<MinecraftCape> capes;
+
+    public MinecraftProfile(final UUID id, final String name) {
+        this(id, name, Collections.emptyList(), Collections.emptyList());
+    }
+
+    public MinecraftProfile(final UUID id, final String name, final List<MinecraftSkin> skins, final List<MinecraftCape> capes) {
+        this.id = id;
+        this.name = name;
+        this.skins = skins;
+        this.capes = capes;
+    }
+
+    /**
+     * @return The active skin or null if the player uses a default skin
+     */
+    public MinecraftSkin getActiveSkin() {
+        return this.skins.stream().filter(MinecraftSkin::isActive).findFirst().orElse(null);
+    }
+
+    /**
+     * @return The active cape or null if the player doesn't wear a cape
+     */
+    public MinecraftCape getActiveCape() {
+        return this.capes.stream().filter(MinecraftCape::isActive).findFirst().orElse(null);
+    }
 
     @Override
     public long getExpireTimeMs() {
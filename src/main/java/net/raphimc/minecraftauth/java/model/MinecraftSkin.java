@@ -0,0 +1,57 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java.model;
+
+import com.google.gson.JsonObject;
+import lombok.Value;
+import net.lenni0451.commons.gson.elements.GsonObject;
+
+@Value
+public class MinecraftSkin {
+
+    public static MinecraftSkin fromJson(final GsonObject json) {
+        return new MinecraftSkin(
+                json.reqString("id"),
+                json.reqString("state"),
+                json.reqString("url"),
+                json.getString("variant", "CLASSIC")
+        );
+    }
+
+    public static JsonObject toJson(final MinecraftSkin skin) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("id", skin.id);
+        json.addProperty("state", skin.state);
+        json.addProperty("url", skin.url);
+        json.addProperty("variant", skin.variant);
+        return json;
+    }
+
+    String id;
+    String state;
+    String url;
+    /**
+     * The model of the skin (CLASSIC or SLIM)
+     */
+    String variant;
+
+    public boolean isActive() {
+        return this.state.equals("ACTIVE");
+    }
+
+}
@@ -24,6 +24,7 @@ import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.raphimc.minecraftauth.java.model.MinecraftEntitlements;
 import net.raphimc.minecraftauth.java.model.MinecraftToken;
 import net.raphimc.minecraftauth.java.responsehandler.MinecraftServicesResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -32,7 +33,7 @@ import java.util.stream.Collectors;
 public class MinecraftEntitlementsRequest extends GetRequest implements MinecraftServicesResponseHandler<MinecraftEntitlements> {
 
     public MinecraftEntitlementsRequest(final MinecraftToken token) throws MalformedURLException {
-        super("https://api.minecraftservices.com/entitlements/mcstore");
+        super(BaseUrlOverrides.apply("https://api.minecraftservices.com/entitlements/mcstore"));
 
         this.setHeader(HttpHeaders.AUTHORIZATION, token.getAuthorizationHeader());
     }
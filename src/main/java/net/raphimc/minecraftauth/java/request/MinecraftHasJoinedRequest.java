@@ -0,0 +1,61 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java.request;
+
+import net.lenni0451.commons.gson.elements.GsonElement;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
+import net.lenni0451.commons.httpclient.utils.URLCoder;
+import net.raphimc.minecraftauth.java.model.MinecraftGameProfile;
+import net.raphimc.minecraftauth.java.model.MinecraftProfileProperty;
+import net.raphimc.minecraftauth.java.responsehandler.MinecraftServicesResponseHandler;
+import net.raphimc.minecraftauth.util.UuidUtil;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+
+import java.net.MalformedURLException;
+import java.util.Collections;
+import java.util.stream.Collectors;
+
+/**
+ * Checks whether a player has joined a server. The response handler returns null if the player hasn't joined.
+ */
+public class MinecraftHasJoinedRequest extends GetRequest implements MinecraftServicesResponseHandler<MinecraftGameProfile> {
+
+    public MinecraftHasJoinedRequest(final String username, final String serverIdHash) throws MalformedURLException {
+        this(username, serverIdHash, null);
+    }
+
+    public MinecraftHasJoinedRequest(final String username, final String serverIdHash, final String ip) throws MalformedURLException {
+        super(BaseUrlOverrides.apply("https://sessionserver.mojang.com/session/minecraft/hasJoined?username=" + URLCoder.encode(username) + "&serverId=" + URLCoder.encode(serverIdHash) + (ip != null ? "&ip=" + URLCoder.encode(ip) : "")));
+    }
+
+    @Override
+    public MinecraftGameProfile handle(final HttpResponse response, final GsonObject json) {
+        return new MinecraftGameProfile(
+                UuidUtil.fromUndashedString(json.reqString("id")),
+                json.reqString("name"),
+                json.optArray("properties").map(properties -> properties.stream().map(GsonElement::asObject).map(property -> new MinecraftProfileProperty(
+                        property.reqString("name"),
+                        property.reqString("value"),
+                        property.getString("signature", null)
+                )).collect(Collectors.toList())).orElse(Collections.emptyList())
+        );
+    }
+
+}
@@ -23,6 +23,7 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.java.model.MinecraftToken;
 import net.raphimc.minecraftauth.java.responsehandler.MinecraftServicesResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 
@@ -32,7 +33,7 @@ import java.net.MalformedURLException;
 public class MinecraftLauncherLoginRequest extends PostRequest implements MinecraftServicesResponseHandler<MinecraftToken> {
 
     public MinecraftLauncherLoginRequest(final XblXstsToken xstsToken) throws MalformedURLException {
-        super("https://api.minecraftservices.com/launcher/login");
+        super(BaseUrlOverrides.apply("https://api.minecraftservices.com/launcher/login"));
 
         final JsonObject postData = new JsonObject();
         postData.addProperty("platform", "PC_LAUNCHER");
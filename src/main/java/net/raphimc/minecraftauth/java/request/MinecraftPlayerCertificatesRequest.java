@@ -25,6 +25,7 @@ import net.raphimc.minecraftauth.java.model.MinecraftPlayerCertificates;
 import net.raphimc.minecraftauth.java.model.MinecraftToken;
 import net.raphimc.minecraftauth.java.responsehandler.MinecraftServicesResponseHandler;
 import net.raphimc.minecraftauth.util.CryptUtil;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
@@ -35,7 +36,7 @@ import java.util.Base64;
 public class MinecraftPlayerCertificatesRequest extends PostRequest implements MinecraftServicesResponseHandler<MinecraftPlayerCertificates> {
 
     public MinecraftPlayerCertificatesRequest(final MinecraftToken token) throws MalformedURLException {
-        super("https://api.minecraftservices.com/player/certificates");
+        super(BaseUrlOverrides.apply("https://api.minecraftservices.com/player/certificates"));
 
         this.setHeader(HttpHeaders.AUTHORIZATION, token.getAuthorizationHeader());
     }
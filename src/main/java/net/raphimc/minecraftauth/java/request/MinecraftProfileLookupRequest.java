@@ -0,0 +1,77 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java.request;
+
+import com.google.gson.JsonArray;
+import com.google.gson.stream.JsonReader;
+import net.lenni0451.commons.gson.GsonParser;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.constants.HttpHeaders;
+import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
+import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.java.model.MinecraftToken;
+import net.raphimc.minecraftauth.java.responsehandler.MinecraftServicesResponseHandler;
+import net.raphimc.minecraftauth.util.UuidUtil;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.util.http.content.JsonContent;
+import net.raphimc.minecraftauth.util.http.responsehandler.StreamingJsonHttpResponseHandler;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Looks up the profiles of up to {@link #MAX_NAMES} players by name. Unknown names are omitted from the response.
+ */
+public class MinecraftProfileLookupRequest extends PostRequest implements MinecraftServicesResponseHandler<List<MinecraftProfile>>, StreamingJsonHttpResponseHandler<List<MinecraftProfile>> {
+
+    public static final int MAX_NAMES = 10;
+
+    public MinecraftProfileLookupRequest(final MinecraftToken token, final Collection<String> names) throws MalformedURLException {
+        super(BaseUrlOverrides.apply("https://api.minecraftservices.com/minecraft/profile/lookup/bulk/byname"));
+        if (names.size() > MAX_NAMES) {
+            throw new IllegalArgumentException("Can't look up more than " + MAX_NAMES + " names at once");
+        }
+
+        this.setHeader(HttpHeaders.AUTHORIZATION, token.getAuthorizationHeader());
+        final JsonArray postData = new JsonArray();
+        for (String name : names) {
+            postData.add(name);
+        }
+        this.setContent(new JsonContent(postData));
+    }
+
+    @Override
+    public List<MinecraftProfile> handle(final HttpResponse response, final JsonReader reader) throws IOException {
+        final List<MinecraftProfile> profiles = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            final GsonObject profile = GsonParser.parse(reader).asObject();
+            profiles.add(new MinecraftProfile(
+                    UuidUtil.fromUndashedString(profile.reqString("id")),
+                    profile.reqString("name")
+            ));
+        }
+        reader.endArray();
+        return profiles;
+    }
+
+}
@@ -17,24 +17,30 @@
  */
 package net.raphimc.minecraftauth.java.request;
 
+import net.lenni0451.commons.gson.elements.GsonElement;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.constants.HttpHeaders;
 import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.raphimc.minecraftauth.java.exception.MinecraftProfileNotFoundException;
 import net.raphimc.minecraftauth.java.exception.MinecraftServicesRequestException;
+import net.raphimc.minecraftauth.java.model.MinecraftCape;
 import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.java.model.MinecraftSkin;
 import net.raphimc.minecraftauth.java.model.MinecraftToken;
 import net.raphimc.minecraftauth.java.responsehandler.MinecraftServicesResponseHandler;
 import net.raphimc.minecraftauth.util.UuidUtil;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.io.IOException;
 import java.net.MalformedURLException;
+import java.util.Collections;
+import java.util.stream.Collectors;
 
 public class MinecraftProfileRequest extends GetRequest implements MinecraftServicesResponseHandler<MinecraftProfile> {
 
     public MinecraftProfileRequest(final MinecraftToken token) throws MalformedURLException {
-        super("https://api.minecraftservices.com/minecraft/profile");
+        super(BaseUrlOverrides.apply("https://api.minecraftservices.com/minecraft/profile"));
 
         this.setHeader(HttpHeaders.AUTHORIZATION, token.getAuthorizationHeader());
     }
@@ -43,7 +49,9 @@ public class MinecraftProfileRequest extends GetRequest implements MinecraftServ
     public MinecraftProfile handle(final HttpResponse response, final GsonObject json) throws IOException {
         return new MinecraftProfile(
                 UuidUtil.fromUndashedString(json.reqString("id")),
-                json.reqString("name")
+                json.reqString("name"),
+                json.optArray("skins").map(skins -> skins.stream().map(GsonElement::asObject).map(MinecraftSkin::fromJson).collect(Collectors.toList())).orElse(Collections.emptyList()),
+                json.optArray("capes").map(capes -> capes.stream().map(GsonElement::asObject).map(MinecraftCape::fromJson).collect(Collectors.toList())).orElse(Collections.emptyList())
         );
     }
 
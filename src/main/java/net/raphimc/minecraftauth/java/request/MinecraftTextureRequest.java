@@ -0,0 +1,46 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java.request;
+
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.exceptions.HttpRequestException;
+import net.lenni0451.commons.httpclient.handler.HttpResponseHandler;
+import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+
+/**
+ * Downloads a skin or cape texture (See {@link net.raphimc.minecraftauth.java.model.MinecraftSkin#getUrl()} and {@link net.raphimc.minecraftauth.java.model.MinecraftCape#getUrl()}).
+ */
+public class MinecraftTextureRequest extends GetRequest implements HttpResponseHandler<byte[]> {
+
+    public MinecraftTextureRequest(final String url) throws MalformedURLException {
+        super(BaseUrlOverrides.apply(url));
+    }
+
+    @Override
+    public byte[] handle(final HttpResponse response) throws IOException {
+        if (response.getStatusCode() >= 300) {
+            throw new HttpRequestException(response);
+        }
+        return response.getContent().getAsBytes();
+    }
+
+}
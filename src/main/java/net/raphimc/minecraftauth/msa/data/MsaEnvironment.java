@@ -19,6 +19,7 @@ package net.raphimc.minecraftauth.msa.data;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 @Getter
 @AllArgsConstructor
@@ -36,19 +37,19 @@ public enum MsaEnvironment {
     private final String nativeClientPath;
 
     public String getDeviceCodeUrl() {
-        return this.baseUrl + this.deviceCodePath;
+        return BaseUrlOverrides.apply(this.baseUrl + this.deviceCodePath);
     }
 
     public String getAuthorizeUrl() {
-        return this.baseUrl + this.authorizePath;
+        return BaseUrlOverrides.apply(this.baseUrl + this.authorizePath);
     }
 
     public String getTokenUrl() {
-        return this.baseUrl + this.tokenPath;
+        return BaseUrlOverrides.apply(this.baseUrl + this.tokenPath);
     }
 
     public String getNativeClientUrl() {
-        return this.baseUrl + this.nativeClientPath;
+        return BaseUrlOverrides.apply(this.baseUrl + this.nativeClientPath);
     }
 
 }
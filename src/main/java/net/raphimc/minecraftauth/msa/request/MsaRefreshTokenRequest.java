@@ -19,18 +19,21 @@ package net.raphimc.minecraftauth.msa.request;
 
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
-import net.lenni0451.commons.httpclient.content.impl.URLEncodedFormContent;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
 import net.raphimc.minecraftauth.msa.responsehandler.MsaResponseHandler;
+import net.raphimc.minecraftauth.util.http.content.FormContentTemplate;
 
 import java.net.MalformedURLException;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class MsaRefreshTokenRequest extends PostRequest implements MsaResponseHandler<MsaToken> {
 
+    private static final Map<MsaApplicationConfig, FormContentTemplate> CONTENT_TEMPLATES = new ConcurrentHashMap<>();
+
     public MsaRefreshTokenRequest(final MsaApplicationConfig applicationConfig, final MsaToken token) throws MalformedURLException {
         this(applicationConfig, token.getRefreshToken());
     }
@@ -38,15 +41,18 @@ public class MsaRefreshTokenRequest extends PostRequest implements MsaResponseHa
     public MsaRefreshTokenRequest(final MsaApplicationConfig applicationConfig, final String refreshToken) throws MalformedURLException {
         super(applicationConfig.getEnvironment().getTokenUrl());
 
-        final Map<String, String> postData = new HashMap<>();
+        this.setContent(CONTENT_TEMPLATES.computeIfAbsent(applicationConfig, MsaRefreshTokenRequest::createContentTemplate).render(refreshToken));
+    }
+
+    private static FormContentTemplate createContentTemplate(final MsaApplicationConfig applicationConfig) {
+        final Map<String, String> postData = new LinkedHashMap<>();
         postData.put("client_id", applicationConfig.getClientId());
         postData.put("scope", applicationConfig.getScope());
         if (applicationConfig.getClientSecret() != null) {
             postData.put("client_secret", applicationConfig.getClientSecret());
         }
         postData.put("grant_type", "refresh_token");
-        postData.put("refresh_token", refreshToken);
-        this.setContent(new URLEncodedFormContent(postData));
+        return new FormContentTemplate(postData, "refresh_token");
     }
 
     @Override
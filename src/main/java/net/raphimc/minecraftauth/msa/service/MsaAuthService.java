@@ -22,6 +22,8 @@ import lombok.SneakyThrows;
 import net.lenni0451.commons.httpclient.HttpClient;
 import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
+import net.raphimc.minecraftauth.util.metrics.Metrics;
+import org.jetbrains.annotations.ApiStatus;
 
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
@@ -49,4 +51,26 @@ public abstract class MsaAuthService {
         return CompletableFuture.supplyAsync(this::acquireTokenUnchecked);
     }
 
+    /**
+     * Acquires a token like {@link #acquireToken()} and records the login in the metrics if they are enabled.
+     *
+     * @return The acquired token
+     */
+    @ApiStatus.Internal
+    public MsaToken acquireTokenAndRecord() throws IOException, InterruptedException, TimeoutException {
+        if (!Metrics.isEnabled()) {
+            return this.acquireToken();
+        }
+
+        final long startTime = System.nanoTime();
+        try {
+            final MsaToken token = this.acquireToken();
+            Metrics.getRecorder().recordTime(Metrics.MSA_LOGIN, System.nanoTime() - startTime, "service", this.getClass().getSimpleName(), "error", Metrics.NO_ERROR);
+            return token;
+        } catch (Throwable e) {
+            Metrics.getRecorder().recordTime(Metrics.MSA_LOGIN, System.nanoTime() - startTime, "service", this.getClass().getSimpleName(), "error", Metrics.getErrorTag(e));
+            throw e;
+        }
+    }
+
 }
@@ -17,9 +17,6 @@
  */
 package net.raphimc.minecraftauth.msa.service.impl;
 
-import com.google.gson.stream.JsonReader;
-import net.lenni0451.commons.gson.GsonParser;
-import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpClient;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.constants.ContentTypes;
@@ -31,16 +28,18 @@ import net.lenni0451.commons.httpclient.requests.HttpRequest;
 import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.lenni0451.commons.httpclient.utils.URLWrapper;
+import net.raphimc.minecraftauth.msa.data.MsaEnvironment;
 import net.raphimc.minecraftauth.msa.exception.MsaRequestException;
 import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaCredentials;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
 import net.raphimc.minecraftauth.msa.request.MsaAuthCodeTokenRequest;
 import net.raphimc.minecraftauth.msa.service.MsaAuthService;
+import net.raphimc.minecraftauth.msa.service.util.LoginPageConfigScanner;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 import net.raphimc.minecraftauth.util.http.exception.InformativeHttpRequestException;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.net.CookieManager;
 import java.net.URL;
 import java.util.HashMap;
@@ -67,7 +66,7 @@ public class CredentialsMsaAuthService extends MsaAuthService {
         final HttpResponse loginResponse = this.sendLoginRequest(loginRequest);
         final String location = loginResponse.getFirstHeader(HttpHeaders.LOCATION).orElseThrow(() -> new IllegalStateException("Failed to get redirect url"));
         final String code = URLWrapper.ofURI(location).wrapQueryParameters().getFirstValue("code").orElseThrow(() -> new IllegalStateException("Failed to extract auth code from redirect url"));
-        return this.httpClient.executeAndHandle(new MsaAuthCodeTokenRequest(this.applicationConfig, code));
+        return HttpUtil.executeAndHandle(this.httpClient, new MsaAuthCodeTokenRequest(this.applicationConfig, code));
     }
 
     private PostRequest prepareLoginRequest(final MsaCredentials credentials, final CookieManager cookieManager) throws IOException {
@@ -75,7 +74,8 @@ public class CredentialsMsaAuthService extends MsaAuthService {
         final GetRequest getRequest = new GetRequest(authenticationUrl);
         getRequest.setCookieManager(cookieManager);
         getRequest.setHeader(HttpHeaders.ACCEPT, ContentTypes.TEXT_HTML.getMimeType());
-        final GsonObject config = this.httpClient.execute(getRequest, response -> {
+        final String[] configFields = this.applicationConfig.getEnvironment() == MsaEnvironment.LIVE ? new String[]{"urlPost", "sFTTag"} : new String[]{"urlPost", "sCtx", "sFTName", "sFT"};
+        final Map<String, String> config = this.httpClient.execute(getRequest, response -> {
             if (response.getStatusCode() >= 300) {
                 final Optional<String> locationHeader = response.getFirstHeader(HttpHeaders.LOCATION);
                 if (locationHeader.isPresent()) {
@@ -88,35 +88,29 @@ public class CredentialsMsaAuthService extends MsaAuthService {
                 }
                 throw new HttpRequestException(response);
             }
-            return this.extractConfig(response.getContent().getAsString());
+            return this.extractConfig(response.getContent().getAsBytes(), configFields);
         });
 
         final String postUrl;
         final Map<String, String> postData = new HashMap<>();
         switch (this.applicationConfig.getEnvironment()) {
             case LIVE: {
-                postUrl = config.reqString("urlPost");
-                final String sFTTag = config.reqString("sFTTag");
-
-                String sFT = sFTTag.substring(sFTTag.indexOf("value=\"") + 7);
-                sFT = sFT.substring(0, sFT.indexOf("\""));
-                String sFTName = sFTTag.substring(sFTTag.indexOf("name=\"") + 6);
-                sFTName = sFTName.substring(0, sFTName.indexOf("\""));
-
+                postUrl = reqField(config, "urlPost");
+                final String sFTTag = reqField(config, "sFTTag");
                 postData.put("login", credentials.getEmail());
                 postData.put("loginfmt", credentials.getEmail());
                 postData.put("passwd", credentials.getPassword());
-                postData.put(sFTName, sFT);
+                postData.put(LoginPageConfigScanner.extractAttribute(sFTTag, "name"), LoginPageConfigScanner.extractAttribute(sFTTag, "value"));
                 break;
             }
             case MICROSOFT_ONLINE_COMMON:
             case MICROSOFT_ONLINE_CONSUMERS: {
-                postUrl = URLWrapper.ofURI(config.reqString("urlPost")).setProtocol(authenticationUrl.getProtocol()).setHost(authenticationUrl.getHost()).toURL().toString();
+                postUrl = URLWrapper.ofURI(reqField(config, "urlPost")).setProtocol(authenticationUrl.getProtocol()).setHost(authenticationUrl.getHost()).toURL().toString();
                 postData.put("login", credentials.getEmail());
                 postData.put("loginfmt", credentials.getEmail());
                 postData.put("passwd", credentials.getPassword());
-                postData.put("ctx", config.reqString("sCtx"));
-                postData.put(config.reqString("sFTName"), config.reqString("sFT"));
+                postData.put("ctx", reqField(config, "sCtx"));
+                postData.put(reqField(config, "sFTName"), reqField(config, "sFT"));
                 break;
             }
             default:
@@ -137,8 +131,9 @@ public class CredentialsMsaAuthService extends MsaAuthService {
                 throw new InformativeHttpRequestException(loginResponse, "Wrong content type");
             }
 
-            final String responseString = loginResponse.getContent().getAsString();
-            if (responseString.contains("<body onload=\"javascript:DoSubmit();\">")) { // Dialog informing the user about something. Can be skipped by getting the return url.
+            final byte[] responseBytes = loginResponse.getContent().getAsBytes();
+            if (LoginPageConfigScanner.contains(responseBytes, "<body onload=\"javascript:DoSubmit();\">")) { // Dialog informing the user about something. Can be skipped by getting the return url.
+                final String responseString = loginResponse.getContent().getAsString();
                 String actionUrl = responseString.substring(responseString.indexOf("action=\"") + 8);
                 actionUrl = actionUrl.substring(0, actionUrl.indexOf("\""));
                 final String returnUrl = URLWrapper.ofURL(actionUrl).wrapQueryParameters().getFirstValue("ru").orElse(null);
@@ -151,18 +146,19 @@ public class CredentialsMsaAuthService extends MsaAuthService {
                 getRequest.setHeader(HttpHeaders.ACCEPT, ContentTypes.TEXT_HTML.getMimeType());
                 return this.sendLoginRequest(getRequest);
             } else {
-                final GsonObject errorConfig = this.extractConfig(responseString);
                 switch (this.applicationConfig.getEnvironment()) {
                     case LIVE: {
-                        if (errorConfig.hasString("sErrorCode") && errorConfig.hasString("sErrTxt")) {
-                            throw new MsaRequestException(loginResponse, errorConfig.reqString("sErrorCode"), errorConfig.reqString("sErrTxt"));
+                        final Map<String, String> errorConfig = this.extractConfig(responseBytes, "sErrorCode", "sErrTxt");
+                        if (errorConfig.containsKey("sErrorCode") && errorConfig.containsKey("sErrTxt")) {
+                            throw new MsaRequestException(loginResponse, errorConfig.get("sErrorCode"), errorConfig.get("sErrTxt"));
                         }
                         break;
                     }
                     case MICROSOFT_ONLINE_COMMON:
                     case MICROSOFT_ONLINE_CONSUMERS: {
-                        if (errorConfig.hasString("iErrorCode") && errorConfig.hasString("strServiceExceptionMessage")) {
-                            throw new MsaRequestException(loginResponse, errorConfig.reqString("iErrorCode"), errorConfig.reqString("strServiceExceptionMessage"));
+                        final Map<String, String> errorConfig = this.extractConfig(responseBytes, "iErrorCode", "strServiceExceptionMessage");
+                        if (errorConfig.containsKey("iErrorCode") && errorConfig.containsKey("strServiceExceptionMessage")) {
+                            throw new MsaRequestException(loginResponse, errorConfig.get("iErrorCode"), errorConfig.get("strServiceExceptionMessage"));
                         }
                         break;
                     }
@@ -176,36 +172,37 @@ public class CredentialsMsaAuthService extends MsaAuthService {
         }
     }
 
-    private GsonObject extractConfig(final String html) {
-        final String configStart;
+    private Map<String, String> extractConfig(final byte[] html, final String... fields) {
+        final String marker;
         switch (this.applicationConfig.getEnvironment()) {
-            case LIVE: {
-                final int configStartIndex = html.indexOf("var ServerData = ");
-                if (configStartIndex == -1) {
-                    throw new IllegalStateException("Failed to find config start in html");
-                }
-                configStart = html.substring(configStartIndex + 17);
+            case LIVE:
+                marker = "var ServerData = ";
                 break;
-            }
             case MICROSOFT_ONLINE_COMMON:
-            case MICROSOFT_ONLINE_CONSUMERS: {
-                final int configStartIndex = html.indexOf("$Config=");
-                if (configStartIndex == -1) {
-                    throw new IllegalStateException("Failed to find config start in html");
-                }
-                configStart = html.substring(configStartIndex + 8);
+            case MICROSOFT_ONLINE_CONSUMERS:
+                marker = "$Config=";
                 break;
-            }
             default:
                 throw new IllegalStateException("Unsupported MsaEnvironment: " + this.applicationConfig.getEnvironment());
         }
+        final Map<String, String> config;
         try {
-            final JsonReader jsonReader = new JsonReader(new StringReader(configStart));
-            jsonReader.setLenient(true);
-            return GsonParser.parse(jsonReader).asObject();
+            config = LoginPageConfigScanner.scan(html, marker, fields);
         } catch (Throwable e) {
             throw new IllegalStateException("Failed to extract config from html. This most likely indicates that the application config or credentials are not valid", e);
         }
+        if (config == null) {
+            throw new IllegalStateException("Failed to find config start in html");
+        }
+        return config;
+    }
+
+    private static String reqField(final Map<String, String> config, final String name) {
+        final String value = config.get(name);
+        if (value == null) {
+            throw new IllegalStateException("Missing field '" + name + "' in config");
+        }
+        return value;
     }
 
 }
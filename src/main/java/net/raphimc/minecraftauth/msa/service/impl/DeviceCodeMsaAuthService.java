@@ -26,8 +26,11 @@ import net.raphimc.minecraftauth.msa.model.MsaToken;
 import net.raphimc.minecraftauth.msa.request.MsaDeviceCodeRequest;
 import net.raphimc.minecraftauth.msa.request.MsaDeviceCodeTokenRequest;
 import net.raphimc.minecraftauth.msa.service.MsaAuthService;
+import net.raphimc.minecraftauth.msa.service.util.DeviceCodePoller;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
@@ -54,17 +57,21 @@ public class DeviceCodeMsaAuthService extends MsaAuthService {
     }
 
     public MsaDeviceCode requestDeviceCode() throws IOException {
-        return this.httpClient.executeAndHandle(new MsaDeviceCodeRequest(this.applicationConfig));
+        return HttpUtil.executeAndHandle(this.httpClient, new MsaDeviceCodeRequest(this.applicationConfig));
     }
 
     public MsaToken getToken(final MsaDeviceCode deviceCode) throws IOException, InterruptedException, TimeoutException {
         final long start = System.currentTimeMillis();
+        long intervalMs = deviceCode.getIntervalMs();
         while (!deviceCode.isExpired() && System.currentTimeMillis() - start <= this.timeoutMs) {
             try {
-                return this.httpClient.executeAndHandle(new MsaDeviceCodeTokenRequest(this.applicationConfig, deviceCode));
+                return HttpUtil.executeAndHandle(this.httpClient, new MsaDeviceCodeTokenRequest(this.applicationConfig, deviceCode));
             } catch (MsaRequestException e) {
-                if (e.getResponse().getStatusCode() == StatusCodes.BAD_REQUEST && e.getError().equals("authorization_pending")) {
-                    Thread.sleep(deviceCode.getIntervalMs());
+                if (e.getResponse().getStatusCode() == StatusCodes.BAD_REQUEST && "authorization_pending".equals(e.getError())) {
+                    Thread.sleep(intervalMs);
+                } else if (e.getResponse().getStatusCode() == StatusCodes.BAD_REQUEST && "slow_down".equals(e.getError())) {
+                    intervalMs += 5000;
+                    Thread.sleep(intervalMs);
                 } else {
                     throw e;
                 }
@@ -73,4 +80,16 @@ public class DeviceCodeMsaAuthService extends MsaAuthService {
         throw new TimeoutException("Login timed out");
     }
 
+    /**
+     * Polls for the token using the given shared poller instead of blocking the current thread.<br>
+     * Polling stops once the timeout of this auth service has elapsed, just like {@link #getToken(MsaDeviceCode)}.
+     *
+     * @param deviceCode The device code
+     * @param poller     The poller
+     * @return A cancellable future which completes with the MSA token
+     */
+    public CompletableFuture<MsaToken> getTokenAsync(final MsaDeviceCode deviceCode, final DeviceCodePoller poller) {
+        return poller.poll(this.applicationConfig, deviceCode, System.currentTimeMillis() + this.timeoutMs);
+    }
+
 }
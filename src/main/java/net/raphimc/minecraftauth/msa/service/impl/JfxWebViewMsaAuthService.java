@@ -31,6 +31,7 @@ import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
 import net.raphimc.minecraftauth.msa.request.MsaAuthCodeTokenRequest;
 import net.raphimc.minecraftauth.msa.service.MsaAuthService;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
@@ -112,7 +113,7 @@ public class JfxWebViewMsaAuthService extends MsaAuthService {
 
         try {
             final String authCode = authCodeFuture.get(this.timeoutMs, TimeUnit.MILLISECONDS);
-            return this.httpClient.executeAndHandle(new MsaAuthCodeTokenRequest(this.applicationConfig, authCode));
+            return HttpUtil.executeAndHandle(this.httpClient, new MsaAuthCodeTokenRequest(this.applicationConfig, authCode));
         } catch (TimeoutException e) {
             throw new TimeoutException("Login timed out");
         } catch (ExecutionException e) {
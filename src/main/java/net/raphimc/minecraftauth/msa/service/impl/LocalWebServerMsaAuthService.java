@@ -18,6 +18,7 @@
 package net.raphimc.minecraftauth.msa.service.impl;
 
 import com.sun.net.httpserver.HttpServer;
+import lombok.SneakyThrows;
 import net.lenni0451.commons.httpclient.HttpClient;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.constants.StatusCodes;
@@ -27,6 +28,8 @@ import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
 import net.raphimc.minecraftauth.msa.request.MsaAuthCodeTokenRequest;
 import net.raphimc.minecraftauth.msa.service.MsaAuthService;
+import net.raphimc.minecraftauth.msa.service.util.LocalCallbackServer;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
@@ -35,6 +38,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -44,6 +48,7 @@ public class LocalWebServerMsaAuthService extends MsaAuthService {
 
     private final Consumer<URL> callback;
     private final int timeoutMs;
+    private final LocalCallbackServer callbackServer;
 
     public LocalWebServerMsaAuthService(final HttpClient httpClient, final MsaApplicationConfig applicationConfig, final Consumer<URL> callback) {
         this(httpClient, applicationConfig, callback, 300_000);
@@ -56,10 +61,51 @@ public class LocalWebServerMsaAuthService extends MsaAuthService {
         }
         this.callback = callback;
         this.timeoutMs = timeoutMs;
+        this.callbackServer = null;
+    }
+
+    /**
+     * Creates a service which receives the redirect through a shared callback server instead of starting its own web server for every login.
+     *
+     * @param httpClient        The http client
+     * @param applicationConfig The application config
+     * @param callback          The callback which receives the url the user has to open
+     * @param callbackServer    The shared callback server
+     * @param timeoutMs         The time the user has to complete the login
+     */
+    public LocalWebServerMsaAuthService(final HttpClient httpClient, final MsaApplicationConfig applicationConfig, final Consumer<URL> callback, final LocalCallbackServer callbackServer, final int timeoutMs) {
+        super(httpClient, applicationConfig);
+        if (this.applicationConfig.getRedirectUri() == null) {
+            throw new IllegalArgumentException("The application config must have a redirect uri set");
+        }
+        this.callback = callback;
+        this.timeoutMs = timeoutMs;
+        this.callbackServer = callbackServer;
     }
 
     @Override
     public MsaToken acquireToken() throws IOException, InterruptedException, TimeoutException {
+        if (this.callbackServer != null) {
+            final CompletableFuture<MsaToken> tokenFuture = this.acquireTokenAsync();
+            try {
+                return tokenFuture.get();
+            } catch (InterruptedException e) {
+                tokenFuture.cancel(true); // Releases the pending login of the callback server
+                throw e;
+            } catch (ExecutionException e) {
+                final Throwable cause = e.getCause() instanceof CompletionException ? e.getCause().getCause() : e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                } else if (cause instanceof TimeoutException) {
+                    throw (TimeoutException) cause;
+                } else if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else {
+                    throw new RuntimeException(cause);
+                }
+            }
+        }
+
         final HttpServer httpServer = HttpServer.create(new InetSocketAddress(0), 0);
         try {
             final URLWrapper redirectUrl = URLWrapper.ofURI(this.applicationConfig.getRedirectUri()).setPort(httpServer.getAddress().getPort());
@@ -99,7 +145,7 @@ public class LocalWebServerMsaAuthService extends MsaAuthService {
 
             try {
                 final String authCode = authCodeFuture.get(this.timeoutMs, TimeUnit.MILLISECONDS);
-                return this.httpClient.executeAndHandle(new MsaAuthCodeTokenRequest(applicationConfig, authCode));
+                return HttpUtil.executeAndHandle(this.httpClient, new MsaAuthCodeTokenRequest(applicationConfig, authCode));
             } catch (TimeoutException e) {
                 throw new TimeoutException("Login timed out");
             } catch (ExecutionException e) {
@@ -114,4 +160,51 @@ public class LocalWebServerMsaAuthService extends MsaAuthService {
         }
     }
 
+    /**
+     * Acquires a token without blocking a thread while waiting for the user if a shared callback server is used.<br>
+     * Cancelling the returned future releases the pending login of the callback server.
+     *
+     * @return A future which completes with the MSA token
+     */
+    @Override
+    public CompletableFuture<MsaToken> acquireTokenAsync() {
+        if (this.callbackServer == null) {
+            return super.acquireTokenAsync();
+        }
+
+        final String state = this.callbackServer.createState();
+        final URLWrapper redirectUrl = URLWrapper.ofURI(this.applicationConfig.getRedirectUri()).setPort(this.callbackServer.getPort());
+        final MsaApplicationConfig applicationConfig = this.applicationConfig.withRedirectUri(redirectUrl.toString());
+        final URL authenticationUrl;
+        try {
+            authenticationUrl = URLWrapper.ofURL(applicationConfig.getEnvironment().getAuthorizeUrl()).wrapQueryParameters().addParameters(applicationConfig.getAuthCodeParameters()).addParameter("prompt", "select_account").addParameter("state", state).apply().toURL();
+        } catch (Throwable e) {
+            final CompletableFuture<MsaToken> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+
+        final CompletableFuture<String> authCodeFuture = this.callbackServer.awaitAuthCode(state, this.timeoutMs);
+        try {
+            this.callback.accept(authenticationUrl);
+        } catch (Throwable e) {
+            authCodeFuture.cancel(false); // Releases the pending login of the callback server
+            final CompletableFuture<MsaToken> future = new CompletableFuture<>();
+            future.completeExceptionally(e);
+            return future;
+        }
+        final CompletableFuture<MsaToken> tokenFuture = authCodeFuture.thenApplyAsync(authCode -> this.redeemAuthCode(applicationConfig, authCode));
+        tokenFuture.whenComplete((token, e) -> {
+            if (tokenFuture.isCancelled()) {
+                authCodeFuture.cancel(false);
+            }
+        });
+        return tokenFuture;
+    }
+
+    @SneakyThrows
+    private MsaToken redeemAuthCode(final MsaApplicationConfig applicationConfig, final String authCode) {
+        return HttpUtil.executeAndHandle(this.httpClient, new MsaAuthCodeTokenRequest(applicationConfig, authCode));
+    }
+
 }
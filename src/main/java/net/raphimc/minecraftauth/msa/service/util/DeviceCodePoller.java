@@ -0,0 +1,176 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.msa.service.util;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.lenni0451.commons.httpclient.constants.StatusCodes;
+import net.raphimc.minecraftauth.msa.exception.MsaRequestException;
+import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.model.MsaToken;
+import net.raphimc.minecraftauth.msa.request.MsaDeviceCodeTokenRequest;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+
+import java.io.Closeable;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls the token endpoint for any number of pending device code logins using a few shared threads.<br>
+ * Each login is polled at the interval requested by the server. The interval is increased by 5 seconds when the server responds with "slow_down" and polling stops as soon as the device code expires or the deadline of the login is reached.<br>
+ * Cancelling the returned future stops polling for that login.
+ */
+public class DeviceCodePoller implements Closeable {
+
+    private static final long SLOW_DOWN_INCREMENT_MS = 5000;
+
+    private final HttpClient httpClient;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final Set<PendingLogin> pendingLogins = ConcurrentHashMap.newKeySet();
+
+    public DeviceCodePoller(final HttpClient httpClient) {
+        this(httpClient, 2);
+    }
+
+    /**
+     * @param httpClient The http client used for polling
+     * @param threads    The number of threads used for polling
+     */
+    public DeviceCodePoller(final HttpClient httpClient, final int threads) {
+        this.httpClient = httpClient;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Device Code Poller #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Starts polling for the token of the device code.
+     *
+     * @param applicationConfig The application config used to request the device code
+     * @param deviceCode        The device code
+     * @return A future which completes with the MSA token once the user has signed in or exceptionally with a {@link TimeoutException} once the device code expires
+     */
+    public CompletableFuture<MsaToken> poll(final MsaApplicationConfig applicationConfig, final MsaDeviceCode deviceCode) {
+        return this.poll(applicationConfig, deviceCode, deviceCode.getExpireTimeMs());
+    }
+
+    /**
+     * Starts polling for the token of the device code until the deadline is reached.
+     *
+     * @param applicationConfig The application config used to request the device code
+     * @param deviceCode        The device code
+     * @param deadlineMs        The time (In epoch milliseconds) after which polling stops, even if the device code hasn't expired yet
+     * @return A future which completes with the MSA token once the user has signed in or exceptionally with a {@link TimeoutException} once the device code expires or the deadline is reached
+     */
+    public CompletableFuture<MsaToken> poll(final MsaApplicationConfig applicationConfig, final MsaDeviceCode deviceCode, final long deadlineMs) {
+        final PendingLogin login = new PendingLogin(applicationConfig, deviceCode, Math.min(deadlineMs, deviceCode.getExpireTimeMs()));
+        this.pendingLogins.add(login);
+        login.future.whenComplete((token, e) -> {
+            this.pendingLogins.remove(login);
+            final ScheduledFuture<?> scheduledPoll = login.scheduledPoll;
+            if (scheduledPoll != null) {
+                scheduledPoll.cancel(false);
+            }
+        });
+        this.schedule(login, login.intervalMs);
+        return login.future;
+    }
+
+    /**
+     * @return The number of logins which are currently being polled
+     */
+    public int getPendingCount() {
+        return this.pendingLogins.size();
+    }
+
+    /**
+     * Stops polling and cancels all pending logins.
+     */
+    @Override
+    public void close() {
+        this.scheduler.shutdownNow();
+        for (PendingLogin login : this.pendingLogins) {
+            login.future.cancel(false);
+        }
+    }
+
+    private void schedule(final PendingLogin login, final long intervalMs) {
+        // Don't sleep past the expiry of the device code or the deadline
+        final long delayMs = Math.max(0, Math.min(intervalMs, login.deadlineMs - System.currentTimeMillis()));
+        try {
+            login.scheduledPoll = this.scheduler.schedule(() -> this.poll(login), delayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            login.future.completeExceptionally(new IllegalStateException("The device code poller has been closed"));
+        }
+    }
+
+    private void poll(final PendingLogin login) {
+        if (login.future.isDone()) {
+            return;
+        }
+        if (login.deviceCode.isExpired() || System.currentTimeMillis() >= login.deadlineMs) {
+            login.future.completeExceptionally(new TimeoutException("Login timed out"));
+            return;
+        }
+
+        try {
+            login.future.complete(HttpUtil.executeAndHandle(this.httpClient, new MsaDeviceCodeTokenRequest(login.applicationConfig, login.deviceCode)));
+        } catch (MsaRequestException e) {
+            if (e.getResponse().getStatusCode() == StatusCodes.BAD_REQUEST && "authorization_pending".equals(e.getError())) {
+                this.schedule(login, login.intervalMs);
+            } else if (e.getResponse().getStatusCode() == StatusCodes.BAD_REQUEST && "slow_down".equals(e.getError())) {
+                login.intervalMs += SLOW_DOWN_INCREMENT_MS;
+                this.schedule(login, login.intervalMs);
+            } else {
+                login.future.completeExceptionally(e);
+            }
+        } catch (Throwable e) {
+            login.future.completeExceptionally(e);
+        }
+    }
+
+    private static class PendingLogin {
+
+        private final CompletableFuture<MsaToken> future = new CompletableFuture<>();
+        private final MsaApplicationConfig applicationConfig;
+        private final MsaDeviceCode deviceCode;
+        private final long deadlineMs;
+        private long intervalMs;
+        private volatile ScheduledFuture<?> scheduledPoll;
+
+        private PendingLogin(final MsaApplicationConfig applicationConfig, final MsaDeviceCode deviceCode, final long deadlineMs) {
+            this.applicationConfig = applicationConfig;
+            this.deviceCode = deviceCode;
+            this.deadlineMs = deadlineMs;
+            this.intervalMs = deviceCode.getIntervalMs();
+        }
+
+    }
+
+}
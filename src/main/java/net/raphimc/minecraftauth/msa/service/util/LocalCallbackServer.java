@@ -0,0 +1,185 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.msa.service.util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.constants.StatusCodes;
+import net.lenni0451.commons.httpclient.utils.URLWrapper;
+import net.raphimc.minecraftauth.msa.exception.MsaRequestException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A long-lived local web server which receives the OAuth redirects of any number of concurrent logins.<br>
+ * Logins are told apart by the OAuth state parameter, so only a single port has to be bound for the lifetime of the server.
+ */
+public class LocalCallbackServer implements Closeable {
+
+    private final HttpServer httpServer;
+    private final ScheduledThreadPoolExecutor executor;
+    private final Map<String, CompletableFuture<String>> pendingLogins = new ConcurrentHashMap<>();
+
+    /**
+     * Creates and starts a callback server on a random free port.
+     */
+    public LocalCallbackServer() throws IOException {
+        this(0, 2);
+    }
+
+    /**
+     * Creates and starts a callback server.
+     *
+     * @param port    The port to bind to (0 for a random free port)
+     * @param threads The number of threads used to handle requests and timeouts
+     */
+    public LocalCallbackServer(final int port, final int threads) throws IOException {
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Callback Server #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+        try {
+            this.httpServer = HttpServer.create(new InetSocketAddress(port), 0);
+        } catch (IOException e) {
+            this.executor.shutdownNow();
+            throw e;
+        }
+        this.httpServer.createContext("/", this::handle);
+        this.httpServer.setExecutor(this.executor);
+        this.httpServer.start();
+    }
+
+    /**
+     * @return The port the server is bound to
+     */
+    public int getPort() {
+        return this.httpServer.getAddress().getPort();
+    }
+
+    /**
+     * @return A new random value for the OAuth state parameter
+     */
+    public String createState() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * Registers a pending login. The returned future completes once a redirect with the given state arrives.
+     *
+     * @param state     The OAuth state parameter sent with the authorization request
+     * @param timeoutMs The time after which the future completes exceptionally with a {@link TimeoutException}
+     * @return A future which completes with the auth code
+     */
+    public CompletableFuture<String> awaitAuthCode(final String state, final long timeoutMs) {
+        final CompletableFuture<String> authCodeFuture = new CompletableFuture<>();
+        if (this.pendingLogins.putIfAbsent(state, authCodeFuture) != null) {
+            throw new IllegalStateException("A login with this state is already pending");
+        }
+        try {
+            final ScheduledFuture<?> timeout = this.executor.schedule(() -> authCodeFuture.completeExceptionally(new TimeoutException("Login timed out")), timeoutMs, TimeUnit.MILLISECONDS);
+            authCodeFuture.whenComplete((code, e) -> {
+                this.pendingLogins.remove(state, authCodeFuture);
+                timeout.cancel(false);
+            });
+        } catch (RejectedExecutionException e) {
+            this.pendingLogins.remove(state, authCodeFuture);
+            authCodeFuture.completeExceptionally(new IllegalStateException("The callback server has been closed"));
+        }
+        return authCodeFuture;
+    }
+
+    /**
+     * @return The number of logins which are waiting for their redirect
+     */
+    public int getPendingCount() {
+        return this.pendingLogins.size();
+    }
+
+    /**
+     * Stops the server and cancels all pending logins.
+     */
+    @Override
+    public void close() {
+        this.httpServer.stop(0);
+        this.executor.shutdownNow();
+        for (CompletableFuture<String> authCodeFuture : this.pendingLogins.values()) {
+            authCodeFuture.cancel(false);
+        }
+    }
+
+    private void handle(final HttpExchange httpExchange) throws IOException {
+        final URLWrapper.QueryParametersWrapper parameters = URLWrapper.of(httpExchange.getRequestURI()).wrapQueryParameters();
+        final Optional<String> state = parameters.getFirstValue("state");
+        final CompletableFuture<String> authCodeFuture = state.map(this.pendingLogins::get).orElse(null);
+        if (authCodeFuture == null) {
+            this.respond(httpExchange, StatusCodes.BAD_REQUEST, "Unknown or expired login. Please try again.");
+            return;
+        }
+
+        // The future is completed before responding, so a browser which closed the connection early can't lose the auth code
+        try {
+            final Optional<String> error = parameters.getFirstValue("error");
+            final Optional<String> errorDescription = parameters.getFirstValue("error_description");
+            if (error.isPresent() && errorDescription.isPresent()) {
+                final HttpResponse fakeResponse = new HttpResponse(null, StatusCodes.INTERNAL_SERVER_ERROR, new byte[0], Collections.emptyMap());
+                throw new MsaRequestException(fakeResponse, error.get(), errorDescription.get());
+            }
+            final Optional<String> code = parameters.getFirstValue("code");
+            if (!code.isPresent()) {
+                throw new IllegalStateException("Failed to extract auth code from response url");
+            }
+
+            if (!authCodeFuture.complete(code.get())) { // Timed out or cancelled in the meantime
+                this.respond(httpExchange, StatusCodes.BAD_REQUEST, "Unknown or expired login. Please try again.");
+                return;
+            }
+        } catch (Throwable e) {
+            authCodeFuture.completeExceptionally(e);
+            this.respond(httpExchange, StatusCodes.INTERNAL_SERVER_ERROR, "Login failed. Error message: " + e.getMessage());
+            return;
+        }
+        this.respond(httpExchange, StatusCodes.OK, "You have been logged in! You can now close this window.");
+    }
+
+    private void respond(final HttpExchange httpExchange, final int statusCode, final String message) throws IOException {
+        final byte[] response = message.getBytes(StandardCharsets.UTF_8);
+        httpExchange.sendResponseHeaders(statusCode, response.length);
+        httpExchange.getResponseBody().write(response);
+        httpExchange.close();
+    }
+
+}
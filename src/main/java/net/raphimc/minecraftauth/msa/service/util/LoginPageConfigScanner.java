@@ -0,0 +1,297 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.msa.service.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Extracts fields from the javascript config object embedded in the Microsoft login pages.<br>
+ * The page bytes are scanned in a single pass without decoding the page into a string. Scanning stops once all requested fields have been found or the config object ends.<br>
+ * Like the lenient JSON parser this replaces, unquoted keys and single-quoted strings are accepted.
+ */
+public class LoginPageConfigScanner {
+
+    /**
+     * Scans the config object which follows the given marker.
+     *
+     * @param html   The raw bytes of the html page
+     * @param marker The text directly preceding the config object (For example "$Config=")
+     * @param fields The names of the top-level fields to extract
+     * @return The extracted fields. String values are unescaped, other primitive values are returned as written. Null values, nested objects and arrays are left out.<br>
+     * Null if the marker could not be found.
+     * @throws IllegalStateException If the config object following the marker is malformed
+     */
+    public static Map<String, String> scan(final byte[] html, final String marker, final Collection<String> fields) {
+        final int markerIndex = indexOf(html, marker.getBytes(StandardCharsets.UTF_8), 0);
+        if (markerIndex == -1) {
+            return null;
+        }
+
+        final Set<String> remainingFields = new HashSet<>(fields);
+        final Map<String, String> values = new HashMap<>();
+        int pos = skipWhitespace(html, markerIndex + marker.length());
+        if (pos >= html.length || html[pos] != '{') {
+            throw new IllegalStateException("Failed to find config object in html");
+        }
+        pos++;
+
+        while (!remainingFields.isEmpty()) {
+            pos = skipWhitespace(html, pos);
+            if (pos < html.length && html[pos] == ',') {
+                pos = skipWhitespace(html, pos + 1);
+            }
+            if (pos >= html.length) {
+                throw new IllegalStateException("Unexpected end of config object in html");
+            }
+            if (html[pos] == '}') {
+                break;
+            }
+
+            final String key;
+            if (html[pos] == '"' || html[pos] == '\'') {
+                final int end = findStringEnd(html, pos);
+                key = decodeString(html, pos + 1, end);
+                pos = end + 1;
+            } else {
+                final int start = pos;
+                while (pos < html.length && isIdentifierPart(html[pos])) {
+                    pos++;
+                }
+                if (pos == start) {
+                    throw new IllegalStateException("Unexpected character in config object at offset " + pos);
+                }
+                key = new String(html, start, pos - start, StandardCharsets.US_ASCII);
+            }
+
+            pos = skipWhitespace(html, pos);
+            if (pos >= html.length || html[pos] != ':') {
+                throw new IllegalStateException("Expected ':' in config object at offset " + pos);
+            }
+            pos = skipWhitespace(html, pos + 1);
+            if (pos >= html.length) {
+                throw new IllegalStateException("Unexpected end of config object in html");
+            }
+
+            final int valueStart = pos;
+            pos = skipValue(html, pos);
+            if (remainingFields.remove(key)) {
+                if (html[valueStart] == '"' || html[valueStart] == '\'') {
+                    values.put(key, decodeString(html, valueStart + 1, pos - 1));
+                } else if (html[valueStart] != '{' && html[valueStart] != '[') {
+                    final String value = new String(html, valueStart, trimEnd(html, valueStart, pos) - valueStart, StandardCharsets.UTF_8);
+                    if (!value.equals("null")) {
+                        values.put(key, value);
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Scans the config object which follows the given marker.
+     *
+     * @param html   The raw bytes of the html page
+     * @param marker The text directly preceding the config object (For example "$Config=")
+     * @param fields The names of the top-level fields to extract
+     * @return The extracted fields or null if the marker could not be found
+     */
+    public static Map<String, String> scan(final byte[] html, final String marker, final String... fields) {
+        return scan(html, marker, Arrays.asList(fields));
+    }
+
+    /**
+     * @param html The raw bytes of the html page
+     * @param text The text to search for
+     * @return True if the page contains the given text
+     */
+    public static boolean contains(final byte[] html, final String text) {
+        return indexOf(html, text.getBytes(StandardCharsets.UTF_8), 0) != -1;
+    }
+
+    /**
+     * Extracts the value of an attribute from a html tag (For example the sFTTag of the live login page).
+     *
+     * @param tag       The html tag
+     * @param attribute The attribute name
+     * @return The attribute value
+     * @throws IllegalStateException If the attribute is not present
+     */
+    public static String extractAttribute(final String tag, final String attribute) {
+        final String prefix = attribute + "=\"";
+        final int start = tag.indexOf(prefix);
+        final int end = start != -1 ? tag.indexOf('"', start + prefix.length()) : -1;
+        if (end == -1) {
+            throw new IllegalStateException("Failed to extract " + attribute + " attribute from html tag");
+        }
+        return tag.substring(start + prefix.length(), end);
+    }
+
+    private static int indexOf(final byte[] haystack, final byte[] needle, final int fromIndex) {
+        if (needle.length == 0) {
+            return fromIndex;
+        }
+        final byte first = needle[0];
+        final int max = haystack.length - needle.length;
+        outer:
+        for (int i = fromIndex; i <= max; i++) {
+            if (haystack[i] != first) {
+                continue;
+            }
+            for (int j = 1; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(final byte[] html, int pos) {
+        while (pos < html.length && (html[pos] == ' ' || html[pos] == '\t' || html[pos] == '\n' || html[pos] == '\r')) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int trimEnd(final byte[] html, final int start, int end) {
+        while (end > start && (html[end - 1] == ' ' || html[end - 1] == '\t' || html[end - 1] == '\n' || html[end - 1] == '\r')) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isIdentifierPart(final byte b) {
+        return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_' || b == '$';
+    }
+
+    /**
+     * @return The index of the closing quote of the string starting at the given index
+     */
+    private static int findStringEnd(final byte[] html, final int start) {
+        final byte quote = html[start];
+        for (int i = start + 1; i < html.length; i++) {
+            if (html[i] == '\\') {
+                i++;
+            } else if (html[i] == quote) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Unterminated string in config object");
+    }
+
+    /**
+     * @return The index directly after the value starting at the given index
+     */
+    private static int skipValue(final byte[] html, int pos) {
+        int depth = 0;
+        while (pos < html.length) {
+            final byte b = html[pos];
+            if (b == '"' || b == '\'') {
+                pos = findStringEnd(html, pos) + 1;
+                if (depth == 0) {
+                    return pos;
+                }
+                continue;
+            } else if (b == '{' || b == '[' || b == '(') {
+                depth++;
+            } else if (b == '}' || b == ']' || b == ')') {
+                if (depth == 0) {
+                    return pos;
+                }
+                depth--;
+                if (depth == 0) {
+                    return pos + 1;
+                }
+            } else if (b == ',' && depth == 0) {
+                return pos;
+            }
+            pos++;
+        }
+        throw new IllegalStateException("Unexpected end of config object in html");
+    }
+
+    private static String decodeString(final byte[] html, final int start, final int end) {
+        int escapeIndex = -1;
+        for (int i = start; i < end; i++) {
+            if (html[i] == '\\') {
+                escapeIndex = i;
+                break;
+            }
+        }
+        if (escapeIndex == -1) {
+            return new String(html, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        final String raw = new String(html, start, end - start, StandardCharsets.UTF_8);
+        final StringBuilder builder = new StringBuilder(raw.length());
+        for (int i = 0; i < raw.length(); i++) {
+            final char c = raw.charAt(i);
+            if (c != '\\' || i + 1 >= raw.length()) {
+                builder.append(c);
+                continue;
+            }
+            final char escaped = raw.charAt(++i);
+            switch (escaped) {
+                case 'n':
+                    builder.append('\n');
+                    break;
+                case 'r':
+                    builder.append('\r');
+                    break;
+                case 't':
+                    builder.append('\t');
+                    break;
+                case 'b':
+                    builder.append('\b');
+                    break;
+                case 'f':
+                    builder.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 < raw.length()) {
+                        builder.append((char) Integer.parseInt(raw.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    } else {
+                        builder.append(escaped);
+                    }
+                    break;
+                case 'x':
+                    if (i + 2 < raw.length()) {
+                        builder.append((char) Integer.parseInt(raw.substring(i + 1, i + 3), 16));
+                        i += 2;
+                    } else {
+                        builder.append(escaped);
+                    }
+                    break;
+                default:
+                    builder.append(escaped);
+                    break;
+            }
+        }
+        return builder.toString();
+    }
+
+}
@@ -23,6 +23,7 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.playfab.model.PlayFabEntityToken;
 import net.raphimc.minecraftauth.playfab.responsehandler.PlayFabResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 
 import java.net.MalformedURLException;
@@ -31,7 +32,7 @@ import java.util.Locale;
 public class PlayFabGetEntityTokenRequest extends PostRequest implements PlayFabResponseHandler<PlayFabEntityToken> {
 
     public PlayFabGetEntityTokenRequest(final PlayFabEntityToken entityToken, final String titleId, final String id, final String type) throws MalformedURLException {
-        super("https://" + titleId.toLowerCase(Locale.ROOT) + ".playfabapi.com/Authentication/GetEntityToken");
+        super(BaseUrlOverrides.apply("https://" + titleId.toLowerCase(Locale.ROOT) + ".playfabapi.com/Authentication/GetEntityToken"));
 
         final JsonObject entity = new JsonObject();
         entity.addProperty("Id", id);
@@ -24,6 +24,7 @@ import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.playfab.model.PlayFabEntityToken;
 import net.raphimc.minecraftauth.playfab.model.PlayFabToken;
 import net.raphimc.minecraftauth.playfab.responsehandler.PlayFabResponseHandler;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 
@@ -34,7 +35,7 @@ import java.util.Locale;
 public class PlayFabLoginWithXboxRequest extends PostRequest implements PlayFabResponseHandler<PlayFabToken> {
 
     public PlayFabLoginWithXboxRequest(final XblXstsToken xstsToken, final String titleId) throws MalformedURLException {
-        super("https://" + titleId.toLowerCase(Locale.ROOT) + ".playfabapi.com/Client/LoginWithXbox");
+        super(BaseUrlOverrides.apply("https://" + titleId.toLowerCase(Locale.ROOT) + ".playfabapi.com/Client/LoginWithXbox"));
 
         final JsonObject infoRequestParameters = new JsonObject();
         infoRequestParameters.addProperty("GetPlayerProfile", true);
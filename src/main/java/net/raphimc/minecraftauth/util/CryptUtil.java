@@ -115,40 +115,74 @@ public class CryptUtil {
         }
     }
 
+    public static byte[] sha256(final byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to hash data", e);
+        }
+    }
+
     public static byte[] signSha256InP1363Format(final ECPrivateKey privateKey, final byte[] data) throws SignatureException, InvalidKeyException, NoSuchAlgorithmException {
+        return signInP1363Format("SHA256withECDSA", privateKey, data);
+    }
+
+    public static byte[] signSha384InP1363Format(final ECPrivateKey privateKey, final byte[] data) throws SignatureException, InvalidKeyException, NoSuchAlgorithmException {
+        return signInP1363Format("SHA384withECDSA", privateKey, data);
+    }
+
+    /**
+     * Creates a SHA384withECDSA signature which can be reused for multiple calls to {@link #signInP1363Format(Signature, ECPrivateKey, byte[])}.<br>
+     * Signature instances are not thread-safe.
+     */
+    public static Signature createSha384EcdsaSignature() throws NoSuchAlgorithmException {
+        return createEcdsaSignature("SHA384withECDSA");
+    }
+
+    public static byte[] signInP1363Format(final Signature ecdsaSignature, final ECPrivateKey privateKey, final byte[] data) throws SignatureException, InvalidKeyException {
+        ecdsaSignature.initSign(privateKey);
+        ecdsaSignature.update(data);
+        final byte[] signature = ecdsaSignature.sign();
+        if (ecdsaSignature.getAlgorithm().endsWith("inP1363Format")) { // Java 9+
+            return signature;
+        }
+
+        // Fallback for Java 8: Convert the DER encoded signature
+        final byte[] derSignature = signature;
+        if (derSignature[0] != 0x30) {
+            throw new IllegalArgumentException("Not a valid DER sequence");
+        }
+
+        int idx = 2;
+        if (derSignature[idx] != 0x02) {
+            throw new IllegalArgumentException("Expected integer for r");
+        }
+        final int rLen = derSignature[idx + 1];
+        final byte[] rBytes = Arrays.copyOfRange(derSignature, idx + 2, idx + 2 + rLen);
+        idx += 2 + rLen;
+
+        if (derSignature[idx] != 0x02) {
+            throw new IllegalArgumentException("Expected integer for s");
+        }
+        final int sLen = derSignature[idx + 1];
+        final byte[] sBytes = Arrays.copyOfRange(derSignature, idx + 2, idx + 2 + sLen);
+
+        final int size = privateKey.getParams().getOrder().bitLength() / Byte.SIZE;
+        final byte[] concat = new byte[size * 2];
+        System.arraycopy(toFixedLengthP1363(rBytes, size), 0, concat, 0, size);
+        System.arraycopy(toFixedLengthP1363(sBytes, size), 0, concat, size, size);
+        return concat;
+    }
+
+    private static byte[] signInP1363Format(final String algorithm, final ECPrivateKey privateKey, final byte[] data) throws SignatureException, InvalidKeyException, NoSuchAlgorithmException {
+        return signInP1363Format(createEcdsaSignature(algorithm), privateKey, data);
+    }
+
+    private static Signature createEcdsaSignature(final String algorithm) throws NoSuchAlgorithmException {
         try { // Java 9+
-            final Signature ecdsaSignature = Signature.getInstance("SHA256withECDSAinP1363Format");
-            ecdsaSignature.initSign(privateKey);
-            ecdsaSignature.update(data);
-            return ecdsaSignature.sign();
+            return Signature.getInstance(algorithm + "inP1363Format");
         } catch (NoSuchAlgorithmException e) { // Fallback for Java 8
-            final Signature ecdsaSignature = Signature.getInstance("SHA256withECDSA");
-            ecdsaSignature.initSign(privateKey);
-            ecdsaSignature.update(data);
-            final byte[] derSignature = ecdsaSignature.sign();
-            if (derSignature[0] != 0x30) {
-                throw new IllegalArgumentException("Not a valid DER sequence");
-            }
-
-            int idx = 2;
-            if (derSignature[idx] != 0x02) {
-                throw new IllegalArgumentException("Expected integer for r");
-            }
-            final int rLen = derSignature[idx + 1];
-            final byte[] rBytes = Arrays.copyOfRange(derSignature, idx + 2, idx + 2 + rLen);
-            idx += 2 + rLen;
-
-            if (derSignature[idx] != 0x02) {
-                throw new IllegalArgumentException("Expected integer for s");
-            }
-            final int sLen = derSignature[idx + 1];
-            final byte[] sBytes = Arrays.copyOfRange(derSignature, idx + 2, idx + 2 + sLen);
-
-            final int size = privateKey.getParams().getOrder().bitLength() / Byte.SIZE;
-            final byte[] concat = new byte[size * 2];
-            System.arraycopy(toFixedLengthP1363(rBytes, size), 0, concat, 0, size);
-            System.arraycopy(toFixedLengthP1363(sBytes, size), 0, concat, size, size);
-            return concat;
+            return Signature.getInstance(algorithm);
         }
     }
 
@@ -0,0 +1,132 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util;
+
+import net.raphimc.minecraftauth.util.holder.IoSupplier;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class FileUtil {
+
+    /**
+     * File locks are held by the whole JVM, so threads of the same JVM have to be synchronized separately.<br>
+     * Entries are removed once no thread uses them anymore.
+     */
+    private static final Map<Path, InProcessLock> IN_PROCESS_LOCKS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Set<Path>> HELD_LOCKS = ThreadLocal.withInitial(HashSet::new);
+
+    /**
+     * Executes the action while holding an exclusive lock on the given lock file.<br>
+     * The lock is exclusive across processes (Using a {@link FileLock}) and across threads of the same JVM. It is reentrant for the current thread.
+     *
+     * @param lockPath The path of the lock file (Created if it doesn't exist)
+     * @param action   The action to execute
+     * @param <T>      The type of the result
+     * @return The result of the action
+     */
+    public static <T> T withLock(final Path lockPath, final IoSupplier<T> action) throws IOException {
+        final Path normalizedLockPath = lockPath.toAbsolutePath().normalize();
+        final Set<Path> heldLocks = HELD_LOCKS.get();
+        if (heldLocks.contains(normalizedLockPath)) { // A second FileLock on the same file would throw an OverlappingFileLockException
+            return action.get();
+        }
+
+        final InProcessLock inProcessLock = IN_PROCESS_LOCKS.compute(normalizedLockPath, (path, lock) -> {
+            final InProcessLock usedLock = lock != null ? lock : new InProcessLock();
+            usedLock.users++;
+            return usedLock;
+        });
+        try {
+            synchronized (inProcessLock) {
+                try (FileChannel channel = FileChannel.open(normalizedLockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE); FileLock ignored = channel.lock()) {
+                    heldLocks.add(normalizedLockPath);
+                    try {
+                        return action.get();
+                    } finally {
+                        heldLocks.remove(normalizedLockPath);
+                    }
+                }
+            }
+        } finally {
+            IN_PROCESS_LOCKS.computeIfPresent(normalizedLockPath, (path, lock) -> --lock.users == 0 ? null : lock);
+        }
+    }
+
+    /**
+     * Writes the data to a temporary file and moves it over the target file, so readers never see a partially written file.<br>
+     * The data is forced to the disk before the move, so a crash can't replace the target file with an empty or partially written one.
+     *
+     * @param path The target file
+     * @param data The data to write
+     */
+    public static void writeAtomically(final Path path, final byte[] data) throws IOException {
+        final Path tempPath = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempPath);
+        }
+        forceDirectory(path.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Forces the directory entry changes (Like the move of {@link #writeAtomically(Path, byte[])}) to the disk.<br>
+     * Not every platform allows opening directories (For example Windows), so this is best effort.
+     *
+     * @param directory The directory
+     */
+    private static void forceDirectory(final Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException ignored) {
+        }
+    }
+
+    private static class InProcessLock {
+
+        /**
+         * The number of threads using or waiting for this lock. Only changed inside of the atomic map operations.
+         */
+        private int users;
+
+    }
+
+}
@@ -22,6 +22,7 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.raphimc.minecraftauth.MinecraftAuth;
 import net.raphimc.minecraftauth.msa.data.MsaEnvironment;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 
 import java.time.Duration;
 import java.time.Instant;
@@ -41,7 +42,7 @@ public class TimeUtil {
             final HttpClient httpClient = MinecraftAuth.createHttpClient();
             httpClient.getRetryHandler().setMaxConnectRetries(3);
             try {
-                final HttpResponse response = httpClient.execute(new GetRequest(MsaEnvironment.LIVE.getBaseUrl()));
+                final HttpResponse response = httpClient.execute(new GetRequest(BaseUrlOverrides.apply(MsaEnvironment.LIVE.getBaseUrl())));
                 final Instant clientTime = Instant.now();
                 final Instant serverTime = response.getFirstHeader("Date").map(s -> DateTimeFormatter.RFC_1123_DATE_TIME.parse(s, Instant::from)).get();
                 CLIENT_TIME_OFFSET = Duration.between(clientTime, serverTime);
@@ -0,0 +1,278 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.cache;
+
+import com.google.gson.JsonObject;
+import net.lenni0451.commons.gson.GsonParser;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.constants.StatusCodes;
+import net.lenni0451.commons.httpclient.handler.HttpResponseHandler;
+import net.lenni0451.commons.httpclient.requests.HttpRequest;
+import net.raphimc.minecraftauth.util.CryptUtil;
+import net.raphimc.minecraftauth.util.FileUtil;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A disk cache for http responses which revalidates cached responses using their ETag and Last-Modified headers.<br>
+ * If the server confirms that a cached response is still valid (304 Not Modified), the cached content is passed to the response handler as if it was a normal 200 response.<br>
+ * Response contents are stored by their SHA-256 hash, so identical contents (For example the same texture referenced by multiple profiles) are only stored once.<br>
+ * Responses without ETag and Last-Modified header can't be revalidated and are not cached.<br>
+ * The number of cached responses is limited. Once the limit is exceeded, the least recently used responses and all contents which are no longer referenced are deleted.
+ */
+public class HttpDiskCache {
+
+    private static final char[] HEX_CHARS = "0123456789abcdef".toCharArray();
+    private static final int DEFAULT_MAX_ENTRIES = 10_000;
+    private static final int CLEANUP_INTERVAL = 256;
+
+    private final Path entriesDirectory;
+    private final Path contentsDirectory;
+    private final int maxEntries;
+    private final AtomicInteger writesSinceCleanup = new AtomicInteger();
+
+    public HttpDiskCache(final Path directory) throws IOException {
+        this(directory, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * @param directory  The directory of the cache
+     * @param maxEntries The maximum number of cached responses
+     */
+    public HttpDiskCache(final Path directory, final int maxEntries) throws IOException {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entriesDirectory = directory.resolve("entries");
+        this.contentsDirectory = directory.resolve("contents");
+        this.maxEntries = maxEntries;
+        Files.createDirectories(this.entriesDirectory);
+        Files.createDirectories(this.contentsDirectory);
+    }
+
+    /**
+     * Executes the given request through the cache, using the request url as the cache key.
+     *
+     * @param httpClient The http client
+     * @param request    The request which also acts as the response handler
+     * @param <R>        The result type
+     * @param <T>        The request type
+     * @return The handled result
+     */
+    public <R, T extends HttpRequest & HttpResponseHandler<R>> R executeAndHandle(final HttpClient httpClient, final T request) throws IOException {
+        return this.executeAndHandle(httpClient, request, request.getURL().toString());
+    }
+
+    /**
+     * Executes the given request through the cache.<br>
+     * An explicit cache key is required if the same url returns different contents depending on the authentication (For example the profile of the logged in player).
+     *
+     * @param httpClient The http client
+     * @param request    The request which also acts as the response handler
+     * @param key        The cache key
+     * @param <R>        The result type
+     * @param <T>        The request type
+     * @return The handled result
+     */
+    public <R, T extends HttpRequest & HttpResponseHandler<R>> R executeAndHandle(final HttpClient httpClient, final T request, final String key) throws IOException {
+        final Path entryPath = this.entriesDirectory.resolve(toHex(CryptUtil.sha256(key.getBytes(StandardCharsets.UTF_8))) + ".json");
+        final GsonObject entry = this.readEntry(entryPath);
+        if (entry != null) {
+            entry.optString("etag").ifPresent(etag -> request.setHeader("If-None-Match", etag));
+            entry.optString("lastModified").ifPresent(lastModified -> request.setHeader("If-Modified-Since", lastModified));
+            try {
+                return this.execute(httpClient, request, entryPath, entry);
+            } catch (MissingContentException e) { // The content has been deleted since the entry was read
+                Files.deleteIfExists(entryPath);
+                request.removeHeader("If-None-Match");
+                request.removeHeader("If-Modified-Since");
+            }
+        }
+        return this.execute(httpClient, request, entryPath, null);
+    }
+
+    /**
+     * Removes the least recently used responses if there are more than the maximum number of cached responses and deletes all contents which are no longer referenced.<br>
+     * This is called automatically after every 256 cached responses.
+     */
+    public synchronized void cleanup() throws IOException {
+        final List<Path> entryPaths;
+        try (Stream<Path> entries = Files.list(this.entriesDirectory)) {
+            entryPaths = entries.filter(path -> path.getFileName().toString().endsWith(".json")).collect(Collectors.toList());
+        }
+        if (entryPaths.size() > this.maxEntries) {
+            final Map<Path, Long> lastAccessTimes = new HashMap<>();
+            for (Path entryPath : entryPaths) {
+                lastAccessTimes.put(entryPath, getLastModifiedTimeMs(entryPath));
+            }
+            entryPaths.sort(Comparator.comparingLong(lastAccessTimes::get));
+            final List<Path> removedEntryPaths = entryPaths.subList(0, entryPaths.size() - this.maxEntries);
+            for (Path entryPath : removedEntryPaths) {
+                Files.deleteIfExists(entryPath);
+            }
+            removedEntryPaths.clear();
+        }
+
+        final Set<String> referencedContentHashes = new HashSet<>();
+        for (Path entryPath : entryPaths) {
+            final GsonObject entry = parseEntry(entryPath);
+            if (entry != null) {
+                entry.optString("contentHash").ifPresent(referencedContentHashes::add);
+            }
+        }
+        final List<Path> contentPaths;
+        try (Stream<Path> contents = Files.walk(this.contentsDirectory, 2)) {
+            contentPaths = contents.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path contentPath : contentPaths) {
+            final String fileName = contentPath.getFileName().toString();
+            if (!fileName.endsWith(".tmp") && !referencedContentHashes.contains(fileName)) { // Temporary files belong to writes in progress
+                Files.deleteIfExists(contentPath);
+            }
+        }
+    }
+
+    /**
+     * Returns the path of a cached content.
+     *
+     * @param contentHash The hex encoded SHA-256 hash of the content
+     * @return The path of the content (The file might not exist)
+     */
+    public Path getContentPath(final String contentHash) {
+        return this.contentsDirectory.resolve(contentHash.substring(0, 2)).resolve(contentHash);
+    }
+
+    private <R, T extends HttpRequest & HttpResponseHandler<R>> R execute(final HttpClient httpClient, final T request, final Path entryPath, final GsonObject entry) throws IOException {
+        return HttpUtil.executeAndHandle(httpClient, request, response -> {
+            if (response.getStatusCode() == StatusCodes.NOT_MODIFIED && entry != null) {
+                final byte[] content;
+                try {
+                    content = Files.readAllBytes(this.getContentPath(entry.reqString("contentHash")));
+                } catch (NoSuchFileException e) {
+                    throw new MissingContentException(e);
+                }
+                try { // Used to find the least recently used entries
+                    Files.setLastModifiedTime(entryPath, FileTime.fromMillis(System.currentTimeMillis()));
+                } catch (IOException ignored) {
+                }
+                final Map<String, List<String>> headers = entry.optString("contentType").map(contentType -> Collections.singletonMap("Content-Type", Collections.singletonList(contentType))).orElse(Collections.emptyMap());
+                return request.handle(new HttpResponse(request.getURL(), StatusCodes.OK, content, headers));
+            }
+
+            if (response.getStatusCode() == StatusCodes.OK) {
+                this.writeEntry(entryPath, request, response);
+            }
+            return request.handle(response);
+        });
+    }
+
+    private GsonObject readEntry(final Path entryPath) {
+        final GsonObject entry = parseEntry(entryPath);
+        if (entry == null || !entry.optString("contentHash").map(this::getContentPath).filter(Files::isRegularFile).isPresent()) {
+            return null;
+        }
+        return entry;
+    }
+
+    private void writeEntry(final Path entryPath, final HttpRequest request, final HttpResponse response) throws IOException {
+        final Optional<String> etag = response.getFirstHeader("ETag");
+        final Optional<String> lastModified = response.getFirstHeader("Last-Modified");
+        if (!etag.isPresent() && !lastModified.isPresent()) {
+            return;
+        }
+
+        final byte[] content = response.getContent().getAsBytes();
+        final String contentHash = toHex(CryptUtil.sha256(content));
+        final Path contentPath = this.getContentPath(contentHash);
+        if (!Files.isRegularFile(contentPath)) {
+            Files.createDirectories(contentPath.getParent());
+            FileUtil.writeAtomically(contentPath, content);
+        }
+
+        final JsonObject entry = new JsonObject();
+        entry.addProperty("url", request.getURL().toString());
+        etag.ifPresent(value -> entry.addProperty("etag", value));
+        lastModified.ifPresent(value -> entry.addProperty("lastModified", value));
+        response.getFirstHeader("Content-Type").ifPresent(value -> entry.addProperty("contentType", value));
+        entry.addProperty("contentHash", contentHash);
+        FileUtil.writeAtomically(entryPath, entry.toString().getBytes(StandardCharsets.UTF_8));
+        if (this.writesSinceCleanup.incrementAndGet() >= CLEANUP_INTERVAL) {
+            this.writesSinceCleanup.set(0);
+            this.cleanup();
+        }
+    }
+
+    private static GsonObject parseEntry(final Path entryPath) {
+        if (!Files.isRegularFile(entryPath)) {
+            return null;
+        }
+        try {
+            return GsonParser.parse(new String(Files.readAllBytes(entryPath), StandardCharsets.UTF_8)).asObject();
+        } catch (Throwable e) { // A corrupted entry is treated like a missing one
+            return null;
+        }
+    }
+
+    private static long getLastModifiedTimeMs(final Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i * 2] = HEX_CHARS[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX_CHARS[bytes[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Thrown if the content of a response which has not been modified is missing.
+     */
+    private static class MissingContentException extends IOException {
+
+        private MissingContentException(final NoSuchFileException cause) {
+            super(cause);
+        }
+
+    }
+
+}
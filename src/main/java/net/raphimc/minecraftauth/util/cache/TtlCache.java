@@ -0,0 +1,116 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A thread-safe cache whose entries expire after a fixed time.<br>
+ * Expired entries are removed when they are accessed. Once the cache is full, every insertion removes the least recently used entry.
+ * The entries are kept in an access-ordered {@link LinkedHashMap}, so finding that entry takes constant time.
+ *
+ * @param <K> The type of the keys
+ * @param <V> The type of the values
+ */
+public class TtlCache<K, V> {
+
+    private final Map<K, Entry<V>> entries;
+    private final long ttlMs;
+
+    /**
+     * @param ttlMs   The time after which entries expire
+     * @param maxSize The maximum number of entries
+     */
+    public TtlCache(final long ttlMs, final int maxSize) {
+        this.ttlMs = ttlMs;
+        this.entries = new LinkedHashMap<K, Entry<V>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, Entry<V>> eldest) {
+                return this.size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * @param key The key
+     * @return The cached value or null if there is none or it has expired
+     */
+    public synchronized V get(final K key) {
+        final Entry<V> entry = this.entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireTimeMs <= System.currentTimeMillis()) {
+            this.entries.remove(key);
+            return null;
+        }
+        return entry.value;
+    }
+
+    /**
+     * @param key The key
+     * @return True if there is a value for the key which has not expired
+     */
+    public boolean contains(final K key) {
+        return this.get(key) != null;
+    }
+
+    public void put(final K key, final V value) {
+        this.put(key, value, this.ttlMs);
+    }
+
+    /**
+     * Caches a value with a custom time to live.
+     *
+     * @param key   The key
+     * @param value The value
+     * @param ttlMs The time after which the entry expires
+     */
+    public synchronized void put(final K key, final V value, final long ttlMs) {
+        this.entries.put(key, new Entry<>(value, System.currentTimeMillis() + ttlMs));
+    }
+
+    public synchronized void invalidate(final K key) {
+        this.entries.remove(key);
+    }
+
+    public synchronized void clear() {
+        this.entries.clear();
+    }
+
+    /**
+     * @return The number of entries, including expired entries which haven't been removed yet
+     */
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    private static class Entry<V> {
+
+        private final V value;
+        private final long expireTimeMs;
+
+        private Entry(final V value, final long expireTimeMs) {
+            this.value = value;
+            this.expireTimeMs = expireTimeMs;
+        }
+
+    }
+
+}
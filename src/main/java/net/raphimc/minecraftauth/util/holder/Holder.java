@@ -21,10 +21,16 @@ import lombok.Getter;
 import lombok.SneakyThrows;
 import net.raphimc.minecraftauth.util.Expirable;
 import net.raphimc.minecraftauth.util.holder.listener.ChangeListeners;
+import net.raphimc.minecraftauth.util.jfr.JfrEvents;
+import net.raphimc.minecraftauth.util.metrics.Metrics;
 import org.jetbrains.annotations.ApiStatus;
 
 import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * A thread-safe holder for an expirable value that can be refreshed as needed.
@@ -33,20 +39,58 @@ import java.util.concurrent.CompletableFuture;
  */
 public class Holder<T extends Expirable> {
 
+    private static final ClassValue<String> OWNER_NAMES = new ClassValue<String>() {
+        @Override
+        protected String computeValue(final Class<?> type) {
+            return type.getSimpleName();
+        }
+    };
+
+    /**
+     * The actions deferred until the outermost refresh on the current thread has finished or null if the thread isn't refreshing a holder.
+     */
+    private static final ThreadLocal<Set<Runnable>> DEFERRED_ACTIONS = new ThreadLocal<>();
+
     @Getter
     private final ChangeListeners changeListeners = new ChangeListeners();
-    private final IoSupplier<T> supplier;
+    /**
+     * The simple class name of the object owning the holder (For example the auth manager), used to identify it in metrics and JFR events.
+     */
+    @Getter
+    private final String owner;
+    /**
+     * The name of the holder, used to identify it in metrics and JFR events.
+     */
+    @Getter
+    private final String name;
+    private volatile IoSupplier<T> supplier;
     private final Object lock;
 
     private T value;
 
     public Holder(final IoSupplier<T> supplier) {
-        this(supplier, new Object());
+        this(supplier, null);
     }
 
     public Holder(final IoSupplier<T> supplier, final Object lock) {
+        this(null, "unnamed", supplier, lock);
+    }
+
+    public Holder(final Class<?> ownerType, final String name, final IoSupplier<T> supplier) {
+        this(ownerType, name, supplier, null);
+    }
+
+    /**
+     * @param ownerType The type of the object owning the holder or null if unknown.
+     * @param name      The name of the holder.
+     * @param supplier  The supplier used to refresh the value.
+     * @param lock      The lock guarding refreshes or null to use a private lock of the holder.
+     */
+    public Holder(final Class<?> ownerType, final String name, final IoSupplier<T> supplier, final Object lock) {
+        this.owner = ownerType != null ? OWNER_NAMES.get(ownerType) : "unknown";
+        this.name = name;
         this.supplier = supplier;
-        this.lock = lock;
+        this.lock = lock != null ? lock : new Object(); // Never the holder itself, so callers synchronizing on the holder can't block refreshes
     }
 
     /**
@@ -86,7 +130,10 @@ public class Holder<T extends Expirable> {
      * @return The up-to-date value.
      */
     public T getUpToDate() throws IOException {
-        this.refreshIfExpired();
+        final boolean refreshed = this.refreshIfExpired();
+        if (Metrics.isEnabled()) {
+            Metrics.getRecorder().incrementCounter(Metrics.HOLDER_ACCESS, "owner", this.owner, "holder", this.name, "result", refreshed ? "refresh" : "hit");
+        }
         return this.value;
     }
 
@@ -119,9 +166,11 @@ public class Holder<T extends Expirable> {
      * @return True if a refresh was performed, false otherwise.
      */
     public boolean refreshIfExpired() throws IOException {
+        final Object lockWaitEvent = JfrEvents.beginHolderLockWait();
         synchronized (this.lock) {
+            JfrEvents.commitHolderLockWait(lockWaitEvent, this.name, this.owner);
             if (this.isExpired()) {
-                this.refresh();
+                this.refresh(JfrEvents.REASON_EXPIRED);
                 return true;
             }
             return false;
@@ -153,8 +202,10 @@ public class Holder<T extends Expirable> {
      * @return The refreshed value.
      */
     public T refresh() throws IOException {
+        final Object lockWaitEvent = JfrEvents.beginHolderLockWait();
         synchronized (this.lock) {
-            this.set(this.supplier.get());
+            JfrEvents.commitHolderLockWait(lockWaitEvent, this.name, this.owner);
+            this.refresh(JfrEvents.REASON_FORCED);
             return this.value;
         }
     }
@@ -187,4 +238,121 @@ public class Holder<T extends Expirable> {
         }
     }
 
+    /**
+     * Executes the action while holding the refresh lock of this holder, so no refresh can run at the same time.
+     *
+     * @param action The action to execute.
+     */
+    @ApiStatus.Internal
+    public void runLocked(final Runnable action) {
+        synchronized (this.lock) {
+            action.run();
+        }
+    }
+
+    /**
+     * Computes a result while holding the refresh lock of this holder, so no refresh can run at the same time.
+     *
+     * @param action The action to execute.
+     * @param <R>    The type of the result.
+     * @return The result of the action.
+     */
+    @ApiStatus.Internal
+    public <R> R callLocked(final Supplier<R> action) {
+        synchronized (this.lock) {
+            return action.get();
+        }
+    }
+
+    /**
+     * Wraps the supplier which is used to refresh the value.<br>
+     * This can be used to coordinate refreshes with other processes (See {@link net.raphimc.minecraftauth.util.holder.lease.LeasedSupplier}).
+     *
+     * @param decorator The function wrapping the current supplier.
+     */
+    public void decorateSupplier(final UnaryOperator<IoSupplier<T>> decorator) {
+        synchronized (this.lock) {
+            this.supplier = decorator.apply(this.supplier);
+        }
+    }
+
+    /**
+     * Runs the action once the outermost holder refresh on the current thread has finished or immediately if the current thread isn't refreshing a holder.<br>
+     * A refresh usually refreshes the holders it depends on as well. This allows change listeners to handle all resulting changes at once.
+     * Deferring the same action multiple times during a refresh only runs it once.
+     *
+     * @param action The action to run.
+     */
+    @ApiStatus.Internal
+    public static void runAfterRefresh(final Runnable action) {
+        final Set<Runnable> deferredActions = DEFERRED_ACTIONS.get();
+        if (deferredActions != null) {
+            deferredActions.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    private void refresh(final String reason) throws IOException {
+        if (DEFERRED_ACTIONS.get() != null) { // Nested refresh
+            this.refreshValue(reason);
+            return;
+        }
+
+        final Set<Runnable> deferredActions = new LinkedHashSet<>();
+        DEFERRED_ACTIONS.set(deferredActions);
+        Throwable failure = null;
+        try {
+            this.refreshValue(reason);
+        } catch (Throwable e) {
+            failure = e;
+            throw e;
+        } finally {
+            DEFERRED_ACTIONS.remove();
+            // Nested refreshes might have changed values even if the outer refresh failed, so the actions always run. Failing actions don't stop the other ones and never hide the refresh failure
+            RuntimeException actionFailure = null;
+            for (Runnable action : deferredActions) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    if (failure != null) {
+                        failure.addSuppressed(e);
+                    } else if (actionFailure == null) {
+                        actionFailure = e;
+                    } else {
+                        actionFailure.addSuppressed(e);
+                    }
+                }
+            }
+            if (failure == null && actionFailure != null) {
+                throw actionFailure;
+            }
+        }
+    }
+
+    private void refreshValue(final String reason) throws IOException {
+        final Object refreshEvent = JfrEvents.beginHolderRefresh();
+        if (refreshEvent == null && !Metrics.isEnabled()) {
+            this.set(this.supplier.get());
+            return;
+        }
+
+        final String refreshReason = refreshEvent != null ? JfrEvents.getRefreshReason(reason) : reason;
+        final long startTime = System.nanoTime();
+        try {
+            this.set(this.supplier.get());
+        } catch (Throwable e) {
+            this.recordRefresh(refreshEvent, refreshReason, System.nanoTime() - startTime, Metrics.getErrorTag(e));
+            throw e;
+        }
+        this.recordRefresh(refreshEvent, refreshReason, System.nanoTime() - startTime, Metrics.NO_ERROR);
+    }
+
+    private void recordRefresh(final Object refreshEvent, final String reason, final long durationNanos, final String error) {
+        JfrEvents.commitHolderRefresh(refreshEvent, this.name, this.owner, reason, error);
+        if (Metrics.isEnabled()) {
+            Metrics.getRecorder().recordTime(Metrics.HOLDER_REFRESH, durationNanos, "owner", this.owner, "holder", this.name, "reason", reason, "error", error);
+        }
+    }
+
 }
@@ -0,0 +1,213 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.holder;
+
+import net.raphimc.minecraftauth.util.Expirable;
+import net.raphimc.minecraftauth.util.holder.listener.ChangeListener;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+
+/**
+ * A fixed number of holders which are only allocated when they are accessed for the first time.<br>
+ * Until then, their values are stored in a flat array. This keeps auth managers small when only a few of their holders are ever used.
+ */
+@ApiStatus.Internal
+public class LazyHolders {
+
+    /**
+     * Each slot contains either the value of a holder which hasn't been created yet (Or null) or the created holder.
+     */
+    private final AtomicReferenceArray<Object> slots;
+    private final IntFunction<Holder<?>> holderFactory;
+    private final ChangeListener changeListener;
+    private final List<IntConsumer> creationListeners = new CopyOnWriteArrayList<>();
+    /**
+     * Bitmask of the slots whose holders are shared with other objects. The change listener is not added to shared holders, so they don't keep the owner reachable.
+     */
+    private long sharedSlots;
+
+    /**
+     * @param size           The number of holders
+     * @param holderFactory  The function creating the holder for an index
+     * @param changeListener The listener which is added to every created holder
+     */
+    public LazyHolders(final int size, final IntFunction<Holder<?>> holderFactory, final ChangeListener changeListener) {
+        this.slots = new AtomicReferenceArray<>(size);
+        this.holderFactory = holderFactory;
+        this.changeListener = changeListener;
+    }
+
+    /**
+     * Returns the holder for the index and creates it if necessary.
+     *
+     * @param index The index of the holder
+     * @param <T>   The type of the held value
+     * @return The holder
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Expirable> Holder<T> get(final int index) {
+        final Object slot = this.slots.get(index);
+        if (slot instanceof Holder) {
+            return (Holder<T>) slot;
+        }
+
+        synchronized (this) {
+            final Object currentSlot = this.slots.get(index);
+            if (currentSlot instanceof Holder) {
+                return (Holder<T>) currentSlot;
+            }
+
+            final Holder<T> holder = (Holder<T>) this.holderFactory.apply(index);
+            if (currentSlot != null) {
+                holder.set((T) currentSlot);
+            }
+            if (!this.isShared(index)) {
+                holder.getChangeListeners().add(this.changeListener);
+            }
+            this.slots.set(index, holder);
+            for (IntConsumer creationListener : this.creationListeners) {
+                creationListener.accept(index);
+            }
+            return holder;
+        }
+    }
+
+    /**
+     * Returns the holder for the index without creating it.
+     *
+     * @param index The index of the holder
+     * @param <T>   The type of the held value
+     * @return The holder or null if it hasn't been created yet
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Expirable> Holder<T> getIfCreated(final int index) {
+        final Object slot = this.slots.get(index);
+        return slot instanceof Holder ? (Holder<T>) slot : null;
+    }
+
+    /**
+     * Returns the cached value of the holder without creating it.
+     *
+     * @param index The index of the holder
+     * @param <T>   The type of the held value
+     * @return The cached value or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Expirable> T getCached(final int index) {
+        final Object slot = this.slots.get(index);
+        if (slot instanceof Holder) {
+            return ((Holder<T>) slot).getCached();
+        }
+        return (T) slot;
+    }
+
+    /**
+     * Replaces the value of the holder if the given value expires later than the current one. The holder is not created if it doesn't exist yet.
+     *
+     * @param index The index of the holder
+     * @param value The value or null
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Expirable> void adoptIfNewer(final int index, final T value) {
+        if (value == null) {
+            return;
+        }
+
+        final Holder<T> holder;
+        synchronized (this) {
+            final Object slot = this.slots.get(index);
+            if (!(slot instanceof Holder)) {
+                if (slot == null || value.getExpireTimeMs() > ((Expirable) slot).getExpireTimeMs()) {
+                    this.slots.set(index, value);
+                }
+                return;
+            }
+            holder = (Holder<T>) slot;
+        }
+        holder.runLocked(() -> {
+            final T cachedValue = holder.getCached();
+            if (cachedValue == null || value.getExpireTimeMs() > cachedValue.getExpireTimeMs()) {
+                holder.set(value);
+            }
+        });
+    }
+
+    /**
+     * Adds a listener which is called with the index of every holder created from now on.
+     *
+     * @param creationListener The listener
+     */
+    public void addCreationListener(final IntConsumer creationListener) {
+        this.creationListeners.add(creationListener);
+    }
+
+    public void removeCreationListener(final IntConsumer creationListener) {
+        this.creationListeners.remove(creationListener);
+    }
+
+    /**
+     * Marks the holder as shared with other objects.<br>
+     * Shared holders outlive their owner, so the change listener is not added to them (And removed if the holder has already been created).
+     *
+     * @param index The index of the holder
+     */
+    public synchronized void markShared(final int index) {
+        if (index < 0 || index >= Math.min(this.slots.length(), Long.SIZE)) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        this.sharedSlots |= 1L << index;
+        final Object slot = this.slots.get(index);
+        if (slot instanceof Holder) {
+            ((Holder<?>) slot).getChangeListeners().remove(this.changeListener);
+        }
+    }
+
+    /**
+     * @param index The index of the holder
+     * @return True if the holder is shared with other objects
+     */
+    public synchronized boolean isShared(final int index) {
+        return index < Long.SIZE && (this.sharedSlots & (1L << index)) != 0;
+    }
+
+    /**
+     * @return The number of holders
+     */
+    public int size() {
+        return this.slots.length();
+    }
+
+    /**
+     * Sets the value of a holder which hasn't been created yet.
+     *
+     * @param index The index of the holder
+     * @param value The value
+     */
+    public synchronized void setInitialValue(final int index, final Expirable value) {
+        if (this.slots.get(index) instanceof Holder) {
+            throw new IllegalStateException("Holder has already been created");
+        }
+        this.slots.set(index, value);
+    }
+
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.holder.lease;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import lombok.Getter;
+import net.raphimc.minecraftauth.util.FileUtil;
+import net.raphimc.minecraftauth.util.holder.IoSupplier;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.UUID;
+
+/**
+ * A {@link TokenLeaseStore} backed by a shared directory (For example a network share or a local directory for testing).<br>
+ * Leases and values are stored as JSON files. All modifications are guarded by a file lock and values are replaced atomically, so readers never see partially written files.
+ */
+public class FileTokenLeaseStore implements TokenLeaseStore {
+
+    @Getter
+    private final Path directory;
+    @Getter
+    private final String nodeId;
+
+    public FileTokenLeaseStore(final Path directory) throws IOException {
+        this(directory, UUID.randomUUID().toString());
+    }
+
+    /**
+     * @param directory The shared directory
+     * @param nodeId    The id of this process, stored in the lease files to make it easier to see which process holds a lease
+     */
+    public FileTokenLeaseStore(final Path directory, final String nodeId) throws IOException {
+        this.directory = directory.toAbsolutePath().normalize();
+        this.nodeId = nodeId;
+        Files.createDirectories(this.directory);
+    }
+
+    @Override
+    public Lease tryAcquire(final String key, final long leaseDurationMs) throws IOException {
+        return this.withFileLock(key, () -> {
+            final JsonObject currentLease = readJson(this.getLeasePath(key));
+            if (currentLease != null && currentLease.get("expireTimeMs").getAsLong() > System.currentTimeMillis()) {
+                return null;
+            }
+
+            final String leaseId = UUID.randomUUID().toString();
+            final JsonObject lease = new JsonObject();
+            lease.addProperty("leaseId", leaseId);
+            lease.addProperty("nodeId", this.nodeId);
+            lease.addProperty("expireTimeMs", System.currentTimeMillis() + leaseDurationMs);
+            this.writeAtomically(this.getLeasePath(key), lease);
+            return new FileLease(key, leaseId);
+        });
+    }
+
+    @Override
+    public JsonObject read(final String key) throws IOException {
+        return readJson(this.getValuePath(key));
+    }
+
+    private <T> T withFileLock(final String key, final IoSupplier<T> action) throws IOException {
+        return FileUtil.withLock(this.directory.resolve(fileName(key) + ".lock"), action);
+    }
+
+    private boolean isLeaseHeld(final String key, final String leaseId) throws IOException {
+        final JsonObject currentLease = readJson(this.getLeasePath(key));
+        return currentLease != null && leaseId.equals(currentLease.get("leaseId").getAsString());
+    }
+
+    private void writeAtomically(final Path path, final JsonObject json) throws IOException {
+        FileUtil.writeAtomically(path, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path getLeasePath(final String key) {
+        return this.directory.resolve(fileName(key) + ".lease");
+    }
+
+    private Path getValuePath(final String key) {
+        return this.directory.resolve(fileName(key) + ".json");
+    }
+
+    private static JsonObject readJson(final Path path) throws IOException {
+        try {
+            return JsonParser.parseString(new String(Files.readAllBytes(path), StandardCharsets.UTF_8)).getAsJsonObject();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static String fileName(final String key) {
+        final StringBuilder fileName = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            final char c = key.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '.' || c == '-' || c == '_') {
+                fileName.append(c);
+            } else {
+                fileName.append('%').append(String.format("%04X", (int) c));
+            }
+        }
+        return fileName.toString();
+    }
+
+    private class FileLease implements Lease {
+
+        @Getter
+        private final String key;
+        private final String leaseId;
+
+        private FileLease(final String key, final String leaseId) {
+            this.key = key;
+            this.leaseId = leaseId;
+        }
+
+        @Override
+        public boolean publish(final JsonObject value) throws IOException {
+            return FileTokenLeaseStore.this.withFileLock(this.key, () -> {
+                if (!FileTokenLeaseStore.this.isLeaseHeld(this.key, this.leaseId)) {
+                    return false;
+                }
+                FileTokenLeaseStore.this.writeAtomically(FileTokenLeaseStore.this.getValuePath(this.key), value);
+                return true;
+            });
+        }
+
+        @Override
+        public void close() throws IOException {
+            FileTokenLeaseStore.this.withFileLock(this.key, () -> {
+                if (FileTokenLeaseStore.this.isLeaseHeld(this.key, this.leaseId)) {
+                    Files.deleteIfExists(FileTokenLeaseStore.this.getLeasePath(this.key));
+                }
+                return null;
+            });
+        }
+
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.holder.lease;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import lombok.Setter;
+import net.raphimc.minecraftauth.util.Expirable;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.holder.IoSupplier;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * A supplier which coordinates the refresh of a {@link Holder} with other processes using a {@link TokenLeaseStore}.<br>
+ * Only the process holding the lease calls the original supplier and publishes the result. All other processes wait for the published value.<br>
+ * Before refreshing, the lease holder adopts the last published value. This is important for tokens which are rotated on refresh (Like the MSA refresh token).
+ * <pre>
+ * LeasedSupplier.install(authManager.getMsaToken(), store, accountId + ".msaToken", MsaToken::toJson, MsaToken::fromJson);
+ * </pre>
+ *
+ * @param <T> The type of the held value
+ */
+@Getter
+@Setter
+public class LeasedSupplier<T extends Expirable> implements IoSupplier<T> {
+
+    /**
+     * Wraps the supplier of the holder with a leased supplier.
+     *
+     * @param holder       The holder
+     * @param store        The token store
+     * @param key          The key of the token in the store (Must be unique per account and holder)
+     * @param serializer   The function to serialize the value
+     * @param deserializer The function to deserialize the value
+     * @param <T>          The type of the held value
+     * @return The installed leased supplier, which can be used to change the timeouts
+     */
+    public static <T extends Expirable> LeasedSupplier<T> install(final Holder<T> holder, final TokenLeaseStore store, final String key, final Function<T, JsonObject> serializer, final Function<JsonObject, T> deserializer) {
+        final AtomicReference<LeasedSupplier<T>> leasedSupplier = new AtomicReference<>();
+        holder.decorateSupplier(supplier -> {
+            leasedSupplier.set(new LeasedSupplier<>(holder, supplier, store, key, serializer, deserializer));
+            return leasedSupplier.get();
+        });
+        return leasedSupplier.get();
+    }
+
+    private final Holder<T> holder;
+    private final IoSupplier<T> delegate;
+    private final TokenLeaseStore store;
+    private final String key;
+    private final Function<T, JsonObject> serializer;
+    private final Function<JsonObject, T> deserializer;
+    private volatile long leaseDurationMs = TimeUnit.SECONDS.toMillis(30);
+    private volatile long waitTimeoutMs = TimeUnit.SECONDS.toMillis(60);
+    private volatile long pollIntervalMs = 250;
+
+    public LeasedSupplier(final Holder<T> holder, final IoSupplier<T> delegate, final TokenLeaseStore store, final String key, final Function<T, JsonObject> serializer, final Function<JsonObject, T> deserializer) {
+        this.holder = holder;
+        this.delegate = delegate;
+        this.store = store;
+        this.key = key;
+        this.serializer = serializer;
+        this.deserializer = deserializer;
+    }
+
+    @Override
+    public T get() throws IOException {
+        final long deadline = System.currentTimeMillis() + this.waitTimeoutMs;
+        while (true) {
+            final T publishedValue = this.readNewerValue();
+            if (publishedValue != null && !publishedValue.isExpired()) {
+                return publishedValue;
+            }
+
+            try (TokenLeaseStore.Lease lease = this.store.tryAcquire(this.key, this.leaseDurationMs)) {
+                if (lease != null) {
+                    final T latestValue = this.readNewerValue(); // The previous lease holder might have published a value in the meantime
+                    if (latestValue != null) {
+                        if (!latestValue.isExpired()) {
+                            return latestValue;
+                        }
+                        this.holder.set(latestValue);
+                    }
+
+                    final T value = this.delegate.get();
+                    lease.publish(this.serializer.apply(value));
+                    return value;
+                }
+            }
+
+            if (System.currentTimeMillis() >= deadline) {
+                throw new IOException("Timed out waiting for another process to refresh " + this.key);
+            }
+            try {
+                Thread.sleep(this.pollIntervalMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for another process to refresh " + this.key);
+            }
+        }
+    }
+
+    /**
+     * @return The published value if it expires later than the cached value of the holder, otherwise null
+     */
+    private T readNewerValue() throws IOException {
+        final JsonObject json = this.store.read(this.key);
+        if (json == null) {
+            return null;
+        }
+
+        final T publishedValue = this.deserializer.apply(json);
+        final T cachedValue = this.holder.getCached();
+        if (cachedValue != null && publishedValue.getExpireTimeMs() <= cachedValue.getExpireTimeMs()) {
+            return null;
+        }
+        return publishedValue;
+    }
+
+}
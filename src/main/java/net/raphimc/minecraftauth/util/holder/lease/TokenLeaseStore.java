@@ -0,0 +1,70 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.holder.lease;
+
+import com.google.gson.JsonObject;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A token store shared between multiple processes (For example several nodes running the same accounts).<br>
+ * Leases make sure that only one process refreshes a token at a time. All other processes read the value published by the lease holder.
+ *
+ * @see LeasedSupplier
+ * @see FileTokenLeaseStore
+ */
+public interface TokenLeaseStore {
+
+    /**
+     * Tries to acquire the lease for the given key.<br>
+     * Leases expire after the given duration, so a crashed process can't block the refresh forever.
+     *
+     * @param key             The key of the token
+     * @param leaseDurationMs The time after which the lease expires if it isn't released
+     * @return The acquired lease or null if another process currently holds the lease
+     */
+    Lease tryAcquire(final String key, final long leaseDurationMs) throws IOException;
+
+    /**
+     * @param key The key of the token
+     * @return The last published value or null if no value has been published yet
+     */
+    JsonObject read(final String key) throws IOException;
+
+    interface Lease extends Closeable {
+
+        String getKey();
+
+        /**
+         * Publishes a value for the key of the lease.
+         *
+         * @param value The value to publish
+         * @return True if the value was published, false if the lease expired and was acquired by another process in the meantime
+         */
+        boolean publish(final JsonObject value) throws IOException;
+
+        /**
+         * Releases the lease.
+         */
+        @Override
+        void close() throws IOException;
+
+    }
+
+}
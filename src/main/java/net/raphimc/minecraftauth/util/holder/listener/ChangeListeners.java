@@ -23,29 +23,41 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class ChangeListeners {
+/**
+ * A list of change listeners.<br>
+ * The list itself is only allocated when the first listener is added. ChangeListeners can be added to other ChangeListeners to forward all changes.
+ */
+public class ChangeListeners implements ChangeListener {
 
-    private final List<ChangeListener> changeListeners = new ArrayList<>();
+    private List<ChangeListener> changeListeners;
 
     public synchronized void add(final ChangeListener listener) {
+        if (this.changeListeners == null) {
+            this.changeListeners = new ArrayList<>(2);
+        }
         this.changeListeners.add(listener);
     }
 
     public synchronized void add(final BasicChangeListener listener) {
-        this.changeListeners.add(listener);
+        this.add((ChangeListener) listener);
     }
 
     public synchronized boolean remove(final ChangeListener listener) {
-        return this.changeListeners.remove(listener);
+        return this.changeListeners != null && this.changeListeners.remove(listener);
     }
 
     public synchronized boolean remove(final BasicChangeListener listener) {
-        return this.changeListeners.remove(listener);
+        return this.remove((ChangeListener) listener);
+    }
+
+    @Override
+    public <T> void onChange(final T oldValue, final T newValue) {
+        this.invoke(oldValue, newValue);
     }
 
     @ApiStatus.Internal
     public synchronized <T> void invoke(final T oldValue, final T newValue) {
-        if (!Objects.equals(oldValue, newValue)) {
+        if (this.changeListeners != null && !Objects.equals(oldValue, newValue)) {
             for (ChangeListener listener : this.changeListeners) {
                 listener.onChange(oldValue, newValue);
             }
@@ -0,0 +1,78 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.http;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Allows redirecting the requests made by MinecraftAuth to a different server (For example a local stub server).<br>
+ * Overrides are registered by base url (Scheme, host and an optional path prefix) and apply to every request url which starts with it.
+ */
+public class BaseUrlOverrides {
+
+    private static final Map<String, String> OVERRIDES = new ConcurrentHashMap<>();
+
+    /**
+     * Redirects all requests starting with the given base url to the override base url.
+     *
+     * @param baseUrl         The original base url (For example {@code https://api.minecraftservices.com/})
+     * @param overrideBaseUrl The base url which should be used instead (For example {@code http://127.0.0.1:8080/api.minecraftservices.com/})
+     */
+    public static void set(final String baseUrl, final String overrideBaseUrl) {
+        OVERRIDES.put(baseUrl, overrideBaseUrl);
+    }
+
+    public static void remove(final String baseUrl) {
+        OVERRIDES.remove(baseUrl);
+    }
+
+    public static void clear() {
+        OVERRIDES.clear();
+    }
+
+    public static Map<String, String> getAll() {
+        return Collections.unmodifiableMap(OVERRIDES);
+    }
+
+    /**
+     * Applies the longest matching override to the given url.
+     *
+     * @param url The original url
+     * @return The overridden url or the original url if no override matches
+     */
+    public static String apply(final String url) {
+        if (OVERRIDES.isEmpty()) {
+            return url;
+        }
+
+        String matchedBaseUrl = null;
+        for (String baseUrl : OVERRIDES.keySet()) {
+            if (url.startsWith(baseUrl) && (matchedBaseUrl == null || baseUrl.length() > matchedBaseUrl.length())) {
+                matchedBaseUrl = baseUrl;
+            }
+        }
+        if (matchedBaseUrl == null) {
+            return url;
+        }
+        final String overrideBaseUrl = OVERRIDES.get(matchedBaseUrl);
+        return overrideBaseUrl != null ? overrideBaseUrl + url.substring(matchedBaseUrl.length()) : url;
+    }
+
+}
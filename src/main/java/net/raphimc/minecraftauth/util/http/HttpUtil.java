@@ -0,0 +1,118 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.http;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.handler.HttpResponseHandler;
+import net.lenni0451.commons.httpclient.requests.HttpRequest;
+import net.raphimc.minecraftauth.util.jfr.JfrEvents;
+import net.raphimc.minecraftauth.util.metrics.Metrics;
+import net.raphimc.minecraftauth.util.metrics.MetricsRecorder;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+public class HttpUtil {
+
+    /**
+     * Executes the given request and handles the response with the request itself.<br>
+     * Behaves like {@link HttpClient#executeAndHandle}, but records the request metrics and JFR event if they are enabled.
+     *
+     * @param httpClient The http client
+     * @param request    The request which also acts as the response handler
+     * @param <R>        The result type
+     * @param <T>        The request type
+     * @return The handled result
+     */
+    public static <R, T extends HttpRequest & HttpResponseHandler<R>> R executeAndHandle(final HttpClient httpClient, final T request) throws IOException {
+        return executeAndHandle(httpClient, request, request);
+    }
+
+    /**
+     * Executes the given request and handles the response with the given response handler.<br>
+     * Behaves like {@link HttpClient#execute(HttpRequest, HttpResponseHandler)}, but records the request metrics and JFR event if they are enabled.
+     *
+     * @param httpClient      The http client
+     * @param request         The request
+     * @param responseHandler The response handler
+     * @param <R>             The result type
+     * @return The handled result
+     */
+    public static <R> R executeAndHandle(final HttpClient httpClient, final HttpRequest request, final HttpResponseHandler<R> responseHandler) throws IOException {
+        final Object jfrEvent = JfrEvents.beginHttpRequest();
+        if (jfrEvent == null && !Metrics.isEnabled()) {
+            return httpClient.execute(request, responseHandler);
+        }
+
+        final long startTime = System.nanoTime();
+        final HttpResponse response;
+        try {
+            response = httpClient.execute(request);
+        } catch (Throwable e) {
+            recordRequest(jfrEvent, request, null, System.nanoTime() - startTime, Metrics.getErrorTag(e));
+            throw e;
+        }
+        try {
+            final R result = responseHandler.handle(response);
+            recordRequest(jfrEvent, request, response, System.nanoTime() - startTime, Metrics.NO_ERROR);
+            return result;
+        } catch (Throwable e) {
+            recordRequest(jfrEvent, request, response, System.nanoTime() - startTime, Metrics.getErrorTag(e));
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the charset declared in the Content-Type header of the response.
+     *
+     * @param response The response
+     * @return The declared charset or UTF-8 if none (Or an unsupported one) is declared
+     */
+    public static Charset getCharset(final HttpResponse response) {
+        final String contentType = response.getFirstHeader("Content-Type").orElse(null);
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                final String[] keyValue = parameter.trim().split("=", 2);
+                if (keyValue.length == 2 && keyValue[0].trim().equalsIgnoreCase("charset")) {
+                    try {
+                        return Charset.forName(keyValue[1].trim().replace("\"", ""));
+                    } catch (IllegalArgumentException ignored) {
+                    }
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static void recordRequest(final Object jfrEvent, final HttpRequest request, final HttpResponse response, final long durationNanos, final String error) {
+        final String requestName = request.getClass().getSimpleName();
+        final String host = request.getURL().getHost();
+        final int responseSize = response != null ? response.getContent().getAsBytes().length : 0;
+        JfrEvents.commitHttpRequest(jfrEvent, requestName, request.getMethod(), host, response != null ? response.getStatusCode() : -1, responseSize, error);
+        if (Metrics.isEnabled()) {
+            final MetricsRecorder recorder = Metrics.getRecorder();
+            recorder.recordTime(Metrics.HTTP_REQUEST, durationNanos, "request", requestName, "host", host, "status", response != null ? String.valueOf(response.getStatusCode()) : "none", "error", error);
+            if (response != null) {
+                recorder.recordValue(Metrics.HTTP_RESPONSE_SIZE, responseSize, "request", requestName, "host", host);
+            }
+        }
+    }
+
+}
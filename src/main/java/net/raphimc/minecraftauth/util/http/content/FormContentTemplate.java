@@ -0,0 +1,62 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.http.content;
+
+import net.lenni0451.commons.httpclient.constants.ContentTypes;
+import net.lenni0451.commons.httpclient.content.impl.StringContent;
+import net.lenni0451.commons.httpclient.utils.URLCoder;
+
+import java.util.Map;
+
+/**
+ * A url encoded form request body whose constant parameters are encoded once and then reused for every request.<br>
+ * The dynamic parameters are appended after the constant ones in the order they were specified.
+ */
+public class FormContentTemplate {
+
+    private final String[] segments;
+
+    public FormContentTemplate(final Map<String, String> constantParameters, final String... dynamicParameterNames) {
+        final StringBuilder prefix = new StringBuilder();
+        for (Map.Entry<String, String> entry : constantParameters.entrySet()) {
+            if (prefix.length() > 0) {
+                prefix.append('&');
+            }
+            prefix.append(URLCoder.encode(entry.getKey())).append('=').append(URLCoder.encode(entry.getValue()));
+        }
+
+        this.segments = new String[dynamicParameterNames.length];
+        for (int i = 0; i < dynamicParameterNames.length; i++) {
+            final String separator = (i == 0 && prefix.length() == 0) ? "" : "&";
+            this.segments[i] = (i == 0 ? prefix.toString() : "") + separator + URLCoder.encode(dynamicParameterNames[i]) + '=';
+        }
+    }
+
+    public StringContent render(final String... values) {
+        if (values.length != this.segments.length) {
+            throw new IllegalArgumentException("Expected " + this.segments.length + " values, got " + values.length);
+        }
+
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            builder.append(this.segments[i]).append(URLCoder.encode(values[i]));
+        }
+        return new StringContent(ContentTypes.APPLICATION_FORM_URLENCODED, builder.toString());
+    }
+
+}
@@ -17,6 +17,7 @@
  */
 package net.raphimc.minecraftauth.util.http.content;
 
+import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.constants.ContentTypes;
@@ -29,7 +30,15 @@ public class JsonContent extends StringContent {
     }
 
     public JsonContent(final JsonObject json) {
-        super(ContentTypes.APPLICATION_JSON, json.toString());
+        this(json.toString());
+    }
+
+    public JsonContent(final JsonArray json) {
+        this(json.toString());
+    }
+
+    JsonContent(final String json) {
+        super(ContentTypes.APPLICATION_JSON, json);
     }
 
 }
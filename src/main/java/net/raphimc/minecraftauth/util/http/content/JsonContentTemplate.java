@@ -0,0 +1,115 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.http.content;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A json request body which is serialized once and then reused for every request.<br>
+ * The template is created from a json object which contains {@link #placeholder(int)} strings (Either as a full value or as part of a string value) where the dynamic values should be inserted.<br>
+ * Placeholders have to appear in ascending order in the serialized json.
+ */
+public class JsonContentTemplate {
+
+    private static final char PLACEHOLDER_MARKER = '\u0000';
+
+    public static String placeholder(final int index) {
+        return PLACEHOLDER_MARKER + "placeholder-" + index + PLACEHOLDER_MARKER;
+    }
+
+    private final String[] segments;
+    private final int length;
+
+    public JsonContentTemplate(final JsonObject template) {
+        final String json = template.toString();
+        final List<String> segments = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            final String placeholder = new JsonPrimitive(placeholder(segments.size())).toString();
+            final String escapedPlaceholder = placeholder.substring(1, placeholder.length() - 1);
+            final int index = json.indexOf(escapedPlaceholder, start);
+            if (index == -1) {
+                break;
+            }
+            segments.add(json.substring(start, index));
+            start = index + escapedPlaceholder.length();
+        }
+        segments.add(json.substring(start));
+        this.segments = segments.toArray(new String[0]);
+        this.length = json.length();
+    }
+
+    public JsonContent render(final String... values) {
+        if (values.length != this.segments.length - 1) {
+            throw new IllegalArgumentException("Expected " + (this.segments.length - 1) + " values, got " + values.length);
+        }
+
+        int capacity = this.length;
+        for (String value : values) {
+            capacity += value.length() + 8;
+        }
+        final StringBuilder builder = new StringBuilder(capacity);
+        for (int i = 0; i < values.length; i++) {
+            builder.append(this.segments[i]);
+            appendEscaped(builder, values[i]);
+        }
+        builder.append(this.segments[values.length]);
+        return new JsonContent(builder.toString());
+    }
+
+    private static void appendEscaped(final StringBuilder builder, final String value) {
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                default:
+                    if (c < 0x20 || c == 0x2028 || c == 0x2029) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+                    break;
+            }
+        }
+    }
+
+}
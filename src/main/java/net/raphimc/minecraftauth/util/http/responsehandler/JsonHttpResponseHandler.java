@@ -17,36 +17,54 @@
  */
 package net.raphimc.minecraftauth.util.http.responsehandler;
 
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import net.lenni0451.commons.gson.GsonParser;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.constants.ContentTypes;
 import net.lenni0451.commons.httpclient.constants.StatusCodes;
 import net.lenni0451.commons.httpclient.handler.HttpResponseHandler;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
 import net.raphimc.minecraftauth.util.http.exception.InformativeHttpRequestException;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 
 public interface JsonHttpResponseHandler<R> extends HttpResponseHandler<R> {
 
     @Override
     default R handle(final HttpResponse response) throws IOException {
-        final String content = response.getContent().getAsString();
-        if (content.isEmpty() && response.getStatusCode() == StatusCodes.NO_CONTENT) {
+        final byte[] content = response.getContent().getAsBytes();
+        if (content.length == 0 && response.getStatusCode() == StatusCodes.NO_CONTENT) {
             return null;
         }
-        if (content.isEmpty() && response.getStatusCode() >= 300) {
+        if (content.length == 0 && response.getStatusCode() >= 300) {
             throw new InformativeHttpRequestException(response, "Empty response");
         }
         if (!response.getContent().getType().getMimeType().equals(ContentTypes.APPLICATION_JSON.getMimeType())) {
             throw new InformativeHttpRequestException(response, "Wrong content type");
         }
-        final GsonObject json = GsonParser.parse(content).asObject();
         if (response.getStatusCode() >= 300) {
-            this.handleError(response, json);
-            throw new InformativeHttpRequestException(response, content);
+            final String contentString = response.getContent().getAsString();
+            this.handleError(response, GsonParser.parse(contentString).asObject());
+            throw new InformativeHttpRequestException(response, contentString);
         }
-        return this.handle(response, json);
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(content), HttpUtil.getCharset(response)))) {
+            reader.setStrictness(Strictness.LENIENT); // Same leniency as GsonParser.parse(String)
+            final R result = this.handle(response, reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new JsonSyntaxException("Did not consume the entire document.");
+            }
+            return result;
+        }
+    }
+
+    default R handle(final HttpResponse response, final JsonReader reader) throws IOException {
+        return this.handle(response, GsonParser.parse(reader).asObject());
     }
 
     R handle(final HttpResponse response, final GsonObject json) throws IOException;
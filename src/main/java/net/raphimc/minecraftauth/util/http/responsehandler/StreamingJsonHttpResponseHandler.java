@@ -0,0 +1,62 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.http.responsehandler;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpResponse;
+
+import java.io.IOException;
+
+/**
+ * A {@link JsonHttpResponseHandler} which decodes successful responses directly from the response body instead of building a json tree first.<br>
+ * Error responses are still parsed into a tree and passed to {@link #handleError(HttpResponse, GsonObject)}.
+ */
+public interface StreamingJsonHttpResponseHandler<R> extends JsonHttpResponseHandler<R> {
+
+    @Override
+    R handle(final HttpResponse response, final JsonReader reader) throws IOException;
+
+    @Override
+    default R handle(final HttpResponse response, final GsonObject json) throws IOException {
+        // TypeAdapter#fromJsonTree walks the existing tree, so it doesn't have to be serialized and parsed again
+        final TypeAdapter<R> adapter = new TypeAdapter<R>() {
+            @Override
+            public void write(final JsonWriter out, final R value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public R read(final JsonReader in) throws IOException {
+                return StreamingJsonHttpResponseHandler.this.handle(response, in);
+            }
+        };
+        try {
+            return adapter.fromJsonTree(json.getJsonObject());
+        } catch (JsonIOException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.raphimc.minecraftauth.HolderLockWait")
+@Label("Auth Holder Lock Wait")
+@Category({"MinecraftAuth"})
+@Description("Time spent waiting for the lock of a token holder")
+@Enabled(false)
+@Threshold("10 ms")
+class HolderLockWaitEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(HolderLockWaitEvent.class);
+
+    static HolderLockWaitEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final HolderLockWaitEvent event = new HolderLockWaitEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commit(final HolderLockWaitEvent event, final String holder, final String owner) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.holder = holder;
+            event.owner = owner;
+            event.commit();
+        }
+    }
+
+    @Label("Holder")
+    String holder;
+
+    @Label("Owner")
+    String owner;
+
+}
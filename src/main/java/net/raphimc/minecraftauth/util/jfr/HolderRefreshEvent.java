@@ -0,0 +1,65 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.raphimc.minecraftauth.HolderRefresh")
+@Label("Auth Holder Refresh")
+@Category({"MinecraftAuth"})
+@Description("A refresh of a token holder")
+@Enabled(false)
+@StackTrace(false)
+class HolderRefreshEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(HolderRefreshEvent.class);
+
+    static HolderRefreshEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final HolderRefreshEvent event = new HolderRefreshEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commit(final HolderRefreshEvent event, final String holder, final String owner, final String reason, final String error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.holder = holder;
+            event.owner = owner;
+            event.reason = reason;
+            event.error = error;
+            event.commit();
+        }
+    }
+
+    @Label("Holder")
+    String holder;
+
+    @Label("Owner")
+    String owner;
+
+    @Label("Reason")
+    @Description("Why the holder was refreshed (expired, forced or dependency)")
+    String reason;
+
+    @Label("Error")
+    String error;
+
+}
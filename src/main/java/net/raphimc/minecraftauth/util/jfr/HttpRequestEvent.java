@@ -0,0 +1,73 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.jfr;
+
+import jdk.jfr.*;
+
+@Name("net.raphimc.minecraftauth.HttpRequest")
+@Label("Auth HTTP Request")
+@Category({"MinecraftAuth"})
+@Description("An HTTP request sent by MinecraftAuth")
+@Enabled(false)
+@StackTrace(false)
+class HttpRequestEvent extends Event {
+
+    private static final EventType TYPE = EventType.getEventType(HttpRequestEvent.class);
+
+    static HttpRequestEvent beginIfEnabled() {
+        if (!TYPE.isEnabled()) {
+            return null;
+        }
+        final HttpRequestEvent event = new HttpRequestEvent();
+        event.begin();
+        return event;
+    }
+
+    static void commit(final HttpRequestEvent event, final String requestClass, final String method, final String host, final int statusCode, final long responseSize, final String error) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.requestClass = requestClass;
+            event.method = method;
+            event.host = host;
+            event.statusCode = statusCode;
+            event.responseSize = responseSize;
+            event.error = error;
+            event.commit();
+        }
+    }
+
+    @Label("Request Class")
+    String requestClass;
+
+    @Label("Method")
+    String method;
+
+    @Label("Host")
+    String host;
+
+    @Label("Status Code")
+    int statusCode;
+
+    @Label("Response Size")
+    @DataAmount
+    long responseSize;
+
+    @Label("Error")
+    String error;
+
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.jfr;
+
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Emits the Java Flight Recorder events of MinecraftAuth.<br>
+ * The events are disabled by default and can be enabled with the bundled {@code minecraftauth.jfc} settings profile
+ * (For example {@code -XX:StartFlightRecording:settings=default,settings=minecraftauth.jfc} after extracting it from the jar).<br>
+ * While an event type is disabled, the corresponding begin method returns null without allocating anything.
+ * On JVMs without the JFR event API all methods do nothing.
+ */
+@ApiStatus.Internal
+public class JfrEvents {
+
+    public static final String REASON_EXPIRED = "expired";
+    public static final String REASON_FORCED = "forced";
+    public static final String REASON_DEPENDENCY = "dependency";
+
+    private static final boolean AVAILABLE = isJfrAvailable();
+    private static final ThreadLocal<int[]> REFRESH_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    public static Object beginHttpRequest() {
+        return AVAILABLE ? HttpRequestEvent.beginIfEnabled() : null;
+    }
+
+    public static void commitHttpRequest(final Object event, final String requestClass, final String method, final String host, final int statusCode, final long responseSize, final String error) {
+        if (event != null) {
+            HttpRequestEvent.commit((HttpRequestEvent) event, requestClass, method, host, statusCode, responseSize, error);
+        }
+    }
+
+    /**
+     * Begins a holder refresh event and tracks the refresh on the current thread, so that refreshes of dependencies can be detected.
+     *
+     * @return The event or null if the event is disabled
+     */
+    public static Object beginHolderRefresh() {
+        if (!AVAILABLE) {
+            return null;
+        }
+        final Object event = HolderRefreshEvent.beginIfEnabled();
+        if (event != null) {
+            REFRESH_DEPTH.get()[0]++;
+        }
+        return event;
+    }
+
+    /**
+     * Returns the reason to report for a refresh which was begun with {@link #beginHolderRefresh()}.
+     *
+     * @param reason The reason given by the holder
+     * @return {@link #REASON_DEPENDENCY} if the refresh was triggered by the refresh of another holder, otherwise the given reason
+     */
+    public static String getRefreshReason(final String reason) {
+        return REFRESH_DEPTH.get()[0] > 1 ? REASON_DEPENDENCY : reason;
+    }
+
+    public static void commitHolderRefresh(final Object event, final String holder, final String owner, final String reason, final String error) {
+        if (event != null) {
+            REFRESH_DEPTH.get()[0]--;
+            HolderRefreshEvent.commit((HolderRefreshEvent) event, holder, owner, reason, error);
+        }
+    }
+
+    public static Object beginHolderLockWait() {
+        return AVAILABLE ? HolderLockWaitEvent.beginIfEnabled() : null;
+    }
+
+    public static void commitHolderLockWait(final Object event, final String holder, final String owner) {
+        if (event != null) {
+            HolderLockWaitEvent.commit((HolderLockWaitEvent) event, holder, owner);
+        }
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event");
+            Class.forName("jdk.jfr.EventType");
+            return true;
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+}
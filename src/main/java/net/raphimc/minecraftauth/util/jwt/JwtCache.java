@@ -0,0 +1,134 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.jwt;
+
+import java.lang.ref.SoftReference;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An optional global cache for parsed JWTs.<br>
+ * By default, models keep their parsed JWTs for as long as they live. When the cache is enabled, parsed JWTs are only kept in this size-bounded LRU cache instead,
+ * which trades re-parsing evicted JWTs for a lower retained heap when many models are kept in memory.<br>
+ * Optionally, the cached JWTs can be held by soft references, so they can be reclaimed by the garbage collector under memory pressure.
+ */
+public class JwtCache {
+
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+    private static final Map<String, Object> CACHE = new LinkedHashMap<String, Object>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Object> eldest) {
+            if (this.size() > maxSize) {
+                EVICTIONS.increment();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    private static volatile int maxSize = 0;
+    private static volatile boolean softReferences = false;
+
+    /**
+     * Enables the cache with the given maximum number of entries or disables it if the size is 0.
+     *
+     * @param maxSize        The maximum number of cached JWTs
+     * @param softReferences Whether the cached JWTs should be held by soft references
+     */
+    public static void configure(final int maxSize, final boolean softReferences) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Max size must not be negative");
+        }
+        synchronized (CACHE) {
+            JwtCache.maxSize = maxSize;
+            JwtCache.softReferences = softReferences;
+            final Iterator<Object> iterator = CACHE.values().iterator();
+            while (CACHE.size() > maxSize && iterator.hasNext()) {
+                iterator.next();
+                iterator.remove();
+                EVICTIONS.increment();
+            }
+        }
+    }
+
+    public static boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the parsed JWT from the cache or parses and caches it.
+     *
+     * @param compactJwt The JWT string
+     * @return The parsed JWT
+     */
+    @SuppressWarnings("unchecked")
+    public static Jwt get(final String compactJwt) {
+        synchronized (CACHE) {
+            final Object cached = CACHE.get(compactJwt);
+            final Jwt jwt = cached instanceof SoftReference ? ((SoftReference<Jwt>) cached).get() : (Jwt) cached;
+            if (jwt != null) {
+                HITS.increment();
+                return jwt;
+            }
+        }
+
+        MISSES.increment();
+        final Jwt jwt = Jwt.parse(compactJwt);
+        synchronized (CACHE) {
+            if (maxSize > 0) {
+                CACHE.put(compactJwt, softReferences ? new SoftReference<>(jwt) : jwt);
+            }
+        }
+        return jwt;
+    }
+
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    public static void clear() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    public static long getEvictionCount() {
+        return EVICTIONS.sum();
+    }
+
+    public static void resetStatistics() {
+        HITS.reset();
+        MISSES.reset();
+        EVICTIONS.reset();
+    }
+
+}
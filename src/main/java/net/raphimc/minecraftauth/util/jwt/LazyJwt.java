@@ -0,0 +1,44 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.jwt;
+
+/**
+ * A lazily parsed JWT of a model.<br>
+ * If the {@link JwtCache} is enabled, the parsed JWT is stored in the cache instead of in this object.<br>
+ * Models still allocate one LazyJwt per JWT field in that case. The wrapper itself is small (An object header and a single reference), the retained heap is saved by not keeping the parsed JWT.
+ */
+public class LazyJwt {
+
+    private volatile Jwt jwt;
+
+    public Jwt get(final String compactJwt) {
+        if (JwtCache.isEnabled()) {
+            if (this.jwt != null) { // Parsed before the cache was enabled
+                this.jwt = null;
+            }
+            return JwtCache.get(compactJwt);
+        }
+
+        Jwt jwt = this.jwt;
+        if (jwt == null) {
+            this.jwt = jwt = Jwt.parse(compactJwt);
+        }
+        return jwt;
+    }
+
+}
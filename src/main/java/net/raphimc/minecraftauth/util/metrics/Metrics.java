@@ -0,0 +1,85 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.metrics;
+
+import net.lenni0451.commons.httpclient.exceptions.HttpRequestException;
+import net.raphimc.minecraftauth.util.http.exception.ApiHttpRequestException;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Global entry point for the metrics recorded by MinecraftAuth.<br>
+ * By default all metrics are discarded. Call sites check {@link #isEnabled()} before building any tags, so the disabled state only costs a volatile read.
+ */
+public class Metrics {
+
+    /**
+     * Timer for every HTTP request. Tags: request, host, status, error
+     */
+    public static final String HTTP_REQUEST = "minecraftauth.http.request";
+    /**
+     * Histogram of the response body sizes in bytes. Tags: request, host
+     */
+    public static final String HTTP_RESPONSE_SIZE = "minecraftauth.http.response.size";
+    /**
+     * Counter for every {@link net.raphimc.minecraftauth.util.holder.Holder#getUpToDate()} call. Tags: owner, holder, result (hit/refresh)
+     */
+    public static final String HOLDER_ACCESS = "minecraftauth.holder.access";
+    /**
+     * Timer for every holder refresh. Tags: owner, holder, reason (expired/forced), error
+     */
+    public static final String HOLDER_REFRESH = "minecraftauth.holder.refresh";
+    /**
+     * Timer for every interactive MSA login. Tags: service, error
+     */
+    public static final String MSA_LOGIN = "minecraftauth.msa.login";
+
+    public static final String NO_ERROR = "none";
+
+    private static volatile MetricsRecorder recorder = MetricsRecorder.NOOP;
+
+    public static MetricsRecorder getRecorder() {
+        return recorder;
+    }
+
+    public static void setRecorder(final MetricsRecorder recorder) {
+        Metrics.recorder = recorder != null ? recorder : MetricsRecorder.NOOP;
+    }
+
+    public static boolean isEnabled() {
+        return recorder != MetricsRecorder.NOOP;
+    }
+
+    /**
+     * Returns a low-cardinality tag value describing the given error.<br>
+     * API errors are described by their error code (For example the XBL error name or the MSA error), other HTTP errors by their status code.
+     *
+     * @param throwable The error
+     * @return The tag value
+     */
+    @ApiStatus.Internal
+    public static String getErrorTag(final Throwable throwable) {
+        if (throwable instanceof ApiHttpRequestException) {
+            return ((ApiHttpRequestException) throwable).getError();
+        } else if (throwable instanceof HttpRequestException) {
+            return "http_" + ((HttpRequestException) throwable).getResponse().getStatusCode();
+        } else {
+            return throwable.getClass().getSimpleName();
+        }
+    }
+
+}
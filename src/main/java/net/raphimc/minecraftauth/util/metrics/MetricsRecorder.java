@@ -0,0 +1,60 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.metrics;
+
+/**
+ * Receives the metrics recorded by MinecraftAuth.<br>
+ * Tags are passed as alternating key and value pairs. Implementations must be thread-safe and should return quickly, because they are called on the threads doing the authentication work.
+ *
+ * @see Metrics#setRecorder(MetricsRecorder)
+ */
+public interface MetricsRecorder {
+
+    MetricsRecorder NOOP = new MetricsRecorder() {
+    };
+
+    /**
+     * Increments a counter by one.
+     *
+     * @param name The metric name
+     * @param tags The tags as alternating key and value pairs
+     */
+    default void incrementCounter(final String name, final String... tags) {
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param name          The metric name
+     * @param durationNanos The duration in nanoseconds
+     * @param tags          The tags as alternating key and value pairs
+     */
+    default void recordTime(final String name, final long durationNanos, final String... tags) {
+    }
+
+    /**
+     * Records a value in a histogram.
+     *
+     * @param name  The metric name
+     * @param value The value
+     * @param tags  The tags as alternating key and value pairs
+     */
+    default void recordValue(final String name, final long value, final String... tags) {
+    }
+
+}
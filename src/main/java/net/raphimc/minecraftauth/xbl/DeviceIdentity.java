@@ -0,0 +1,113 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.xbl;
+
+import com.google.gson.JsonObject;
+import lombok.Getter;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.util.CryptUtil;
+import net.raphimc.minecraftauth.util.JsonUtil;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+import net.raphimc.minecraftauth.xbl.model.XblDeviceToken;
+import net.raphimc.minecraftauth.xbl.request.XblDeviceAuthenticateRequest;
+
+import java.io.IOException;
+import java.security.KeyPair;
+import java.util.UUID;
+
+/**
+ * The identity of a device authenticating with Xbox Live.<br>
+ * Device tokens are bound to the device and not to the user, so a single device identity can be shared by any number of auth managers.
+ * All auth managers sharing a device identity use the same device token holder, which means that the device token is only requested once per device.<br>
+ * Auth managers don't register their change listeners on a shared device token holder, so discarded auth managers are not kept reachable by the device identity.
+ */
+@Getter
+public class DeviceIdentity {
+
+    public static DeviceIdentity fromJson(final HttpClient httpClient, final JsonObject json) {
+        return fromJson(httpClient, new GsonObject(json));
+    }
+
+    public static DeviceIdentity fromJson(final HttpClient httpClient, final GsonObject json) {
+        final DeviceIdentity deviceIdentity = new DeviceIdentity(
+                httpClient,
+                json.reqString("deviceType"),
+                JsonUtil.decodeKeyPair(json.reqObject("deviceKeyPair")),
+                UUID.fromString(json.reqString("deviceId"))
+        );
+        json.optObject("xblDeviceToken").map(XblDeviceToken::fromJson).ifPresent(deviceIdentity::adoptXblDeviceToken);
+        return deviceIdentity;
+    }
+
+    public static JsonObject toJson(final DeviceIdentity deviceIdentity) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("_saveVersion", 1);
+        json.addProperty("deviceType", deviceIdentity.deviceType);
+        json.add("deviceKeyPair", JsonUtil.encodeKeyPair(deviceIdentity.deviceKeyPair));
+        json.addProperty("deviceId", deviceIdentity.deviceId.toString());
+        if (deviceIdentity.xblDeviceToken.hasValue()) {
+            json.add("xblDeviceToken", XblDeviceToken.toJson(deviceIdentity.xblDeviceToken.getCached()));
+        }
+        return json;
+    }
+
+    /**
+     * Creates a new device identity with a random key pair and device id.
+     *
+     * @param httpClient The http client used to request the device token
+     * @param deviceType The device type (For example "Win32" or "Android")
+     * @return The created device identity
+     */
+    public static DeviceIdentity create(final HttpClient httpClient, final String deviceType) {
+        return new DeviceIdentity(httpClient, deviceType, CryptUtil.generateEcdsa256KeyPair(), UUID.randomUUID());
+    }
+
+    private final HttpClient httpClient;
+    private final String deviceType;
+    private final KeyPair deviceKeyPair;
+    private final UUID deviceId;
+
+    private final Holder<XblDeviceToken> xblDeviceToken = new Holder<>(DeviceIdentity.class, "xblDeviceToken", this::refreshXblDeviceToken);
+
+    public DeviceIdentity(final HttpClient httpClient, final String deviceType, final KeyPair deviceKeyPair, final UUID deviceId) {
+        this.httpClient = httpClient;
+        this.deviceType = deviceType;
+        this.deviceKeyPair = deviceKeyPair;
+        this.deviceId = deviceId;
+    }
+
+    /**
+     * Sets the device token if the holder has no device token yet or if the given device token expires later than the current one.<br>
+     * This is used to restore device tokens from saved auth managers without overwriting a newer shared device token.
+     *
+     * @param xblDeviceToken The device token
+     */
+    public synchronized void adoptXblDeviceToken(final XblDeviceToken xblDeviceToken) {
+        final XblDeviceToken currentDeviceToken = this.xblDeviceToken.getCached();
+        if (currentDeviceToken == null || currentDeviceToken.getExpireTimeMs() < xblDeviceToken.getExpireTimeMs()) {
+            this.xblDeviceToken.set(xblDeviceToken);
+        }
+    }
+
+    private XblDeviceToken refreshXblDeviceToken() throws IOException {
+        return HttpUtil.executeAndHandle(this.httpClient, new XblDeviceAuthenticateRequest(this.deviceType, this.deviceId, this.deviceKeyPair));
+    }
+
+}
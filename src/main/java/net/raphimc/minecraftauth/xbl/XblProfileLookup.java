@@ -0,0 +1,266 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.xbl;
+
+import lombok.SneakyThrows;
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.util.cache.TtlCache;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import net.raphimc.minecraftauth.util.http.HttpUtil;
+import net.raphimc.minecraftauth.xbl.model.XblUserProfile;
+import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
+import net.raphimc.minecraftauth.xbl.request.XblUserProfileBatchSettingsRequest;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Resolves XUIDs to gamertags using the batch profile settings endpoint of Xbox Live.<br>
+ * XUIDs are split into chunks of {@link XblUserProfileBatchSettingsRequest#MAX_USERS} which are fetched concurrently.<br>
+ * The results are stored in a cache shared by all instances in the process, which also allows resolving known gamertags back to XUIDs. Unknown XUIDs are cached for a shorter time.
+ * Concurrent lookups of the same XUID are coalesced into a single request, even across instances.
+ */
+public class XblProfileLookup implements Closeable {
+
+    private static final long CACHE_TTL_MS = TimeUnit.HOURS.toMillis(1);
+    private static final long NEGATIVE_CACHE_TTL_MS = TimeUnit.MINUTES.toMillis(5);
+    private static final int MAX_CACHE_SIZE = 100_000;
+
+    private static final TtlCache<String, Optional<String>> GAMERTAGS = new TtlCache<>(CACHE_TTL_MS, MAX_CACHE_SIZE);
+    private static final TtlCache<String, String> XUIDS = new TtlCache<>(CACHE_TTL_MS, MAX_CACHE_SIZE);
+    private static final Map<String, CompletableFuture<Optional<String>>> PENDING_LOOKUPS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached XUID of a gamertag. Gamertags are only known after the corresponding XUID has been looked up.
+     *
+     * @param gamertag The gamertag
+     * @return The XUID or null if it isn't cached
+     */
+    public static String getCachedXuid(final String gamertag) {
+        return XUIDS.get(gamertag.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Returns the cached gamertag of a XUID.
+     *
+     * @param xuid The XUID
+     * @return The gamertag, an empty optional if the XUID is known to not exist or null if it isn't cached
+     */
+    public static Optional<String> getCachedGamertag(final String xuid) {
+        return GAMERTAGS.get(xuid);
+    }
+
+    /**
+     * Removes all cached gamertags and XUIDs.
+     */
+    public static void clearCache() {
+        GAMERTAGS.clear();
+        XUIDS.clear();
+    }
+
+    private final HttpClient httpClient;
+    private final Holder<XblXstsToken> xboxLiveXstsToken;
+    private final ExecutorService executor;
+    /**
+     * The pending lookups which are executed by this instance. They are failed on close, so other instances waiting for them don't hang.
+     */
+    private final Map<String, CompletableFuture<Optional<String>>> ownedLookups = new ConcurrentHashMap<>();
+
+    public XblProfileLookup(final HttpClient httpClient, final Holder<XblXstsToken> xboxLiveXstsToken) {
+        this(httpClient, xboxLiveXstsToken, 4);
+    }
+
+    /**
+     * @param httpClient            The http client
+     * @param xboxLiveXstsToken     The holder of the XSTS token for the Xbox Live relying party used to authenticate the requests
+     * @param maxConcurrentRequests The maximum number of chunks fetched at the same time
+     */
+    public XblProfileLookup(final HttpClient httpClient, final Holder<XblXstsToken> xboxLiveXstsToken, final int maxConcurrentRequests) {
+        this.httpClient = httpClient;
+        this.xboxLiveXstsToken = xboxLiveXstsToken;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Xbox Profile Lookup #" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Looks up the gamertags of the given users.
+     *
+     * @param xuids The XUIDs of the users
+     * @return The gamertags mapped by XUID. Unknown XUIDs are not contained.
+     */
+    public Map<String, String> lookupGamertags(final String... xuids) throws IOException {
+        return this.lookupGamertags(Arrays.asList(xuids));
+    }
+
+    /**
+     * Looks up the gamertags of the given users.
+     *
+     * @param xuids The XUIDs of the users
+     * @return The gamertags mapped by XUID. Unknown XUIDs are not contained.
+     */
+    public Map<String, String> lookupGamertags(final Collection<String> xuids) throws IOException {
+        try {
+            return this.lookupGamertagsAsync(xuids).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            } else if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            } else {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Looks up the gamertags of the given users.
+     *
+     * @param xuids The XUIDs of the users
+     * @return The gamertags mapped by XUID. Unknown XUIDs are not contained.
+     */
+    @SneakyThrows
+    public Map<String, String> lookupGamertagsUnchecked(final Collection<String> xuids) {
+        return this.lookupGamertags(xuids);
+    }
+
+    /**
+     * Looks up the gamertags of the given users without blocking the current thread.
+     *
+     * @param xuids The XUIDs of the users
+     * @return A future which completes with the gamertags mapped by XUID. Unknown XUIDs are not contained.
+     */
+    public CompletableFuture<Map<String, String>> lookupGamertagsAsync(final Collection<String> xuids) {
+        final Map<String, CompletableFuture<Optional<String>>> gamertags = new LinkedHashMap<>();
+        final Map<String, CompletableFuture<Optional<String>>> ownedLookups = new LinkedHashMap<>();
+        for (String xuid : xuids) {
+            if (gamertags.containsKey(xuid)) {
+                continue;
+            }
+            final Optional<String> cachedGamertag = GAMERTAGS.get(xuid);
+            if (cachedGamertag != null) {
+                gamertags.put(xuid, CompletableFuture.completedFuture(cachedGamertag));
+                continue;
+            }
+            final CompletableFuture<Optional<String>> future = new CompletableFuture<>();
+            final CompletableFuture<Optional<String>> pendingFuture = PENDING_LOOKUPS.putIfAbsent(xuid, future);
+            if (pendingFuture != null) {
+                gamertags.put(xuid, pendingFuture);
+            } else {
+                gamertags.put(xuid, future);
+                ownedLookups.put(xuid, future);
+                this.ownedLookups.put(xuid, future);
+            }
+        }
+
+        final List<String> chunk = new ArrayList<>(XblUserProfileBatchSettingsRequest.MAX_USERS);
+        for (String xuid : ownedLookups.keySet()) {
+            chunk.add(xuid);
+            if (chunk.size() == XblUserProfileBatchSettingsRequest.MAX_USERS) {
+                this.lookupChunk(new ArrayList<>(chunk), ownedLookups);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            this.lookupChunk(chunk, ownedLookups);
+        }
+
+        return CompletableFuture.allOf(gamertags.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+            final Map<String, String> result = new HashMap<>();
+            for (Map.Entry<String, CompletableFuture<Optional<String>>> entry : gamertags.entrySet()) {
+                entry.getValue().join().ifPresent(gamertag -> result.put(entry.getKey(), gamertag));
+            }
+            return result;
+        });
+    }
+
+    @Override
+    public void close() {
+        this.executor.shutdownNow(); // Queued chunks are dropped and never complete their futures
+        final IllegalStateException e = new IllegalStateException("The profile lookup has been closed");
+        for (Map.Entry<String, CompletableFuture<Optional<String>>> entry : this.ownedLookups.entrySet()) {
+            this.ownedLookups.remove(entry.getKey(), entry.getValue());
+            PENDING_LOOKUPS.remove(entry.getKey(), entry.getValue());
+            entry.getValue().completeExceptionally(e);
+        }
+    }
+
+    private void lookupChunk(final List<String> xuids, final Map<String, CompletableFuture<Optional<String>>> futures) {
+        try {
+            CompletableFuture.supplyAsync(() -> this.lookupChunkUnchecked(xuids), this.executor).whenComplete((profiles, e) -> this.completeChunk(xuids, futures, profiles, e));
+        } catch (RuntimeException e) { // The executor has been shut down
+            this.completeChunk(xuids, futures, null, e);
+        }
+    }
+
+    private void completeChunk(final List<String> xuids, final Map<String, CompletableFuture<Optional<String>>> futures, final List<XblUserProfile> profiles, final Throwable e) {
+        final Map<String, String> gamertags = new HashMap<>();
+        if (profiles != null) {
+            for (XblUserProfile profile : profiles) {
+                final String gamertag = profile.getSettings().get("Gamertag");
+                if (gamertag != null) {
+                    gamertags.put(profile.getId(), gamertag);
+                }
+            }
+        }
+        for (String xuid : xuids) {
+            final CompletableFuture<Optional<String>> future = futures.get(xuid);
+            this.ownedLookups.remove(xuid, future);
+            if (e != null) {
+                PENDING_LOOKUPS.remove(xuid, future);
+                future.completeExceptionally(e);
+                continue;
+            }
+            final String gamertag = gamertags.get(xuid);
+            if (gamertag != null) {
+                GAMERTAGS.put(xuid, Optional.of(gamertag));
+                XUIDS.put(gamertag.toLowerCase(Locale.ROOT), xuid);
+            } else {
+                GAMERTAGS.put(xuid, Optional.empty(), NEGATIVE_CACHE_TTL_MS);
+            }
+            PENDING_LOOKUPS.remove(xuid, future);
+            future.complete(Optional.ofNullable(gamertag));
+        }
+    }
+
+    @SneakyThrows
+    private List<XblUserProfile> lookupChunkUnchecked(final List<String> xuids) {
+        return HttpUtil.executeAndHandle(this.httpClient, new XblUserProfileBatchSettingsRequest(this.xboxLiveXstsToken.getUpToDate(), xuids, "Gamertag"));
+    }
+
+}
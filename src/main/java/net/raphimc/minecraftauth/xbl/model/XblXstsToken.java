@@ -18,11 +18,13 @@
 package net.raphimc.minecraftauth.xbl.model;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import lombok.Value;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.raphimc.minecraftauth.util.Expirable;
 import org.jetbrains.annotations.ApiStatus;
 
+import java.io.IOException;
 import java.time.Instant;
 
 @Value
@@ -58,6 +60,58 @@ public class XblXstsToken implements Expirable {
         );
     }
 
+    @ApiStatus.Internal
+    public static XblXstsToken fromApiJson(final JsonReader reader) throws IOException {
+        String notAfter = null;
+        String token = null;
+        String userHash = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "NotAfter":
+                    notAfter = reader.nextString();
+                    break;
+                case "Token":
+                    token = reader.nextString();
+                    break;
+                case "DisplayClaims":
+                    reader.beginObject();
+                    while (reader.hasNext()) {
+                        if (reader.nextName().equals("xui")) {
+                            reader.beginArray();
+                            if (reader.hasNext()) {
+                                reader.beginObject();
+                                while (reader.hasNext()) {
+                                    if (reader.nextName().equals("uhs")) {
+                                        userHash = reader.nextString();
+                                    } else {
+                                        reader.skipValue();
+                                    }
+                                }
+                                reader.endObject();
+                            }
+                            while (reader.hasNext()) {
+                                reader.skipValue();
+                            }
+                            reader.endArray();
+                        } else {
+                            reader.skipValue();
+                        }
+                    }
+                    reader.endObject();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        if (notAfter == null || token == null || userHash == null) {
+            throw new IllegalStateException("Incomplete XSTS token response");
+        }
+        return new XblXstsToken(Instant.parse(notAfter).toEpochMilli(), token, userHash);
+    }
+
     long expireTimeMs;
     String token;
     String userHash;
@@ -20,6 +20,7 @@ package net.raphimc.minecraftauth.xbl.request;
 import com.google.gson.JsonObject;
 import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 import net.raphimc.minecraftauth.xbl.data.XblConstants;
 import net.raphimc.minecraftauth.xbl.model.XblDeviceToken;
@@ -35,7 +36,7 @@ import java.util.UUID;
 public class XblDeviceAuthenticateRequest extends SignedXblPostRequest implements XblResponseHandler<XblDeviceToken> {
 
     public XblDeviceAuthenticateRequest(final String deviceType, final UUID id, final KeyPair ecdsa256KeyPair) throws MalformedURLException {
-        super("https://device.auth.xboxlive.com/device/authenticate");
+        super(BaseUrlOverrides.apply("https://device.auth.xboxlive.com/device/authenticate"));
 
         final JsonObject properties = new JsonObject();
         properties.addProperty("DeviceType", deviceType);
@@ -22,6 +22,7 @@ import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.util.http.content.JsonContent;
 import net.raphimc.minecraftauth.xbl.model.*;
 import net.raphimc.minecraftauth.xbl.responsehandler.XblResponseHandler;
@@ -34,7 +35,7 @@ import java.security.interfaces.ECPublicKey;
 public class XblSisuAuthorizeRequest extends SignedXblPostRequest implements XblResponseHandler<XblSisuTokens> {
 
     public XblSisuAuthorizeRequest(final MsaApplicationConfig applicationConfig, final MsaToken token, final XblDeviceToken deviceToken, final KeyPair ecdsa256KeyPair, final String relyingParty) throws MalformedURLException {
-        super("https://sisu.xboxlive.com/authorize");
+        super(BaseUrlOverrides.apply("https://sisu.xboxlive.com/authorize"));
         if (!applicationConfig.isTitleClientId()) {
             throw new IllegalArgumentException("Client id must be a title client id for XBL SISU authentication");
         }
@@ -23,7 +23,8 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
 import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
 import net.raphimc.minecraftauth.msa.model.MsaToken;
-import net.raphimc.minecraftauth.util.http.content.JsonContent;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.util.http.content.JsonContentTemplate;
 import net.raphimc.minecraftauth.xbl.data.XblConstants;
 import net.raphimc.minecraftauth.xbl.model.XblUserToken;
 import net.raphimc.minecraftauth.xbl.responsehandler.XblResponseHandler;
@@ -32,20 +33,26 @@ import java.net.MalformedURLException;
 
 public class XblUserAuthenticateRequest extends PostRequest implements XblResponseHandler<XblUserToken> {
 
+    private static final JsonContentTemplate TITLE_CONTENT_TEMPLATE = createContentTemplate("t=");
+    private static final JsonContentTemplate DEVICE_CONTENT_TEMPLATE = createContentTemplate("d=");
+
     public XblUserAuthenticateRequest(final MsaApplicationConfig applicationConfig, final MsaToken token) throws MalformedURLException {
-        super("https://user.auth.xboxlive.com/user/authenticate");
+        super(BaseUrlOverrides.apply("https://user.auth.xboxlive.com/user/authenticate"));
+
+        this.setContent((applicationConfig.isTitleClientId() ? TITLE_CONTENT_TEMPLATE : DEVICE_CONTENT_TEMPLATE).render(token.getAccessToken()));
+        this.setHeader("x-xbl-contract-version", "1");
+    }
 
+    private static JsonContentTemplate createContentTemplate(final String rpsTicketPrefix) {
         final JsonObject properties = new JsonObject();
         properties.addProperty("SiteName", "user.auth.xboxlive.com");
         properties.addProperty("AuthMethod", "RPS");
-        properties.addProperty("RpsTicket", (applicationConfig.isTitleClientId() ? "t=" : "d=") + token.getAccessToken());
+        properties.addProperty("RpsTicket", rpsTicketPrefix + JsonContentTemplate.placeholder(0));
         final JsonObject postData = new JsonObject();
         postData.add("Properties", properties);
         postData.addProperty("RelyingParty", XblConstants.XBL_AUTH_RELYING_PARTY);
         postData.addProperty("TokenType", "JWT");
-
-        this.setContent(new JsonContent(postData));
-        this.setHeader("x-xbl-contract-version", "1");
+        return new JsonContentTemplate(postData);
     }
 
     @Override
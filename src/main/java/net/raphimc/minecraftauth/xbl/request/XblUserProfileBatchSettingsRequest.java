@@ -0,0 +1,84 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.xbl.request;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.lenni0451.commons.gson.elements.GsonElement;
+import net.lenni0451.commons.gson.elements.GsonObject;
+import net.lenni0451.commons.httpclient.HttpResponse;
+import net.lenni0451.commons.httpclient.constants.HttpHeaders;
+import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.util.http.content.JsonContent;
+import net.raphimc.minecraftauth.xbl.model.XblUserProfile;
+import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
+import net.raphimc.minecraftauth.xbl.responsehandler.XblResponseHandler;
+
+import java.net.MalformedURLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Fetches the profile settings of up to {@link #MAX_USERS} users by their XUID. Unknown users are omitted from the response.
+ */
+public class XblUserProfileBatchSettingsRequest extends PostRequest implements XblResponseHandler<List<XblUserProfile>> {
+
+    public static final int MAX_USERS = 100;
+
+    public XblUserProfileBatchSettingsRequest(final XblXstsToken xstsToken, final Collection<String> xuids, final String... settings) throws MalformedURLException {
+        this(xstsToken, xuids, Arrays.asList(settings));
+    }
+
+    public XblUserProfileBatchSettingsRequest(final XblXstsToken xstsToken, final Collection<String> xuids, final Iterable<String> settings) throws MalformedURLException {
+        super(BaseUrlOverrides.apply("https://profile.xboxlive.com/users/batch/profile/settings"));
+        if (xuids.size() > MAX_USERS) {
+            throw new IllegalArgumentException("Can't fetch more than " + MAX_USERS + " users at once");
+        }
+
+        this.setHeader(HttpHeaders.AUTHORIZATION, xstsToken.getAuthorizationHeader());
+        this.setHeader("x-xbl-contract-version", "2");
+
+        final JsonArray userIds = new JsonArray();
+        for (String xuid : xuids) {
+            userIds.add(xuid);
+        }
+        final JsonArray settingIds = new JsonArray();
+        for (String setting : settings) {
+            settingIds.add(setting);
+        }
+        final JsonObject postData = new JsonObject();
+        postData.add("userIds", userIds);
+        postData.add("settings", settingIds);
+        this.setContent(new JsonContent(postData));
+    }
+
+    @Override
+    public List<XblUserProfile> handle(final HttpResponse response, final GsonObject json) {
+        return json.reqArray("profileUsers").stream().map(GsonElement::asObject).map(profileUser -> new XblUserProfile(
+                profileUser.reqString("id"),
+                profileUser.reqArray("settings").stream().map(GsonElement::asObject).collect(Collectors.toMap(
+                        setting -> setting.reqString("id"),
+                        setting -> setting.reqString("value")
+                ))
+        )).collect(Collectors.toList());
+    }
+
+}
@@ -24,6 +24,7 @@ import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.constants.HttpHeaders;
 import net.lenni0451.commons.httpclient.requests.impl.GetRequest;
 import net.lenni0451.commons.httpclient.utils.URLCoder;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
 import net.raphimc.minecraftauth.xbl.model.XblUserProfile;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 import net.raphimc.minecraftauth.xbl.responsehandler.XblResponseHandler;
@@ -39,7 +40,7 @@ public class XblUserProfileSettingsRequest extends GetRequest implements XblResp
     }
 
     public XblUserProfileSettingsRequest(final XblXstsToken xstsToken, final String user, final Iterable<String> settings) throws MalformedURLException {
-        super("https://profile.xboxlive.com/users/" + URLCoder.encode(user) + "/profile/settings?settings=" + URLCoder.encode(String.join(",", settings)));
+        super(BaseUrlOverrides.apply("https://profile.xboxlive.com/users/" + URLCoder.encode(user) + "/profile/settings?settings=" + URLCoder.encode(String.join(",", settings))));
 
         this.setHeader(HttpHeaders.AUTHORIZATION, xstsToken.getAuthorizationHeader());
         this.setHeader("x-xbl-contract-version", "3");
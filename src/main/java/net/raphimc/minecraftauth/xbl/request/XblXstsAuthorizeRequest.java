@@ -18,45 +18,69 @@
 package net.raphimc.minecraftauth.xbl.request;
 
 import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
 import net.lenni0451.commons.gson.elements.GsonArray;
-import net.lenni0451.commons.gson.elements.GsonObject;
 import net.lenni0451.commons.httpclient.HttpResponse;
 import net.lenni0451.commons.httpclient.requests.impl.PostRequest;
-import net.raphimc.minecraftauth.util.http.content.JsonContent;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.util.http.content.JsonContentTemplate;
+import net.raphimc.minecraftauth.util.http.responsehandler.StreamingJsonHttpResponseHandler;
 import net.raphimc.minecraftauth.xbl.model.XblDeviceToken;
 import net.raphimc.minecraftauth.xbl.model.XblTitleToken;
 import net.raphimc.minecraftauth.xbl.model.XblUserToken;
 import net.raphimc.minecraftauth.xbl.model.XblXstsToken;
 import net.raphimc.minecraftauth.xbl.responsehandler.XblResponseHandler;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-public class XblXstsAuthorizeRequest extends PostRequest implements XblResponseHandler<XblXstsToken> {
+public class XblXstsAuthorizeRequest extends PostRequest implements XblResponseHandler<XblXstsToken>, StreamingJsonHttpResponseHandler<XblXstsToken> {
+
+    private static final Map<String, JsonContentTemplate> CONTENT_TEMPLATES = new ConcurrentHashMap<>();
 
     public XblXstsAuthorizeRequest(final XblDeviceToken deviceToken, final XblUserToken userToken, final XblTitleToken titleToken, final String relyingParty) throws MalformedURLException {
-        super("https://xsts.auth.xboxlive.com/xsts/authorize");
+        super(BaseUrlOverrides.apply("https://xsts.auth.xboxlive.com/xsts/authorize"));
 
-        final JsonObject properties = new JsonObject();
-        properties.addProperty("SandboxId", "RETAIL");
+        final List<String> values = new ArrayList<>(3);
         if (deviceToken != null) {
-            properties.addProperty("DeviceToken", deviceToken.getToken());
+            values.add(deviceToken.getToken());
         }
-        properties.add("UserTokens", new GsonArray().add(userToken.getToken()).getJsonArray());
+        values.add(userToken.getToken());
         if (titleToken != null) {
-            properties.addProperty("TitleToken", titleToken.getToken());
+            values.add(titleToken.getToken());
+        }
+        final String templateKey = (deviceToken != null ? "D" : "") + (titleToken != null ? "T" : "") + ':' + relyingParty;
+        final JsonContentTemplate template = CONTENT_TEMPLATES.computeIfAbsent(templateKey, key -> createContentTemplate(deviceToken != null, titleToken != null, relyingParty));
+
+        this.setContent(template.render(values.toArray(new String[0])));
+        this.setHeader("x-xbl-contract-version", "1");
+    }
+
+    private static JsonContentTemplate createContentTemplate(final boolean hasDeviceToken, final boolean hasTitleToken, final String relyingParty) {
+        int placeholderIndex = 0;
+        final JsonObject properties = new JsonObject();
+        properties.addProperty("SandboxId", "RETAIL");
+        if (hasDeviceToken) {
+            properties.addProperty("DeviceToken", JsonContentTemplate.placeholder(placeholderIndex++));
+        }
+        properties.add("UserTokens", new GsonArray().add(JsonContentTemplate.placeholder(placeholderIndex++)).getJsonArray());
+        if (hasTitleToken) {
+            properties.addProperty("TitleToken", JsonContentTemplate.placeholder(placeholderIndex));
         }
         final JsonObject postData = new JsonObject();
         postData.add("Properties", properties);
         postData.addProperty("RelyingParty", relyingParty);
         postData.addProperty("TokenType", "JWT");
-
-        this.setContent(new JsonContent(postData));
-        this.setHeader("x-xbl-contract-version", "1");
+        return new JsonContentTemplate(postData);
     }
 
     @Override
-    public XblXstsToken handle(final HttpResponse response, final GsonObject json) {
-        return XblXstsToken.fromApiJson(json);
+    public XblXstsToken handle(final HttpResponse response, final JsonReader reader) throws IOException {
+        return XblXstsToken.fromApiJson(reader);
     }
 
 }
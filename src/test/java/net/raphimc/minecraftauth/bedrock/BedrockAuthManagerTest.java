@@ -0,0 +1,117 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.bedrock;
+
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftJoinBundle;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.service.impl.DeviceCodeMsaAuthService;
+import net.raphimc.minecraftauth.util.TimeUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BedrockAuthManagerTest {
+
+    private StubAuthServer server;
+    private BedrockAuthManager authManager;
+
+    @BeforeEach
+    void login() throws Exception {
+        this.server = new StubAuthServer().start();
+        this.server.setDeviceCodeIntervalSeconds(1);
+        TimeUtil.getClientTimeOffset(); // Resolve the time offset against the stub server
+        this.authManager = BedrockAuthManager.create(MinecraftAuth.createHttpClient(), "1.21.100").login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+    }
+
+    @AfterEach
+    void closeServer() {
+        this.server.close();
+    }
+
+    @Test
+    void reusesTheJoinBundleUntilTheSessionKeyPairIsRotated() throws Exception {
+        final MinecraftJoinBundle bundle = this.authManager.prepareJoin();
+        assertSame(this.authManager.getSessionKeyPair(), bundle.getSessionKeyPair());
+        assertSame(bundle, this.authManager.prepareJoin());
+
+        this.authManager.rotateSessionKeyPair();
+        final MinecraftJoinBundle rotatedBundle = this.authManager.prepareJoin();
+        assertNotSame(bundle.getSessionKeyPair(), rotatedBundle.getSessionKeyPair());
+        assertSame(this.authManager.getSessionKeyPair(), rotatedBundle.getSessionKeyPair());
+        assertSame(this.authManager.getMinecraftCertificateChain().getCached(), rotatedBundle.getCertificateChain());
+        assertSame(this.authManager.getMinecraftMultiplayerToken().getCached(), rotatedBundle.getMultiplayerToken());
+        assertConsistent(rotatedBundle);
+    }
+
+    @Test
+    void buildsLoginPayloadsForTheCurrentSessionKeyPair() throws Exception {
+        final BedrockLoginPayloadBuilder builder = this.authManager.getLoginPayloadBuilder();
+        assertTrue(builder.isFor(this.authManager.getMinecraftCertificateChain().getCached(), this.authManager.getSessionKeyPair()));
+        assertSame(builder, this.authManager.getLoginPayloadBuilder());
+
+        this.authManager.rotateSessionKeyPair();
+        final BedrockLoginPayloadBuilder rotatedBuilder = this.authManager.getLoginPayloadBuilder();
+        assertNotSame(builder, rotatedBuilder);
+        assertTrue(rotatedBuilder.isFor(this.authManager.getMinecraftCertificateChain().getCached(), this.authManager.getSessionKeyPair()));
+    }
+
+    @Test
+    void neverMixesSessionKeyPairsWhileRotating() throws Exception {
+        this.authManager.prepareJoin();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final Future<?> rotation = executor.submit(() -> {
+                for (int i = 0; i < 5; i++) {
+                    this.authManager.rotateSessionKeyPairUnchecked();
+                }
+            });
+            final List<Future<MinecraftJoinBundle>> bundles = new ArrayList<>();
+            while (!rotation.isDone()) {
+                bundles.add(executor.submit(this.authManager::prepareJoin));
+                Thread.sleep(5);
+            }
+            rotation.get();
+
+            for (Future<MinecraftJoinBundle> bundle : bundles) {
+                assertConsistent(bundle.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertConsistent(final MinecraftJoinBundle bundle) {
+        final String sessionPublicKey = Base64.getEncoder().encodeToString(bundle.getSessionKeyPair().getPublic().getEncoded());
+        assertEquals(sessionPublicKey, bundle.getCertificateChain().getParsedIdentityJwt().getPayload().reqString("identityPublicKey"));
+        assertEquals(sessionPublicKey, bundle.getMultiplayerToken().getParsedToken().getPayload().reqString("cpk"));
+    }
+
+}
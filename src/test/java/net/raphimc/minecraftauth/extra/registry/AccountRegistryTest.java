@@ -0,0 +1,173 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.registry;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.service.impl.DeviceCodeMsaAuthService;
+import net.raphimc.minecraftauth.util.TimeUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountRegistryTest {
+
+    private static final String BEDROCK_GAME_VERSION = "1.21.100";
+
+    private StubAuthServer server;
+    private HttpClient httpClient;
+    private AccountRegistry registry;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = new StubAuthServer().start();
+        this.server.setDeviceCodeIntervalSeconds(1);
+        TimeUtil.getClientTimeOffset(); // Resolve the time offset against the stub server
+        this.httpClient = MinecraftAuth.createHttpClient();
+        this.registry = new AccountRegistry();
+    }
+
+    @AfterEach
+    void closeServer() {
+        this.registry.close();
+        this.server.close();
+    }
+
+    @Test
+    void indexesJavaAccountsWithoutCreatingTheirHolders() throws Exception {
+        final JavaAuthManager loggedIn = this.loginJava();
+        final MinecraftProfile profile = loggedIn.getMinecraftProfile().getUpToDate();
+        loggedIn.getXboxUserProfile().getUpToDate();
+        final JavaAuthManager authManager = JavaAuthManager.fromJson(this.httpClient, JavaAuthManager.toJson(loggedIn));
+
+        final RegisteredAccount<JavaAuthManager> account = this.registry.register(authManager);
+        assertSame(authManager, account.getAuthManager());
+        assertEquals(profile.getId(), account.getUuid());
+        assertEquals(this.server.getDefaultAccount().getXuid(), account.getXuid());
+        assertEquals(this.server.getDefaultAccount().getGamertag(), account.getGamertag());
+        assertSame(account, this.registry.getByUuid(profile.getId()));
+        assertSame(account, this.registry.getByXuid(account.getXuid()));
+        assertSame(account, this.registry.getByGamertag(account.getGamertag().toUpperCase()));
+
+        assertNull(authManager.getHolderSlots().getIfCreated(JavaAuthManager.MINECRAFT_PROFILE));
+        assertNull(authManager.getHolderSlots().getIfCreated(JavaAuthManager.XBOX_USER_PROFILE));
+    }
+
+    @Test
+    void indexesBedrockAccountsWithoutCreatingTheirHolders() throws Exception {
+        final BedrockAuthManager loggedIn = BedrockAuthManager.create(this.httpClient, BEDROCK_GAME_VERSION).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+        final MinecraftCertificateChain certificateChain = loggedIn.getMinecraftCertificateChain().getUpToDate();
+        final BedrockAuthManager authManager = BedrockAuthManager.fromJson(this.httpClient, BEDROCK_GAME_VERSION, BedrockAuthManager.toJson(loggedIn));
+
+        final RegisteredAccount<BedrockAuthManager> account = this.registry.register(authManager);
+        assertEquals(certificateChain.getIdentityUuid(), account.getUuid());
+        assertEquals(certificateChain.getIdentityXuid(), account.getXuid());
+        assertEquals(certificateChain.getIdentityDisplayName(), account.getGamertag());
+        assertSame(account, this.registry.getByXuid(certificateChain.getIdentityXuid()));
+
+        assertNull(authManager.getHolderSlots().getIfCreated(BedrockAuthManager.MINECRAFT_CERTIFICATE_CHAIN));
+        assertNull(authManager.getHolderSlots().getIfCreated(BedrockAuthManager.MINECRAFT_MULTIPLAYER_TOKEN));
+    }
+
+    @Test
+    void updatesTheIndexesWhenTheProfileBecomesKnown() throws Exception {
+        final JavaAuthManager authManager = this.loginJava();
+        final RegisteredAccount<JavaAuthManager> account = this.registry.register(authManager);
+        assertNull(account.getUuid());
+
+        final MinecraftProfile profile = authManager.getMinecraftProfile().getUpToDate();
+        assertEquals(profile.getId(), account.getUuid());
+        assertSame(account, this.registry.getByUuid(profile.getId()));
+    }
+
+    @Test
+    void registersEveryAuthManagerOnlyOnce() throws Exception {
+        final JavaAuthManager authManager = this.loginJava();
+
+        final RegisteredAccount<JavaAuthManager> account = this.registry.register(authManager);
+        assertSame(account, this.registry.register(authManager));
+        assertEquals(1, this.registry.size());
+    }
+
+    @Test
+    void removesIndexesAndScheduledRefreshesOnUnregister() throws Exception {
+        final JavaAuthManager authManager = this.loginJava();
+        final MinecraftProfile profile = authManager.getMinecraftProfile().getUpToDate();
+        this.registry.register(authManager);
+        assertTrue(this.registry.getScheduledRefreshCount() > 0);
+
+        assertTrue(this.registry.unregister(authManager));
+        assertFalse(this.registry.unregister(authManager));
+        assertEquals(0, this.registry.size());
+        assertEquals(0, this.registry.getScheduledRefreshCount());
+        assertNull(this.registry.getByUuid(profile.getId()));
+
+        authManager.getMinecraftProfile().refresh(); // Changes of unregistered auth managers must not schedule refreshes again
+        assertEquals(0, this.registry.getScheduledRefreshCount());
+    }
+
+    @Test
+    void refreshesHoldersBeforeTheyExpire() throws Exception {
+        this.server.setTokenLifetimeScale(0.0001); // The MSA access token lives for about 9 seconds
+        final JavaAuthManager authManager = this.loginJava();
+        final String accessToken = authManager.getMsaToken().getCached().getAccessToken();
+        this.registry.close();
+        this.registry = new AccountRegistry(2, TimeUnit.SECONDS.toMillis(5));
+        final List<Throwable> refreshErrors = new CopyOnWriteArrayList<>();
+        this.registry.setRefreshErrorHandler((account, e) -> refreshErrors.add(e));
+        this.registry.register(authManager);
+
+        final long deadlineMs = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(20);
+        while (accessToken.equals(authManager.getMsaToken().getCached().getAccessToken()) && System.currentTimeMillis() < deadlineMs) {
+            Thread.sleep(100);
+        }
+        assertNotEquals(accessToken, authManager.getMsaToken().getCached().getAccessToken());
+        assertTrue(refreshErrors.isEmpty(), () -> "Refresh failed: " + refreshErrors);
+    }
+
+    @Test
+    void executesInteractiveRefreshesOnTheRefreshPool() throws Exception {
+        final JavaAuthManager authManager = this.loginJava();
+        this.registry.register(authManager);
+
+        final MinecraftProfile profile = this.registry.getUpToDate(authManager.getMinecraftProfile()).get(10, TimeUnit.SECONDS);
+        assertEquals(this.server.getDefaultAccount().getJavaProfileId(), profile.getId());
+        assertSame(profile, this.registry.getUpToDate(authManager.getMinecraftProfile()).get(10, TimeUnit.SECONDS));
+    }
+
+    private JavaAuthManager loginJava() throws Exception {
+        return JavaAuthManager.create(this.httpClient).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+    }
+
+}
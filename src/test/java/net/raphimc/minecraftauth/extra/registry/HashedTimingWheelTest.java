@@ -0,0 +1,127 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK_DURATION_MS = 10;
+
+    @Test
+    void rejectsWheelSizesWhichAreNoPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new HashedTimingWheel(TICK_DURATION_MS, 6));
+    }
+
+    @Test
+    void runsOverdueTasksOnTheNextAdvance() {
+        final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_DURATION_MS, 8);
+        final Runnable task = () -> {
+        };
+        timingWheel.schedule(task, System.currentTimeMillis() - 1000);
+
+        assertEquals(Collections.singletonList(task), timingWheel.advance());
+        assertEquals(0, timingWheel.size());
+        assertTrue(timingWheel.advance().isEmpty());
+    }
+
+    @Test
+    void doesNotRunTasksBeforeTheirDeadline() throws InterruptedException {
+        final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_DURATION_MS, 8);
+        final Runnable task = () -> {
+        };
+        final long deadlineMs = System.currentTimeMillis() + 5 * TICK_DURATION_MS;
+        timingWheel.schedule(task, deadlineMs);
+
+        assertTrue(timingWheel.advance().isEmpty());
+        assertEquals(1, timingWheel.size());
+
+        final List<Runnable> expiredTasks = advanceUntilNotEmpty(timingWheel);
+        assertTrue(System.currentTimeMillis() >= deadlineMs);
+        assertEquals(Collections.singletonList(task), expiredTasks);
+        assertEquals(0, timingWheel.size());
+    }
+
+    @Test
+    void waitsForAllRoundsOfDeadlinesBeyondTheWheelSize() throws InterruptedException {
+        final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_DURATION_MS, 4);
+        final Runnable task = () -> {
+        };
+        final long deadlineMs = System.currentTimeMillis() + 3 * 4 * TICK_DURATION_MS; // Three full rotations of the wheel
+        timingWheel.schedule(task, deadlineMs);
+
+        Thread.sleep(4 * TICK_DURATION_MS);
+        assertTrue(timingWheel.advance().isEmpty());
+
+        final List<Runnable> expiredTasks = advanceUntilNotEmpty(timingWheel);
+        assertTrue(System.currentTimeMillis() >= deadlineMs);
+        assertEquals(Collections.singletonList(task), expiredTasks);
+    }
+
+    @Test
+    void cancelledTasksAreNotRun() {
+        final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_DURATION_MS, 8);
+        final Runnable cancelledTask = () -> {
+        };
+        final Runnable task = () -> {
+        };
+        final HashedTimingWheel.Timeout timeout = timingWheel.schedule(cancelledTask, System.currentTimeMillis() - 1000);
+        timingWheel.schedule(task, System.currentTimeMillis() - 1000);
+        assertEquals(2, timingWheel.size());
+
+        timingWheel.cancel(timeout);
+        assertEquals(1, timingWheel.size());
+        assertEquals(Collections.singletonList(task), timingWheel.advance());
+    }
+
+    @Test
+    void runsTasksOfTheSameTickTogether() {
+        final HashedTimingWheel timingWheel = new HashedTimingWheel(TICK_DURATION_MS, 8);
+        final List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            final Runnable task = () -> {
+            };
+            tasks.add(task);
+            timingWheel.schedule(task, System.currentTimeMillis() - 1000);
+        }
+
+        final List<Runnable> expiredTasks = timingWheel.advance();
+        assertEquals(tasks.size(), expiredTasks.size());
+        assertTrue(expiredTasks.containsAll(tasks));
+        assertTrue(timingWheel.advance().isEmpty());
+    }
+
+    private static List<Runnable> advanceUntilNotEmpty(final HashedTimingWheel timingWheel) throws InterruptedException {
+        final long timeoutMs = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < timeoutMs) {
+            final List<Runnable> expiredTasks = timingWheel.advance();
+            if (!expiredTasks.isEmpty()) {
+                return expiredTasks;
+            }
+            Thread.sleep(1);
+        }
+        return fail("Task was not run within 5 seconds");
+    }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.session;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.service.impl.DeviceCodeMsaAuthService;
+import net.raphimc.minecraftauth.util.TimeUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileSessionStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private StubAuthServer server;
+    private HttpClient httpClient;
+    private Path file;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = new StubAuthServer().start();
+        this.server.setDeviceCodeIntervalSeconds(1);
+        TimeUtil.getClientTimeOffset(); // Resolve the time offset against the stub server
+        this.httpClient = MinecraftAuth.createHttpClient();
+        this.file = this.directory.resolve("session.json");
+    }
+
+    @AfterEach
+    void closeServer() {
+        this.server.close();
+    }
+
+    @Test
+    void loadsNothingIfTheFileDoesNotExist() throws IOException {
+        final FileSessionStore<JavaAuthManager> store = FileSessionStore.forJava(this.file, this.httpClient);
+
+        assertNull(store.load());
+        assertNull(store.getAuthManager());
+        assertThrows(IllegalStateException.class, store::save);
+    }
+
+    @Test
+    void restoresTheSavedAuthManager() throws Exception {
+        final JavaAuthManager authManager = this.login();
+        FileSessionStore.forJava(this.file, this.httpClient).save(authManager);
+
+        final FileSessionStore<JavaAuthManager> store = FileSessionStore.forJava(this.file, this.httpClient);
+        final JavaAuthManager restoredAuthManager = store.load();
+        assertNotNull(restoredAuthManager);
+        assertSame(restoredAuthManager, store.getAuthManager());
+        assertSame(restoredAuthManager, store.load());
+        assertEquals(accessToken(authManager), accessToken(restoredAuthManager));
+    }
+
+    @Test
+    void savesTheAuthManagerAfterItHasBeenRefreshed() throws Exception {
+        final JavaAuthManager authManager = this.login();
+        FileSessionStore.forJava(this.file, this.httpClient).save(authManager);
+
+        authManager.getMsaToken().refresh();
+        authManager.getMinecraftProfile().getUpToDate();
+
+        final JavaAuthManager restoredAuthManager = FileSessionStore.forJava(this.file, this.httpClient).load();
+        assertEquals(accessToken(authManager), accessToken(restoredAuthManager));
+        assertEquals(authManager.getMinecraftProfile().getCached(), restoredAuthManager.getMinecraftProfile().getCached());
+    }
+
+    @Test
+    void adoptsNewerTokensCommittedByOtherStores() throws Exception {
+        final FileSessionStore<JavaAuthManager> firstStore = FileSessionStore.forJava(this.file, this.httpClient);
+        final JavaAuthManager firstAuthManager = this.login();
+        firstStore.save(firstAuthManager);
+        final JavaAuthManager secondAuthManager = FileSessionStore.forJava(this.file, this.httpClient).load();
+
+        waitForNewerTokens();
+        secondAuthManager.getMsaToken().refresh();
+        assertNotEquals(accessToken(secondAuthManager), accessToken(firstAuthManager));
+
+        assertTrue(firstStore.reloadIfChanged());
+        assertEquals(accessToken(secondAuthManager), accessToken(firstAuthManager));
+        assertFalse(firstStore.reloadIfChanged());
+    }
+
+    @Test
+    void usesTheMsaTokenRefreshedByAnotherStoreInsteadOfRefreshingAgain() throws Exception {
+        final JavaAuthManager firstAuthManager = this.login();
+        FileSessionStore.forJava(this.file, this.httpClient).save(firstAuthManager);
+        final JavaAuthManager secondAuthManager = FileSessionStore.forJava(this.file, this.httpClient).load();
+
+        waitForNewerTokens();
+        secondAuthManager.getMsaToken().refresh();
+        firstAuthManager.getMsaToken().refresh();
+
+        assertEquals(accessToken(secondAuthManager), accessToken(firstAuthManager));
+    }
+
+    @Test
+    void keepsNewerTokensOfOtherStoresWhenSaving() throws Exception {
+        final FileSessionStore<JavaAuthManager> firstStore = FileSessionStore.forJava(this.file, this.httpClient);
+        firstStore.save(this.login());
+        final JavaAuthManager secondAuthManager = FileSessionStore.forJava(this.file, this.httpClient).load();
+
+        waitForNewerTokens();
+        secondAuthManager.getMsaToken().refresh();
+        firstStore.save();
+
+        final JavaAuthManager restoredAuthManager = FileSessionStore.forJava(this.file, this.httpClient).load();
+        assertEquals(accessToken(secondAuthManager), accessToken(restoredAuthManager));
+    }
+
+    private JavaAuthManager login() throws Exception {
+        return JavaAuthManager.create(this.httpClient).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+    }
+
+    private static void waitForNewerTokens() throws InterruptedException {
+        Thread.sleep(1100); // Token lifetimes have a precision of one second, so newer tokens have to be issued at least a second later
+    }
+
+    private static String accessToken(final JavaAuthManager authManager) {
+        return authManager.getMsaToken().getCached().getAccessToken();
+    }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.stub;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.bedrock.BedrockAuthManager;
+import net.raphimc.minecraftauth.bedrock.model.MinecraftCertificateChain;
+import net.raphimc.minecraftauth.java.JavaAuthManager;
+import net.raphimc.minecraftauth.java.model.MinecraftProfile;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.service.impl.DeviceCodeMsaAuthService;
+import net.raphimc.minecraftauth.util.TimeUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StubAuthServerTest {
+
+    private StubAuthServer server;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = new StubAuthServer().start();
+        this.server.setDeviceCodeIntervalSeconds(1);
+        TimeUtil.getClientTimeOffset(); // Resolve the time offset against the stub server
+        this.httpClient = MinecraftAuth.createHttpClient();
+    }
+
+    @AfterEach
+    void closeServer() {
+        this.server.close();
+    }
+
+    @Test
+    void logsInJavaAccounts() throws Exception {
+        final JavaAuthManager authManager = JavaAuthManager.create(this.httpClient).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+
+        final MinecraftProfile profile = authManager.getMinecraftProfile().getUpToDate();
+        assertEquals(this.server.getDefaultAccount().getJavaProfileId(), profile.getId());
+        assertEquals(this.server.getDefaultAccount().getJavaProfileName(), profile.getName());
+        assertEquals(this.server.getDefaultAccount().getGamertag(), authManager.getXboxUserProfile().getUpToDate().getSettings().get("Gamertag"));
+        assertNotNull(authManager.getMinecraftEntitlements().getUpToDate());
+        assertNotNull(authManager.getMinecraftPlayerCertificates().getUpToDate().getKeyPair());
+    }
+
+    @Test
+    void logsInBedrockAccounts() throws Exception {
+        final BedrockAuthManager authManager = BedrockAuthManager.create(this.httpClient, "1.21.100").login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+
+        final MinecraftCertificateChain certificateChain = authManager.getMinecraftCertificateChain().getUpToDate();
+        assertEquals(this.server.getDefaultAccount().getXuid(), certificateChain.getIdentityXuid());
+        assertEquals(this.server.getDefaultAccount().getGamertag(), certificateChain.getIdentityDisplayName());
+        assertNotNull(authManager.getMinecraftMultiplayerToken().getUpToDate().getToken());
+        assertNotNull(authManager.getPlayFabToken().getUpToDate());
+    }
+
+    @Test
+    void failsInjectedRequests() throws Exception {
+        final JavaAuthManager authManager = JavaAuthManager.create(this.httpClient).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+        this.server.injectFailure("api.minecraftservices.com/minecraft/profile", 500, 1);
+
+        assertThrows(IOException.class, () -> authManager.getMinecraftProfile().getUpToDate());
+        assertNotNull(authManager.getMinecraftProfile().getUpToDate());
+    }
+
+    @Test
+    void rejectsRevokedTokens() throws Exception {
+        final JavaAuthManager authManager = JavaAuthManager.create(this.httpClient).login(DeviceCodeMsaAuthService::new, (Consumer<MsaDeviceCode>) deviceCode -> {
+        });
+        this.server.revokeAllTokens();
+
+        assertThrows(IOException.class, () -> authManager.getMsaToken().refresh());
+        assertThrows(IOException.class, () -> authManager.getMinecraftProfile().getUpToDate());
+    }
+
+}
@@ -0,0 +1,165 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.java;
+
+import net.raphimc.minecraftauth.java.model.MinecraftPlayerCertificates;
+import net.raphimc.minecraftauth.java.model.SignedChatMessage;
+import net.raphimc.minecraftauth.util.holder.Holder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.Signature;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinecraftChatSignerTest {
+
+    private static final UUID SENDER_UUID = UUID.fromString("0f2a9b8c-1d3e-4f50-8a6b-7c8d9e0f1a2b");
+
+    @Test
+    void signsTheMessageLinkBodyAndLastSeenMessages() throws IOException, GeneralSecurityException {
+        final MinecraftPlayerCertificates certificates = createCertificates();
+        final MinecraftChatSigner chatSigner = new MinecraftChatSigner(new Holder<>(() -> certificates), SENDER_UUID);
+        final List<byte[]> lastSeenSignatures = Arrays.asList(filledArray(256, (byte) 1), filledArray(256, (byte) 2));
+
+        final SignedChatMessage message = chatSigner.sign("Hello \u00e4\u2603", 1234567890123L, 1700000000999L, lastSeenSignatures);
+        assertEquals(chatSigner.getSessionId(), message.getSessionId());
+        assertEquals(0, message.getIndex());
+        assertEquals(1234567890123L, message.getSalt());
+        assertEquals(1700000000999L, message.getTimestampMs());
+        assertTrue(verify(certificates.getKeyPair(), encode(message, lastSeenSignatures), message.getSignature()));
+    }
+
+    @Test
+    void growsTheBufferForLongMessages() throws IOException, GeneralSecurityException {
+        final MinecraftPlayerCertificates certificates = createCertificates();
+        final MinecraftChatSigner chatSigner = new MinecraftChatSigner(new Holder<>(() -> certificates), SENDER_UUID);
+        final char[] content = new char[10000];
+        Arrays.fill(content, '\u00df'); // Two bytes per character in UTF-8
+
+        final SignedChatMessage message = chatSigner.sign(new String(content), 1, 2000, Collections.emptyList());
+        assertTrue(verify(certificates.getKeyPair(), encode(message, Collections.emptyList()), message.getSignature()));
+    }
+
+    @Test
+    void assignsConsecutiveIndices() throws IOException {
+        final MinecraftPlayerCertificates certificates = createCertificates();
+        final MinecraftChatSigner chatSigner = new MinecraftChatSigner(new Holder<>(() -> certificates), SENDER_UUID);
+
+        assertEquals(0, chatSigner.sign("first").getIndex());
+        final List<SignedChatMessage> messages = chatSigner.signBatch(Arrays.asList("second", "third"), Collections.emptyList());
+        assertEquals(1, messages.get(0).getIndex());
+        assertEquals("second", messages.get(0).getContent());
+        assertEquals(2, messages.get(1).getIndex());
+        assertEquals(3, chatSigner.sign("fourth").getIndex());
+    }
+
+    @Test
+    void startsANewSessionWhenTheCertificatesChange() throws IOException, GeneralSecurityException {
+        final MinecraftPlayerCertificates certificates = createCertificates();
+        final Holder<MinecraftPlayerCertificates> holder = new Holder<>(() -> certificates);
+        final MinecraftChatSigner chatSigner = new MinecraftChatSigner(holder, SENDER_UUID);
+        final SignedChatMessage firstMessage = chatSigner.sign("first");
+
+        final MinecraftPlayerCertificates newCertificates = createCertificates();
+        holder.set(newCertificates);
+        final SignedChatMessage secondMessage = chatSigner.sign("second");
+        assertSame(newCertificates, chatSigner.getCertificates());
+        assertNotEquals(firstMessage.getSessionId(), secondMessage.getSessionId());
+        assertEquals(0, secondMessage.getIndex());
+        assertTrue(verify(newCertificates.getKeyPair(), encode(secondMessage, Collections.emptyList()), secondMessage.getSignature()));
+        chatSigner.close();
+    }
+
+    @Test
+    void signersOnTheSameThreadUseTheirOwnKeys() throws IOException, GeneralSecurityException {
+        final MinecraftPlayerCertificates firstCertificates = createCertificates();
+        final MinecraftPlayerCertificates secondCertificates = createCertificates();
+        final UUID secondSenderUuid = UUID.randomUUID();
+        final MinecraftChatSigner firstChatSigner = new MinecraftChatSigner(new Holder<>(() -> firstCertificates), SENDER_UUID);
+        final MinecraftChatSigner secondChatSigner = new MinecraftChatSigner(new Holder<>(() -> secondCertificates), secondSenderUuid);
+
+        final SignedChatMessage firstMessage = firstChatSigner.sign("first");
+        final SignedChatMessage secondMessage = secondChatSigner.sign("second");
+        assertTrue(verify(firstCertificates.getKeyPair(), encode(firstMessage, Collections.emptyList()), firstMessage.getSignature()));
+        assertTrue(verify(secondCertificates.getKeyPair(), encode(secondMessage, secondSenderUuid, Collections.emptyList()), secondMessage.getSignature()));
+    }
+
+    private static MinecraftPlayerCertificates createCertificates() {
+        try {
+            final KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+            keyPairGenerator.initialize(1024);
+            return new MinecraftPlayerCertificates(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1), keyPairGenerator.generateKeyPair(), new byte[0], null);
+        } catch (GeneralSecurityException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static byte[] encode(final SignedChatMessage message, final List<byte[]> lastSeenSignatures) throws IOException {
+        return encode(message, SENDER_UUID, lastSeenSignatures);
+    }
+
+    /**
+     * Encodes the signed data the way the vanilla client does.
+     */
+    private static byte[] encode(final SignedChatMessage message, final UUID senderUuid, final List<byte[]> lastSeenSignatures) throws IOException {
+        final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(byteArrayOutputStream);
+        out.writeInt(1);
+        out.writeLong(senderUuid.getMostSignificantBits());
+        out.writeLong(senderUuid.getLeastSignificantBits());
+        out.writeLong(message.getSessionId().getMostSignificantBits());
+        out.writeLong(message.getSessionId().getLeastSignificantBits());
+        out.writeInt(message.getIndex());
+        out.writeLong(message.getSalt());
+        out.writeLong(message.getTimestampMs() / 1000L);
+        final byte[] content = message.getContent().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(content.length);
+        out.write(content);
+        out.writeInt(lastSeenSignatures.size());
+        for (byte[] lastSeenSignature : lastSeenSignatures) {
+            out.write(lastSeenSignature);
+        }
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    private static boolean verify(final KeyPair keyPair, final byte[] data, final byte[] signature) throws GeneralSecurityException {
+        final Signature verifier = Signature.getInstance("SHA256withRSA");
+        verifier.initVerify(keyPair.getPublic());
+        verifier.update(data);
+        return verifier.verify(signature);
+    }
+
+    private static byte[] filledArray(final int length, final byte value) {
+        final byte[] array = new byte[length];
+        Arrays.fill(array, value);
+        return array;
+    }
+
+}
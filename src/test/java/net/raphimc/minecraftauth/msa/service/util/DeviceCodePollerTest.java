@@ -0,0 +1,132 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.msa.service.util;
+
+import net.lenni0451.commons.httpclient.HttpClient;
+import net.raphimc.minecraftauth.MinecraftAuth;
+import net.raphimc.minecraftauth.extra.stub.StubAuthServer;
+import net.raphimc.minecraftauth.msa.data.MsaConstants;
+import net.raphimc.minecraftauth.msa.model.MsaApplicationConfig;
+import net.raphimc.minecraftauth.msa.model.MsaDeviceCode;
+import net.raphimc.minecraftauth.msa.model.MsaToken;
+import net.raphimc.minecraftauth.msa.service.impl.DeviceCodeMsaAuthService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeviceCodePollerTest {
+
+    private static final MsaApplicationConfig APPLICATION_CONFIG = new MsaApplicationConfig(MsaConstants.JAVA_TITLE_ID, MsaConstants.SCOPE_TITLE_AUTH);
+
+    private StubAuthServer server;
+    private DeviceCodeMsaAuthService authService;
+    private DeviceCodePoller poller;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = new StubAuthServer().start();
+        this.server.setDeviceCodeIntervalSeconds(1);
+        final HttpClient httpClient = MinecraftAuth.createHttpClient();
+        this.authService = new DeviceCodeMsaAuthService(httpClient, APPLICATION_CONFIG, deviceCode -> {
+        });
+        this.poller = new DeviceCodePoller(httpClient);
+    }
+
+    @AfterEach
+    void closeServer() {
+        this.poller.close();
+        this.server.close();
+    }
+
+    @Test
+    void completesOnceTheDeviceCodeIsApproved() throws Exception {
+        this.server.setDeviceCodeApprovalDelayMs(1500);
+        final MsaDeviceCode deviceCode = this.authService.requestDeviceCode();
+        final CompletableFuture<MsaToken> tokenFuture = this.poller.poll(APPLICATION_CONFIG, deviceCode);
+        assertEquals(1, this.poller.getPendingCount());
+
+        final MsaToken token = tokenFuture.get(10, TimeUnit.SECONDS);
+        assertNotNull(token.getAccessToken());
+        assertNotNull(token.getRefreshToken());
+        assertEquals(0, this.poller.getPendingCount());
+    }
+
+    @Test
+    void pollsManyLoginsConcurrently() throws Exception {
+        this.server.setDeviceCodeApprovalDelayMs(1000);
+        final CompletableFuture<?>[] tokenFutures = new CompletableFuture[10];
+        for (int i = 0; i < tokenFutures.length; i++) {
+            tokenFutures[i] = this.poller.poll(APPLICATION_CONFIG, this.authService.requestDeviceCode());
+        }
+
+        CompletableFuture.allOf(tokenFutures).get(10, TimeUnit.SECONDS);
+        assertEquals(0, this.poller.getPendingCount());
+    }
+
+    @Test
+    void stopsPollingOnceTheDeadlineIsReached() throws IOException {
+        this.server.setDeviceCodeApprovalDelayMs(TimeUnit.MINUTES.toMillis(1));
+        final MsaDeviceCode deviceCode = this.authService.requestDeviceCode();
+        final CompletableFuture<MsaToken> tokenFuture = this.poller.poll(APPLICATION_CONFIG, deviceCode, System.currentTimeMillis() + 500);
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> tokenFuture.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(0, this.poller.getPendingCount());
+    }
+
+    @Test
+    void stopsPollingWhenTheLoginIsCancelled() throws IOException {
+        this.server.setDeviceCodeApprovalDelayMs(TimeUnit.MINUTES.toMillis(1));
+        final CompletableFuture<MsaToken> tokenFuture = this.poller.poll(APPLICATION_CONFIG, this.authService.requestDeviceCode());
+
+        assertTrue(tokenFuture.cancel(false));
+        assertEquals(0, this.poller.getPendingCount());
+    }
+
+    @Test
+    void failsTheLoginOnUnexpectedErrors() throws IOException {
+        final MsaDeviceCode deviceCode = this.authService.requestDeviceCode();
+        this.server.injectFailure("login.live.com/oauth20_token.srf", 400, 1);
+        final CompletableFuture<MsaToken> tokenFuture = this.poller.poll(APPLICATION_CONFIG, deviceCode);
+
+        assertThrows(ExecutionException.class, () -> tokenFuture.get(10, TimeUnit.SECONDS));
+        assertEquals(0, this.poller.getPendingCount());
+    }
+
+    @Test
+    void cancelsPendingLoginsOnClose() throws IOException {
+        this.server.setDeviceCodeApprovalDelayMs(TimeUnit.MINUTES.toMillis(1));
+        final CompletableFuture<MsaToken> tokenFuture = this.poller.poll(APPLICATION_CONFIG, this.authService.requestDeviceCode());
+        this.poller.close();
+
+        assertThrows(CancellationException.class, () -> tokenFuture.get(10, TimeUnit.SECONDS));
+        final CompletableFuture<MsaToken> lateFuture = this.poller.poll(APPLICATION_CONFIG, this.authService.requestDeviceCode());
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> lateFuture.get(10, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+}
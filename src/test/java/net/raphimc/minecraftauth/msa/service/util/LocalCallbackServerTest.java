@@ -0,0 +1,138 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.msa.service.util;
+
+import net.raphimc.minecraftauth.msa.exception.MsaRequestException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalCallbackServerTest {
+
+    private LocalCallbackServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        this.server = new LocalCallbackServer();
+    }
+
+    @AfterEach
+    void closeServer() {
+        this.server.close();
+    }
+
+    @Test
+    void completesThePendingLoginWithTheAuthCode() throws Exception {
+        final String state = this.server.createState();
+        final CompletableFuture<String> authCodeFuture = this.server.awaitAuthCode(state, 10_000);
+
+        assertEquals(200, this.redirect("code=auth-code&state=" + state));
+        assertEquals("auth-code", authCodeFuture.get(5, TimeUnit.SECONDS));
+        assertEquals(0, this.server.getPendingCount());
+    }
+
+    @Test
+    void tellsConcurrentLoginsApartByTheirState() throws Exception {
+        final String firstState = this.server.createState();
+        final String secondState = this.server.createState();
+        final CompletableFuture<String> firstFuture = this.server.awaitAuthCode(firstState, 10_000);
+        final CompletableFuture<String> secondFuture = this.server.awaitAuthCode(secondState, 10_000);
+
+        assertEquals(200, this.redirect("code=second&state=" + secondState));
+        assertEquals("second", secondFuture.get(5, TimeUnit.SECONDS));
+        assertFalse(firstFuture.isDone());
+        assertEquals(1, this.server.getPendingCount());
+    }
+
+    @Test
+    void rejectsRedirectsWithAnUnknownState() throws IOException {
+        assertEquals(400, this.redirect("code=auth-code&state=unknown"));
+        assertEquals(400, this.redirect("code=auth-code"));
+    }
+
+    @Test
+    void rejectsASecondLoginWithTheSameState() {
+        final String state = this.server.createState();
+        this.server.awaitAuthCode(state, 10_000);
+
+        assertThrows(IllegalStateException.class, () -> this.server.awaitAuthCode(state, 10_000));
+    }
+
+    @Test
+    void failsTheLoginIfTheRedirectContainsAnError() throws IOException {
+        final String state = this.server.createState();
+        final CompletableFuture<String> authCodeFuture = this.server.awaitAuthCode(state, 10_000);
+
+        assertEquals(500, this.redirect("error=access_denied&error_description=denied&state=" + state));
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> authCodeFuture.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(MsaRequestException.class, e.getCause());
+    }
+
+    @Test
+    void failsTheLoginIfTheRedirectContainsNoCode() throws IOException {
+        final String state = this.server.createState();
+        final CompletableFuture<String> authCodeFuture = this.server.awaitAuthCode(state, 10_000);
+
+        assertEquals(500, this.redirect("state=" + state));
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> authCodeFuture.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    @Test
+    void timesOutLoginsWithoutRedirect() throws IOException {
+        final String state = this.server.createState();
+        final CompletableFuture<String> authCodeFuture = this.server.awaitAuthCode(state, 50);
+
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> authCodeFuture.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(0, this.server.getPendingCount());
+        assertEquals(400, this.redirect("code=auth-code&state=" + state));
+    }
+
+    @Test
+    void cancelsPendingLoginsOnClose() {
+        final CompletableFuture<String> authCodeFuture = this.server.awaitAuthCode(this.server.createState(), 10_000);
+        this.server.close();
+
+        assertThrows(CancellationException.class, () -> authCodeFuture.get(5, TimeUnit.SECONDS));
+        final CompletableFuture<String> lateFuture = this.server.awaitAuthCode(this.server.createState(), 10_000);
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> lateFuture.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+    }
+
+    private int redirect(final String query) throws IOException {
+        final HttpURLConnection connection = (HttpURLConnection) new URL("http://127.0.0.1:" + this.server.getPort() + "/?" + query).openConnection();
+        try {
+            return connection.getResponseCode();
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.msa.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginPageConfigScannerTest {
+
+    private static final String MARKER = "$Config=";
+
+    @Test
+    void returnsNullWithoutMarker() {
+        assertNull(LoginPageConfigScanner.scan(html("<html><body>Nothing here</body></html>"), MARKER, "urlPost"));
+    }
+
+    @Test
+    void extractsQuotedAndUnquotedKeys() {
+        final Map<String, String> config = scan("{\"urlPost\":\"https://login.live.com/ppsecure/post.srf\",sFTTag:'<input name=\"PPFT\" value=\"abc\"/>','sCtx':\"ctx\"}", "urlPost", "sFTTag", "sCtx");
+        assertEquals("https://login.live.com/ppsecure/post.srf", config.get("urlPost"));
+        assertEquals("<input name=\"PPFT\" value=\"abc\"/>", config.get("sFTTag"));
+        assertEquals("ctx", config.get("sCtx"));
+    }
+
+    @Test
+    void unescapesStrings() {
+        final Map<String, String> config = scan("{a:\"line\\nbreak\\ttab\",b:\"\\u0041\\x42\\/\\\\\",c:'it\\'s',d:\"quote \\\" inside\"}", "a", "b", "c", "d");
+        assertEquals("line\nbreak\ttab", config.get("a"));
+        assertEquals("AB/\\", config.get("b"));
+        assertEquals("it's", config.get("c"));
+        assertEquals("quote \" inside", config.get("d"));
+    }
+
+    @Test
+    void decodesUtf8() {
+        final Map<String, String> config = scan("{name:\"Gr\u00fc\u00dfe \u2603\"}", "name");
+        assertEquals("Gr\u00fc\u00dfe \u2603", config.get("name"));
+    }
+
+    @Test
+    void skipsNestedValues() {
+        final Map<String, String> config = scan("{nested:{urlPost:\"wrong\",list:[1,{x:\"}\"}]},arr:[\"]\",\"{\"],fn:f(1,2),urlPost:\"right\"}", "urlPost", "nested", "arr");
+        assertEquals("right", config.get("urlPost"));
+        assertFalse(config.containsKey("nested"));
+        assertFalse(config.containsKey("arr"));
+    }
+
+    @Test
+    void returnsPrimitivesAsWritten() {
+        final Map<String, String> config = scan("{ count : 42 , enabled:true,\n ratio:1.5e3, missing:null }", "count", "enabled", "ratio", "missing");
+        assertEquals("42", config.get("count"));
+        assertEquals("true", config.get("enabled"));
+        assertEquals("1.5e3", config.get("ratio"));
+        assertFalse(config.containsKey("missing"));
+    }
+
+    @Test
+    void stopsAtTheEndOfTheConfigObject() {
+        final Map<String, String> config = scan("{a:\"1\"};var other={b:\"2\"};", "a", "b");
+        assertEquals(1, config.size());
+        assertEquals("1", config.get("a"));
+    }
+
+    @Test
+    void stopsOnceAllFieldsAreFound() {
+        // Everything after the requested field is malformed, but never read
+        final Map<String, String> config = scan("{a:\"1\",b:", "a");
+        assertEquals("1", config.get("a"));
+    }
+
+    @Test
+    void rejectsMalformedConfigs() {
+        assertThrows(IllegalStateException.class, () -> scan("not an object", "a"));
+        assertThrows(IllegalStateException.class, () -> scan("{a \"1\"}", "a"));
+        assertThrows(IllegalStateException.class, () -> scan("{a:\"unterminated", "a"));
+        assertThrows(IllegalStateException.class, () -> scan("{a:\"1\",", "b"));
+    }
+
+    @Test
+    void findsText() {
+        final byte[] html = html("<body onload=\"javascript:DoSubmit();\">");
+        assertTrue(LoginPageConfigScanner.contains(html, "javascript:DoSubmit();"));
+        assertFalse(LoginPageConfigScanner.contains(html, "javascript:Other();"));
+    }
+
+    @Test
+    void extractsAttributes() {
+        final String tag = "<input type=\"hidden\" name=\"PPFT\" value=\"token\"/>";
+        assertEquals("PPFT", LoginPageConfigScanner.extractAttribute(tag, "name"));
+        assertEquals("token", LoginPageConfigScanner.extractAttribute(tag, "value"));
+        assertThrows(IllegalStateException.class, () -> LoginPageConfigScanner.extractAttribute(tag, "id"));
+    }
+
+    private static Map<String, String> scan(final String config, final String... fields) {
+        return LoginPageConfigScanner.scan(html("<script>//<![CDATA[\n" + MARKER + config + "\n//]]></script>"), MARKER, fields);
+    }
+
+    private static byte[] html(final String html) {
+        return html.getBytes(StandardCharsets.UTF_8);
+    }
+
+}
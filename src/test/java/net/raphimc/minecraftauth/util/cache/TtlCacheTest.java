@@ -0,0 +1,126 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TtlCacheTest {
+
+    private static final long TTL_MS = TimeUnit.HOURS.toMillis(1);
+
+    @Test
+    void returnsCachedValues() {
+        final TtlCache<String, String> cache = new TtlCache<>(TTL_MS, 10);
+        cache.put("a", "1");
+        assertEquals("1", cache.get("a"));
+        assertTrue(cache.contains("a"));
+        assertNull(cache.get("b"));
+        assertFalse(cache.contains("b"));
+    }
+
+    @Test
+    void removesExpiredValuesWhenTheyAreAccessed() throws InterruptedException {
+        final TtlCache<String, String> cache = new TtlCache<>(TTL_MS, 10);
+        cache.put("a", "1", 1);
+        cache.put("b", "2");
+        Thread.sleep(5);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals("2", cache.get("b"));
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntry() {
+        final TtlCache<String, String> cache = new TtlCache<>(TTL_MS, 3);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("c", "3");
+        cache.get("a"); // "b" is now the least recently used entry
+
+        cache.put("d", "4");
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertEquals("1", cache.get("a"));
+        assertEquals("3", cache.get("c"));
+        assertEquals("4", cache.get("d"));
+    }
+
+    @Test
+    void replacingAnEntryDoesNotEvict() {
+        final TtlCache<String, String> cache = new TtlCache<>(TTL_MS, 2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("a", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("3", cache.get("a"));
+        assertEquals("2", cache.get("b"));
+    }
+
+    @Test
+    void invalidatesEntries() {
+        final TtlCache<String, String> cache = new TtlCache<>(TTL_MS, 10);
+        cache.put("a", "1");
+        cache.put("b", "2");
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.size());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void concurrentInsertionsKeepTheCacheFull() throws InterruptedException {
+        final int maxSize = 1000;
+        final TtlCache<Integer, Integer> cache = new TtlCache<>(TTL_MS, maxSize);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            final int offset = i * 100_000;
+            final Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                for (int j = 0; j < 10_000; j++) {
+                    cache.put(offset + j, j);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(maxSize, cache.size());
+    }
+
+}
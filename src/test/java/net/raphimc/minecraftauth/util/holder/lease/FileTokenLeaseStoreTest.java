@@ -0,0 +1,126 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.util.holder.lease;
+
+import com.google.gson.JsonObject;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileTokenLeaseStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void grantsTheLeaseToOneStoreAtATime() throws IOException {
+        final FileTokenLeaseStore firstStore = new FileTokenLeaseStore(this.directory, "first");
+        final FileTokenLeaseStore secondStore = new FileTokenLeaseStore(this.directory, "second");
+
+        final TokenLeaseStore.Lease lease = firstStore.tryAcquire("msaToken", 60_000);
+        assertNotNull(lease);
+        assertEquals("msaToken", lease.getKey());
+        assertNull(secondStore.tryAcquire("msaToken", 60_000));
+        assertNotNull(secondStore.tryAcquire("otherToken", 60_000));
+
+        lease.close();
+        assertNotNull(secondStore.tryAcquire("msaToken", 60_000));
+    }
+
+    @Test
+    void grantsTheLeaseToOneThreadAtATime() throws Exception {
+        final FileTokenLeaseStore store = new FileTokenLeaseStore(this.directory);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<TokenLeaseStore.Lease>> tasks = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                tasks.add(() -> store.tryAcquire("msaToken", 60_000));
+            }
+            int acquired = 0;
+            for (Future<TokenLeaseStore.Lease> future : executor.invokeAll(tasks)) {
+                if (future.get() != null) {
+                    acquired++;
+                }
+            }
+            assertEquals(1, acquired);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void publishesValuesToAllStores() throws IOException {
+        final FileTokenLeaseStore firstStore = new FileTokenLeaseStore(this.directory);
+        final FileTokenLeaseStore secondStore = new FileTokenLeaseStore(this.directory);
+        assertNull(secondStore.read("msaToken"));
+
+        try (TokenLeaseStore.Lease lease = firstStore.tryAcquire("msaToken", 60_000)) {
+            assertTrue(lease.publish(value("refreshed")));
+        }
+        assertEquals(value("refreshed"), secondStore.read("msaToken"));
+    }
+
+    @Test
+    void letsOtherStoresTakeOverExpiredLeases() throws Exception {
+        final FileTokenLeaseStore firstStore = new FileTokenLeaseStore(this.directory);
+        final FileTokenLeaseStore secondStore = new FileTokenLeaseStore(this.directory);
+
+        final TokenLeaseStore.Lease expiredLease = firstStore.tryAcquire("msaToken", 1);
+        assertNotNull(expiredLease);
+        Thread.sleep(20);
+        final TokenLeaseStore.Lease lease = secondStore.tryAcquire("msaToken", 60_000);
+        assertNotNull(lease);
+
+        assertFalse(expiredLease.publish(value("stale")));
+        assertTrue(lease.publish(value("fresh")));
+        expiredLease.close(); // Must not release the lease of the second store
+        assertNull(firstStore.tryAcquire("msaToken", 60_000));
+        assertEquals(value("fresh"), firstStore.read("msaToken"));
+    }
+
+    @Test
+    void keepsKeysWithEscapedCharactersApart() throws IOException {
+        final FileTokenLeaseStore store = new FileTokenLeaseStore(this.directory);
+        try (TokenLeaseStore.Lease lease = store.tryAcquire("account/msaToken", 60_000)) {
+            assertTrue(lease.publish(value("slash")));
+        }
+        try (TokenLeaseStore.Lease lease = store.tryAcquire("account%002FmsaToken", 60_000)) {
+            assertTrue(lease.publish(value("percent")));
+        }
+
+        assertEquals(value("slash"), store.read("account/msaToken"));
+        assertEquals(value("percent"), store.read("account%002FmsaToken"));
+    }
+
+    private static JsonObject value(final String token) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("token", token);
+        return json;
+    }
+
+}
@@ -0,0 +1,55 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.stub;
+
+import lombok.Value;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Value
+public class StubAccount {
+
+    public static StubAccount create(final String email, final String password, final String gamertag) {
+        return new StubAccount(
+                email,
+                password,
+                String.valueOf(2535400000000000L + ThreadLocalRandom.current().nextLong(100000000000L)),
+                Long.toUnsignedString(ThreadLocalRandom.current().nextLong()),
+                gamertag,
+                UUID.randomUUID(),
+                gamertag
+        );
+    }
+
+    String email;
+    String password;
+    String xuid;
+    String userHash;
+    String gamertag;
+    /**
+     * The Minecraft: Java Edition profile id or null if the account does not own Minecraft: Java Edition
+     */
+    UUID javaProfileId;
+    String javaProfileName;
+
+    public boolean hasJavaProfile() {
+        return this.javaProfileId != null && this.javaProfileName != null;
+    }
+
+}
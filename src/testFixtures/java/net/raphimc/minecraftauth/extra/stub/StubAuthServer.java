@@ -0,0 +1,1418 @@
+/*
+ * This file is part of MinecraftAuth - https://github.com/RaphiMC/MinecraftAuth
+ * Copyright (C) 2022-2026 RK_01/RaphiMC and contributors
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package net.raphimc.minecraftauth.extra.stub;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.Getter;
+import lombok.Setter;
+import net.raphimc.minecraftauth.msa.data.MsaEnvironment;
+import net.raphimc.minecraftauth.playfab.data.PlayFabConstants;
+import net.raphimc.minecraftauth.util.CryptUtil;
+import net.raphimc.minecraftauth.util.UuidUtil;
+import net.raphimc.minecraftauth.util.http.BaseUrlOverrides;
+import net.raphimc.minecraftauth.xbl.data.XblConstants;
+
+import java.io.*;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A local stand-in for the MSA, Xbox Live, PlayFab, Minecraft services and Realms endpoints used by MinecraftAuth.<br>
+ * The server issues random tokens with realistic lifetimes, validates the tokens and XBL request signatures it receives and can inject latency and errors.<br>
+ * Once started, all request urls of MinecraftAuth are redirected to the stub server using {@link BaseUrlOverrides}.
+ */
+public class StubAuthServer implements Closeable {
+
+    private static final String[] HOSTS = new String[]{
+            "login.live.com",
+            "login.microsoftonline.com",
+            "device.auth.xboxlive.com",
+            "user.auth.xboxlive.com",
+            "sisu.xboxlive.com",
+            "xsts.auth.xboxlive.com",
+            "profile.xboxlive.com",
+            PlayFabConstants.BEDROCK_PLAY_FAB_TITLE_ID.toLowerCase(Locale.ROOT) + ".playfabapi.com",
+            PlayFabConstants.EDU_PLAY_FAB_TITLE_ID.toLowerCase(Locale.ROOT) + ".playfabapi.com",
+            "api.minecraftservices.com",
+            "multiplayer.minecraft.net",
+            "authorization.franchise.minecraft-services.net",
+            "pc.realms.minecraft.net",
+            "pocket.realms.minecraft.net",
+    };
+
+    private static final long MSA_ACCESS_TOKEN_LIFETIME = TimeUnit.HOURS.toMillis(24);
+    private static final long MSA_REFRESH_TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(90);
+    private static final long MSA_AUTH_CODE_LIFETIME = TimeUnit.MINUTES.toMillis(5);
+    private static final long MSA_DEVICE_CODE_LIFETIME = TimeUnit.MINUTES.toMillis(15);
+    private static final long XBL_DEVICE_TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(14);
+    private static final long XBL_USER_TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(14);
+    private static final long XBL_TITLE_TOKEN_LIFETIME = TimeUnit.DAYS.toMillis(14);
+    private static final long XBL_XSTS_TOKEN_LIFETIME = TimeUnit.HOURS.toMillis(16);
+    private static final long PLAY_FAB_TOKEN_LIFETIME = TimeUnit.HOURS.toMillis(24);
+    private static final long JAVA_TOKEN_LIFETIME = TimeUnit.HOURS.toMillis(24);
+    private static final long JAVA_PLAYER_CERTIFICATES_LIFETIME = TimeUnit.HOURS.toMillis(48);
+    private static final long BEDROCK_CERTIFICATE_CHAIN_LIFETIME = TimeUnit.DAYS.toMillis(2);
+    private static final long BEDROCK_SESSION_LIFETIME = TimeUnit.HOURS.toMillis(1);
+    private static final long BEDROCK_MULTIPLAYER_TOKEN_LIFETIME = TimeUnit.HOURS.toMillis(24);
+    private static final long MAX_CLOCK_SKEW_SECONDS = TimeUnit.MINUTES.toSeconds(5);
+
+    private static ECParameterSpec SECP256R1_PARAMETERS;
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final KeyPair jwtSigningKeyPair = CryptUtil.generateEcdsa384KeyPair();
+    private final Map<String, StubAccount> accounts = new ConcurrentHashMap<>();
+    private final Map<String, IssuedToken> tokens = new ConcurrentHashMap<>();
+    private final Map<String, DeviceCode> deviceCodes = new ConcurrentHashMap<>();
+    private final Map<String, LoginFlow> loginFlows = new ConcurrentHashMap<>();
+    private final List<JsonObject> realmsServers = new CopyOnWriteArrayList<>();
+    private final List<InjectedFailure> injectedFailures = new CopyOnWriteArrayList<>();
+    private KeyPair certificateSigningKeyPair;
+
+    @Getter
+    private final StubAccount defaultAccount;
+
+    /**
+     * Fixed latency in milliseconds which is added to every response
+     */
+    @Getter
+    @Setter
+    private volatile long latencyMs;
+
+    /**
+     * Maximum random latency in milliseconds which is added on top of the fixed latency
+     */
+    @Getter
+    @Setter
+    private volatile long latencyJitterMs;
+
+    /**
+     * Probability (0.0 - 1.0) that a request fails with 503 Service Unavailable
+     */
+    @Getter
+    @Setter
+    private volatile double errorRate;
+
+    /**
+     * Factor which is applied to all token lifetimes. Can be used to test token expiry without waiting for hours
+     */
+    @Getter
+    @Setter
+    private volatile double tokenLifetimeScale = 1D;
+
+    /**
+     * Delay in milliseconds after which device codes are approved automatically using the default account
+     */
+    @Getter
+    @Setter
+    private volatile long deviceCodeApprovalDelayMs;
+
+    /**
+     * The polling interval in seconds which is sent to the client in device code responses
+     */
+    @Getter
+    @Setter
+    private volatile int deviceCodeIntervalSeconds = 5;
+
+    /**
+     * Whether the signatures of signed XBL requests should be verified
+     */
+    @Getter
+    @Setter
+    private volatile boolean verifySignatures = true;
+
+    public StubAuthServer() throws IOException {
+        this(0);
+    }
+
+    public StubAuthServer(final int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "MinecraftAuth Stub Server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/", this::handle);
+
+        this.defaultAccount = StubAccount.create("stub@example.com", "password", "StubPlayer");
+        this.addAccount(this.defaultAccount);
+    }
+
+    /**
+     * Starts the server and redirects all MinecraftAuth requests to it.
+     *
+     * @return This server
+     */
+    public StubAuthServer start() {
+        this.server.start();
+        for (String host : HOSTS) {
+            BaseUrlOverrides.set("https://" + host + "/", this.getBaseUrl() + host + "/");
+        }
+        return this;
+    }
+
+    @Override
+    public void close() {
+        for (String host : HOSTS) {
+            BaseUrlOverrides.remove("https://" + host + "/");
+        }
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    public String getBaseUrl() {
+        return "http://" + this.server.getAddress().getAddress().getHostAddress() + ':' + this.server.getAddress().getPort() + '/';
+    }
+
+    public void addAccount(final StubAccount account) {
+        this.accounts.put(account.getEmail().toLowerCase(Locale.ROOT), account);
+    }
+
+    public void addRealmsServer(final JsonObject server) {
+        this.realmsServers.add(server);
+    }
+
+    /**
+     * Lets the next requests to the given target fail with the given status code.
+     *
+     * @param target     The host and path prefix of the requests which should fail (For example {@code xsts.auth.xboxlive.com/xsts/authorize})
+     * @param statusCode The status code of the failed responses
+     * @param count      The number of requests which should fail
+     */
+    public void injectFailure(final String target, final int statusCode, final int count) {
+        this.injectedFailures.add(new InjectedFailure(target, statusCode, null, count));
+    }
+
+    /**
+     * Lets the next XSTS authorization requests fail with the given XBL error code.
+     *
+     * @param xErr  The XBL error code (For example {@code 2148916233} for accounts without an Xbox profile)
+     * @param count The number of requests which should fail
+     */
+    public void injectXblError(final long xErr, final int count) {
+        this.injectedFailures.add(new InjectedFailure("xsts.auth.xboxlive.com/xsts/authorize", 401, String.valueOf(xErr), count));
+    }
+
+    /**
+     * Revokes all issued tokens. Clients have to log in again afterwards.
+     */
+    public void revokeAllTokens() {
+        this.tokens.clear();
+    }
+
+    private void handle(final HttpExchange exchange) {
+        try {
+            final String path = exchange.getRequestURI().getRawPath();
+            final int hostEnd = path.indexOf('/', 1);
+            final String host = hostEnd == -1 ? path.substring(1) : path.substring(1, hostEnd);
+            final String route = hostEnd == -1 ? "/" : path.substring(hostEnd);
+            final Request request = new Request(exchange, host, route, readFully(exchange.getRequestBody()));
+
+            final long latency = this.latencyMs + (this.latencyJitterMs > 0 ? ThreadLocalRandom.current().nextLong(this.latencyJitterMs + 1) : 0);
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+
+            Response response = this.getInjectedFailure(request);
+            if (response == null) {
+                response = this.route(request);
+            }
+            this.send(exchange, response);
+        } catch (Throwable e) {
+            try {
+                this.send(exchange, Response.text(500, e.toString()));
+            } catch (IOException ignored) {
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private Response getInjectedFailure(final Request request) {
+        final String target = request.host + request.route;
+        for (InjectedFailure failure : this.injectedFailures) {
+            if (target.startsWith(failure.target)) {
+                if (failure.remaining.decrementAndGet() >= 0) {
+                    final Response response = Response.empty(failure.statusCode);
+                    if (failure.xErr != null) {
+                        response.headers.put("X-Err", failure.xErr);
+                    }
+                    return response;
+                } else {
+                    this.injectedFailures.remove(failure);
+                }
+            }
+        }
+        if (this.errorRate > 0 && ThreadLocalRandom.current().nextDouble() < this.errorRate) {
+            return Response.empty(503);
+        }
+        return null;
+    }
+
+    private Response route(final Request request) throws Exception {
+        switch (request.host) {
+            case "login.live.com":
+                return this.handleMsa(request, MsaEnvironment.LIVE);
+            case "login.microsoftonline.com":
+                return this.handleMsa(request, request.route.startsWith("/common/") ? MsaEnvironment.MICROSOFT_ONLINE_COMMON : MsaEnvironment.MICROSOFT_ONLINE_CONSUMERS);
+            case "device.auth.xboxlive.com":
+                if (request.is("POST", "/device/authenticate")) {
+                    return this.handleXblDeviceAuthenticate(request);
+                }
+                break;
+            case "user.auth.xboxlive.com":
+                if (request.is("POST", "/user/authenticate")) {
+                    return this.handleXblUserAuthenticate(request);
+                }
+                break;
+            case "sisu.xboxlive.com":
+                if (request.is("POST", "/authorize")) {
+                    return this.handleXblSisuAuthorize(request);
+                }
+                break;
+            case "xsts.auth.xboxlive.com":
+                if (request.is("POST", "/xsts/authorize")) {
+                    return this.handleXblXstsAuthorize(request);
+                }
+                break;
+            case "profile.xboxlive.com":
+                if (request.is("POST", "/users/batch/profile/settings")) {
+                    return this.handleXblBatchProfileSettings(request);
+                } else if (request.method.equals("GET") && request.route.startsWith("/users/") && request.route.endsWith("/profile/settings")) {
+                    return this.handleXblProfileSettings(request);
+                }
+                break;
+            case "api.minecraftservices.com":
+                return this.handleJavaServices(request);
+            case "multiplayer.minecraft.net":
+                if (request.is("POST", "/authentication")) {
+                    return this.handleBedrockAuthentication(request);
+                }
+                break;
+            case "authorization.franchise.minecraft-services.net":
+                if (request.is("POST", "/api/v1.0/session/start")) {
+                    return this.handleBedrockSessionStart(request);
+                } else if (request.is("POST", "/api/v1.0/multiplayer/session/start")) {
+                    return this.handleBedrockMultiplayerSessionStart(request);
+                }
+                break;
+            case "pc.realms.minecraft.net":
+            case "pocket.realms.minecraft.net":
+                return this.handleRealms(request);
+            default:
+                if (request.host.endsWith(".playfabapi.com")) {
+                    return this.handlePlayFab(request);
+                }
+                break;
+        }
+        if (request.route.equals("/")) {
+            return Response.html(200, "<html><body>MinecraftAuth stub server</body></html>");
+        }
+        return Response.text(404, "Not Found");
+    }
+
+    // MSA
+
+    private Response handleMsa(final Request request, final MsaEnvironment environment) {
+        if (request.method.equals("POST") && request.route.endsWith('/' + environment.getDeviceCodePath())) {
+            return this.handleMsaDeviceCode(request);
+        } else if (request.method.equals("POST") && request.route.endsWith('/' + environment.getTokenPath())) {
+            return this.handleMsaToken(request);
+        } else if (request.method.equals("GET") && request.route.endsWith('/' + environment.getAuthorizePath())) {
+            return this.handleMsaAuthorize(request, environment);
+        } else if (request.method.equals("POST") && (request.route.endsWith("/ppsecure/post.srf") || request.route.endsWith("/login"))) {
+            return this.handleMsaLogin(request, environment);
+        } else if (request.route.endsWith('/' + environment.getNativeClientPath())) {
+            return Response.html(200, "<html><body>Logged in</body></html>");
+        }
+        return Response.text(404, "Not Found");
+    }
+
+    private Response handleMsaDeviceCode(final Request request) {
+        final Map<String, String> form = parseForm(request.bodyAsString());
+        if (form.get("client_id") == null || form.get("scope") == null) {
+            return msaError("invalid_request", "The request must contain client_id and scope");
+        }
+
+        final long lifetime = this.scaleLifetime(MSA_DEVICE_CODE_LIFETIME);
+        final DeviceCode deviceCode = new DeviceCode(
+                randomToken(),
+                randomUserCode(),
+                System.currentTimeMillis() + lifetime,
+                System.currentTimeMillis() + this.deviceCodeApprovalDelayMs
+        );
+        this.deviceCodes.put(deviceCode.deviceCode, deviceCode);
+
+        final JsonObject json = new JsonObject();
+        json.addProperty("user_code", deviceCode.userCode);
+        json.addProperty("device_code", deviceCode.deviceCode);
+        json.addProperty("verification_uri", "https://www.microsoft.com/link");
+        json.addProperty("expires_in", lifetime / 1000L);
+        json.addProperty("interval", this.deviceCodeIntervalSeconds);
+        return Response.json(200, json);
+    }
+
+    private Response handleMsaToken(final Request request) {
+        final Map<String, String> form = parseForm(request.bodyAsString());
+        if (form.get("client_id") == null) {
+            return msaError("invalid_request", "The request must contain the client_id parameter");
+        }
+
+        final StubAccount account;
+        final String grantType = form.getOrDefault("grant_type", "");
+        switch (grantType) {
+            case "refresh_token": {
+                final IssuedToken refreshToken = this.lookupToken(form.get("refresh_token"), TokenType.MSA_REFRESH);
+                if (refreshToken == null) {
+                    return msaError("invalid_grant", "The provided value for the 'refresh_token' is not valid.");
+                }
+                account = refreshToken.account;
+                break;
+            }
+            case "authorization_code": {
+                final IssuedToken authCode = this.lookupToken(form.get("code"), TokenType.MSA_AUTH_CODE);
+                if (authCode == null) {
+                    return msaError("invalid_grant", "The provided value for the 'code' parameter is not valid.");
+                }
+                this.tokens.remove(authCode.value);
+                account = authCode.account;
+                break;
+            }
+            case "device_code":
+            case "urn:ietf:params:oauth:grant-type:device_code": {
+                final DeviceCode deviceCode = this.deviceCodes.get(form.getOrDefault("device_code", ""));
+                if (deviceCode == null) {
+                    return msaError("invalid_grant", "The provided value for the 'device_code' parameter is not valid.");
+                } else if (deviceCode.expireTimeMs <= System.currentTimeMillis()) {
+                    this.deviceCodes.remove(deviceCode.deviceCode);
+                    return msaError("expired_token", "The device code has expired.");
+                } else if (deviceCode.approveTimeMs > System.currentTimeMillis()) {
+                    return msaError("authorization_pending", "The user hasn't finished authenticating, but hasn't canceled the flow.");
+                }
+                this.deviceCodes.remove(deviceCode.deviceCode);
+                account = this.defaultAccount;
+                break;
+            }
+            default:
+                return msaError("unsupported_grant_type", "The provided value for the input parameter 'grant_type' is not valid.");
+        }
+
+        final IssuedToken accessToken = this.issueToken(TokenType.MSA_ACCESS, account, MSA_ACCESS_TOKEN_LIFETIME, null);
+        final IssuedToken refreshToken = this.issueToken(TokenType.MSA_REFRESH, account, MSA_REFRESH_TOKEN_LIFETIME, null);
+        final JsonObject json = new JsonObject();
+        json.addProperty("token_type", "bearer");
+        json.addProperty("expires_in", (accessToken.expireTimeMs - System.currentTimeMillis()) / 1000L);
+        json.addProperty("scope", form.getOrDefault("scope", ""));
+        json.addProperty("access_token", accessToken.value);
+        json.addProperty("refresh_token", refreshToken.value);
+        json.addProperty("user_id", account.getUserHash());
+        return Response.json(200, json);
+    }
+
+    private Response handleMsaAuthorize(final Request request, final MsaEnvironment environment) {
+        final Map<String, String> query = request.query();
+        if (query.get("client_id") == null) {
+            return Response.html(400, "<html><body>Missing client_id</body></html>");
+        }
+        final String redirectUri = query.getOrDefault("redirect_uri", environment.getNativeClientUrl());
+        final String state = query.get("state");
+        if (redirectUri.startsWith("http://localhost") || redirectUri.startsWith("http://127.0.0.1")) { // Browser based flow, consent is granted automatically
+            return this.redirectWithAuthCode(redirectUri, state, this.defaultAccount);
+        }
+
+        final String flowToken = randomToken();
+        this.loginFlows.put(flowToken, new LoginFlow(redirectUri, state));
+        final String postUrl = this.getBaseUrl() + request.host + (environment == MsaEnvironment.LIVE ? "/ppsecure/post.srf" : request.route.substring(0, request.route.indexOf("/oauth2/")) + "/login");
+        if (environment == MsaEnvironment.LIVE) {
+            return Response.html(200, "<html><head><script type=\"text/javascript\">var ServerData = {urlPost:'" + postUrl + "',sFTTag:'<input type=\"hidden\" name=\"PPFT\" id=\"i0327\" value=\"" + flowToken + "\"/>'};</script></head><body></body></html>");
+        } else {
+            return Response.html(200, "<html><head><script type=\"text/javascript\">$Config={\"urlPost\":\"" + postUrl + "\",\"sCtx\":\"" + randomToken() + "\",\"sFTName\":\"flowToken\",\"sFT\":\"" + flowToken + "\"};</script></head><body></body></html>");
+        }
+    }
+
+    private Response handleMsaLogin(final Request request, final MsaEnvironment environment) {
+        final Map<String, String> form = parseForm(request.bodyAsString());
+        final LoginFlow flow = this.loginFlows.remove(form.getOrDefault(environment == MsaEnvironment.LIVE ? "PPFT" : "flowToken", ""));
+        final StubAccount account = this.accounts.get(form.getOrDefault("login", "").toLowerCase(Locale.ROOT));
+        if (flow == null) {
+            return this.msaLoginError(environment, "80048821", "50058", "Your session has expired. Please try again.");
+        } else if (account == null || !account.getPassword().equals(form.get("passwd"))) {
+            return this.msaLoginError(environment, "80041012", "50126", "Your account or password is incorrect.");
+        }
+        return this.redirectWithAuthCode(flow.redirectUri, flow.state, account);
+    }
+
+    private Response redirectWithAuthCode(final String redirectUri, final String state, final StubAccount account) {
+        final IssuedToken authCode = this.issueToken(TokenType.MSA_AUTH_CODE, account, MSA_AUTH_CODE_LIFETIME, null);
+        final Response response = Response.empty(302);
+        response.headers.put("Location", redirectUri + (redirectUri.contains("?") ? '&' : '?') + "code=" + authCode.value + (state != null ? "&state=" + state : ""));
+        return response;
+    }
+
+    private Response msaLoginError(final MsaEnvironment environment, final String liveErrorCode, final String microsoftOnlineErrorCode, final String message) {
+        if (environment == MsaEnvironment.LIVE) {
+            return Response.html(200, "<html><head><script type=\"text/javascript\">var ServerData = {sErrorCode:'" + liveErrorCode + "',sErrTxt:'" + message + "'};</script></head><body></body></html>");
+        } else {
+            return Response.html(200, "<html><head><script type=\"text/javascript\">$Config={\"iErrorCode\":\"" + microsoftOnlineErrorCode + "\",\"strServiceExceptionMessage\":\"" + message + "\"};</script></head><body></body></html>");
+        }
+    }
+
+    // Xbox Live
+
+    private Response handleXblDeviceAuthenticate(final Request request) throws GeneralSecurityException, IOException {
+        final JsonObject body = request.bodyAsJson();
+        final JsonObject properties = body.getAsJsonObject("Properties");
+        if (properties == null || !properties.has("ProofKey") || !properties.has("DeviceType") || !properties.has("Id")) {
+            return Response.empty(400);
+        }
+        if (!this.verifyXblSignature(request, properties.getAsJsonObject("ProofKey"))) {
+            return Response.empty(401);
+        }
+
+        final IssuedToken deviceToken = this.issueToken(TokenType.XBL_DEVICE, null, XBL_DEVICE_TOKEN_LIFETIME, properties.get("ProofKey").toString());
+        final JsonObject xdi = new JsonObject();
+        xdi.addProperty("did", Long.toHexString(ThreadLocalRandom.current().nextLong()).toUpperCase(Locale.ROOT));
+        xdi.addProperty("dcs", "0");
+        final JsonObject displayClaims = new JsonObject();
+        displayClaims.add("xdi", xdi);
+        return Response.json(200, this.xblTokenJson(deviceToken, displayClaims));
+    }
+
+    private Response handleXblUserAuthenticate(final Request request) {
+        final JsonObject body = request.bodyAsJson();
+        final JsonObject properties = body.getAsJsonObject("Properties");
+        final String rpsTicket = properties != null && properties.has("RpsTicket") ? properties.get("RpsTicket").getAsString() : "";
+        final IssuedToken accessToken = this.lookupToken(rpsTicket.startsWith("t=") || rpsTicket.startsWith("d=") ? rpsTicket.substring(2) : rpsTicket, TokenType.MSA_ACCESS);
+        if (accessToken == null) {
+            return Response.empty(401);
+        }
+
+        final IssuedToken userToken = this.issueToken(TokenType.XBL_USER, accessToken.account, XBL_USER_TOKEN_LIFETIME, null);
+        return Response.json(200, this.xblTokenJson(userToken, this.xuiClaims(accessToken.account, false)));
+    }
+
+    private Response handleXblSisuAuthorize(final Request request) throws GeneralSecurityException, IOException {
+        final JsonObject body = request.bodyAsJson();
+        if (!body.has("ProofKey") || !body.has("AccessToken") || !body.has("DeviceToken") || !body.has("RelyingParty") || !body.has("AppId")) {
+            return Response.empty(400);
+        }
+        if (!this.verifyXblSignature(request, body.getAsJsonObject("ProofKey"))) {
+            return Response.empty(401);
+        }
+        final String accessTokenValue = body.get("AccessToken").getAsString();
+        final IssuedToken accessToken = this.lookupToken(accessTokenValue.startsWith("t=") ? accessTokenValue.substring(2) : accessTokenValue, TokenType.MSA_ACCESS);
+        final IssuedToken deviceToken = this.lookupToken(body.get("DeviceToken").getAsString(), TokenType.XBL_DEVICE);
+        if (accessToken == null || deviceToken == null) {
+            return Response.empty(401);
+        }
+
+        final StubAccount account = accessToken.account;
+        final IssuedToken userToken = this.issueToken(TokenType.XBL_USER, account, XBL_USER_TOKEN_LIFETIME, null);
+        final IssuedToken titleToken = this.issueToken(TokenType.XBL_TITLE, account, XBL_TITLE_TOKEN_LIFETIME, null);
+        final IssuedToken xstsToken = this.issueToken(TokenType.XBL_XSTS, account, XBL_XSTS_TOKEN_LIFETIME, body.get("RelyingParty").getAsString());
+        final JsonObject xti = new JsonObject();
+        xti.addProperty("tid", String.valueOf(Math.abs(body.get("AppId").getAsString().hashCode())));
+        final JsonObject titleClaims = new JsonObject();
+        titleClaims.add("xti", xti);
+
+        final JsonObject json = new JsonObject();
+        json.addProperty("DeviceToken", deviceToken.value);
+        json.add("TitleToken", this.xblTokenJson(titleToken, titleClaims));
+        json.add("UserToken", this.xblTokenJson(userToken, this.xuiClaims(account, false)));
+        json.add("AuthorizationToken", this.xblTokenJson(xstsToken, this.xuiClaims(account, true)));
+        json.addProperty("WebPage", "");
+        json.addProperty("Sandbox", "RETAIL");
+        json.addProperty("UseModernGamertag", true);
+        return Response.json(200, json);
+    }
+
+    private Response handleXblXstsAuthorize(final Request request) {
+        final JsonObject body = request.bodyAsJson();
+        final JsonObject properties = body.getAsJsonObject("Properties");
+        if (properties == null || !properties.has("UserTokens") || !body.has("RelyingParty")) {
+            return Response.empty(400);
+        }
+        final JsonArray userTokens = properties.getAsJsonArray("UserTokens");
+        final IssuedToken userToken = userTokens.size() == 1 ? this.lookupToken(userTokens.get(0).getAsString(), TokenType.XBL_USER) : null;
+        if (userToken == null) {
+            return Response.empty(401);
+        }
+        if (properties.has("DeviceToken") && this.lookupToken(properties.get("DeviceToken").getAsString(), TokenType.XBL_DEVICE) == null) {
+            return Response.empty(401);
+        }
+        if (properties.has("TitleToken") && this.lookupToken(properties.get("TitleToken").getAsString(), TokenType.XBL_TITLE) == null) {
+            return Response.empty(401);
+        }
+
+        final IssuedToken xstsToken = this.issueToken(TokenType.XBL_XSTS, userToken.account, XBL_XSTS_TOKEN_LIFETIME, body.get("RelyingParty").getAsString());
+        return Response.json(200, this.xblTokenJson(xstsToken, this.xuiClaims(userToken.account, true)));
+    }
+
+    private Response handleXblProfileSettings(final Request request) {
+        final IssuedToken xstsToken = this.lookupXstsToken(request.header("Authorization"), XblConstants.XBL_XSTS_RELYING_PARTY);
+        if (xstsToken == null) {
+            return Response.empty(401);
+        }
+
+        final String user = urlDecode(request.route.substring("/users/".length(), request.route.length() - "/profile/settings".length()));
+        StubAccount account = null;
+        if (user.equals("me")) {
+            account = xstsToken.account;
+        } else if (user.startsWith("xuid(") && user.endsWith(")")) {
+            final String xuid = user.substring(5, user.length() - 1);
+            account = this.accounts.values().stream().filter(a -> a.getXuid().equals(xuid)).findFirst().orElse(null);
+        } else if (user.startsWith("gt(") && user.endsWith(")")) {
+            final String gamertag = user.substring(3, user.length() - 1);
+            account = this.accounts.values().stream().filter(a -> a.getGamertag().equalsIgnoreCase(gamertag)).findFirst().orElse(null);
+        }
+        if (account == null) {
+            return Response.empty(404);
+        }
+
+        final JsonArray profileUsers = new JsonArray();
+        profileUsers.add(profileUserJson(account, request.query().getOrDefault("settings", "").split(",")));
+        final JsonObject json = new JsonObject();
+        json.add("profileUsers", profileUsers);
+        return Response.json(200, json);
+    }
+
+    private Response handleXblBatchProfileSettings(final Request request) {
+        final IssuedToken xstsToken = this.lookupXstsToken(request.header("Authorization"), XblConstants.XBL_XSTS_RELYING_PARTY);
+        if (xstsToken == null) {
+            return Response.empty(401);
+        }
+
+        final JsonObject body = request.bodyAsJson();
+        final JsonArray settingIds = body.getAsJsonArray("settings");
+        final String[] settings = new String[settingIds.size()];
+        for (int i = 0; i < settings.length; i++) {
+            settings[i] = settingIds.get(i).getAsString();
+        }
+        final JsonArray profileUsers = new JsonArray();
+        for (JsonElement userId : body.getAsJsonArray("userIds")) {
+            this.accounts.values().stream().filter(a -> a.getXuid().equals(userId.getAsString())).findFirst().ifPresent(account -> profileUsers.add(profileUserJson(account, settings)));
+        }
+        final JsonObject json = new JsonObject();
+        json.add("profileUsers", profileUsers);
+        return Response.json(200, json);
+    }
+
+    private static JsonObject profileUserJson(final StubAccount account, final String[] settingIds) {
+        final JsonArray settings = new JsonArray();
+        for (String setting : settingIds) {
+            if (setting.isEmpty()) {
+                continue;
+            }
+            final JsonObject settingJson = new JsonObject();
+            settingJson.addProperty("id", setting);
+            switch (setting) {
+                case "Gamertag":
+                case "ModernGamertag":
+                case "UniqueModernGamertag":
+                case "GameDisplayName":
+                    settingJson.addProperty("value", account.getGamertag());
+                    break;
+                case "Gamerscore":
+                    settingJson.addProperty("value", "0");
+                    break;
+                default:
+                    settingJson.addProperty("value", "");
+                    break;
+            }
+            settings.add(settingJson);
+        }
+        final JsonObject profileUser = new JsonObject();
+        profileUser.addProperty("id", account.getXuid());
+        profileUser.addProperty("hostId", account.getXuid());
+        profileUser.add("settings", settings);
+        profileUser.addProperty("isSponsoredUser", false);
+        return profileUser;
+    }
+
+    private JsonObject xblTokenJson(final IssuedToken token, final JsonObject displayClaims) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("IssueInstant", Instant.ofEpochMilli(token.issueTimeMs).toString());
+        json.addProperty("NotAfter", Instant.ofEpochMilli(token.expireTimeMs).toString());
+        json.addProperty("Token", token.value);
+        json.add("DisplayClaims", displayClaims);
+        return json;
+    }
+
+    private JsonObject xuiClaims(final StubAccount account, final boolean includeProfile) {
+        final JsonObject xui = new JsonObject();
+        if (includeProfile) {
+            xui.addProperty("gtg", account.getGamertag());
+            xui.addProperty("xid", account.getXuid());
+        }
+        xui.addProperty("uhs", account.getUserHash());
+        if (includeProfile) {
+            xui.addProperty("agg", "Adult");
+            xui.addProperty("usr", "");
+            xui.addProperty("utr", "");
+            xui.addProperty("prv", "");
+        }
+        final JsonArray xuis = new JsonArray();
+        xuis.add(xui);
+        final JsonObject displayClaims = new JsonObject();
+        displayClaims.add("xui", xuis);
+        return displayClaims;
+    }
+
+    private boolean verifyXblSignature(final Request request, final JsonObject proofKey) throws GeneralSecurityException, IOException {
+        if (!this.verifySignatures) {
+            return true;
+        }
+        final String signatureHeader = request.header("Signature");
+        if (signatureHeader == null) {
+            return false;
+        }
+
+        final ByteBuffer signatureData = ByteBuffer.wrap(Base64.getDecoder().decode(signatureHeader));
+        if (signatureData.remaining() != 4 + 8 + 64 || signatureData.getInt() != 1) { // Policy Version
+            return false;
+        }
+        final long windowsTimestamp = signatureData.getLong();
+        final byte[] signature = new byte[signatureData.remaining()];
+        signatureData.get(signature);
+        final long timestampSeconds = windowsTimestamp / 10000000L - 11644473600L;
+        if (Math.abs(Instant.now().getEpochSecond() - timestampSeconds) > MAX_CLOCK_SKEW_SECONDS) {
+            return false;
+        }
+
+        final ByteArrayOutputStream signatureContent = new ByteArrayOutputStream();
+        final DataOutputStream data = new DataOutputStream(signatureContent);
+        data.writeInt(1); // Policy Version
+        data.writeByte(0);
+        data.writeLong(windowsTimestamp);
+        data.writeByte(0);
+        data.write(request.method.getBytes(StandardCharsets.UTF_8));
+        data.writeByte(0);
+        final String query = request.exchange.getRequestURI().getRawQuery();
+        data.write((request.exchange.getRequestURI().getRawPath() + (query != null ? query : "")).getBytes(StandardCharsets.UTF_8));
+        data.writeByte(0);
+        final String authorizationHeader = request.header("Authorization");
+        if (authorizationHeader != null) {
+            data.write(authorizationHeader.getBytes(StandardCharsets.UTF_8));
+        }
+        data.writeByte(0);
+        data.write(request.body);
+        data.writeByte(0);
+
+        final Signature verifier = Signature.getInstance("SHA256withECDSA");
+        verifier.initVerify(decodeProofKey(proofKey));
+        verifier.update(signatureContent.toByteArray());
+        return verifier.verify(p1363ToDer(signature));
+    }
+
+    // PlayFab
+
+    private Response handlePlayFab(final Request request) throws IOException {
+        if (request.is("POST", "/Client/LoginWithXbox")) {
+            final JsonObject body = request.bodyAsJson();
+            final IssuedToken xstsToken = this.lookupXstsToken(body.has("XboxToken") ? body.get("XboxToken").getAsString() : null, XblConstants.BEDROCK_PLAY_FAB_XSTS_RELYING_PARTY);
+            if (xstsToken == null) {
+                return playFabError(401, "NotAuthenticated", 1074, "Invalid Xbox Live token");
+            }
+
+            final StubAccount account = xstsToken.account;
+            final IssuedToken sessionTicket = this.issueToken(TokenType.PLAY_FAB_SESSION, account, PLAY_FAB_TOKEN_LIFETIME, null);
+            final String entityId = playFabId(account, "entity");
+            final IssuedToken entityToken = this.issueToken(TokenType.PLAY_FAB_ENTITY, account, PLAY_FAB_TOKEN_LIFETIME, entityId);
+            final JsonObject data = new JsonObject();
+            data.addProperty("SessionTicket", sessionTicket.value);
+            data.addProperty("PlayFabId", playFabId(account, "player"));
+            data.addProperty("NewlyCreated", false);
+            data.add("SettingsForUser", new JsonObject());
+            data.addProperty("LastLoginTime", Instant.now().toString());
+            data.add("EntityToken", this.playFabEntityTokenJson(entityToken, entityId, "title_player_account"));
+            return playFabResponse(data);
+        } else if (request.is("POST", "/Authentication/GetEntityToken")) {
+            final IssuedToken entityToken = this.lookupToken(request.header("X-EntityToken"), TokenType.PLAY_FAB_ENTITY);
+            if (entityToken == null) {
+                return playFabError(401, "NotAuthenticated", 1074, "Invalid entity token");
+            }
+
+            final JsonObject entity = request.bodyAsJson().getAsJsonObject("Entity");
+            final String entityId = entity != null && entity.has("Id") ? entity.get("Id").getAsString() : entityToken.scope;
+            final String entityType = entity != null && entity.has("Type") ? entity.get("Type").getAsString() : "title_player_account";
+            final IssuedToken newEntityToken = this.issueToken(TokenType.PLAY_FAB_ENTITY, entityToken.account, PLAY_FAB_TOKEN_LIFETIME, entityId);
+            return playFabResponse(this.playFabEntityTokenJson(newEntityToken, entityId, entityType));
+        }
+        return playFabError(404, "NotFound", 1001, "The requested resource was not found");
+    }
+
+    private JsonObject playFabEntityTokenJson(final IssuedToken token, final String entityId, final String entityType) {
+        final JsonObject entity = new JsonObject();
+        entity.addProperty("Id", entityId);
+        entity.addProperty("Type", entityType);
+        entity.addProperty("TypeString", entityType);
+        final JsonObject json = new JsonObject();
+        json.addProperty("EntityToken", token.value);
+        json.addProperty("TokenExpiration", Instant.ofEpochMilli(token.expireTimeMs).toString());
+        json.add("Entity", entity);
+        return json;
+    }
+
+    // Minecraft: Java Edition
+
+    private Response handleJavaServices(final Request request) throws GeneralSecurityException {
+        if (request.is("POST", "/launcher/login")) {
+            final JsonObject body = request.bodyAsJson();
+            final IssuedToken xstsToken = this.lookupXstsToken(body.has("xtoken") ? body.get("xtoken").getAsString() : null, XblConstants.JAVA_XSTS_RELYING_PARTY);
+            if (xstsToken == null) {
+                return javaServicesError(401, "UNAUTHORIZED", "Invalid app registration, see https://aka.ms/AppRegInfo for more information", request.route);
+            }
+
+            final IssuedToken token = this.issueToken(TokenType.JAVA_ACCESS, xstsToken.account, JAVA_TOKEN_LIFETIME, null);
+            final JsonObject json = new JsonObject();
+            json.addProperty("username", UUID.nameUUIDFromBytes(xstsToken.account.getXuid().getBytes(StandardCharsets.UTF_8)).toString());
+            json.add("roles", new JsonArray());
+            json.add("metadata", new JsonObject());
+            json.addProperty("access_token", token.value);
+            json.addProperty("expires_in", (token.expireTimeMs - System.currentTimeMillis()) / 1000L);
+            json.addProperty("token_type", "Bearer");
+            return Response.json(200, json);
+        }
+
+        final String authorization = request.header("Authorization");
+        final IssuedToken token = this.lookupToken(authorization != null && authorization.startsWith("Bearer ") ? authorization.substring(7) : null, TokenType.JAVA_ACCESS);
+        if (token == null) {
+            return javaServicesError(401, "UNAUTHORIZED", "The request requires user authentication", request.route);
+        }
+        final StubAccount account = token.account;
+
+        if (request.is("GET", "/entitlements/mcstore")) {
+            final JsonArray items = new JsonArray();
+            if (account.hasJavaProfile()) {
+                for (String name : new String[]{"product_minecraft", "game_minecraft"}) {
+                    final JsonObject item = new JsonObject();
+                    item.addProperty("name", name);
+                    item.addProperty("signature", randomToken());
+                    items.add(item);
+                }
+            }
+            final JsonObject json = new JsonObject();
+            json.add("items", items);
+            json.addProperty("signature", randomToken());
+            json.addProperty("keyId", "1");
+            return Response.json(200, json);
+        } else if (request.is("GET", "/minecraft/profile")) {
+            if (!account.hasJavaProfile()) {
+                return javaServicesError(404, "NOT_FOUND", "The server has not found anything matching the request URI", request.route);
+            }
+            final JsonObject json = new JsonObject();
+            json.addProperty("id", UuidUtil.toUndashedString(account.getJavaProfileId()));
+            json.addProperty("name", account.getJavaProfileName());
+            json.add("skins", new JsonArray());
+            json.add("capes", new JsonArray());
+            return Response.json(200, json);
+        } else if (request.is("POST", "/minecraft/profile/lookup/bulk/byname")) {
+            final JsonArray names = JsonParser.parseString(request.bodyAsString()).getAsJsonArray();
+            if (names.size() > 10) {
+                return javaServicesError(400, "CONSTRAINT_VIOLATION", "size must be between 0 and 10", request.route);
+            }
+            final JsonArray json = new JsonArray();
+            for (JsonElement name : names) {
+                this.accounts.values().stream().filter(a -> a.hasJavaProfile() && a.getJavaProfileName().equalsIgnoreCase(name.getAsString())).findFirst().ifPresent(a -> {
+                    final JsonObject profile = new JsonObject();
+                    profile.addProperty("id", UuidUtil.toUndashedString(a.getJavaProfileId()));
+                    profile.addProperty("name", a.getJavaProfileName());
+                    json.add(profile);
+                });
+            }
+            return Response.json(200, json);
+        } else if (request.is("POST", "/player/certificates")) {
+            final KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+            rsaGenerator.initialize(2048);
+            final KeyPair keyPair = rsaGenerator.generateKeyPair();
+            final long expireTimeMs = System.currentTimeMillis() + this.scaleLifetime(JAVA_PLAYER_CERTIFICATES_LIFETIME);
+
+            final UUID profileId = account.hasJavaProfile() ? account.getJavaProfileId() : new UUID(0, 0);
+            final Signature signature = Signature.getInstance("SHA256withRSA");
+            signature.initSign(this.getCertificateSigningKeyPair().getPrivate());
+            signature.update(ByteBuffer.allocate(24).putLong(profileId.getMostSignificantBits()).putLong(profileId.getLeastSignificantBits()).putLong(expireTimeMs).array());
+            signature.update(keyPair.getPublic().getEncoded());
+
+            final JsonObject keyPairJson = new JsonObject();
+            keyPairJson.addProperty("privateKey", toPem("RSA PRIVATE KEY", keyPair.getPrivate().getEncoded()));
+            keyPairJson.addProperty("publicKey", toPem("RSA PUBLIC KEY", keyPair.getPublic().getEncoded()));
+            final JsonObject json = new JsonObject();
+            json.add("keyPair", keyPairJson);
+            json.addProperty("publicKeySignatureV2", Base64.getEncoder().encodeToString(signature.sign()));
+            json.addProperty("expiresAt", Instant.ofEpochMilli(expireTimeMs).toString());
+            json.addProperty("refreshedAfter", Instant.ofEpochMilli(expireTimeMs - this.scaleLifetime(JAVA_PLAYER_CERTIFICATES_LIFETIME) / 2).toString());
+            return Response.json(200, json);
+        }
+        return javaServicesError(404, "NOT_FOUND", "The server has not found anything matching the request URI", request.route);
+    }
+
+    private synchronized KeyPair getCertificateSigningKeyPair() throws NoSuchAlgorithmException {
+        if (this.certificateSigningKeyPair == null) {
+            final KeyPairGenerator rsaGenerator = KeyPairGenerator.getInstance("RSA");
+            rsaGenerator.initialize(4096);
+            this.certificateSigningKeyPair = rsaGenerator.generateKeyPair();
+        }
+        return this.certificateSigningKeyPair;
+    }
+
+    // Minecraft: Bedrock Edition
+
+    private Response handleBedrockAuthentication(final Request request) throws GeneralSecurityException {
+        final IssuedToken xstsToken = this.lookupXstsToken(request.header("Authorization"), XblConstants.BEDROCK_XSTS_RELYING_PARTY);
+        if (xstsToken == null) {
+            return bedrockError("Unauthorized", "Invalid XSTS token");
+        }
+        final JsonObject body = request.bodyAsJson();
+        if (!body.has("identityPublicKey")) {
+            return Response.json(400, errorJson("error", "BadRequest", "errorMessage", "Missing identityPublicKey"));
+        }
+
+        final StubAccount account = xstsToken.account;
+        final long now = System.currentTimeMillis();
+        final long expireTimeSeconds = (now + this.scaleLifetime(BEDROCK_CERTIFICATE_CHAIN_LIFETIME)) / 1000L;
+        final JsonObject mojangPayload = new JsonObject();
+        mojangPayload.addProperty("certificateAuthority", true);
+        mojangPayload.addProperty("exp", expireTimeSeconds);
+        mojangPayload.addProperty("identityPublicKey", Base64.getEncoder().encodeToString(this.jwtSigningKeyPair.getPublic().getEncoded()));
+        mojangPayload.addProperty("nbf", now / 1000L - 60);
+
+        final JsonObject extraData = new JsonObject();
+        extraData.addProperty("XUID", account.getXuid());
+        extraData.addProperty("identity", UUID.nameUUIDFromBytes(("pocket-auth-1-xuid:" + account.getXuid()).getBytes(StandardCharsets.UTF_8)).toString());
+        extraData.addProperty("displayName", account.getGamertag());
+        extraData.addProperty("titleId", "1739947436");
+        extraData.addProperty("sandboxId", "RETAIL");
+        final JsonObject identityPayload = new JsonObject();
+        identityPayload.add("extraData", extraData);
+        identityPayload.addProperty("identityPublicKey", body.get("identityPublicKey").getAsString());
+        identityPayload.addProperty("randomNonce", ThreadLocalRandom.current().nextLong());
+        identityPayload.addProperty("iss", "Mojang");
+        identityPayload.addProperty("exp", expireTimeSeconds);
+        identityPayload.addProperty("iat", now / 1000L);
+        identityPayload.addProperty("nbf", now / 1000L - 60);
+
+        final JsonArray chain = new JsonArray();
+        chain.add(this.createJwt(mojangPayload));
+        chain.add(this.createJwt(identityPayload));
+        final JsonObject json = new JsonObject();
+        json.add("chain", chain);
+        return Response.json(200, json);
+    }
+
+    private Response handleBedrockSessionStart(final Request request) throws GeneralSecurityException {
+        final JsonObject user = request.bodyAsJson().getAsJsonObject("user");
+        final IssuedToken sessionTicket = user != null && user.has("token") ? this.lookupToken(user.get("token").getAsString(), TokenType.PLAY_FAB_SESSION) : null;
+        if (sessionTicket == null) {
+            return minecraftServicesError(401, "Unauthorized", "Invalid PlayFab session ticket");
+        }
+
+        final long now = System.currentTimeMillis();
+        final long expireTimeMs = now + this.scaleLifetime(BEDROCK_SESSION_LIFETIME);
+        final JsonObject payload = new JsonObject();
+        payload.addProperty("ipt", "PlayFab");
+        payload.addProperty("pfcd", now / 1000L);
+        payload.addProperty("exp", expireTimeMs / 1000L);
+        payload.addProperty("iat", now / 1000L);
+        payload.addProperty("nbf", now / 1000L - 60);
+        final String jwt = this.createJwt(payload);
+        this.tokens.put(jwt, new IssuedToken(TokenType.BEDROCK_SESSION, sessionTicket.account, jwt, now, expireTimeMs, null));
+
+        final JsonObject result = new JsonObject();
+        result.addProperty("authorizationHeader", "MCToken " + jwt);
+        result.addProperty("validUntil", Instant.ofEpochMilli(expireTimeMs).toString());
+        result.addProperty("issuedAt", Instant.ofEpochMilli(now).toString());
+        result.add("treatments", new JsonArray());
+        result.add("configurations", new JsonObject());
+        final JsonObject json = new JsonObject();
+        json.add("result", result);
+        return Response.json(200, json);
+    }
+
+    private Response handleBedrockMultiplayerSessionStart(final Request request) throws GeneralSecurityException {
+        final String authorization = request.header("Authorization");
+        final IssuedToken session = this.lookupToken(authorization != null && authorization.startsWith("MCToken ") ? authorization.substring(8) : null, TokenType.BEDROCK_SESSION);
+        if (session == null) {
+            return minecraftServicesError(401, "Unauthorized", "Invalid session token");
+        }
+        final JsonObject body = request.bodyAsJson();
+        if (!body.has("publicKey")) {
+            return minecraftServicesError(400, "BadRequest", "Missing publicKey");
+        }
+
+        final StubAccount account = session.account;
+        final long now = System.currentTimeMillis();
+        final long expireTimeMs = now + this.scaleLifetime(BEDROCK_MULTIPLAYER_TOKEN_LIFETIME);
+        final JsonObject payload = new JsonObject();
+        payload.addProperty("xid", account.getXuid());
+        payload.addProperty("xname", account.getGamertag());
+        payload.addProperty("cpk", body.get("publicKey").getAsString());
+        payload.addProperty("mid", randomToken());
+        payload.addProperty("ipt", "PlayFab");
+        payload.addProperty("exp", expireTimeMs / 1000L);
+        payload.addProperty("iat", now / 1000L);
+        payload.addProperty("nbf", now / 1000L - 60);
+
+        final JsonObject result = new JsonObject();
+        result.addProperty("signedToken", this.createJwt(payload));
+        result.addProperty("validUntil", Instant.ofEpochMilli(expireTimeMs).toString());
+        result.addProperty("issuedAt", Instant.ofEpochMilli(now).toString());
+        final JsonObject json = new JsonObject();
+        json.add("result", result);
+        return Response.json(200, json);
+    }
+
+    private String createJwt(final JsonObject payload) throws GeneralSecurityException {
+        final JsonObject header = new JsonObject();
+        header.addProperty("alg", "ES384");
+        header.addProperty("x5u", Base64.getEncoder().encodeToString(this.jwtSigningKeyPair.getPublic().getEncoded()));
+        final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        final String signingInput = encoder.encodeToString(header.toString().getBytes(StandardCharsets.UTF_8)) + '.' + encoder.encodeToString(payload.toString().getBytes(StandardCharsets.UTF_8));
+        final byte[] signature = CryptUtil.signSha384InP1363Format((ECPrivateKey) this.jwtSigningKeyPair.getPrivate(), signingInput.getBytes(StandardCharsets.UTF_8));
+        return signingInput + '.' + encoder.encodeToString(signature);
+    }
+
+    // Realms
+
+    private Response handleRealms(final Request request) {
+        if (request.is("GET", "/mco/client/compatible")) {
+            return Response.text(200, "COMPATIBLE");
+        }
+
+        final boolean bedrock = request.host.startsWith("pocket.");
+        StubAccount account = this.defaultAccount;
+        if (bedrock) { // Java Edition Realms authenticates using cookies which are bound to the original realms host
+            final IssuedToken xstsToken = this.lookupXstsToken(request.header("Authorization"), XblConstants.BEDROCK_REALMS_XSTS_RELYING_PARTY);
+            if (xstsToken == null) {
+                return Response.json(401, errorJson("errorCode", 401, "errorMsg", "Unauthorized"));
+            }
+            account = xstsToken.account;
+        }
+
+        if (request.is("GET", "/worlds")) {
+            final JsonArray servers = new JsonArray();
+            if (this.realmsServers.isEmpty()) {
+                servers.add(this.createRealmsServer(1, account));
+            } else {
+                this.realmsServers.forEach(servers::add);
+            }
+            final JsonObject json = new JsonObject();
+            json.add("servers", servers);
+            return Response.json(200, json);
+        } else if (request.method.equals("GET") && request.route.startsWith("/worlds/") && (request.route.endsWith("/join") || request.route.endsWith("/join/pc"))) {
+            final JsonObject json = new JsonObject();
+            json.addProperty("address", bedrock ? "127.0.0.1:19132" : "127.0.0.1:25565");
+            json.addProperty("pendingUpdate", false);
+            json.addProperty("networkProtocol", "DEFAULT");
+            return Response.json(200, json);
+        } else if (request.is("POST", "/mco/tos/agreed")) {
+            return Response.empty(204);
+        } else if (request.method.equals("POST") && request.route.startsWith("/invites/v1/link/accept/")) {
+            return Response.json(200, this.realmsServers.isEmpty() ? this.createRealmsServer(1, account) : this.realmsServers.get(0));
+        } else if (request.method.equals("DELETE") && request.route.startsWith("/invites/")) {
+            return Response.empty(204);
+        }
+        return Response.json(404, errorJson("errorCode", 404, "errorMsg", "Not Found"));
+    }
+
+    private JsonObject createRealmsServer(final long id, final StubAccount owner) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("id", id);
+        json.addProperty("name", "Stub Realm");
+        json.addProperty("motd", "A realm served by the MinecraftAuth stub server");
+        json.addProperty("owner", owner.getGamertag());
+        json.addProperty("ownerUUID", owner.getXuid());
+        json.addProperty("state", "OPEN");
+        json.addProperty("expired", false);
+        json.addProperty("daysLeft", 30);
+        json.addProperty("worldType", "NORMAL");
+        json.addProperty("maxPlayers", 10);
+        json.addProperty("compatibility", "COMPATIBLE");
+        return json;
+    }
+
+    // Tokens
+
+    private IssuedToken issueToken(final TokenType type, final StubAccount account, final long lifetimeMs, final String scope) {
+        if (this.tokens.size() > 10000) {
+            this.tokens.values().removeIf(IssuedToken::isExpired);
+        }
+
+        final long now = System.currentTimeMillis();
+        final IssuedToken token = new IssuedToken(type, account, type.prefix + randomToken(), now, now + this.scaleLifetime(lifetimeMs), scope);
+        this.tokens.put(token.value, token);
+        return token;
+    }
+
+    private IssuedToken lookupToken(final String value, final TokenType type) {
+        if (value == null) {
+            return null;
+        }
+        final IssuedToken token = this.tokens.get(value);
+        if (token == null || token.type != type || token.isExpired()) {
+            return null;
+        }
+        return token;
+    }
+
+    private IssuedToken lookupXstsToken(final String authorizationHeader, final String relyingParty) {
+        if (authorizationHeader == null || !authorizationHeader.startsWith("XBL3.0 x=") || !authorizationHeader.contains(";")) {
+            return null;
+        }
+        final String userHash = authorizationHeader.substring(9, authorizationHeader.indexOf(';'));
+        final IssuedToken token = this.lookupToken(authorizationHeader.substring(authorizationHeader.indexOf(';') + 1), TokenType.XBL_XSTS);
+        if (token == null || !token.account.getUserHash().equals(userHash) || !relyingParty.equals(token.scope)) {
+            return null;
+        }
+        return token;
+    }
+
+    private long scaleLifetime(final long lifetimeMs) {
+        return Math.max(1000L, (long) (lifetimeMs * this.tokenLifetimeScale));
+    }
+
+    // Utils
+
+    private void send(final HttpExchange exchange, final Response response) throws IOException {
+        for (Map.Entry<String, String> header : response.headers.entrySet()) {
+            exchange.getResponseHeaders().set(header.getKey(), header.getValue());
+        }
+        if (response.contentType != null) {
+            exchange.getResponseHeaders().set("Content-Type", response.contentType);
+        }
+        exchange.sendResponseHeaders(response.statusCode, response.body.length == 0 ? -1 : response.body.length);
+        if (response.body.length != 0) {
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(response.body);
+            }
+        }
+    }
+
+    private static Response msaError(final String error, final String errorDescription) {
+        return Response.json(400, errorJson("error", error, "error_description", errorDescription));
+    }
+
+    private static Response playFabResponse(final JsonObject data) {
+        final JsonObject json = new JsonObject();
+        json.addProperty("code", 200);
+        json.addProperty("status", "OK");
+        json.add("data", data);
+        return Response.json(200, json);
+    }
+
+    private static Response playFabError(final int statusCode, final String error, final int errorCode, final String errorMessage) {
+        final JsonObject json = errorJson("error", error, "errorMessage", errorMessage);
+        json.addProperty("code", statusCode);
+        json.addProperty("errorCode", errorCode);
+        return Response.json(statusCode, json);
+    }
+
+    private static Response javaServicesError(final int statusCode, final String error, final String errorMessage, final String path) {
+        final JsonObject json = errorJson("error", error, "errorMessage", errorMessage);
+        json.addProperty("path", path);
+        json.addProperty("errorType", error);
+        return Response.json(statusCode, json);
+    }
+
+    private static Response bedrockError(final String error, final String errorMessage) {
+        return Response.json(401, errorJson("error", error, "errorMessage", errorMessage));
+    }
+
+    private static Response minecraftServicesError(final int statusCode, final String code, final String message) {
+        final JsonObject json = errorJson("code", code, "message", message);
+        json.addProperty("namespace", "Authorization");
+        return Response.json(statusCode, json);
+    }
+
+    private static JsonObject errorJson(final String key1, final Object value1, final String key2, final Object value2) {
+        final JsonObject json = new JsonObject();
+        if (value1 instanceof Number) {
+            json.addProperty(key1, (Number) value1);
+        } else {
+            json.addProperty(key1, String.valueOf(value1));
+        }
+        json.addProperty(key2, String.valueOf(value2));
+        return json;
+    }
+
+    private static String playFabId(final StubAccount account, final String salt) {
+        return Long.toHexString(UUID.nameUUIDFromBytes((salt + account.getXuid()).getBytes(StandardCharsets.UTF_8)).getMostSignificantBits()).toUpperCase(Locale.ROOT);
+    }
+
+    private static ECPublicKey decodeProofKey(final JsonObject proofKey) throws GeneralSecurityException {
+        if (SECP256R1_PARAMETERS == null) {
+            SECP256R1_PARAMETERS = ((ECPublicKey) CryptUtil.generateEcdsa256KeyPair().getPublic()).getParams();
+        }
+        final BigInteger x = new BigInteger(1, Base64.getUrlDecoder().decode(proofKey.get("x").getAsString()));
+        final BigInteger y = new BigInteger(1, Base64.getUrlDecoder().decode(proofKey.get("y").getAsString()));
+        return (ECPublicKey) CryptUtil.EC_KEYFACTORY.generatePublic(new ECPublicKeySpec(new ECPoint(x, y), SECP256R1_PARAMETERS));
+    }
+
+    private static byte[] p1363ToDer(final byte[] p1363Signature) {
+        final int half = p1363Signature.length / 2;
+        final byte[] r = new BigInteger(1, Arrays.copyOfRange(p1363Signature, 0, half)).toByteArray();
+        final byte[] s = new BigInteger(1, Arrays.copyOfRange(p1363Signature, half, p1363Signature.length)).toByteArray();
+        final byte[] der = new byte[6 + r.length + s.length];
+        der[0] = 0x30;
+        der[1] = (byte) (4 + r.length + s.length);
+        der[2] = 0x02;
+        der[3] = (byte) r.length;
+        System.arraycopy(r, 0, der, 4, r.length);
+        der[4 + r.length] = 0x02;
+        der[5 + r.length] = (byte) s.length;
+        System.arraycopy(s, 0, der, 6 + r.length, s.length);
+        return der;
+    }
+
+    private static String toPem(final String type, final byte[] encoded) {
+        return "-----BEGIN " + type + "-----\n" + Base64.getMimeEncoder(64, new byte[]{'\n'}).encodeToString(encoded) + "\n-----END " + type + "-----\n";
+    }
+
+    private static String randomToken() {
+        final byte[] bytes = new byte[32];
+        ThreadLocalRandom.current().nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String randomUserCode() {
+        final String alphabet = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
+        final StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 8; i++) {
+            builder.append(alphabet.charAt(ThreadLocalRandom.current().nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    private static Map<String, String> parseForm(final String form) {
+        final Map<String, String> values = new HashMap<>();
+        if (form == null || form.isEmpty()) {
+            return values;
+        }
+        for (String pair : form.split("&")) {
+            final int separator = pair.indexOf('=');
+            if (separator == -1) {
+                values.put(urlDecode(pair), "");
+            } else {
+                values.put(urlDecode(pair.substring(0, separator)), urlDecode(pair.substring(separator + 1)));
+            }
+        }
+        return values;
+    }
+
+    private static String urlDecode(final String s) {
+        try {
+            return URLDecoder.decode(s, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] readFully(final InputStream inputStream) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+        return outputStream.toByteArray();
+    }
+
+    private enum TokenType {
+
+        MSA_ACCESS("EwA"),
+        MSA_REFRESH("M.C"),
+        MSA_AUTH_CODE("M."),
+        XBL_DEVICE("eyJ"),
+        XBL_USER("eyJ"),
+        XBL_TITLE("eyJ"),
+        XBL_XSTS("eyJ"),
+        PLAY_FAB_SESSION("PF-"),
+        PLAY_FAB_ENTITY("NHx"),
+        JAVA_ACCESS("eyJ"),
+        BEDROCK_SESSION(""),
+        ;
+
+        private final String prefix;
+
+        TokenType(final String prefix) {
+            this.prefix = prefix;
+        }
+
+    }
+
+    private static class IssuedToken {
+
+        private final TokenType type;
+        private final StubAccount account;
+        private final String value;
+        private final long issueTimeMs;
+        private final long expireTimeMs;
+        private final String scope;
+
+        private IssuedToken(final TokenType type, final StubAccount account, final String value, final long issueTimeMs, final long expireTimeMs, final String scope) {
+            this.type = type;
+            this.account = account;
+            this.value = value;
+            this.issueTimeMs = issueTimeMs;
+            this.expireTimeMs = expireTimeMs;
+            this.scope = scope;
+        }
+
+        private boolean isExpired() {
+            return this.expireTimeMs <= System.currentTimeMillis();
+        }
+
+    }
+
+    private static class DeviceCode {
+
+        private final String deviceCode;
+        private final String userCode;
+        private final long expireTimeMs;
+        private final long approveTimeMs;
+
+        private DeviceCode(final String deviceCode, final String userCode, final long expireTimeMs, final long approveTimeMs) {
+            this.deviceCode = deviceCode;
+            this.userCode = userCode;
+            this.expireTimeMs = expireTimeMs;
+            this.approveTimeMs = approveTimeMs;
+        }
+
+    }
+
+    private static class LoginFlow {
+
+        private final String redirectUri;
+        private final String state;
+
+        private LoginFlow(final String redirectUri, final String state) {
+            this.redirectUri = redirectUri;
+            this.state = state;
+        }
+
+    }
+
+    private static class InjectedFailure {
+
+        private final String target;
+        private final int statusCode;
+        private final String xErr;
+        private final AtomicInteger remaining;
+
+        private InjectedFailure(final String target, final int statusCode, final String xErr, final int count) {
+            this.target = target;
+            this.statusCode = statusCode;
+            this.xErr = xErr;
+            this.remaining = new AtomicInteger(count);
+        }
+
+    }
+
+    private static class Request {
+
+        private final HttpExchange exchange;
+        private final String method;
+        private final String host;
+        private final String route;
+        private final byte[] body;
+
+        private Request(final HttpExchange exchange, final String host, final String route, final byte[] body) {
+            this.exchange = exchange;
+            this.method = exchange.getRequestMethod();
+            this.host = host;
+            this.route = route;
+            this.body = body;
+        }
+
+        private boolean is(final String method, final String route) {
+            return this.method.equals(method) && this.route.equals(route);
+        }
+
+        private String header(final String name) {
+            return this.exchange.getRequestHeaders().getFirst(name);
+        }
+
+        private Map<String, String> query() {
+            return parseForm(this.exchange.getRequestURI().getRawQuery());
+        }
+
+        private String bodyAsString() {
+            return new String(this.body, StandardCharsets.UTF_8);
+        }
+
+        private JsonObject bodyAsJson() {
+            if (this.body.length == 0) {
+                return new JsonObject();
+            }
+            final JsonElement element = JsonParser.parseString(this.bodyAsString());
+            return element.isJsonObject() ? element.getAsJsonObject() : new JsonObject();
+        }
+
+    }
+
+    private static class Response {
+
+        private static Response empty(final int statusCode) {
+            return new Response(statusCode, null, new byte[0]);
+        }
+
+        private static Response text(final int statusCode, final String text) {
+            return new Response(statusCode, "text/plain; charset=utf-8", text.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Response html(final int statusCode, final String html) {
+            return new Response(statusCode, "text/html; charset=utf-8", html.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Response json(final int statusCode, final JsonElement json) {
+            return new Response(statusCode, "application/json; charset=utf-8", json.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private final int statusCode;
+        private final String contentType;
+        private final byte[] body;
+        private final Map<String, String> headers = new HashMap<>();
+
+        private Response(final int statusCode, final String contentType, final byte[] body) {
+            this.statusCode = statusCode;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+    }
+
+}